@@ -5,8 +5,6 @@ import java.util.logging.Logger;
 
 class BackoffCounter {
     private static final Logger LOGGER = Logger.getLogger(BackoffCounter.class.getName());
-    private static final int BASE_TIMEOUT = 1000;
-    private static final double RANDOM_FACTOR = 0.5;
 
     private final Time time;
 
@@ -25,21 +23,20 @@ class BackoffCounter {
         return this.attemptsRemaining;
     }
 
-    public void waitBackoff() throws InterruptedException {
-        int delay = this.calculateDelay();
-        this.waitBackoff(delay);
+    public int getRetryNumber() {
+        return this.maxAttempts - this.attemptsRemaining;
     }
 
-    public void waitBackoff(int delay) throws InterruptedException {
+    public void waitBackoff(long delay) throws InterruptedException {
         if (this.attemptsRemaining > 1) {
-            LOGGER.log(Level.WARNING, String.format("Backing off for %d seconds before retrying %d more times.",
-                (delay / 1000), this.attemptsRemaining));
+            LOGGER.log(Level.WARNING, String.format("Backing off for %d milliseconds before retrying %d more times.",
+                delay, this.attemptsRemaining));
         } else {
-            LOGGER.log(Level.WARNING, String.format("Backing off for %d seconds before retrying %d more time.",
-                (delay / 1000), this.attemptsRemaining));
+            LOGGER.log(Level.WARNING, String.format("Backing off for %d milliseconds before retrying %d more time.",
+                delay, this.attemptsRemaining));
         }
 
-        this.time.waitDuration(delay);
+        this.time.waitDuration((int) Math.min(Integer.MAX_VALUE, delay));
     }
 
     public boolean decrement() {
@@ -51,13 +48,4 @@ class BackoffCounter {
         this.maxAttempts = maxAttempts;
         this.attemptsRemaining = maxAttempts;
     }
-
-    private int calculateDelay() {
-        int exponent = this.maxAttempts - this.attemptsRemaining;
-        double minWindow = 1 - RANDOM_FACTOR;
-        double maxWindow = 1 + RANDOM_FACTOR;
-        double jitter = (Math.random() * (maxWindow - minWindow)) + minWindow;
-
-        return (int) (Math.pow(2, exponent) * BASE_TIMEOUT * jitter);
-    }
 }
@@ -104,7 +104,7 @@ public class BatchAPIRequest extends BoxJSONRequest {
      */
     @Deprecated
     protected List<BoxAPIResponse> parseResponse(BoxJSONResponse batchResponse) {
-        JsonObject responseJSON = JsonObject.readFrom(batchResponse.getJSON());
+        JsonObject responseJSON = batchResponse.getJsonObject();
         List<BoxAPIResponse> responses = new ArrayList<BoxAPIResponse>();
         Iterator<JsonValue> responseIterator = responseJSON.get("responses").asArray().iterator();
         while (responseIterator.hasNext()) {
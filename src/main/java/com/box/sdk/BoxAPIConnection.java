@@ -8,10 +8,16 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.regex.Pattern;
 
+import com.box.sdk.http.DefaultHttpTransport;
+import com.box.sdk.http.HttpTransport;
 import com.eclipsesource.json.JsonObject;
 
 /**
@@ -37,11 +43,29 @@ public class BoxAPIConnection {
      */
     public static final int DEFAULT_MAX_RETRIES = 5;
 
+    /**
+     * The default number of threads used to run asynchronous calls made through connections that don't have their own
+     * executor.
+     */
+    public static final int DEFAULT_ASYNC_THREADS = 16;
+
+    /**
+     * The default size in bytes of the buffer used to copy downloaded content to its destination.
+     */
+    public static final int DEFAULT_DOWNLOAD_BUFFER_SIZE = 65536;
+
+    static final String TOKEN_URL_STRING = "https://api.box.com/oauth2/token";
+    static final String DEFAULT_BASE_URL = "https://api.box.com/2.0/";
+    static final String DEFAULT_BASE_UPLOAD_URL = "https://upload.box.com/api/2.0/";
+
+    /**
+     * The amount of buffer time, in milliseconds, to use when determining if an access token should be refreshed. For
+     * example, if REFRESH_EPSILON = 60000 and the access token expires in less than one minute, it will be refreshed.
+     */
+    static final long REFRESH_EPSILON = 60000;
+
     private static final String AUTHORIZATION_URL = "https://account.box.com/api/oauth2/authorize";
-    private static final String TOKEN_URL_STRING = "https://api.box.com/oauth2/token";
     private static final String REVOKE_URL_STRING = "https://api.box.com/oauth2/revoke";
-    private static final String DEFAULT_BASE_URL = "https://api.box.com/2.0/";
-    private static final String DEFAULT_BASE_UPLOAD_URL = "https://upload.box.com/api/2.0/";
 
     private static final String AS_USER_HEADER = "As-User";
     private static final String BOX_NOTIFICATIONS_HEADER = "Box-Notifications";
@@ -49,27 +73,24 @@ public class BoxAPIConnection {
     private static final String JAVA_VERSION = System.getProperty("java.version");
     private static final String SDK_VERSION = "2.54.0";
 
-    /**
-     * The amount of buffer time, in milliseconds, to use when determining if an access token should be refreshed. For
-     * example, if REFRESH_EPSILON = 60000 and the access token expires in less than one minute, it will be refreshed.
-     */
-    private static final long REFRESH_EPSILON = 60000;
+    private static ExecutorService defaultAsyncExecutor;
 
     private final String clientID;
     private final String clientSecret;
     private final ReadWriteLock refreshLock;
 
     // These volatile fields are used when determining if the access token needs to be refreshed. Since they are used in
-    // the double-checked lock in getAccessToken(), they must be atomic.
+    // the double-checked lock in getAccessToken(), they must be atomic. The access token is also volatile so that
+    // requests can read it without holding the refresh lock while they're being sent.
     private volatile long lastRefresh;
     private volatile long expires;
+    private volatile String accessToken;
 
     private Proxy proxy;
     private String proxyUsername;
     private String proxyPassword;
 
     private String userAgent;
-    private String accessToken;
     private String refreshToken;
     private String tokenURL;
     private String revokeURL;
@@ -79,9 +100,19 @@ public class BoxAPIConnection {
     private int maxRetryAttempts;
     private int connectTimeout;
     private int readTimeout;
+    private int downloadBufferSize;
+    private int pageReadAhead;
+    private boolean lazyInfoParsing;
+    private BoxEvent.Form eventForm;
+    private volatile RequestRateLimiter requestRateLimiter;
+    private volatile RetryPolicy retryPolicy;
+    private volatile ResponseCache responseCache;
+    private volatile RequestMetricsListener requestMetricsListener;
     private List<BoxAPIConnectionListener> listeners;
     private RequestInterceptor interceptor;
-    private Map<String, String> customHeaders;
+    private volatile Map<String, String> customHeaders;
+    private HttpTransport httpTransport;
+    private volatile ExecutorService asyncExecutor;
 
     /**
      * Used to categorize the types of resource links.
@@ -133,10 +164,14 @@ public class BoxAPIConnection {
         this.maxRetryAttempts = BoxGlobalSettings.getMaxRetryAttempts();
         this.connectTimeout = BoxGlobalSettings.getConnectTimeout();
         this.readTimeout = BoxGlobalSettings.getReadTimeout();
+        this.downloadBufferSize = DEFAULT_DOWNLOAD_BUFFER_SIZE;
+        this.eventForm = BoxEvent.Form.FULL;
+        this.retryPolicy = new RetryPolicy();
         this.refreshLock = new ReentrantReadWriteLock();
         this.userAgent = "Box Java SDK v" + SDK_VERSION + " (Java " + JAVA_VERSION + ")";
         this.listeners = new ArrayList<BoxAPIConnectionListener>();
         this.customHeaders = new HashMap<String, String>();
+        this.httpTransport = new DefaultHttpTransport();
     }
 
     /**
@@ -238,9 +273,7 @@ public class BoxAPIConnection {
         request.setBody(urlParameters);
 
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        String json = response.getJSON();
-
-        JsonObject jsonObject = JsonObject.readFrom(json);
+        JsonObject jsonObject = response.getJsonObject();
         this.accessToken = jsonObject.get("access_token").asString();
         this.refreshToken = jsonObject.get("refresh_token").asString();
         this.lastRefresh = System.currentTimeMillis();
@@ -366,17 +399,34 @@ public class BoxAPIConnection {
     /**
      * Gets an access token that can be used to authenticate an API request. This method will automatically refresh the
      * access token if it has expired since the last call to <code>getAccessToken()</code>.
+     *
+     * <p>Only one thread refreshes the access token at a time. While the access token is about to expire but is still
+     * valid, other threads keep using it instead of waiting for the refresh to finish.</p>
+     *
      * @return a valid access token that can be used to authenticate an API request.
      */
     public String getAccessToken() {
         if (this.autoRefresh && this.canRefresh() && this.needsRefresh()) {
-            this.refreshLock.writeLock().lock();
-            try {
-                if (this.needsRefresh()) {
-                    this.refresh();
+            long tokenDuration = System.currentTimeMillis() - this.lastRefresh;
+            if (tokenDuration < this.expires) {
+                if (this.refreshLock.writeLock().tryLock()) {
+                    try {
+                        if (this.needsRefresh()) {
+                            this.refresh();
+                        }
+                    } finally {
+                        this.refreshLock.writeLock().unlock();
+                    }
+                }
+            } else {
+                this.refreshLock.writeLock().lock();
+                try {
+                    if (this.needsRefresh()) {
+                        this.refresh();
+                    }
+                } finally {
+                    this.refreshLock.writeLock().unlock();
                 }
-            } finally {
-                this.refreshLock.writeLock().unlock();
             }
         }
 
@@ -493,6 +543,27 @@ public class BoxAPIConnection {
         this.maxRetryAttempts = attempts;
     }
 
+    /**
+     * Gets the policy deciding which failed requests are retried and how long to wait before retrying them.
+     * @return the retry policy of this connection.
+     */
+    public RetryPolicy getRetryPolicy() {
+        return this.retryPolicy;
+    }
+
+    /**
+     * Sets the policy deciding which failed requests are retried and how long to wait before retrying them. The same
+     * policy can be set on several connections to share its retry budget.
+     * @param retryPolicy the retry policy of this connection.
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        if (retryPolicy == null) {
+            throw new IllegalArgumentException("The retry policy can't be null.");
+        }
+
+        this.retryPolicy = retryPolicy;
+    }
+
     /**
      * Gets the connect timeout for this connection in milliseconds.
      * @return the number of milliseconds to connect before timing out.
@@ -525,6 +596,146 @@ public class BoxAPIConnection {
         this.readTimeout = readTimeout;
     }
 
+    /**
+     * Gets the size of the buffer used to copy downloaded content to its destination.
+     * @return the size of the download buffer in bytes.
+     */
+    public int getDownloadBufferSize() {
+        return this.downloadBufferSize;
+    }
+
+    /**
+     * Sets the size of the buffer used to copy downloaded content to its destination. Larger buffers reduce the number
+     * of reads and writes made for large downloads.
+     * @param downloadBufferSize the size of the download buffer in bytes.
+     */
+    public void setDownloadBufferSize(int downloadBufferSize) {
+        if (downloadBufferSize < 1) {
+            throw new IllegalArgumentException("The download buffer size must be at least 1 byte.");
+        }
+
+        this.downloadBufferSize = downloadBufferSize;
+    }
+
+    /**
+     * Gets the number of pages that iterators over paged collections fetch ahead of the page being read.
+     * @return the number of pages fetched ahead, or 0 if pages are only fetched once they are needed.
+     */
+    public int getPageReadAhead() {
+        return this.pageReadAhead;
+    }
+
+    /**
+     * Sets the number of pages that iterators over paged collections fetch in the background, on the connection's
+     * asynchronous executor, while the current page is being read. Collections paged with an offset fetch up to that
+     * many pages at the same time, whereas collections paged with a marker fetch one page ahead, because the marker of
+     * a page is only known once the previous page has been received. Read-ahead is disabled by default.
+     * @param pages the number of pages to fetch ahead, or 0 to only fetch pages once they are needed.
+     */
+    public void setPageReadAhead(int pages) {
+        if (pages < 0) {
+            throw new IllegalArgumentException("The number of pages to read ahead can't be negative.");
+        }
+
+        this.pageReadAhead = pages;
+    }
+
+    /**
+     * Gets whether the info of files, folders and web links returned through this connection is parsed lazily.
+     * @return true if info is parsed lazily; otherwise false.
+     */
+    public boolean getLazyInfoParsing() {
+        return this.lazyInfoParsing;
+    }
+
+    /**
+     * Sets whether the info of files, folders and web links returned through this connection is parsed lazily. When
+     * it is, each field is only decoded from the JSON returned by the API the first time its getter is called, which
+     * saves parsing the dates, users, permissions and other fields that are never read, for example when reading a few
+     * fields of every item in large folders. An invalid field is then reported by its getter instead of when the info
+     * is created. Lazy parsing is disabled by default.
+     * @param lazyInfoParsing whether to parse info lazily.
+     */
+    public void setLazyInfoParsing(boolean lazyInfoParsing) {
+        this.lazyInfoParsing = lazyInfoParsing;
+    }
+
+    /**
+     * Gets the form in which the events returned through this connection are created.
+     * @return the form of events.
+     */
+    public BoxEvent.Form getEventForm() {
+        return this.eventForm;
+    }
+
+    /**
+     * Sets the form in which the events returned through this connection, such as the events of an {@link EventLog}
+     * or an {@link EventStream}, are created. Compact events save decoding the users, sources and details of every
+     * event when processing large numbers of events only needs their type, time, source or creator. Events are
+     * created in full by default.
+     * @param eventForm the form of events.
+     */
+    public void setEventForm(BoxEvent.Form eventForm) {
+        if (eventForm == null) {
+            throw new IllegalArgumentException("The event form can't be null.");
+        }
+
+        this.eventForm = eventForm;
+    }
+
+    /**
+     * Gets the rate limiter that paces the requests sent through this connection.
+     * @return the rate limiter, or null if requests aren't paced.
+     */
+    public RequestRateLimiter getRequestRateLimiter() {
+        return this.requestRateLimiter;
+    }
+
+    /**
+     * Sets a rate limiter that paces the requests sent through this connection, so that when the Box API rate limits
+     * one request, every other request sharing the rate limiter slows down too instead of each request backing off on
+     * its own. The requests for access tokens aren't paced, so that refreshing the token never waits for requests that
+     * are themselves waiting for the new token. Requests aren't paced by default.
+     * @param requestRateLimiter the rate limiter, or null to stop pacing requests.
+     */
+    public void setRequestRateLimiter(RequestRateLimiter requestRateLimiter) {
+        this.requestRateLimiter = requestRateLimiter;
+    }
+
+    /**
+     * Gets the cache of the responses to the GET requests sent through this connection.
+     * @return the response cache, or null if responses aren't cached.
+     */
+    public ResponseCache getResponseCache() {
+        return this.responseCache;
+    }
+
+    /**
+     * Sets a cache of the responses to the GET requests sent through this connection, which are then revalidated
+     * with their ETag instead of being downloaded again when they haven't changed. Responses aren't cached by default.
+     * @param responseCache the response cache, or null to stop caching responses.
+     */
+    public void setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * Gets the listener notified of the metrics of the requests sent through this connection.
+     * @return the request metrics listener, or null if request metrics aren't collected.
+     */
+    public RequestMetricsListener getRequestMetricsListener() {
+        return this.requestMetricsListener;
+    }
+
+    /**
+     * Sets a listener notified of the latency, status and size of every attempt to send a request through this
+     * connection, such as a {@link RequestMetricsRecorder}. Request metrics aren't collected by default.
+     * @param requestMetricsListener the request metrics listener, or null to stop collecting request metrics.
+     */
+    public void setRequestMetricsListener(RequestMetricsListener requestMetricsListener) {
+        this.requestMetricsListener = requestMetricsListener;
+    }
+
     /**
      * Gets the proxy value to use for API calls to Box.
      * @return the current proxy.
@@ -573,6 +784,52 @@ public class BoxAPIConnection {
         this.proxyPassword = proxyPassword;
     }
 
+    /**
+     * Gets the transport used to open HTTP connections for requests made through this connection.
+     * @return the HTTP transport.
+     */
+    public HttpTransport getHttpTransport() {
+        return this.httpTransport;
+    }
+
+    /**
+     * Sets the transport used to open HTTP connections for requests made through this connection. Defaults to a
+     * {@link DefaultHttpTransport}. A {@link com.box.sdk.http.PooledHttpTransport} can be used to control how many
+     * connections are kept alive and for how long, and may be shared by several API connections.
+     * @param httpTransport the HTTP transport.
+     */
+    public void setHttpTransport(HttpTransport httpTransport) {
+        if (httpTransport == null) {
+            throw new IllegalArgumentException("The HTTP transport cannot be null.");
+        }
+        this.httpTransport = httpTransport;
+    }
+
+    /**
+     * Gets the executor used to run asynchronous calls, such as {@link BoxAPIRequest#sendAsync} or
+     * {@link BoxFile#getInfoAsync}, made through this connection. Unless an executor has been set, a pool of
+     * {@link #DEFAULT_ASYNC_THREADS} daemon threads shared by every connection is used.
+     * @return the executor used to run asynchronous calls.
+     */
+    public ExecutorService getAsyncExecutor() {
+        ExecutorService executor = this.asyncExecutor;
+        if (executor == null) {
+            executor = getDefaultAsyncExecutor();
+        }
+
+        return executor;
+    }
+
+    /**
+     * Sets the executor used to run asynchronous calls made through this connection. The size of the executor bounds
+     * how many asynchronous calls are in flight at once; calls submitted beyond that are queued by the executor. The
+     * executor isn't shut down by the SDK.
+     * @param asyncExecutor the executor used to run asynchronous calls, or null to use the shared default executor.
+     */
+    public void setAsyncExecutor(ExecutorService asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
     /**
      * Determines if this connection's access token can be refreshed. An access token cannot be refreshed if a refresh
      * token was never set.
@@ -587,15 +844,9 @@ public class BoxAPIConnection {
      * @return true if the access token needs to be refreshed; otherwise false.
      */
     public boolean needsRefresh() {
-        boolean needsRefresh;
-
-        this.refreshLock.readLock().lock();
         long now = System.currentTimeMillis();
         long tokenDuration = (now - this.lastRefresh);
-        needsRefresh = (tokenDuration >= this.expires - REFRESH_EPSILON);
-        this.refreshLock.readLock().unlock();
-
-        return needsRefresh;
+        return (tokenDuration >= this.expires - REFRESH_EPSILON);
     }
 
     /**
@@ -627,17 +878,16 @@ public class BoxAPIConnection {
         request.shouldAuthenticate(false);
         request.setBody(urlParameters);
 
-        String json;
+        JsonObject jsonObject;
         try {
             BoxJSONResponse response = (BoxJSONResponse) request.send();
-            json = response.getJSON();
+            jsonObject = response.getJsonObject();
         } catch (BoxAPIException e) {
             this.notifyError(e);
             this.refreshLock.writeLock().unlock();
             throw e;
         }
 
-        JsonObject jsonObject = JsonObject.readFrom(json);
         this.accessToken = jsonObject.get("access_token").asString();
         this.refreshToken = jsonObject.get("refresh_token").asString();
         this.lastRefresh = System.currentTimeMillis();
@@ -797,16 +1047,15 @@ public class BoxAPIConnection {
         request.shouldAuthenticate(false);
         request.setBody(urlParameters);
 
-        String jsonResponse;
+        JsonObject jsonObject;
         try {
             BoxJSONResponse response = (BoxJSONResponse) request.send();
-            jsonResponse = response.getJSON();
+            jsonObject = response.getJsonObject();
         } catch (BoxAPIException e) {
             this.notifyError(e);
             throw e;
         }
 
-        JsonObject jsonObject = JsonObject.readFrom(jsonResponse);
         ScopedToken token = new ScopedToken(jsonObject);
         token.setObtainedAt(System.currentTimeMillis());
         token.setExpiresIn(jsonObject.get("expires_in").asLong() * 1000);
@@ -882,7 +1131,8 @@ public class BoxAPIConnection {
         request.setBody(urlParameters);
 
         try {
-            request.send();
+            BoxAPIResponse response = request.send();
+            response.disconnect();
         } catch (BoxAPIException e) {
             throw e;
         }
@@ -913,26 +1163,49 @@ public class BoxAPIConnection {
         return state.toString();
     }
 
-    String lockAccessToken() {
-        if (this.autoRefresh && this.canRefresh() && this.needsRefresh()) {
-            this.refreshLock.writeLock().lock();
-            try {
-                if (this.needsRefresh()) {
-                    this.refresh();
-                }
-                this.refreshLock.readLock().lock();
-            } finally {
-                this.refreshLock.writeLock().unlock();
-            }
-        } else {
-            this.refreshLock.readLock().lock();
+    /**
+     * Runs a task on this connection's asynchronous executor.
+     * @param  task the task to run.
+     * @param  <T>  the type of the task's result.
+     * @return      a Future for the task's result.
+     */
+    <T> Future<T> submitAsync(Callable<T> task) {
+        return this.getAsyncExecutor().submit(BoxRequestContext.propagate(task));
+    }
+
+    /**
+     * Gets the executor used to run asynchronous calls when no executor has been set on a connection.
+     * @return the shared default executor.
+     */
+    static synchronized ExecutorService getDefaultAsyncExecutor() {
+        if (defaultAsyncExecutor == null) {
+            defaultAsyncExecutor = Executors.newFixedThreadPool(DEFAULT_ASYNC_THREADS, new BoxThreadFactory("async"));
         }
 
-        return this.accessToken;
+        return defaultAsyncExecutor;
     }
 
-    void unlockAccessToken() {
-        this.refreshLock.readLock().unlock();
+    /**
+     * Refreshes the access token after the API rejected it. When several requests are rejected with the same access
+     * token, only the first one refreshes it and the others use the new access token.
+     * @param  rejectedAccessToken the access token that was rejected by the API.
+     * @return                     true if a different access token is now available; otherwise false.
+     */
+    boolean refreshRejectedAccessToken(String rejectedAccessToken) {
+        if (!this.autoRefresh || !this.canRefresh()) {
+            return false;
+        }
+
+        this.refreshLock.writeLock().lock();
+        try {
+            if (rejectedAccessToken.equals(this.accessToken)) {
+                this.refresh();
+            }
+        } finally {
+            this.refreshLock.writeLock().unlock();
+        }
+
+        return !rejectedAccessToken.equals(this.accessToken);
     }
 
     /**
@@ -945,20 +1218,26 @@ public class BoxAPIConnection {
     }
 
     /**
-     * Sets a custom header to be sent on all requests through this API connection.
+     * Sets a custom header to be sent on all requests through this API connection. To send different headers from
+     * different threads using the same connection, use a {@link BoxRequestContext} instead.
      * @param header the header name.
      * @param value the header value.
      */
-    public void setCustomHeader(String header, String value) {
-        this.customHeaders.put(header, value);
+    public synchronized void setCustomHeader(String header, String value) {
+        // The headers are copied on write, so that requests can read them without locking.
+        Map<String, String> headers = new HashMap<String, String>(this.customHeaders);
+        headers.put(header, value);
+        this.customHeaders = headers;
     }
 
     /**
      * Removes a custom header, so it will no longer be sent on requests through this API connection.
      * @param header the header name.
      */
-    public void removeCustomHeader(String header) {
-        this.customHeaders.remove(header);
+    public synchronized void removeCustomHeader(String header) {
+        Map<String, String> headers = new HashMap<String, String>(this.customHeaders);
+        headers.remove(header);
+        this.customHeaders = headers;
     }
 
     /**
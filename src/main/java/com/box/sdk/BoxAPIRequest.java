@@ -7,12 +7,17 @@ import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.ProtocolException;
+import java.net.Proxy;
 import java.net.URL;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.net.ssl.HttpsURLConnection;
@@ -20,8 +25,10 @@ import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLParameters;
 import javax.net.ssl.SSLSocketFactory;
 
+import com.box.sdk.http.DefaultHttpTransport;
 import com.box.sdk.http.HttpHeaders;
 import com.box.sdk.http.HttpMethod;
+import com.box.sdk.http.HttpTransport;
 import com.eclipsesource.json.JsonObject;
 
 
@@ -46,6 +53,7 @@ public class BoxAPIRequest {
     private static final int BUFFER_SIZE = 8192;
     private static final int MAX_REDIRECTS = 3;
     private static final String ERROR_CREATING_REQUEST_BODY = "Error creating request body";
+    private static final HttpTransport DEFAULT_TRANSPORT = new DefaultHttpTransport();
     private static SSLSocketFactory sslSocketFactory;
 
     private final BoxAPIConnection api;
@@ -62,6 +70,15 @@ public class BoxAPIRequest {
     private int numRedirects;
     private boolean followRedirects = true;
     private boolean shouldAuthenticate;
+    private String sentAccessToken;
+    private String nextAccessToken;
+    private boolean refreshedRejectedAccessToken;
+    private int attempt;
+    private long backoffNanos;
+    private long sendStartNanos;
+    private long firstResponseNanos;
+    private long bytesSent;
+    private long bytesReceived;
 
     static {
         // Setup the SSL context manually to force newer TLS version on legacy Java environments
@@ -131,10 +148,13 @@ public class BoxAPIRequest {
         this.headers = new ArrayList<RequestHeader>();
         if (api != null) {
             Map<String, String> customHeaders = api.getHeaders();
-            if (customHeaders != null) {
-                for (String header : customHeaders.keySet()) {
-                    this.addHeader(header, customHeaders.get(header));
-                }
+            BoxRequestContext context = BoxRequestContext.current();
+            if (context != null) {
+                customHeaders = new HashMap<String, String>(customHeaders);
+                customHeaders.putAll(context.getHeaders());
+            }
+            for (Map.Entry<String, String> header : customHeaders.entrySet()) {
+                this.addHeader(header.getKey(), header.getValue());
             }
             this.headers.add(new RequestHeader("X-Box-UA", api.getBoxUAHeader()));
         }
@@ -324,7 +344,9 @@ public class BoxAPIRequest {
      * @return a {@link BoxAPIResponse} containing the server's response.
      */
     public BoxAPIResponse sendWithoutRetry() {
-        return this.trySend(null);
+        this.attempt = 0;
+        this.backoffNanos = 0;
+        return this.trySendRateLimited(null);
     }
 
     /**
@@ -371,49 +393,59 @@ public class BoxAPIRequest {
      * @return a {@link BoxAPIResponse} containing the server's response.
      */
     public BoxAPIResponse send(ProgressListener listener) {
-        if (this.api == null) {
-            this.backoffCounter.reset(BoxGlobalSettings.getMaxRetryAttempts() + 1);
-        } else {
-            this.backoffCounter.reset(this.api.getMaxRetryAttempts() + 1);
-        }
+        RetryPolicy retryPolicy = this.startRetries();
 
         while (this.backoffCounter.getAttemptsRemaining() > 0) {
             try {
-                return this.trySend(listener);
+                return this.trySendRateLimited(listener);
             } catch (BoxAPIException apiException) {
-                if (!this.backoffCounter.decrement()
-                    || (!isRequestRetryable(apiException)
-                    && !isResponseRetryable(apiException.getResponseCode(), apiException))) {
-                    throw apiException;
-                }
-
-                LOGGER.log(Level.WARNING, "Retrying request due to transient error status={0} body={1}",
-                        new Object[] {apiException.getResponseCode(), apiException.getResponse()});
-
-                try {
-                    this.resetBody();
-                } catch (IOException ioException) {
-                    throw apiException;
+                if (this.refreshRejectedAccessToken(apiException)) {
+                    continue;
                 }
 
-                try {
-                    List<String> retryAfterHeader = apiException.getHeaders().get("Retry-After");
-                    if (retryAfterHeader == null) {
-                        this.backoffCounter.waitBackoff();
-                    } else {
-                        int retryAfterDelay = Integer.parseInt(retryAfterHeader.get(0));
-                        this.backoffCounter.waitBackoff(retryAfterDelay);
-                    }
-                } catch (InterruptedException interruptedException) {
-                    Thread.currentThread().interrupt();
-                    throw apiException;
-                }
+                this.waitBeforeRetry(retryPolicy, apiException, false);
             }
         }
 
         throw new RuntimeException();
     }
 
+    /**
+     * Sends this request asynchronously and returns a Future for the server's response.
+     *
+     * <p>The request is sent on the executor returned by {@link BoxAPIConnection#getAsyncExecutor}, with the same
+     * automatic retries as {@link #send}. If the request fails, then calling {@link Future#get} on the returned Future
+     * throws an {@link java.util.concurrent.ExecutionException} whose cause is the {@link BoxAPIException}.</p>
+     *
+     * @return a Future for the {@link BoxAPIResponse} containing the server's response.
+     */
+    public Future<BoxAPIResponse> sendAsync() {
+        return this.sendAsync(null);
+    }
+
+    /**
+     * Sends this request asynchronously while monitoring its progress and returns a Future for the server's response.
+     *
+     * <p> See {@link #sendAsync()} for more information on sending requests asynchronously.</p>
+     *
+     * @param  listener a listener for monitoring the progress of the request.
+     * @return a Future for the {@link BoxAPIResponse} containing the server's response.
+     */
+    public Future<BoxAPIResponse> sendAsync(final ProgressListener listener) {
+        Callable<BoxAPIResponse> task = new Callable<BoxAPIResponse>() {
+            @Override
+            public BoxAPIResponse call() {
+                return BoxAPIRequest.this.send(listener);
+            }
+        };
+
+        if (this.api == null) {
+            return BoxAPIConnection.getDefaultAsyncExecutor().submit(task);
+        } else {
+            return this.api.submitAsync(task);
+        }
+    }
+
     /**
       * Sends a request to upload a file part and returns a BoxFileUploadSessionPart containing information
       * about the upload part. This method is separate from send() because it has custom retry logic.
@@ -428,23 +460,18 @@ public class BoxAPIRequest {
       * @return A {@link BoxFileUploadSessionPart} part that has been uploaded.
       */
     BoxFileUploadSessionPart sendForUploadPart(BoxFileUploadSession session, long offset) {
-        if (this.api == null) {
-            this.backoffCounter.reset(BoxGlobalSettings.getMaxRetryAttempts() + 1);
-        } else {
-            this.backoffCounter.reset(this.api.getMaxRetryAttempts() + 1);
-        }
+        RetryPolicy retryPolicy = this.startRetries();
 
         while (this.backoffCounter.getAttemptsRemaining() > 0) {
             try {
-                BoxJSONResponse response = (BoxJSONResponse) this.trySend(null);
-                JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+                BoxJSONResponse response = (BoxJSONResponse) this.trySendRateLimited(null);
+                JsonObject jsonObject = response.getJsonObject();
                 return new BoxFileUploadSessionPart((JsonObject) jsonObject.get("part"));
             } catch (BoxAPIException apiException) {
-                if (!this.backoffCounter.decrement()
-                    || (!isRequestRetryable(apiException)
-                    && !isResponseRetryable(apiException.getResponseCode(), apiException))) {
-                    throw apiException;
+                if (this.refreshRejectedAccessToken(apiException)) {
+                    continue;
                 }
+
                 if (apiException.getResponseCode() == 500) {
                     try {
                         Iterable<BoxFileUploadSessionPart> parts = session.listParts();
@@ -455,21 +482,9 @@ public class BoxAPIRequest {
                         }
                     } catch (BoxAPIException e) { }
                 }
-                LOGGER.log(Level.WARNING, "Retrying request due to transient error status={0} body={1}",
-                    new Object[] {apiException.getResponseCode(), apiException.getResponse()});
 
-                try {
-                    this.resetBody();
-                } catch (IOException ioException) {
-                    throw apiException;
-                }
-
-                try {
-                    this.backoffCounter.waitBackoff();
-                } catch (InterruptedException interruptedException) {
-                    Thread.currentThread().interrupt();
-                    throw apiException;
-                }
+                // Sending a part again only replaces it, so parts are also retried after network errors.
+                this.waitBeforeRetry(retryPolicy, apiException, true);
             }
         }
 
@@ -559,10 +574,12 @@ public class BoxAPIRequest {
             if (listener != null) {
                 output = new ProgressOutputStream(output, listener, this.bodyLength);
             }
-            int b = this.body.read();
-            while (b != -1) {
-                output.write(b);
-                b = this.body.read();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int n = this.body.read(buffer);
+            while (n != -1) {
+                output.write(buffer, 0, n);
+                this.addBytesSent(n);
+                n = this.body.read(buffer);
             }
             output.close();
         } catch (IOException e) {
@@ -588,6 +605,142 @@ public class BoxAPIRequest {
         this.backoffCounter = counter;
     }
 
+    /**
+     * Resets the attempts of this request before it is sent.
+     * @return the retry policy of the request.
+     */
+    private RetryPolicy startRetries() {
+        RetryPolicy retryPolicy = this.api == null ? new RetryPolicy() : this.api.getRetryPolicy();
+        retryPolicy.requestStarted();
+        this.backoffCounter.reset(retryPolicy.getMaxRetryAttempts(this.api) + 1);
+        this.refreshedRejectedAccessToken = false;
+        this.attempt = 0;
+        this.backoffNanos = 0;
+        return retryPolicy;
+    }
+
+    /**
+     * Waits before sending this request again after a failed attempt, or rethrows the exception of the attempt if the
+     * request isn't retried.
+     * @param retryPolicy  the retry policy of the request.
+     * @param apiException the exception thrown by the failed attempt.
+     * @param idempotent   whether the request can be sent again safely after a network error.
+     */
+    private void waitBeforeRetry(RetryPolicy retryPolicy, BoxAPIException apiException, boolean idempotent) {
+        long waitStart = System.nanoTime();
+        try {
+            if (!retryPolicy.waitBeforeRetry(this.backoffCounter, apiException, idempotent)) {
+                throw apiException;
+            }
+            this.backoffNanos = System.nanoTime() - waitStart;
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw apiException;
+        }
+
+        LOGGER.log(Level.WARNING, "Retrying request due to transient error status={0} body={1}",
+            new Object[] {apiException.getResponseCode(), apiException.getResponse()});
+
+        try {
+            this.resetBody();
+        } catch (IOException ioException) {
+            throw apiException;
+        }
+    }
+
+    /**
+     * Sends this request once, after waiting for the connection's rate limiter to let it be sent. Requests that don't
+     * send an access token, such as the requests for new tokens, aren't paced by the rate limiter.
+     * @param  listener a listener for monitoring the progress of the request.
+     * @return          the server's response.
+     */
+    private BoxAPIResponse trySendRateLimited(ProgressListener listener) {
+        RequestRateLimiter rateLimiter = this.api == null ? null : this.api.getRequestRateLimiter();
+        if (rateLimiter == null || !this.shouldAuthenticate) {
+            return this.trySendMeasured(listener);
+        }
+
+        // The access token is read before waiting for the rate limiter, because refreshing it may wait for other
+        // requests refreshing it, and none of them should hold a place in the rate limiter while it does.
+        this.nextAccessToken = this.api.getAccessToken();
+
+        long sentAt;
+        try {
+            sentAt = rateLimiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BoxAPIException("Interrupted while waiting to send the request.", e);
+        }
+
+        int responseCode = 0;
+        List<String> retryAfter = null;
+        try {
+            BoxAPIResponse response = this.trySendMeasured(listener);
+            responseCode = response.getResponseCode();
+            return response;
+        } catch (BoxAPIException apiException) {
+            responseCode = apiException.getResponseCode();
+            retryAfter = apiException.getHeaders().get("Retry-After");
+            throw apiException;
+        } finally {
+            rateLimiter.release(sentAt, responseCode, retryAfter);
+        }
+    }
+
+    /**
+     * Sends this request once and notifies the connection's request metrics listener of the attempt, unless the
+     * request was answered by the connection's interceptor.
+     * @param  listener a listener for monitoring the progress of the request.
+     * @return          the server's response.
+     */
+    private BoxAPIResponse trySendMeasured(ProgressListener listener) {
+        this.attempt++;
+        RequestMetricsListener metricsListener = this.api == null ? null : this.api.getRequestMetricsListener();
+        if (metricsListener == null) {
+            return this.trySend(listener);
+        }
+
+        URL attemptURL = this.url;
+        this.sendStartNanos = 0;
+        this.firstResponseNanos = 0;
+        this.bytesSent = 0;
+        this.bytesReceived = -1;
+        int statusCode = 0;
+        BoxAPIException exception = null;
+        try {
+            BoxAPIResponse response = this.trySend(listener);
+            statusCode = response.getResponseCode();
+            return response;
+        } catch (BoxAPIException apiException) {
+            statusCode = apiException.getResponseCode();
+            exception = apiException;
+            throw apiException;
+        } finally {
+            if (this.sendStartNanos != 0) {
+                long endNanos = System.nanoTime();
+                long timeToFirstByte = this.firstResponseNanos == 0
+                    ? -1 : this.firstResponseNanos - this.sendStartNanos;
+                RequestMetrics metrics = new RequestMetrics(this.method, attemptURL, statusCode, this.attempt,
+                    this.backoffNanos / 1000000, this.bytesSent, this.bytesReceived, timeToFirstByte,
+                    endNanos - this.sendStartNanos, exception);
+                try {
+                    metricsListener.onRequestCompleted(metrics);
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "The request metrics listener threw an exception.", e);
+                }
+            }
+            this.backoffNanos = 0;
+        }
+    }
+
+    /**
+     * Adds to the number of body bytes sent by the current attempt to send this request.
+     * @param count the number of bytes written to the connection.
+     */
+    void addBytesSent(long count) {
+        this.bytesSent += count;
+    }
+
     private BoxAPIResponse trySend(ProgressListener listener) {
         if (this.api != null) {
             RequestInterceptor interceptor = this.api.getRequestInterceptor();
@@ -599,6 +752,10 @@ public class BoxAPIRequest {
             }
         }
 
+        if (this.sendStartNanos == 0) {
+            this.sendStartNanos = System.nanoTime();
+        }
+
         HttpURLConnection connection = this.createConnection();
 
         if (connection instanceof HttpsURLConnection) {
@@ -616,7 +773,13 @@ public class BoxAPIRequest {
 
         if (this.api != null) {
             if (this.shouldAuthenticate) {
-                connection.addRequestProperty(HttpHeaders.AUTHORIZATION, "Bearer " + this.api.lockAccessToken());
+                if (this.nextAccessToken != null) {
+                    this.sentAccessToken = this.nextAccessToken;
+                    this.nextAccessToken = null;
+                } else {
+                    this.sentAccessToken = this.api.getAccessToken();
+                }
+                connection.addRequestProperty(HttpHeaders.AUTHORIZATION, "Bearer " + this.sentAccessToken);
             }
             connection.setRequestProperty("User-Agent", this.api.getUserAgent());
             if (this.api.getProxy() != null) {
@@ -639,45 +802,69 @@ public class BoxAPIRequest {
             }
         }
 
+        ResponseCache responseCache = null;
+        String cacheKey = null;
+        ResponseCache.Entry cachedResponse = null;
+        if (this.api != null && this.method.equals("GET")
+            && connection.getRequestProperty(HttpHeaders.IF_NONE_MATCH) == null) {
+
+            responseCache = this.api.getResponseCache();
+        }
+        if (responseCache != null) {
+            cacheKey = getResponseCacheKey(connection);
+            cachedResponse = responseCache.get(cacheKey);
+            if (cachedResponse != null) {
+                connection.addRequestProperty(HttpHeaders.IF_NONE_MATCH, cachedResponse.getETag());
+            }
+        }
+
         this.requestProperties = connection.getRequestProperties();
 
-        int responseCode;
+        this.writeBody(connection, listener);
+
+        // Ensure that we're connected in case writeBody() didn't write anything.
         try {
-            this.writeBody(connection, listener);
+            connection.connect();
+        } catch (IOException e) {
+            throw new BoxAPIException("Couldn't connect to the Box API due to a network error.", e);
+        }
 
-            // Ensure that we're connected in case writeBody() didn't write anything.
-            try {
-                connection.connect();
-            } catch (IOException e) {
-                throw new BoxAPIException("Couldn't connect to the Box API due to a network error.", e);
-            }
+        this.logRequest(connection);
 
-            this.logRequest(connection);
+        // We need to manually handle redirects by creating a new HttpURLConnection so that connection pooling
+        // happens correctly. There seems to be a bug in Oracle's Java implementation where automatically handled
+        // redirects will not keep the connection alive.
+        int responseCode;
+        try {
+            responseCode = connection.getResponseCode();
+        } catch (IOException e) {
+            throw new BoxAPIException("Couldn't connect to the Box API due to a network error.", e);
+        }
 
-            // We need to manually handle redirects by creating a new HttpURLConnection so that connection pooling
-            // happens correctly. There seems to be a bug in Oracle's Java implementation where automatically handled
-            // redirects will not keep the connection alive.
-            try {
-                responseCode = connection.getResponseCode();
-            } catch (IOException e) {
-                throw new BoxAPIException("Couldn't connect to the Box API due to a network error.", e);
-            }
-        } finally {
-            if (this.api != null && this.shouldAuthenticate) {
-                this.api.unlockAccessToken();
-            }
+        if (this.firstResponseNanos == 0) {
+            this.firstResponseNanos = System.nanoTime();
         }
+        this.bytesReceived = getContentLength(connection);
 
         if (isResponseRedirect(responseCode)) {
             return this.handleRedirect(connection, listener);
         }
 
+        if (cachedResponse != null && responseCode == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            responseCache.hit();
+            return respondFromCache(connection, cachedResponse);
+        }
+
         String contentType = connection.getContentType();
         BoxAPIResponse response;
         if (contentType == null) {
             response = new BoxAPIResponse(connection);
         } else if (contentType.contains("application/json")) {
-            response = new BoxJSONResponse(connection);
+            BoxJSONResponse jsonResponse = new BoxJSONResponse(connection);
+            if (responseCache != null) {
+                responseCache.miss(cacheKey, connection.getHeaderField("ETag"), jsonResponse.getJSON());
+            }
+            response = jsonResponse;
         } else {
             response = new BoxAPIResponse(connection);
         }
@@ -685,6 +872,33 @@ public class BoxAPIRequest {
         return response;
     }
 
+    /**
+     * Refreshes the connection's access token when the API rejected the one sent with this request, so that the
+     * request can be sent again. This is only done once for each call to send.
+     * @param  apiException the error returned by the API.
+     * @return              true if the request should be sent again with a new access token; otherwise false.
+     */
+    private boolean refreshRejectedAccessToken(BoxAPIException apiException) {
+        if (apiException.getResponseCode() != 401 || this.api == null || !this.shouldAuthenticate
+            || this.sentAccessToken == null || this.refreshedRejectedAccessToken) {
+            return false;
+        }
+
+        this.refreshedRejectedAccessToken = true;
+        if (!this.api.refreshRejectedAccessToken(this.sentAccessToken)) {
+            return false;
+        }
+
+        try {
+            this.resetBody();
+        } catch (IOException e) {
+            return false;
+        }
+
+        LOGGER.log(Level.WARNING, "Retrying request with a refreshed access token after status=401");
+        return true;
+    }
+
     private BoxAPIResponse handleRedirect(HttpURLConnection connection, ProgressListener listener) {
         if (this.numRedirects >= MAX_REDIRECTS) {
             throw new BoxAPIException("The Box API responded with too many redirects.");
@@ -721,6 +935,70 @@ public class BoxAPIRequest {
         }
     }
 
+    /**
+     * Gets the length of a response's body from its Content-Length header, which can be longer than an int.
+     * @param  connection a connection that received a response.
+     * @return            the length of the response's body, or -1 if it is unknown.
+     */
+    private static long getContentLength(HttpURLConnection connection) {
+        String contentLength = connection.getHeaderField("Content-Length");
+        if (contentLength == null) {
+            return -1;
+        }
+
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Gets the key under which the response to a request is cached, which identifies the resource and the user for
+     * whom it is read.
+     * @param  connection the connection sending the request, with all of its headers.
+     * @return            the cache key of the request.
+     */
+    private static String getResponseCacheKey(HttpURLConnection connection) {
+        StringBuilder key = new StringBuilder(connection.getURL().toString());
+        String asUser = connection.getRequestProperty("As-User");
+        if (asUser != null) {
+            key.append("\nAs-User: ").append(asUser);
+        }
+        String sharedLink = connection.getRequestProperty("BoxApi");
+        if (sharedLink != null) {
+            key.append("\nBoxApi: ").append(sharedLink);
+        }
+
+        return key.toString();
+    }
+
+    /**
+     * Creates the response to a request that the API answered with a 304 status, from the cached response of the
+     * request.
+     * @param  connection     the connection that received the 304 response.
+     * @param  cachedResponse the cached response of the request.
+     * @return                a response with the headers of the 304 response and the cached body.
+     */
+    private static BoxJSONResponse respondFromCache(HttpURLConnection connection, ResponseCache.Entry cachedResponse) {
+        Map<String, String> responseHeaders = new TreeMap<String, String>(String.CASE_INSENSITIVE_ORDER);
+        for (Map.Entry<String, List<String>> header : connection.getHeaderFields().entrySet()) {
+            if (header.getKey() != null && !header.getValue().isEmpty()) {
+                responseHeaders.put(header.getKey(), header.getValue().get(0));
+            }
+        }
+
+        // A 304 response has no body, but its stream is closed so that the connection can be reused.
+        try {
+            connection.getInputStream().close();
+        } catch (IOException e) {
+            connection.disconnect();
+        }
+
+        return new BoxJSONResponse(HttpURLConnection.HTTP_OK, responseHeaders,
+            JsonObject.readFrom(cachedResponse.getBody()));
+    }
+
     private void logRequest(HttpURLConnection connection) {
         if (LOGGER.isLoggable(Level.FINE)) {
             LOGGER.log(Level.FINE, this.toString());
@@ -730,12 +1008,15 @@ public class BoxAPIRequest {
     private HttpURLConnection createConnection() {
         HttpURLConnection connection = null;
 
+        HttpTransport transport = DEFAULT_TRANSPORT;
+        Proxy proxy = null;
+        if (this.api != null) {
+            transport = this.api.getHttpTransport();
+            proxy = this.api.getProxy();
+        }
+
         try {
-            if (this.api == null || this.api.getProxy() == null) {
-                connection = (HttpURLConnection) this.url.openConnection();
-            } else {
-                connection = (HttpURLConnection) this.url.openConnection(this.api.getProxy());
-            }
+            connection = transport.openConnection(this.url, proxy);
         } catch (IOException e) {
             throw new BoxAPIException("Couldn't connect to the Box API due to a network error.", e);
         }
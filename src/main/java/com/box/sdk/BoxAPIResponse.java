@@ -3,7 +3,9 @@ package com.box.sdk;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.net.HttpURLConnection;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -168,6 +170,38 @@ public class BoxAPIResponse {
         return this.inputStream;
     }
 
+    /**
+     * Copies this response's body to an OutputStream and disconnects this response.
+     * @param output     the stream to where the body will be written.
+     * @param listener   a listener for monitoring the read progress of the body, or null.
+     * @param bufferSize the size of the buffer used for the copy.
+     */
+    void writeBody(OutputStream output, ProgressListener listener, int bufferSize) {
+        try {
+            StreamTransfer.transfer(this.getBody(listener), output, bufferSize);
+        } catch (IOException e) {
+            throw new BoxAPIException("Couldn't connect to the Box API due to a network error.", e);
+        } finally {
+            this.disconnect();
+        }
+    }
+
+    /**
+     * Copies this response's body to a channel and disconnects this response.
+     * @param output     the channel to where the body will be written.
+     * @param listener   a listener for monitoring the read progress of the body, or null.
+     * @param bufferSize the size of the buffer used for the copy.
+     */
+    void writeBody(WritableByteChannel output, ProgressListener listener, int bufferSize) {
+        try {
+            StreamTransfer.transfer(this.getBody(listener), output, bufferSize);
+        } catch (IOException e) {
+            throw new BoxAPIException("Couldn't connect to the Box API due to a network error.", e);
+        } finally {
+            this.disconnect();
+        }
+    }
+
     /**
      * Disconnects this response from the server and frees up any network resources. The body of this response can no
      * longer be read after it has been disconnected.
@@ -201,6 +235,16 @@ public class BoxAPIResponse {
         }
     }
 
+    /**
+     * Closes the connection of this response without reading the rest of its body, so that a body that can't be read
+     * anymore doesn't need to be drained, and a read blocked on the body from another thread fails.
+     */
+    void abort() {
+        if (this.connection != null) {
+            this.connection.disconnect();
+        }
+    }
+
     /**
      *
      * @return A Map containg headers on this Box API Response.
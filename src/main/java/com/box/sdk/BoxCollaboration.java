@@ -109,7 +109,7 @@ public class BoxCollaboration extends BoxResource {
 
         request.setBody(requestJSON.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
 
         BoxCollaboration newCollaboration = new BoxCollaboration(api, responseJSON.get("id").asString());
         return newCollaboration.new Info(responseJSON);
@@ -126,7 +126,7 @@ public class BoxCollaboration extends BoxResource {
 
         BoxAPIRequest request = new BoxAPIRequest(api, url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
 
         int entriesCount = responseJSON.get("total_count").asInt();
         Collection<BoxCollaboration.Info> collaborations = new ArrayList<BoxCollaboration.Info>(entriesCount);
@@ -152,7 +152,7 @@ public class BoxCollaboration extends BoxResource {
 
         BoxAPIRequest request = new BoxAPIRequest(api, url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonObject = response.getJsonObject();
         return new Info(jsonObject);
     }
 
@@ -168,7 +168,7 @@ public class BoxCollaboration extends BoxResource {
 
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        return new Info(response.getJSON());
+        return new Info(response.getJsonObject());
     }
 
     /**
@@ -186,7 +186,7 @@ public class BoxCollaboration extends BoxResource {
 
         if (boxAPIResponse instanceof BoxJSONResponse) {
             BoxJSONResponse response = (BoxJSONResponse) boxAPIResponse;
-            JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+            JsonObject jsonObject = response.getJsonObject();
             info.update(jsonObject);
         }
     }
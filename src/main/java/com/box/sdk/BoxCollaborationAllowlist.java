@@ -65,7 +65,7 @@ public class BoxCollaborationAllowlist extends BoxResource {
 
         request.setBody(requestJSON.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
         BoxCollaborationAllowlist domainAllowlist =
                 new BoxCollaborationAllowlist(api, responseJSON.get("id").asString());
 
@@ -80,7 +80,7 @@ public class BoxCollaborationAllowlist extends BoxResource {
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, HttpMethod.GET);
         BoxJSONResponse response = (BoxJSONResponse) request.send();
 
-        return new Info(JsonObject.readFrom(response.getJSON()));
+        return new Info(response.getJsonObject());
     }
 
     /**
@@ -63,7 +63,7 @@ public class BoxCollaborationAllowlistExemptTarget extends BoxResource {
 
         request.setBody(requestJSON.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
         BoxCollaborationAllowlistExemptTarget userAllowlist = new BoxCollaborationAllowlistExemptTarget(api,
                 responseJSON.get("id").asString());
 
@@ -81,7 +81,7 @@ public class BoxCollaborationAllowlistExemptTarget extends BoxResource {
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, HttpMethod.GET);
         BoxJSONResponse response = (BoxJSONResponse) request.send();
 
-        return new Info(JsonObject.readFrom(response.getJSON()));
+        return new Info(response.getJsonObject());
     }
 
     /**
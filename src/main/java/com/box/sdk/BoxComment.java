@@ -55,7 +55,7 @@ public class BoxComment extends BoxResource {
         URL url = COMMENT_URL_TEMPLATE.build(this.getAPI().getBaseURL(), this.getID());
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject jsonResponse = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonResponse = response.getJsonObject();
 
         return new Info(jsonResponse);
     }
@@ -73,7 +73,7 @@ public class BoxComment extends BoxResource {
         BoxJSONRequest request = new BoxJSONRequest(this.getAPI(), url, "PUT");
         request.setBody(newInfo.getPendingChanges());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject jsonResponse = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonResponse = response.getJsonObject();
 
         return new Info(jsonResponse);
     }
@@ -100,7 +100,7 @@ public class BoxComment extends BoxResource {
         BoxJSONRequest request = new BoxJSONRequest(this.getAPI(), url, "POST");
         request.setBody(requestJSON.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
 
         BoxComment addedComment = new BoxComment(this.getAPI(), responseJSON.get("id").asString());
         return addedComment.new Info(responseJSON);
@@ -2,14 +2,25 @@ package com.box.sdk;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.io.UnsupportedEncodingException;
+import java.lang.ref.WeakReference;
+import java.math.BigInteger;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.security.Security;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -45,6 +56,33 @@ public class BoxDeveloperEditionAPIConnection extends BoxAPIConnection {
     private static final String JWT_GRANT_TYPE =
             "grant_type=urn:ietf:params:oauth:grant-type:jwt-bearer&client_id=%s&client_secret=%s&assertion=%s";
 
+    /**
+     * How long before its access token expires a connection with background refresh gets a new token. This is longer
+     * than the time before expiry at which requests refresh the token themselves, so requests don't have to wait for a
+     * new token.
+     */
+    private static final long BACKGROUND_REFRESH_LEAD = 120000;
+    private static final int BACKGROUND_REFRESH_THREADS = 2;
+
+    private static final int MAX_DECRYPTED_PRIVATE_KEYS = 16;
+
+    /**
+     * The most recently used decrypted private keys, by a SHA-256 digest of the encrypted key and its password, so that
+     * connections using the same key only parse and decrypt it once. The cache doesn't keep the password, and doesn't
+     * keep the keys of connections that stopped being created.
+     */
+    private static final Map<String, PrivateKey> DECRYPTED_PRIVATE_KEYS =
+        new LinkedHashMap<String, PrivateKey>(MAX_DECRYPTED_PRIVATE_KEYS, 0.75F, true) {
+            private static final long serialVersionUID = 4930912715375812309L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PrivateKey> eldest) {
+                return this.size() > MAX_DECRYPTED_PRIVATE_KEYS;
+            }
+        };
+
+    private static ScheduledExecutorService backgroundRefreshExecutor;
+
     private final String entityID;
     private final DeveloperEditionEntityType entityType;
     private final EncryptionAlgorithm encryptionAlgorithm;
@@ -52,6 +90,11 @@ public class BoxDeveloperEditionAPIConnection extends BoxAPIConnection {
     private final String privateKey;
     private final String privateKeyPassword;
     private BackoffCounter backoffCounter;
+    private volatile PrivateKey decryptedPrivateKey;
+    private boolean backgroundRefresh;
+    private ScheduledFuture<?> backgroundRefreshFuture;
+    private BoxDeveloperEditionTokenBroker tokenBroker;
+    private volatile BoxDeveloperEditionTokenBroker.Token brokerToken;
 
     private IAccessTokenCache accessTokenCache;
 
@@ -313,6 +356,36 @@ public class BoxDeveloperEditionAPIConnection extends BoxAPIConnection {
      * Authenticates the API connection for Box Developer Edition.
      */
     public void authenticate() {
+        if (this.tokenBroker != null) {
+            this.useBrokerToken(this.tokenBroker.getToken(this.entityID, this.brokerToken));
+            return;
+        }
+
+        JsonObject jsonObject = this.requestAccessToken();
+
+        this.setAccessToken(jsonObject.get("access_token").asString());
+        this.setLastRefresh(System.currentTimeMillis());
+        this.setExpires(jsonObject.get("expires_in").asLong() * 1000);
+
+        //if token cache is specified, save to cache
+        if (this.accessTokenCache != null) {
+            String key = this.getAccessTokenCacheKey();
+            JsonObject accessTokenCacheInfo = new JsonObject()
+                    .add("accessToken", this.getAccessToken())
+                    .add("lastRefresh", this.getLastRefresh())
+                    .add("expires", this.getExpires());
+
+            this.accessTokenCache.put(key, accessTokenCacheInfo.toString());
+        }
+
+        this.scheduleBackgroundRefresh();
+    }
+
+    /**
+     * Exchanges a new JWT assertion for an access token, retrying transient errors.
+     * @return the JSON body of the token response.
+     */
+    JsonObject requestAccessToken() {
         URL url;
         try {
             url = new URL(this.getTokenURL());
@@ -321,12 +394,14 @@ public class BoxDeveloperEditionAPIConnection extends BoxAPIConnection {
             throw new RuntimeException("An invalid token URL indicates a bug in the SDK.", e);
         }
 
-        this.backoffCounter.reset(this.getMaxRetryAttempts() + 1);
+        RetryPolicy retryPolicy = this.getRetryPolicy();
+        retryPolicy.requestStarted();
+        this.backoffCounter.reset(retryPolicy.getMaxRetryAttempts(this) + 1);
         NumericDate jwtTime = null;
         String jwtAssertion;
         String urlParameters;
         BoxAPIRequest request;
-        String json = null;
+        JsonObject jsonObject = null;
         final Logger logger = Logger.getLogger(BoxAPIRequest.class.getName());
 
         while (this.backoffCounter.getAttemptsRemaining() > 0) {
@@ -340,33 +415,23 @@ public class BoxDeveloperEditionAPIConnection extends BoxAPIConnection {
 
             try {
                 BoxJSONResponse response = (BoxJSONResponse) request.sendWithoutRetry();
-                json = response.getJSON();
+                jsonObject = response.getJsonObject();
                 break;
             } catch (BoxAPIException apiException) {
                 long responseReceivedTime = System.currentTimeMillis();
 
-                if (!this.backoffCounter.decrement()
-                    || (!BoxAPIRequest.isRequestRetryable(apiException)
-                    && !BoxAPIRequest.isResponseRetryable(apiException.getResponseCode(), apiException))) {
-                    throw apiException;
-                }
-
-                logger.log(Level.WARNING, "Retrying authentication request due to transient error status={0} body={1}",
-                        new Object[] {apiException.getResponseCode(), apiException.getResponse()});
-
                 try {
-                    List<String> retryAfterHeader = apiException.getHeaders().get("Retry-After");
-                    if (retryAfterHeader == null) {
-                        this.backoffCounter.waitBackoff();
-                    } else {
-                        int retryAfterDelay = Integer.parseInt(retryAfterHeader.get(0)) * 1000;
-                        this.backoffCounter.waitBackoff(retryAfterDelay);
+                    if (!retryPolicy.waitBeforeRetry(this.backoffCounter, apiException, false)) {
+                        throw apiException;
                     }
                 } catch (InterruptedException interruptedException) {
                     Thread.currentThread().interrupt();
                     throw apiException;
                 }
 
+                logger.log(Level.WARNING, "Retrying authentication request due to transient error status={0} body={1}",
+                        new Object[] {apiException.getResponseCode(), apiException.getResponse()});
+
                 long endWaitTime = System.currentTimeMillis();
                 long secondsSinceResponseReceived = (endWaitTime - responseReceivedTime) / 1000;
 
@@ -381,25 +446,99 @@ public class BoxDeveloperEditionAPIConnection extends BoxAPIConnection {
             }
         }
 
-        if (json == null) {
+        if (jsonObject == null) {
             throw new RuntimeException("Unable to read authentication response in SDK.");
         }
 
-        JsonObject jsonObject = JsonObject.readFrom(json);
-        this.setAccessToken(jsonObject.get("access_token").asString());
-        this.setLastRefresh(System.currentTimeMillis());
-        this.setExpires(jsonObject.get("expires_in").asLong() * 1000);
+        return jsonObject;
+    }
 
-        //if token cache is specified, save to cache
-        if (this.accessTokenCache != null) {
-            String key = this.getAccessTokenCacheKey();
-            JsonObject accessTokenCacheInfo = new JsonObject()
-                    .add("accessToken", this.getAccessToken())
-                    .add("lastRefresh", this.getLastRefresh())
-                    .add("expires", this.getExpires());
+    /**
+     * Gets an access token that can be used to authenticate an API request, refreshing it if it has expired. For a
+     * connection created by a token broker, this also tells the broker that the user's token is in use, so that the
+     * broker refreshes it in the background before it expires.
+     * @return a valid access token that can be used to authenticate an API request.
+     */
+    @Override
+    public String getAccessToken() {
+        BoxDeveloperEditionTokenBroker.Token token = this.brokerToken;
+        if (token != null) {
+            token.markUsed();
+        }
 
-            this.accessTokenCache.put(key, accessTokenCacheInfo.toString());
+        return super.getAccessToken();
+    }
+
+    /**
+     * Makes this connection get its access tokens from a token broker instead of requesting them itself.
+     * @param tokenBroker the token broker that issues the access tokens of this connection's user.
+     */
+    void setTokenBroker(BoxDeveloperEditionTokenBroker tokenBroker) {
+        this.tokenBroker = tokenBroker;
+    }
+
+    /**
+     * Uses an access token issued by this connection's token broker.
+     * @param token the access token to use.
+     */
+    void useBrokerToken(BoxDeveloperEditionTokenBroker.Token token) {
+        this.setAccessToken(token.getAccessToken());
+        this.setLastRefresh(token.getLastRefresh());
+        this.setExpires(token.getExpires());
+        this.brokerToken = token;
+    }
+
+    /**
+     * Gets whether this connection refreshes its access token in the background before it expires.
+     * @return true if the access token is refreshed in the background; otherwise false.
+     */
+    public synchronized boolean getBackgroundRefresh() {
+        return this.backgroundRefresh;
+    }
+
+    /**
+     * Sets whether this connection refreshes its access token in the background before it expires, so that the JWT
+     * assertion for the next token is signed and exchanged by a background thread instead of by a request thread.
+     * Requests keep using the current access token while it is being refreshed. Background refresh is disabled by
+     * default, and a connection that is no longer referenced stops being refreshed.
+     * @param backgroundRefresh whether to refresh the access token in the background.
+     */
+    public synchronized void setBackgroundRefresh(boolean backgroundRefresh) {
+        this.backgroundRefresh = backgroundRefresh;
+        if (backgroundRefresh) {
+            this.scheduleBackgroundRefresh();
+        } else if (this.backgroundRefreshFuture != null) {
+            this.backgroundRefreshFuture.cancel(false);
+            this.backgroundRefreshFuture = null;
+        }
+    }
+
+    /**
+     * Schedules the next background refresh of the access token, replacing the one that was scheduled before.
+     */
+    private synchronized void scheduleBackgroundRefresh() {
+        // A connection that hasn't got a token yet is scheduled once a request authenticates it, and the tokens of a
+        // connection created by a token broker are refreshed by the broker.
+        if (!this.backgroundRefresh || this.getExpires() <= 0 || this.tokenBroker != null) {
+            return;
         }
+
+        if (this.backgroundRefreshFuture != null) {
+            this.backgroundRefreshFuture.cancel(false);
+        }
+
+        long delay = this.getLastRefresh() + this.getExpires() - BACKGROUND_REFRESH_LEAD - System.currentTimeMillis();
+        this.backgroundRefreshFuture = getBackgroundRefreshExecutor().schedule(
+            new BackgroundRefresh(this), Math.max(0, delay), TimeUnit.MILLISECONDS);
+    }
+
+    private static synchronized ScheduledExecutorService getBackgroundRefreshExecutor() {
+        if (backgroundRefreshExecutor == null) {
+            backgroundRefreshExecutor = Executors.newScheduledThreadPool(BACKGROUND_REFRESH_THREADS,
+                new BoxThreadFactory("token-refresh"));
+        }
+
+        return backgroundRefreshExecutor;
     }
 
     private NumericDate getDateForJWTConstruction(BoxAPIException apiException, long secondsSinceResponseDateReceived) {
@@ -453,7 +592,7 @@ public class BoxDeveloperEditionAPIConnection extends BoxAPIConnection {
         this.getRefreshLock().writeLock().unlock();
     }
 
-    private String getAccessTokenCacheKey() {
+    String getAccessTokenCacheKey() {
         return String.format("/%s/%s/%s/%s", this.getUserAgent(), this.getClientID(),
                 this.entityType.toString(), this.entityID);
     }
@@ -497,7 +636,7 @@ public class BoxDeveloperEditionAPIConnection extends BoxAPIConnection {
 
         JsonWebSignature jws = new JsonWebSignature();
         jws.setPayload(claims.toJson());
-        jws.setKey(this.decryptPrivateKey());
+        jws.setKey(this.getPrivateKey());
         jws.setAlgorithmHeaderValue(this.getAlgorithmIdentifier());
         jws.setHeader("typ", "JWT");
         if ((this.publicKeyID != null) && !this.publicKeyID.isEmpty()) {
@@ -532,6 +671,51 @@ public class BoxDeveloperEditionAPIConnection extends BoxAPIConnection {
         return algorithmId;
     }
 
+    /**
+     * Gets the decrypted private key used to sign JWT assertions, which is only decrypted once for all the connections
+     * using the same key and password.
+     * @return the decrypted private key.
+     */
+    PrivateKey getPrivateKey() {
+        PrivateKey key = this.decryptedPrivateKey;
+        if (key == null) {
+            String cacheKey = this.getPrivateKeyDigest();
+            synchronized (DECRYPTED_PRIVATE_KEYS) {
+                key = DECRYPTED_PRIVATE_KEYS.get(cacheKey);
+            }
+            if (key == null) {
+                key = this.decryptPrivateKey();
+                synchronized (DECRYPTED_PRIVATE_KEYS) {
+                    PrivateKey cachedKey = DECRYPTED_PRIVATE_KEYS.get(cacheKey);
+                    if (cachedKey == null) {
+                        DECRYPTED_PRIVATE_KEYS.put(cacheKey, key);
+                    } else {
+                        key = cachedKey;
+                    }
+                }
+            }
+            this.decryptedPrivateKey = key;
+        }
+
+        return key;
+    }
+
+    private String getPrivateKeyDigest() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(this.privateKey.getBytes("UTF-8"));
+            if (this.privateKeyPassword != null) {
+                digest.update((byte) 0);
+                digest.update(this.privateKeyPassword.getBytes("UTF-8"));
+            }
+            return String.format("%064x", new BigInteger(1, digest.digest()));
+        } catch (NoSuchAlgorithmException e) {
+            throw new BoxAPIException("Digest algorithm not found", e);
+        } catch (UnsupportedEncodingException e) {
+            throw new BoxAPIException("UTF-8 encoding isn't supported.", e);
+        }
+    }
+
     private PrivateKey decryptPrivateKey() {
         PrivateKey decryptedPrivateKey = null;
         try {
@@ -567,4 +751,32 @@ public class BoxDeveloperEditionAPIConnection extends BoxAPIConnection {
         return decryptedPrivateKey;
     }
 
+    /**
+     * Refreshes the access token of a connection in the background. The connection is only weakly referenced, so that
+     * a scheduled refresh doesn't keep a connection that is no longer used from being garbage collected.
+     */
+    private static final class BackgroundRefresh implements Runnable {
+        private static final Logger LOGGER = Logger.getLogger(BackgroundRefresh.class.getName());
+
+        private final WeakReference<BoxDeveloperEditionAPIConnection> connection;
+
+        BackgroundRefresh(BoxDeveloperEditionAPIConnection connection) {
+            this.connection = new WeakReference<BoxDeveloperEditionAPIConnection>(connection);
+        }
+
+        @Override
+        public void run() {
+            BoxDeveloperEditionAPIConnection api = this.connection.get();
+            if (api == null || !api.getBackgroundRefresh()) {
+                return;
+            }
+
+            try {
+                api.refresh();
+            } catch (BoxAPIException e) {
+                // Requests refresh the token themselves once it expires, which schedules the next background refresh.
+                LOGGER.log(Level.WARNING, "Couldn't refresh the access token in the background.", e);
+            }
+        }
+    }
 }
@@ -0,0 +1,444 @@
+package com.box.sdk;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.box.sdk.http.DefaultHttpTransport;
+import com.box.sdk.http.HttpTransport;
+import com.eclipsesource.json.JsonObject;
+
+/**
+ * Issues and shares the access tokens of the App Users of a Box Developer Edition application, for applications that
+ * act as many App Users.
+ *
+ * <p>Connections created with {@link #getAppUserConnection(String)} get their access tokens from the broker instead of
+ * requesting their own, so creating a connection doesn't send any request and all the connections for a user share one
+ * token:</p>
+ *
+ * <ul>
+ *     <li>The broker keeps a table of the tokens that haven't expired yet. When several threads need a token for the
+ *     same user at the same time, a single token request is sent and its token is given to all of them.</li>
+ *     <li>Tokens that have been used since they were issued are refreshed by a bounded pool of background threads a
+ *     few minutes before they expire, so requests rarely wait for a new token. Tokens that haven't been used are
+ *     evicted instead, so the table only holds the tokens of active users.</li>
+ *     <li>The private key is only decrypted once, and the connections created by the broker all use its HTTP transport
+ *     and request rate limiter, which can be a {@link com.box.sdk.http.PooledHttpTransport} and a
+ *     {@link RequestRateLimiter} shared by every user.</li>
+ * </ul>
+ *
+ * <p>When an access token cache is given, the tokens issued by the broker are also stored in it, and a token found in
+ * it is used instead of requesting a new one, so that several processes can share the tokens.</p>
+ */
+public class BoxDeveloperEditionTokenBroker {
+
+    /**
+     * The default number of threads refreshing tokens in the background.
+     */
+    public static final int DEFAULT_REFRESH_THREADS = 2;
+
+    private static final Logger LOGGER = Logger.getLogger(BoxDeveloperEditionTokenBroker.class.getName());
+
+    /**
+     * How long before a token expires it is refreshed or evicted. This is longer than the time before expiry at which
+     * connections ask for a new token, so that the refreshed token is ready when they do.
+     */
+    private static final long REFRESH_LEAD = 300000;
+
+    private final String clientID;
+    private final String clientSecret;
+    private final JWTEncryptionPreferences encryptionPref;
+    private final IAccessTokenCache accessTokenCache;
+    private final ConcurrentMap<String, Token> tokens;
+    private final ConcurrentMap<String, FutureTask<Token>> tokenRequests;
+    private final ScheduledExecutorService refreshExecutor;
+
+    private volatile String tokenURL;
+    private volatile String baseURL;
+    private volatile String baseUploadURL;
+    private volatile HttpTransport httpTransport;
+    private volatile RequestRateLimiter requestRateLimiter;
+
+    /**
+     * Constructs a token broker.
+     * @param clientID          the client ID to use when exchanging JWT assertions for access tokens.
+     * @param clientSecret      the client secret to use when exchanging JWT assertions for access tokens.
+     * @param encryptionPref    the encryption preferences for signing the JWT assertions.
+     * @param accessTokenCache  the cache for sharing access tokens with other processes, or null.
+     * @param refreshThreads    the number of threads refreshing tokens in the background.
+     */
+    public BoxDeveloperEditionTokenBroker(String clientID, String clientSecret, JWTEncryptionPreferences encryptionPref,
+                                          IAccessTokenCache accessTokenCache, int refreshThreads) {
+        if (refreshThreads < 1) {
+            throw new IllegalArgumentException("The number of refresh threads must be at least 1.");
+        }
+
+        this.clientID = clientID;
+        this.clientSecret = clientSecret;
+        this.encryptionPref = encryptionPref;
+        this.accessTokenCache = accessTokenCache;
+        this.tokens = new ConcurrentHashMap<String, Token>();
+        this.tokenRequests = new ConcurrentHashMap<String, FutureTask<Token>>();
+        this.refreshExecutor = Executors.newScheduledThreadPool(refreshThreads,
+            new BoxThreadFactory("token-broker"));
+        this.tokenURL = BoxAPIConnection.TOKEN_URL_STRING;
+        this.baseURL = BoxAPIConnection.DEFAULT_BASE_URL;
+        this.baseUploadURL = BoxAPIConnection.DEFAULT_BASE_UPLOAD_URL;
+        this.httpTransport = new DefaultHttpTransport();
+    }
+
+    /**
+     * Constructs a token broker with the default number of refresh threads.
+     * @param clientID          the client ID to use when exchanging JWT assertions for access tokens.
+     * @param clientSecret      the client secret to use when exchanging JWT assertions for access tokens.
+     * @param encryptionPref    the encryption preferences for signing the JWT assertions.
+     * @param accessTokenCache  the cache for sharing access tokens with other processes, or null.
+     */
+    public BoxDeveloperEditionTokenBroker(String clientID, String clientSecret, JWTEncryptionPreferences encryptionPref,
+                                          IAccessTokenCache accessTokenCache) {
+        this(clientID, clientSecret, encryptionPref, accessTokenCache, DEFAULT_REFRESH_THREADS);
+    }
+
+    /**
+     * Constructs a token broker leveraging BoxConfig, with the default number of refresh threads.
+     * @param boxConfig         box configuration settings object.
+     * @param accessTokenCache  the cache for sharing access tokens with other processes, or null.
+     */
+    public BoxDeveloperEditionTokenBroker(BoxConfig boxConfig, IAccessTokenCache accessTokenCache) {
+        this(boxConfig.getClientId(), boxConfig.getClientSecret(), boxConfig.getJWTEncryptionPreferences(),
+            accessTokenCache);
+    }
+
+    /**
+     * Creates a connection for an App User that gets its access tokens from this broker. No request is sent until the
+     * connection needs a token that the broker doesn't have yet.
+     * @param userID the ID of the App User.
+     * @return a new connection for the App User.
+     */
+    public BoxDeveloperEditionAPIConnection getAppUserConnection(String userID) {
+        BoxDeveloperEditionAPIConnection connection = this.createConnection(userID);
+        connection.setRequestRateLimiter(this.requestRateLimiter);
+        connection.setTokenBroker(this);
+
+        Token token = this.tokens.get(userID);
+        if (isUsable(token, null)) {
+            connection.useBrokerToken(token);
+        }
+
+        return connection;
+    }
+
+    /**
+     * Gets a valid access token for an App User, requesting one if the broker doesn't have one yet.
+     * @param userID the ID of the App User.
+     * @return a valid access token for the App User.
+     */
+    public String getAccessToken(String userID) {
+        Token token = this.getToken(userID, null);
+        token.markUsed();
+        return token.getAccessToken();
+    }
+
+    /**
+     * Stops refreshing tokens in the background. Connections created by the broker can still get tokens from it.
+     */
+    public void shutdown() {
+        this.refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Gets the URL used for requesting access tokens.
+     * @return the token URL.
+     */
+    public String getTokenURL() {
+        return this.tokenURL;
+    }
+
+    /**
+     * Sets the URL used for requesting access tokens.
+     * @param tokenURL the token URL.
+     */
+    public void setTokenURL(String tokenURL) {
+        this.tokenURL = tokenURL;
+    }
+
+    /**
+     * Gets the base URL used by the connections created by this broker.
+     * @return the base URL.
+     */
+    public String getBaseURL() {
+        return this.baseURL;
+    }
+
+    /**
+     * Sets the base URL used by the connections created by this broker.
+     * @param baseURL the base URL.
+     */
+    public void setBaseURL(String baseURL) {
+        this.baseURL = baseURL;
+    }
+
+    /**
+     * Gets the base upload URL used by the connections created by this broker.
+     * @return the base upload URL.
+     */
+    public String getBaseUploadURL() {
+        return this.baseUploadURL;
+    }
+
+    /**
+     * Sets the base upload URL used by the connections created by this broker.
+     * @param baseUploadURL the base upload URL.
+     */
+    public void setBaseUploadURL(String baseUploadURL) {
+        this.baseUploadURL = baseUploadURL;
+    }
+
+    /**
+     * Gets the HTTP transport shared by the token requests and the connections created by this broker.
+     * @return the HTTP transport.
+     */
+    public HttpTransport getHttpTransport() {
+        return this.httpTransport;
+    }
+
+    /**
+     * Sets the HTTP transport shared by the token requests and the connections created by this broker. Connections
+     * that were already created keep the transport they were created with.
+     * @param httpTransport the HTTP transport.
+     */
+    public void setHttpTransport(HttpTransport httpTransport) {
+        if (httpTransport == null) {
+            throw new IllegalArgumentException("The HTTP transport can't be null.");
+        }
+        this.httpTransport = httpTransport;
+    }
+
+    /**
+     * Gets the rate limiter shared by the connections created by this broker.
+     * @return the rate limiter, or null if requests aren't rate limited.
+     */
+    public RequestRateLimiter getRequestRateLimiter() {
+        return this.requestRateLimiter;
+    }
+
+    /**
+     * Sets the rate limiter shared by the connections created by this broker. Token requests aren't paced by it, so
+     * that requests waiting for a token never hold the places of the token requests in the rate limiter. Connections
+     * that were already created keep the rate limiter they were created with.
+     * @param requestRateLimiter the rate limiter, or null to stop limiting requests.
+     */
+    public void setRequestRateLimiter(RequestRateLimiter requestRateLimiter) {
+        this.requestRateLimiter = requestRateLimiter;
+    }
+
+    /**
+     * Gets a token for an App User from the table, or requests one. Concurrent calls for the same user share a single
+     * token request.
+     * @param  userID     the ID of the App User.
+     * @param  staleToken the token the caller already has and wants replaced, or null.
+     * @return            a token that needn't be refreshed yet and isn't the stale token.
+     */
+    Token getToken(String userID, Token staleToken) {
+        Token token = this.tokens.get(userID);
+        if (isUsable(token, staleToken)) {
+            return token;
+        }
+
+        FutureTask<Token> request = new FutureTask<Token>(new TokenRequest(userID, staleToken));
+        FutureTask<Token> pendingRequest = this.tokenRequests.putIfAbsent(userID, request);
+        if (pendingRequest == null) {
+            pendingRequest = request;
+            try {
+                request.run();
+            } finally {
+                this.tokenRequests.remove(userID, request);
+            }
+        }
+
+        try {
+            return pendingRequest.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new BoxAPIException("Couldn't get an access token.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BoxAPIException("Interrupted while waiting for an access token.", e);
+        }
+    }
+
+    private BoxDeveloperEditionAPIConnection createConnection(String userID) {
+        BoxDeveloperEditionAPIConnection connection = new BoxDeveloperEditionAPIConnection(userID,
+            DeveloperEditionEntityType.USER, this.clientID, this.clientSecret, this.encryptionPref, null);
+        connection.setTokenURL(this.tokenURL);
+        connection.setBaseURL(this.baseURL);
+        connection.setBaseUploadURL(this.baseUploadURL);
+        connection.setHttpTransport(this.httpTransport);
+
+        return connection;
+    }
+
+    private Token readCachedToken(BoxDeveloperEditionAPIConnection connection, Token staleToken) {
+        if (this.accessTokenCache == null) {
+            return null;
+        }
+
+        String cachedTokenInfo = this.accessTokenCache.get(connection.getAccessTokenCacheKey());
+        if (cachedTokenInfo == null) {
+            return null;
+        }
+
+        JsonObject json = JsonObject.readFrom(cachedTokenInfo);
+        Token token = new Token(json.get("accessToken").asString(), json.get("lastRefresh").asLong(),
+            json.get("expires").asLong());
+        if (token.needsRefresh()
+            || (staleToken != null && staleToken.getAccessToken().equals(token.getAccessToken()))) {
+            return null;
+        }
+
+        return token;
+    }
+
+    private void scheduleRefresh(String userID, Token token) {
+        long delay = token.getLastRefresh() + token.getExpires() - REFRESH_LEAD - System.currentTimeMillis();
+        try {
+            this.refreshExecutor.schedule(new TokenRefresh(userID, token), Math.max(0, delay), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // The broker was shut down, so the token is refreshed when a connection asks for a new one.
+            return;
+        }
+    }
+
+    private static boolean isUsable(Token token, Token staleToken) {
+        return token != null && token != staleToken && !token.needsRefresh();
+    }
+
+    /**
+     * An access token issued for an App User.
+     */
+    static final class Token {
+        private final String accessToken;
+        private final long lastRefresh;
+        private final long expires;
+        private volatile boolean used;
+
+        Token(String accessToken, long lastRefresh, long expires) {
+            this.accessToken = accessToken;
+            this.lastRefresh = lastRefresh;
+            this.expires = expires;
+        }
+
+        String getAccessToken() {
+            return this.accessToken;
+        }
+
+        long getLastRefresh() {
+            return this.lastRefresh;
+        }
+
+        long getExpires() {
+            return this.expires;
+        }
+
+        boolean isUsed() {
+            return this.used;
+        }
+
+        void markUsed() {
+            if (!this.used) {
+                this.used = true;
+            }
+        }
+
+        boolean needsRefresh() {
+            return System.currentTimeMillis() - this.lastRefresh >= this.expires - BoxAPIConnection.REFRESH_EPSILON;
+        }
+    }
+
+    /**
+     * Requests a new token for an App User, unless a usable token was put in the table or the cache since the request
+     * was created.
+     */
+    private final class TokenRequest implements Callable<Token> {
+        private final String userID;
+        private final Token staleToken;
+
+        TokenRequest(String userID, Token staleToken) {
+            this.userID = userID;
+            this.staleToken = staleToken;
+        }
+
+        @Override
+        public Token call() {
+            BoxDeveloperEditionTokenBroker broker = BoxDeveloperEditionTokenBroker.this;
+            Token token = broker.tokens.get(this.userID);
+            if (isUsable(token, this.staleToken)) {
+                return token;
+            }
+
+            BoxDeveloperEditionAPIConnection connection = broker.createConnection(this.userID);
+            token = broker.readCachedToken(connection, this.staleToken);
+            if (token == null) {
+                JsonObject json = connection.requestAccessToken();
+                token = new Token(json.get("access_token").asString(), System.currentTimeMillis(),
+                    json.get("expires_in").asLong() * 1000);
+
+                if (broker.accessTokenCache != null) {
+                    JsonObject accessTokenCacheInfo = new JsonObject()
+                        .add("accessToken", token.getAccessToken())
+                        .add("lastRefresh", token.getLastRefresh())
+                        .add("expires", token.getExpires());
+                    broker.accessTokenCache.put(connection.getAccessTokenCacheKey(), accessTokenCacheInfo.toString());
+                }
+            }
+
+            broker.tokens.put(this.userID, token);
+            broker.scheduleRefresh(this.userID, token);
+            return token;
+        }
+    }
+
+    /**
+     * Refreshes a token that has been used shortly before it expires, or evicts it if it hasn't.
+     */
+    private final class TokenRefresh implements Runnable {
+        private final String userID;
+        private final Token token;
+
+        TokenRefresh(String userID, Token token) {
+            this.userID = userID;
+            this.token = token;
+        }
+
+        @Override
+        public void run() {
+            BoxDeveloperEditionTokenBroker broker = BoxDeveloperEditionTokenBroker.this;
+            if (broker.tokens.get(this.userID) != this.token) {
+                return;
+            }
+
+            if (!this.token.isUsed()) {
+                broker.tokens.remove(this.userID, this.token);
+                return;
+            }
+
+            try {
+                broker.getToken(this.userID, this.token);
+            } catch (BoxAPIException e) {
+                // The next connection that needs a token for the user requests it.
+                LOGGER.log(Level.WARNING, "Couldn't refresh the access token of an App User in the background.", e);
+                broker.tokens.remove(this.userID, this.token);
+            }
+        }
+    }
+}
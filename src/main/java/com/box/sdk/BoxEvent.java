@@ -2,25 +2,37 @@ package com.box.sdk;
 
 import java.text.ParseException;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 
 import com.eclipsesource.json.JsonObject;
 import com.eclipsesource.json.JsonValue;
 
 /**
  * Represents an event that was fired off by the Box events API.
+ *
+ * <p>Events are created in the form set with {@link BoxAPIConnection#setEventForm(BoxEvent.Form)}. Compact events
+ * only decode the type, creation time, source and creator IDs of the event, which is enough to filter and route
+ * large numbers of events. See {@link BoxEvent.Form} for what their other getters return.</p>
  */
 @BoxResourceType("event")
 public class BoxEvent extends BoxResource {
+    private final boolean compact;
     private BoxResource.Info sourceInfo;
     private BoxEvent.Type type;
     private JsonObject sourceJSON;
     private Date createdAt;
+    private long createdAtMillis;
+    private String sourceID;
+    private String sourceType;
+    private String createdByID;
     private String ipAddress;
     private JsonObject additionalDetails;
     private BoxCollaborator.Info accessibleBy;
     private BoxUser.Info createdBy;
     private String sessionID;
     private BoxUser.Info actionBy;
+    private volatile JsonObject unparsedJSON;
 
     /**
      * Constructs a BoxEvent from a JSON string.
@@ -34,12 +46,22 @@ public class BoxEvent extends BoxResource {
     BoxEvent(BoxAPIConnection api, JsonObject jsonObject) {
         super(api, jsonObject.get("event_id").asString());
 
+        Form form = api == null ? null : api.getEventForm();
+        this.compact = form == Form.COMPACT || form == Form.COMPACT_WITH_JSON;
         for (JsonObject.Member member : jsonObject) {
             if (member.getValue().isNull()) {
                 continue;
             }
 
-            this.parseJsonMember(member);
+            if (this.compact) {
+                this.parseCompactJsonMember(member);
+            } else {
+                this.parseJsonMember(member);
+            }
+        }
+
+        if (form == Form.COMPACT_WITH_JSON) {
+            this.unparsedJSON = jsonObject;
         }
     }
 
@@ -53,6 +75,7 @@ public class BoxEvent extends BoxResource {
      * @return info about the source of this event.
      */
     public BoxResource.Info getSourceInfo() {
+        this.parseUnparsedJSON();
         return this.sourceInfo;
     }
 
@@ -66,9 +89,28 @@ public class BoxEvent extends BoxResource {
      * @return the JSON representation of the source of this event.
      */
     public JsonObject getSourceJSON() {
+        this.parseUnparsedJSON();
         return this.sourceJSON;
     }
 
+    /**
+     * Gets the ID of the source of this event. For enterprise events whose source is described by its item, this is
+     * the ID of the item.
+     * @return the ID of the source of this event.
+     */
+    public String getSourceID() {
+        return this.sourceID;
+    }
+
+    /**
+     * Gets the type of the source of this event, such as "file" or "user". For enterprise events whose source is
+     * described by its item, this is the type of the item.
+     * @return the type of the source of this event.
+     */
+    public String getSourceType() {
+        return this.sourceType;
+    }
+
     /**
      * Gets the type of this event.
      * @return the type of this event.
@@ -83,14 +125,27 @@ public class BoxEvent extends BoxResource {
      * @return the time that this event was created.
      */
     public Date getCreatedAt() {
+        if (this.createdAt == null && this.compact && this.createdAtMillis != 0) {
+            return new Date(this.createdAtMillis);
+        }
+
         return this.createdAt;
     }
 
+    /**
+     * Gets the time that this event was created in milliseconds since the epoch, without creating a Date.
+     * @return the time that this event was created, or 0 if it isn't known.
+     */
+    public long getCreatedAtMillis() {
+        return this.createdAtMillis;
+    }
+
     /**
      * Gets the IP address of the user that triggered this event.
      * @return the IP address of the user that triggered this event.
      */
     public String getIPAddress() {
+        this.parseUnparsedJSON();
         return this.ipAddress;
     }
 
@@ -102,6 +157,7 @@ public class BoxEvent extends BoxResource {
      * @return a JSON object containing additional details about this event.
      */
     public JsonObject getAdditionalDetails() {
+        this.parseUnparsedJSON();
         return this.additionalDetails;
     }
 
@@ -114,6 +170,7 @@ public class BoxEvent extends BoxResource {
      * @return info about the collaborator who was given access to a folder within the current enterprise.
      */
     public BoxCollaborator.Info getAccessibleBy() {
+        this.parseUnparsedJSON();
         return this.accessibleBy;
     }
 
@@ -122,14 +179,24 @@ public class BoxEvent extends BoxResource {
      * @return info about the user that triggered this event.
      */
     public BoxUser.Info getCreatedBy() {
+        this.parseUnparsedJSON();
         return this.createdBy;
     }
 
+    /**
+     * Gets the ID of the user that triggered this event, without parsing the info about the user.
+     * @return the ID of the user that triggered this event.
+     */
+    public String getCreatedByID() {
+        return this.createdByID;
+    }
+
     /**
      * Gets the session ID of the user that triggered this event.
      * @return the session ID of the user that triggered this event.
      */
     public String getSessionID() {
+        this.parseUnparsedJSON();
         return this.sessionID;
     }
 
@@ -138,6 +205,7 @@ public class BoxEvent extends BoxResource {
      * @return info about the user that performed that action for this event.
      */
     public BoxUser.Info getActionBy() {
+        this.parseUnparsedJSON();
         return this.actionBy;
     }
 
@@ -158,21 +226,13 @@ public class BoxEvent extends BoxResource {
                 this.sourceInfo = null;
             }
             this.sourceJSON = JsonObject.unmodifiableObject(value.asObject());
+            this.parseSource(value.asObject());
         } else if (memberName.equals("event_type")) {
-            String stringValue = value.asString();
-            for (Type t : Type.values()) {
-                if (t.name().equals(stringValue)) {
-                    this.type = t;
-                    break;
-                }
-            }
-
-            if (this.type == null) {
-                this.type = Type.UNKNOWN;
-            }
+            this.type = Type.fromName(value.asString());
         } else if (memberName.equals("created_at")) {
             try {
                 this.createdAt = BoxDateFormat.parse(value.asString());
+                this.createdAtMillis = this.createdAt.getTime();
             } catch (ParseException e) {
                 assert false : "A ParseException indicates a bug in the SDK.";
             }
@@ -184,6 +244,7 @@ public class BoxEvent extends BoxResource {
             this.accessibleBy = (BoxCollaborator.Info) BoxResource.parseInfo(this.getAPI(), value.asObject());
         } else if (memberName.equals("created_by")) {
             this.createdBy = (BoxUser.Info) BoxResource.parseInfo(this.getAPI(), value.asObject());
+            this.createdByID = getString(value.asObject(), "id");
         } else if (memberName.equals("session_id")) {
             this.sessionID = value.asString();
         } else if (memberName.equals("action_by")) {
@@ -191,6 +252,86 @@ public class BoxEvent extends BoxResource {
         }
     }
 
+    private void parseCompactJsonMember(JsonObject.Member member) {
+        JsonValue value = member.getValue();
+        String memberName = member.getName();
+        if (memberName.equals("source")) {
+            this.parseSource(value.asObject());
+        } else if (memberName.equals("event_type")) {
+            this.type = Type.fromName(value.asString());
+        } else if (memberName.equals("created_at")) {
+            try {
+                this.createdAtMillis = BoxDateFormat.parse(value.asString()).getTime();
+            } catch (ParseException e) {
+                assert false : "A ParseException indicates a bug in the SDK.";
+            }
+        } else if (memberName.equals("created_by")) {
+            this.createdByID = getString(value.asObject(), "id");
+        }
+    }
+
+    private void parseSource(JsonObject source) {
+        // The sources of some enterprise events describe an item with item_id and item_type instead of id and type.
+        this.sourceID = getString(source, "id");
+        this.sourceType = getString(source, "type");
+        if (this.sourceID == null) {
+            this.sourceID = getString(source, "item_id");
+            this.sourceType = getString(source, "item_type");
+        }
+    }
+
+    /**
+     * Parses the fields of a compact event that were kept as JSON, the first time one of them is read.
+     */
+    private void parseUnparsedJSON() {
+        if (this.unparsedJSON == null) {
+            return;
+        }
+
+        synchronized (this) {
+            JsonObject jsonObject = this.unparsedJSON;
+            if (jsonObject == null) {
+                return;
+            }
+
+            for (JsonObject.Member member : jsonObject) {
+                this.parseJsonMember(member);
+            }
+            this.unparsedJSON = null;
+        }
+    }
+
+    private static String getString(JsonObject jsonObject, String name) {
+        JsonValue value = jsonObject.get(name);
+        if (value == null || !value.isString()) {
+            return null;
+        }
+
+        return value.asString();
+    }
+
+    /**
+     * Enumerates the forms in which events can be created.
+     */
+    public enum Form {
+        /**
+         * Every field of the event is parsed when the event is created.
+         */
+        FULL,
+
+        /**
+         * Only the ID, type, creation time, source ID and type, and creator ID of the event are kept. The getters of
+         * the other fields return null.
+         */
+        COMPACT,
+
+        /**
+         * Like {@link #COMPACT}, but the JSON of the event is also kept, and the other fields are parsed from it the
+         * first time one of their getters is called.
+         */
+        COMPACT_WITH_JSON
+    }
+
     /**
      * Enumerates the possible types for an event.
      */
@@ -766,5 +907,27 @@ public class BoxEvent extends BoxResource {
          * A Shield justification is approved.
          */
         SHIELD_JUSTIFICATION_APPROVAL;
+
+        private static final Map<String, Type> TYPES_BY_NAME = new HashMap<String, Type>();
+
+        static {
+            for (Type type : values()) {
+                TYPES_BY_NAME.put(type.name(), type);
+            }
+        }
+
+        /**
+         * Gets the type with a given name.
+         * @param  name the name of the type, as returned by the API.
+         * @return      the type with the given name, or UNKNOWN if there isn't one.
+         */
+        static Type fromName(String name) {
+            Type type = TYPES_BY_NAME.get(name);
+            if (type == null) {
+                return UNKNOWN;
+            }
+
+            return type;
+        }
     }
 }
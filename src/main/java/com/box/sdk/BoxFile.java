@@ -1,11 +1,13 @@
 package com.box.sdk;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -15,6 +17,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import com.box.sdk.http.HttpMethod;
@@ -218,7 +222,7 @@ public class BoxFile extends BoxItem {
         BoxJSONRequest request = new BoxJSONRequest(this.getAPI(), url, "POST");
         request.setBody(requestJSON.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
 
         BoxComment addedComment = new BoxComment(this.getAPI(), responseJSON.get("id").asString());
         return addedComment.new Info(responseJSON);
@@ -272,7 +276,7 @@ public class BoxFile extends BoxItem {
         BoxJSONRequest request = new BoxJSONRequest(this.getAPI(), url, "POST");
         request.setBody(requestJSON.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
 
         BoxTask addedTask = new BoxTask(this.getAPI(), responseJSON.get("id").asString());
         return addedTask.new Info(responseJSON);
@@ -314,20 +318,58 @@ public class BoxFile extends BoxItem {
         URL url = CONTENT_URL_TEMPLATE.build(this.getAPI().getBaseURL(), this.getID());
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
         BoxAPIResponse response = request.send();
-        InputStream input = response.getBody(listener);
+        response.writeBody(output, listener, this.getAPI().getDownloadBufferSize());
+    }
 
-        byte[] buffer = new byte[BUFFER_SIZE];
-        try {
-            int n = input.read(buffer);
-            while (n != -1) {
-                output.write(buffer, 0, n);
-                n = input.read(buffer);
+    /**
+     * Downloads the contents of this file to a given channel, such as a {@link java.nio.channels.FileChannel}. The
+     * contents are written starting at the channel's current position, and the channel isn't closed.
+     *
+     * @param output the channel to where the file will be written.
+     */
+    public void download(WritableByteChannel output) {
+        this.download(output, null);
+    }
+
+    /**
+     * Downloads the contents of this file to a given channel while reporting the progress to a ProgressListener.
+     *
+     * @param output   the channel to where the file will be written.
+     * @param listener a listener for monitoring the download's progress.
+     */
+    public void download(WritableByteChannel output, ProgressListener listener) {
+        URL url = CONTENT_URL_TEMPLATE.build(this.getAPI().getBaseURL(), this.getID());
+        BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
+        BoxAPIResponse response = request.send();
+        response.writeBody(output, listener, this.getAPI().getDownloadBufferSize());
+    }
+
+    /**
+     * Asynchronously downloads the contents of this file to a given OutputStream.
+     *
+     * @param  output the stream to where the file will be written.
+     * @return        a Future that completes when the download has finished.
+     */
+    public Future<Void> downloadAsync(OutputStream output) {
+        return this.downloadAsync(output, null);
+    }
+
+    /**
+     * Asynchronously downloads the contents of this file to a given OutputStream while reporting the progress to a
+     * ProgressListener. The listener is called from the thread doing the download.
+     *
+     * @param  output   the stream to where the file will be written.
+     * @param  listener a listener for monitoring the download's progress.
+     * @return          a Future that completes when the download has finished.
+     */
+    public Future<Void> downloadAsync(final OutputStream output, final ProgressListener listener) {
+        return this.getAPI().submitAsync(new Callable<Void>() {
+            @Override
+            public Void call() {
+                BoxFile.this.download(output, listener);
+                return null;
             }
-        } catch (IOException e) {
-            throw new BoxAPIException("Couldn't connect to the Box API due to a network error.", e);
-        } finally {
-            response.disconnect();
-        }
+        });
     }
 
     /**
@@ -361,6 +403,34 @@ public class BoxFile extends BoxItem {
      * @param listener   a listener for monitoring the download's progress.
      */
     public void downloadRange(OutputStream output, long rangeStart, long rangeEnd, ProgressListener listener) {
+        BoxAPIResponse response = this.requestRange(rangeStart, rangeEnd);
+        response.writeBody(output, listener, this.getAPI().getDownloadBufferSize());
+    }
+
+    /**
+     * Downloads a part of this file's contents to a given channel, starting at rangeStart and stopping at rangeEnd,
+     * while reporting the progress to a ProgressListener. The part is written starting at the channel's current
+     * position, and the channel isn't closed.
+     *
+     * @param output     the channel to where the part of the file will be written.
+     * @param rangeStart the byte offset at which to start the download.
+     * @param rangeEnd   the byte offset at which to stop the download.
+     * @param listener   a listener for monitoring the download's progress.
+     */
+    public void downloadRange(WritableByteChannel output, long rangeStart, long rangeEnd, ProgressListener listener) {
+        BoxAPIResponse response = this.requestRange(rangeStart, rangeEnd);
+        response.writeBody(output, listener, this.getAPI().getDownloadBufferSize());
+    }
+
+    /**
+     * Sends a request for a part of this file's contents, starting at rangeStart and stopping at rangeEnd.
+     *
+     * @param rangeStart the byte offset at which to start the download.
+     * @param rangeEnd   the byte offset at which to stop the download, or a value less than 1 to download the rest of
+     *                   the file.
+     * @return the response whose body is the requested part of the file.
+     */
+    BoxAPIResponse requestRange(long rangeStart, long rangeEnd) {
         URL url = CONTENT_URL_TEMPLATE.build(this.getAPI().getBaseURL(), this.getID());
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
         if (rangeEnd > 0) {
@@ -370,21 +440,36 @@ public class BoxFile extends BoxItem {
             request.addHeader("Range", String.format("bytes=%s-", Long.toString(rangeStart)));
         }
 
-        BoxAPIResponse response = request.send();
-        InputStream input = response.getBody(listener);
+        return request.send();
+    }
 
-        byte[] buffer = new byte[BUFFER_SIZE];
-        try {
-            int n = input.read(buffer);
-            while (n != -1) {
-                output.write(buffer, 0, n);
-                n = input.read(buffer);
-            }
-        } catch (IOException e) {
-            throw new BoxAPIException("Couldn't connect to the Box API due to a network error.", e);
-        } finally {
-            response.disconnect();
-        }
+    /**
+     * Downloads this file into a local file, fetching several ranges of the file at the same time. Each range is
+     * written directly at its offset in the local file, which is created or replaced.
+     *
+     * @param target the local file into which this file is downloaded.
+     * @throws InterruptedException when a thread execution is interrupted.
+     * @throws IOException when writing the local file throws exception.
+     */
+    public void downloadParallel(File target) throws InterruptedException, IOException {
+        new ParallelFileDownload().download(this, target, false);
+    }
+
+    /**
+     * Downloads this file into a local file using specified number of parallel http connections, and optionally
+     * verifies the SHA-1 digest of the downloaded file against the one Box has for this file.
+     *
+     * @param target the local file into which this file is downloaded.
+     * @param nParallelConnections number of parallel http connections to use
+     * @param timeOut time to wait before killing the job
+     * @param unit time unit for the time wait value
+     * @param verifySha1 whether to verify the SHA-1 digest of the downloaded file
+     * @throws InterruptedException when a thread execution is interrupted.
+     * @throws IOException when writing the local file throws exception.
+     */
+    public void downloadParallel(File target, int nParallelConnections, long timeOut, TimeUnit unit,
+                                 boolean verifySha1) throws InterruptedException, IOException {
+        new ParallelFileDownload(nParallelConnections, timeOut, unit).download(this, target, verifySha1);
     }
 
     @Override
@@ -408,7 +493,7 @@ public class BoxFile extends BoxItem {
         BoxJSONRequest request = new BoxJSONRequest(this.getAPI(), url, "POST");
         request.setBody(copyInfo.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
         BoxFile copiedFile = new BoxFile(this.getAPI(), responseJSON.get("id").asString());
         return copiedFile.new Info(responseJSON);
     }
@@ -444,7 +529,7 @@ public class BoxFile extends BoxItem {
 
         request.setBody(updateInfo.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
         BoxFile movedFile = new BoxFile(this.getAPI(), responseJSON.get("id").asString());
         return movedFile.new Info(responseJSON);
     }
@@ -463,7 +548,7 @@ public class BoxFile extends BoxItem {
 
         request.setBody(updateInfo.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        response.getJSON();
+        response.getJsonObject();
     }
 
     @Override
@@ -471,7 +556,7 @@ public class BoxFile extends BoxItem {
         URL url = FILE_URL_TEMPLATE.build(this.getAPI().getBaseURL(), this.getID());
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        return new Info(response.getJSON());
+        return new Info(response.getJsonObject());
     }
 
     @Override
@@ -481,7 +566,24 @@ public class BoxFile extends BoxItem {
 
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        return new Info(response.getJSON());
+        return new Info(response.getJsonObject());
+    }
+
+    /**
+     * Asynchronously gets information about this file that has a specified set of fields populated.
+     *
+     * <p>The request is sent on the executor returned by {@link BoxAPIConnection#getAsyncExecutor}.</p>
+     *
+     * @param  fields the fields to retrieve.
+     * @return        a Future for the info about this file.
+     */
+    public Future<BoxFile.Info> getInfoAsync(final String... fields) {
+        return this.getAPI().submitAsync(new Callable<BoxFile.Info>() {
+            @Override
+            public BoxFile.Info call() {
+                return BoxFile.this.getInfo(fields);
+            }
+        });
     }
 
     /**
@@ -504,7 +606,7 @@ public class BoxFile extends BoxItem {
             BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
             request.addHeader("X-Rep-Hints", representationHints);
             BoxJSONResponse response = (BoxJSONResponse) request.send();
-            return new Info(response.getJSON());
+            return new Info(response.getJsonObject());
         } else {
             throw new BoxAPIException("Represention hints is not valid."
                 + " Refer documention on how to construct X-Rep-Hints Header");
@@ -598,21 +700,7 @@ public class BoxFile extends BoxItem {
             BoxAPIRequest repContentReq = new BoxAPIRequest(this.getAPI(), repURL, HttpMethod.GET);
 
             BoxAPIResponse contentResponse = repContentReq.send();
-
-            InputStream input = contentResponse.getBody();
-
-            byte[] buffer = new byte[BUFFER_SIZE];
-            try {
-                int n = input.read(buffer);
-                while (n != -1) {
-                    output.write(buffer, 0, n);
-                    n = input.read(buffer);
-                }
-            } catch (IOException e) {
-                throw new BoxAPIException("Couldn't connect to the Box API due to a network error.", e);
-            } finally {
-                contentResponse.disconnect();
-            }
+            contentResponse.writeBody(output, null, this.getAPI().getDownloadBufferSize());
         } catch (MalformedURLException ex) {
 
             throw new BoxAPIException("Could not generate representation content URL");
@@ -637,7 +725,7 @@ public class BoxFile extends BoxItem {
         BoxJSONRequest request = new BoxJSONRequest(this.getAPI(), url, "PUT");
         request.setBody(info.getPendingChanges());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonObject = response.getJsonObject();
         info.update(jsonObject);
     }
 
@@ -652,7 +740,7 @@ public class BoxFile extends BoxItem {
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
 
-        JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonObject = response.getJsonObject();
         JsonArray entries = jsonObject.get("entries").asArray();
         Collection<BoxFileVersion> versions = new ArrayList<BoxFileVersion>();
         for (JsonValue entry : entries) {
@@ -721,8 +809,10 @@ public class BoxFile extends BoxItem {
         request.setBody(preflightInfo.toString());
         try {
             BoxAPIResponse response = request.send();
+            int responseCode = response.getResponseCode();
+            response.disconnect();
 
-            return response.getResponseCode() == 200;
+            return responseCode == 200;
         } catch (BoxAPIException ex) {
 
             if (ex.getResponseCode() >= 400 && ex.getResponseCode() < 500) {
@@ -1017,7 +1107,7 @@ public class BoxFile extends BoxItem {
         URL url = GET_COMMENTS_URL_TEMPLATE.build(this.getAPI().getBaseURL(), this.getID());
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
 
         int totalCount = responseJSON.get("total_count").asInt();
         List<BoxComment.Info> comments = new ArrayList<BoxComment.Info>(totalCount);
@@ -1046,7 +1136,7 @@ public class BoxFile extends BoxItem {
         URL url = GET_TASKS_URL_TEMPLATE.buildWithQuery(this.getAPI().getBaseURL(), builder.toString(), this.getID());
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
 
         int totalCount = responseJSON.get("total_count").asInt();
         List<BoxTask.Info> tasks = new ArrayList<BoxTask.Info>(totalCount);
@@ -1097,7 +1187,24 @@ public class BoxFile extends BoxItem {
         request.addHeader("Content-Type", "application/json");
         request.setBody(metadata.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        return new Metadata(JsonObject.readFrom(response.getJSON()));
+        return new Metadata(response.getJsonObject());
+    }
+
+    /**
+     * Asynchronously creates metadata on this file in the specified template type.
+     *
+     * @param  typeName the metadata template type name.
+     * @param  scope    the metadata scope (global or enterprise).
+     * @param  metadata the new metadata values.
+     * @return          a Future for the metadata returned from the server.
+     */
+    public Future<Metadata> createMetadataAsync(final String typeName, final String scope, final Metadata metadata) {
+        return this.getAPI().submitAsync(new Callable<Metadata>() {
+            @Override
+            public Metadata call() {
+                return BoxFile.this.createMetadata(typeName, scope, metadata);
+            }
+        });
     }
 
     /**
@@ -1278,7 +1385,7 @@ public class BoxFile extends BoxItem {
 
         BoxJSONResponse response = (BoxJSONResponse) request.send();
 
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
         JsonValue lockValue = responseJSON.get("lock");
         JsonObject lockJSON = JsonObject.readFrom(lockValue.toString());
 
@@ -1297,7 +1404,8 @@ public class BoxFile extends BoxItem {
         lockObject.add("lock", JsonObject.NULL);
 
         request.setBody(lockObject.toString());
-        request.send();
+        BoxAPIResponse response = request.send();
+        response.disconnect();
     }
 
     /**
@@ -1341,7 +1449,23 @@ public class BoxFile extends BoxItem {
         URL url = METADATA_URL_TEMPLATE.buildAlpha(this.getAPI().getBaseURL(), this.getID(), scope, typeName);
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        return new Metadata(JsonObject.readFrom(response.getJSON()));
+        return new Metadata(response.getJsonObject());
+    }
+
+    /**
+     * Asynchronously gets the file metadata of specified template type.
+     *
+     * @param  typeName the metadata template type name.
+     * @param  scope    the metadata scope (global or enterprise).
+     * @return          a Future for the metadata returned from the server.
+     */
+    public Future<Metadata> getMetadataAsync(final String typeName, final String scope) {
+        return this.getAPI().submitAsync(new Callable<Metadata>() {
+            @Override
+            public Metadata call() {
+                return BoxFile.this.getMetadata(typeName, scope);
+            }
+        });
     }
 
     /**
@@ -1366,7 +1490,22 @@ public class BoxFile extends BoxItem {
         request.addHeader("Content-Type", "application/json-patch+json");
         request.setBody(metadata.getPatch());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        return new Metadata(JsonObject.readFrom(response.getJSON()));
+        return new Metadata(response.getJsonObject());
+    }
+
+    /**
+     * Asynchronously updates the file metadata.
+     *
+     * @param  metadata the new metadata values.
+     * @return          a Future for the metadata returned from the server.
+     */
+    public Future<Metadata> updateMetadataAsync(final Metadata metadata) {
+        return this.getAPI().submitAsync(new Callable<Metadata>() {
+            @Override
+            public Metadata call() {
+                return BoxFile.this.updateMetadata(metadata);
+            }
+        });
     }
 
     /**
@@ -1395,7 +1534,25 @@ public class BoxFile extends BoxItem {
     public void deleteMetadata(String typeName, String scope) {
         URL url = METADATA_URL_TEMPLATE.buildAlpha(this.getAPI().getBaseURL(), this.getID(), scope, typeName);
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "DELETE");
-        request.send();
+        BoxAPIResponse response = request.send();
+        response.disconnect();
+    }
+
+    /**
+     * Asynchronously deletes the file metadata of specified template type.
+     *
+     * @param  typeName the metadata template type name.
+     * @param  scope    the metadata scope (global or enterprise).
+     * @return          a Future that completes when the metadata has been deleted.
+     */
+    public Future<Void> deleteMetadataAsync(final String typeName, final String scope) {
+        return this.getAPI().submitAsync(new Callable<Void>() {
+            @Override
+            public Void call() {
+                BoxFile.this.deleteMetadata(typeName, scope);
+                return null;
+            }
+        });
     }
 
     /**
@@ -1445,7 +1602,7 @@ public class BoxFile extends BoxItem {
         BoxJSONRequest request = new BoxJSONRequest(this.getAPI(), url, "PUT");
         request.setBody(infoJSON.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonObject = response.getJsonObject();
         return new Info(jsonObject);
     }
 
@@ -1466,7 +1623,7 @@ public class BoxFile extends BoxItem {
         request.setBody(body.toString());
 
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonObject = response.getJsonObject();
 
         String sessionId = jsonObject.get("id").asString();
         BoxFileUploadSession session = new BoxFileUploadSession(this.getAPI(), sessionId);
@@ -1542,6 +1699,43 @@ public class BoxFile extends BoxItem {
             .upload(this.getAPI(), inputStream, url, fileSize, fileAttributes);
     }
 
+    /**
+     * Creates a new version of a file from a local file with a resumable upload. The progress of the upload is
+     * recorded in a checkpoint store, and if a previous attempt to upload the same file was interrupted, only the
+     * parts that Box hasn't received yet are uploaded.
+     * @param file the local file to upload.
+     * @param checkpointStore the store in which the progress of the upload is recorded.
+     * @return the created file instance.
+     * @throws InterruptedException when a thread execution is interrupted.
+     * @throws IOException when reading the file throws exception.
+     */
+    public BoxFile.Info resumeUpload(File file, UploadCheckpointStore checkpointStore)
+        throws InterruptedException, IOException {
+        URL url = UPLOAD_SESSION_URL_TEMPLATE.build(this.getAPI().getBaseUploadURL(), this.getID());
+        return new LargeFileUpload().resumeUpload(this.getAPI(), file, url, checkpointStore, null);
+    }
+
+    /**
+     * Creates a new version of a file from a local file with a resumable upload using specified number of parallel
+     * http connections. Also sets file attributes.
+     * @param file the local file to upload.
+     * @param checkpointStore the store in which the progress of the upload is recorded.
+     * @param nParallelConnections number of parallel http connections to use
+     * @param timeOut time to wait before killing the job
+     * @param unit time unit for the time wait value
+     * @param fileAttributes file attributes to set
+     * @return the created file instance.
+     * @throws InterruptedException when a thread execution is interrupted.
+     * @throws IOException when reading the file throws exception.
+     */
+    public BoxFile.Info resumeUpload(File file, UploadCheckpointStore checkpointStore, int nParallelConnections,
+                                     long timeOut, TimeUnit unit, Map<String, String> fileAttributes)
+        throws InterruptedException, IOException {
+        URL url = UPLOAD_SESSION_URL_TEMPLATE.build(this.getAPI().getBaseUploadURL(), this.getID());
+        return new LargeFileUpload(nParallelConnections, timeOut, unit)
+            .resumeUpload(this.getAPI(), file, url, checkpointStore, fileAttributes);
+    }
+
     private BoxCollaboration.Info collaborate(JsonObject accessibleByField, BoxCollaboration.Role role,
                                               Boolean notify, Boolean canViewPath) {
 
@@ -1667,6 +1861,7 @@ public class BoxFile extends BoxItem {
          * @return the SHA1 hash of the file.
          */
         public String getSha1() {
+            this.parseLazily("sha1");
             return this.sha1;
         }
 
@@ -1676,6 +1871,7 @@ public class BoxFile extends BoxItem {
          * @return the lock of the file.
          */
         public BoxLock getLock() {
+            this.parseLazily("lock");
             return this.lock;
         }
 
@@ -1685,6 +1881,7 @@ public class BoxFile extends BoxItem {
          * @return the current version number of the file.
          */
         public String getVersionNumber() {
+            this.parseLazily("version_number");
             return this.versionNumber;
         }
 
@@ -1694,6 +1891,7 @@ public class BoxFile extends BoxItem {
          * @return the number of comments on the file.
          */
         public long getCommentCount() {
+            this.parseLazily("comment_count");
             return this.commentCount;
         }
 
@@ -1703,6 +1901,7 @@ public class BoxFile extends BoxItem {
          * @return the permissions that the current user has on the file.
          */
         public EnumSet<Permission> getPermissions() {
+            this.parseLazily("permissions");
             return this.permissions;
         }
 
@@ -1712,6 +1911,7 @@ public class BoxFile extends BoxItem {
          * @return the extension of the file.
          */
         public String getExtension() {
+            this.parseLazily("extension");
             return this.extension;
         }
 
@@ -1721,6 +1921,7 @@ public class BoxFile extends BoxItem {
          * @return true if the file is an OSX package; otherwise false.
          */
         public boolean getIsPackage() {
+            this.parseLazily("is_package");
             return this.isPackage;
         }
 
@@ -1730,6 +1931,7 @@ public class BoxFile extends BoxItem {
          * @return the current version details of the file.
          */
         public BoxFileVersion getVersion() {
+            this.parseLazily("file_version");
             return this.version;
         }
 
@@ -1739,6 +1941,7 @@ public class BoxFile extends BoxItem {
          * @return the expiring preview link
          */
         public URL getPreviewLink() {
+            this.parseLazily("expiring_embed_link");
             return this.previewLink;
         }
 
@@ -1748,6 +1951,7 @@ public class BoxFile extends BoxItem {
          * @return whether the file is watermarked or not
          */
         public boolean getIsWatermarked() {
+            this.parseLazily("watermark_info");
             return this.isWatermarked;
         }
 
@@ -1757,6 +1961,7 @@ public class BoxFile extends BoxItem {
          * @return the list of roles allowed for invited collaborators.
          */
         public List<String> getAllowedInviteeRoles() {
+            this.parseLazily("allowed_invitee_roles");
             return this.allowedInviteeRoles;
         }
 
@@ -1766,6 +1971,7 @@ public class BoxFile extends BoxItem {
          * @return indicator for whether this file item has collaborations.
          */
         public Boolean getHasCollaborations() {
+            this.parseLazily("has_collaborations");
             return this.hasCollaborations;
         }
 
@@ -1778,6 +1984,7 @@ public class BoxFile extends BoxItem {
          * @return                  the metadata returned from the server.
          */
         public Metadata getMetadata(String templateName, String scope) {
+            this.parseLazily("metadata");
             try {
                 return this.metadataMap.get(scope).get(templateName);
             } catch (NullPointerException e) {
@@ -1790,6 +1997,7 @@ public class BoxFile extends BoxItem {
          * @return indicator for whether or not the file is owned by a user outside the enterprise.
          */
         public boolean getIsExternallyOwned() {
+            this.parseLazily("is_externally_owned");
             return this.isExternallyOwned;
         }
 
@@ -1798,6 +2006,7 @@ public class BoxFile extends BoxItem {
          * @return list of representations
          */
         public List<Representation> getRepresentations() {
+            this.parseLazily("representations");
             return this.representations;
         }
 
@@ -1807,6 +2016,7 @@ public class BoxFile extends BoxItem {
          * @return user's name at the time of upload
          */
         public String getUploaderDisplayName() {
+            this.parseLazily("uploader_display_name");
             return this.uploaderDisplayName;
         }
 
@@ -1815,6 +2025,7 @@ public class BoxFile extends BoxItem {
          * @return the metadata classification type of this file.
          */
         public BoxClassification getClassification() {
+            this.parseLazily("classification");
             return this.classification;
         }
 
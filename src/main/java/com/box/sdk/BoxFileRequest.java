@@ -41,7 +41,7 @@ public class BoxFileRequest extends BoxResource {
         URL url = FILE_REQUEST_URL_TEMPLATE.build(this.getAPI().getBaseURL(), this.getID());
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
         return new Info(responseJSON);
     }
 
@@ -61,7 +61,7 @@ public class BoxFileRequest extends BoxResource {
         body.add("folder", folderBody);
         request.setBody(body.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonObject = response.getJsonObject();
         return new Info(jsonObject);
     }
 
@@ -88,7 +88,7 @@ public class BoxFileRequest extends BoxResource {
         body.add("folder", folderBody);
         request.setBody(body.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonObject = response.getJsonObject();
         info.update(jsonObject);
         return new Info(jsonObject);
     }
@@ -112,7 +112,7 @@ public class BoxFileRequest extends BoxResource {
         BoxJSONRequest request = new BoxJSONRequest(this.getAPI(), url, "PUT");
         request.setBody(info.getPendingChanges());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonObject = response.getJsonObject();
         info.update(jsonObject);
         return info;
     }
@@ -276,11 +276,6 @@ public class BoxFileUploadSession extends BoxResource {
      */
     public BoxFileUploadSessionPart uploadPart(byte[] data, long offset, int partSize,
                                                long totalSizeOfFile) {
-        URL uploadPartURL = this.sessionInfo.getSessionEndpoints().getUploadPartEndpoint();
-
-        BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), uploadPartURL, HttpMethod.PUT);
-        request.addHeader(HttpHeaders.CONTENT_TYPE, ContentType.APPLICATION_OCTET_STREAM);
-
         MessageDigest digestInstance = null;
         try {
             digestInstance = MessageDigest.getInstance(DIGEST_ALGORITHM_SHA1);
@@ -291,13 +286,31 @@ public class BoxFileUploadSession extends BoxResource {
         //Creates the digest using SHA1 algorithm. Then encodes the bytes using Base64.
         byte[] digestBytes = digestInstance.digest(data);
         String digest = Base64.encode(digestBytes);
+        return this.uploadPart(data, offset, partSize, totalSizeOfFile, digest);
+    }
+
+    /**
+     * Uploads the first partSize bytes of a buffer whose Base64 encoded SHA-1 digest has already been computed.
+     * @param data the buffer holding the part's data.
+     * @param offset the byte position where the chunk begins in the file.
+     * @param partSize the number of bytes of the buffer to upload.
+     * @param totalSizeOfFile The total size of the file being uploaded.
+     * @param digest the Base64 encoded SHA-1 digest of the part's data.
+     * @return the part instance that contains the part id, offset and part size.
+     */
+    BoxFileUploadSessionPart uploadPart(byte[] data, long offset, int partSize, long totalSizeOfFile,
+                                        String digest) {
+        URL uploadPartURL = this.sessionInfo.getSessionEndpoints().getUploadPartEndpoint();
+
+        BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), uploadPartURL, HttpMethod.PUT);
+        request.addHeader(HttpHeaders.CONTENT_TYPE, ContentType.APPLICATION_OCTET_STREAM);
         request.addHeader(HttpHeaders.DIGEST, DIGEST_HEADER_PREFIX_SHA + digest);
         //Content-Range: bytes offset-part/totalSize
         request.addHeader(HttpHeaders.CONTENT_RANGE,
                 "bytes " + offset + "-" + (offset + partSize - 1) + "/" + totalSizeOfFile);
 
         //Creates the body
-        request.setBody(new ByteArrayInputStream(data));
+        request.setBody(new ByteArrayInputStream(data, 0, partSize), partSize);
         return request.sendForUploadPart(this, offset);
     }
 
@@ -320,7 +333,7 @@ public class BoxFileUploadSession extends BoxResource {
 
         BoxJSONRequest request = new BoxJSONRequest(this.getAPI(), url, HttpMethod.GET);
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonObject = response.getJsonObject();
 
         return new BoxFileUploadSessionPartList(jsonObject);
     }
@@ -378,6 +391,7 @@ public class BoxFileUploadSession extends BoxResource {
         if (response.getResponseCode() == 202) {
             String retryInterval = response.getHeaderField("retry-after");
             if (retryInterval != null) {
+                response.disconnect();
                 try {
                     Thread.sleep(new Integer(retryInterval) * 1000);
                 } catch (InterruptedException ie) {
@@ -401,7 +415,7 @@ public class BoxFileUploadSession extends BoxResource {
      * Creates the file isntance from the JSON body of the response.
      */
     private BoxFile.Info getFile(BoxJSONResponse response) {
-        JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonObject = response.getJsonObject();
 
         JsonArray array = (JsonArray) jsonObject.get("entries");
         JsonObject fileObj = (JsonObject) array.get(0);
@@ -448,7 +462,7 @@ public class BoxFileUploadSession extends BoxResource {
         URL statusURL = this.sessionInfo.getSessionEndpoints().getStatusEndpoint();
         BoxJSONRequest request = new BoxJSONRequest(this.getAPI(), statusURL, HttpMethod.GET);
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonObject = response.getJsonObject();
 
         this.sessionInfo.update(jsonObject);
 
@@ -461,6 +475,7 @@ public class BoxFileUploadSession extends BoxResource {
     public void abort() {
         URL abortURL = this.sessionInfo.getSessionEndpoints().getAbortEndpoint();
         BoxJSONRequest request = new BoxJSONRequest(this.getAPI(), abortURL, HttpMethod.DELETE);
-        request.send();
+        BoxAPIResponse response = request.send();
+        response.disconnect();
     }
 }
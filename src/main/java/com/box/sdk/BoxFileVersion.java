@@ -1,9 +1,8 @@
 package com.box.sdk;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URL;
+import java.nio.channels.WritableByteChannel;
 import java.text.ParseException;
 import java.util.Date;
 
@@ -23,7 +22,6 @@ public class BoxFileVersion extends BoxResource {
      * Version URL Template.
      */
     public static final URLTemplate VERSION_URL_TEMPLATE = new URLTemplate("files/%s/versions/%s");
-    private static final int BUFFER_SIZE = 8192;
 
     private String fileID;
 
@@ -272,23 +270,28 @@ public class BoxFileVersion extends BoxResource {
         URL url = CONTENT_URL_TEMPLATE.build(this.getAPI().getBaseURL(), this.fileID, this.getID());
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
         BoxAPIResponse response = request.send();
-        InputStream input = response.getBody(listener);
-
-        long totalRead = 0;
-        byte[] buffer = new byte[BUFFER_SIZE];
-        try {
-            int n = input.read(buffer);
-            totalRead += n;
-            while (n != -1) {
-                output.write(buffer, 0, n);
-                n = input.read(buffer);
-                totalRead += n;
-            }
-        } catch (IOException e) {
-            throw new BoxAPIException("Couldn't connect to the Box API due to a network error.", e);
-        }
+        response.writeBody(output, listener, this.getAPI().getDownloadBufferSize());
+    }
 
-        response.disconnect();
+    /**
+     * Downloads this version of the file to a given channel, such as a {@link java.nio.channels.FileChannel}. The
+     * version is written starting at the channel's current position, and the channel isn't closed.
+     * @param output the channel to where the file will be written.
+     */
+    public void download(WritableByteChannel output) {
+        this.download(output, null);
+    }
+
+    /**
+     * Downloads this version of the file to a given channel while reporting the progress to a ProgressListener.
+     * @param output   the channel to where the file will be written.
+     * @param listener a listener for monitoring the download's progress.
+     */
+    public void download(WritableByteChannel output, ProgressListener listener) {
+        URL url = CONTENT_URL_TEMPLATE.build(this.getAPI().getBaseURL(), this.fileID, this.getID());
+        BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
+        BoxAPIResponse response = request.send();
+        response.writeBody(output, listener, this.getAPI().getDownloadBufferSize());
     }
 
     /**
@@ -304,6 +307,6 @@ public class BoxFileVersion extends BoxResource {
         BoxJSONRequest request = new BoxJSONRequest(this.getAPI(), url, "POST");
         request.setBody(jsonObject.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        this.parseJSON(JsonObject.readFrom(response.getJSON()));
+        this.parseJSON(response.getJsonObject());
     }
 }
@@ -1,5 +1,6 @@
 package com.box.sdk;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
@@ -10,6 +11,8 @@ import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import com.box.sdk.internal.utils.Parsers;
@@ -271,7 +274,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
 
         BoxAPIRequest request = new BoxAPIRequest(api, url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
 
         int entriesCount = responseJSON.get("total_count").asInt();
         Collection<BoxCollaboration.Info> collaborations = new ArrayList<BoxCollaboration.Info>(entriesCount);
@@ -291,7 +294,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
         URL url = FOLDER_INFO_URL_TEMPLATE.build(this.getAPI().getBaseURL(), this.getID());
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        return new Info(response.getJSON());
+        return new Info(response.getJsonObject());
     }
 
     @Override
@@ -301,7 +304,24 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
 
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        return new Info(response.getJSON());
+        return new Info(response.getJsonObject());
+    }
+
+    /**
+     * Asynchronously gets information about this folder that has a specified set of fields populated.
+     *
+     * <p>The request is sent on the executor returned by {@link BoxAPIConnection#getAsyncExecutor}.</p>
+     *
+     * @param  fields the fields to retrieve.
+     * @return        a Future for the info about this folder.
+     */
+    public Future<BoxFolder.Info> getInfoAsync(final String... fields) {
+        return this.getAPI().submitAsync(new Callable<BoxFolder.Info>() {
+            @Override
+            public BoxFolder.Info call() {
+                return BoxFolder.this.getInfo(fields);
+            }
+        });
     }
 
     /**
@@ -314,7 +334,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
         BoxJSONRequest request = new BoxJSONRequest(this.getAPI(), url, "PUT");
         request.setBody(info.getPendingChanges());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonObject = response.getJsonObject();
         info.update(jsonObject);
     }
 
@@ -339,7 +359,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
 
         request.setBody(copyInfo.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
         BoxFolder copiedFolder = new BoxFolder(this.getAPI(), responseJSON.get("id").asString());
         return copiedFolder.new Info(responseJSON);
     }
@@ -362,7 +382,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
                 "POST");
         request.setBody(newFolder.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
 
         BoxFolder createdFolder = new BoxFolder(this.getAPI(), responseJSON.get("id").asString());
         return createdFolder.new Info(responseJSON);
@@ -401,7 +421,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
 
         request.setBody(updateInfo.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
         BoxFolder movedFolder = new BoxFolder(this.getAPI(), responseJSON.get("id").asString());
         return movedFolder.new Info(responseJSON);
     }
@@ -420,7 +440,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
 
         request.setBody(updateInfo.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        response.getJSON();
+        response.getJsonObject();
     }
 
     /**
@@ -543,7 +563,9 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
 
         request.putField("attributes", fieldJSON.toString());
 
-        if (uploadParams.getSize() > 0) {
+        if (uploadParams.getFileChannel() != null) {
+            request.setFile(uploadParams.getFileChannel(), uploadParams.getName());
+        } else if (uploadParams.getSize() > 0) {
             request.setFile(uploadParams.getContent(), uploadParams.getName(), uploadParams.getSize());
         } else if (uploadParams.getContent() != null) {
             request.setFile(uploadParams.getContent(), uploadParams.getName());
@@ -557,7 +579,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
         } else {
             response = (BoxJSONResponse) request.send(uploadParams.getProgressListener());
         }
-        JsonObject collection = JsonObject.readFrom(response.getJSON());
+        JsonObject collection = response.getJsonObject();
         JsonArray entries = collection.get("entries").asArray();
         JsonObject fileInfoJSON = entries.get(0).asObject();
         String uploadedFileID = fileInfoJSON.get("id").asString();
@@ -566,6 +588,24 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
         return uploadedFile.new Info(fileInfoJSON);
     }
 
+    /**
+     * Asynchronously uploads a new file to this folder.
+     *
+     * <p>The upload params' content stream is read from the executor's thread and must not be used by the caller until
+     * the returned Future has completed.</p>
+     *
+     * @param  uploadParams the parameters to use for the upload.
+     * @return              a Future for the uploaded file's info.
+     */
+    public Future<BoxFile.Info> uploadFileAsync(final FileUploadParams uploadParams) {
+        return this.getAPI().submitAsync(new Callable<BoxFile.Info>() {
+            @Override
+            public BoxFile.Info call() {
+                return BoxFolder.this.uploadFile(uploadParams);
+            }
+        });
+    }
+
     /**
      * Uploads a new weblink to this folder.
      *
@@ -625,7 +665,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
                 CREATE_WEB_LINK_URL.build(this.getAPI().getBaseURL()), "POST");
         request.setBody(newWebLink.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
 
         BoxWebLink createdWebLink = new BoxWebLink(this.getAPI(), responseJSON.get("id").asString());
         return createdWebLink.new Info(responseJSON);
@@ -732,7 +772,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
         URL url = GET_ITEMS_URL.buildWithQuery(getAPI().getBaseURL(), builder.toString(), getID());
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
 
         String totalCountString = responseJSON.get("total_count").toString();
         long fullSize = Double.valueOf(totalCountString).longValue();
@@ -748,6 +788,25 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
         return children;
     }
 
+    /**
+     * Asynchronously retrieves a specific range of child items in this folder.
+     *
+     * @param  offset the index of the first child item to retrieve.
+     * @param  limit  the maximum number of children to retrieve after the offset.
+     * @param  fields the fields to retrieve.
+     * @return        a Future for a partial collection containing the specified range of child items.
+     */
+    public Future<PartialCollection<BoxItem.Info>> getChildrenRangeAsync(final long offset, final long limit,
+        final String... fields) {
+
+        return this.getAPI().submitAsync(new Callable<PartialCollection<BoxItem.Info>>() {
+            @Override
+            public PartialCollection<BoxItem.Info> call() {
+                return BoxFolder.this.getChildrenRange(offset, limit, fields);
+            }
+        });
+    }
+
     /**
      * Returns an iterator over the items in this folder.
      *
@@ -846,7 +905,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
         BoxJSONRequest request = new BoxJSONRequest(this.getAPI(), url, "PUT");
         request.setBody(infoJSON.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonObject = response.getJsonObject();
         return new Info(jsonObject);
     }
 
@@ -886,7 +945,24 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
         request.addHeader("Content-Type", "application/json");
         request.setBody(metadata.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        return new Metadata(JsonObject.readFrom(response.getJSON()));
+        return new Metadata(response.getJsonObject());
+    }
+
+    /**
+     * Asynchronously creates metadata on this folder in the specified template type.
+     *
+     * @param  typeName the metadata template type name.
+     * @param  scope    the metadata scope (global or enterprise).
+     * @param  metadata the new metadata values.
+     * @return          a Future for the metadata returned from the server.
+     */
+    public Future<Metadata> createMetadataAsync(final String typeName, final String scope, final Metadata metadata) {
+        return this.getAPI().submitAsync(new Callable<Metadata>() {
+            @Override
+            public Metadata call() {
+                return BoxFolder.this.createMetadata(typeName, scope, metadata);
+            }
+        });
     }
 
     /**
@@ -960,7 +1036,23 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
         URL url = METADATA_URL_TEMPLATE.buildAlpha(this.getAPI().getBaseURL(), this.getID(), scope, templateName);
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        return new Metadata(JsonObject.readFrom(response.getJSON()));
+        return new Metadata(response.getJsonObject());
+    }
+
+    /**
+     * Asynchronously gets the folder metadata of specified template type.
+     *
+     * @param  typeName the metadata template type name.
+     * @param  scope    the metadata scope (global or enterprise).
+     * @return          a Future for the metadata returned from the server.
+     */
+    public Future<Metadata> getMetadataAsync(final String typeName, final String scope) {
+        return this.getAPI().submitAsync(new Callable<Metadata>() {
+            @Override
+            public Metadata call() {
+                return BoxFolder.this.getMetadata(typeName, scope);
+            }
+        });
     }
 
     /**
@@ -976,7 +1068,22 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
         request.addHeader("Content-Type", "application/json-patch+json");
         request.setBody(metadata.getPatch());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        return new Metadata(JsonObject.readFrom(response.getJSON()));
+        return new Metadata(response.getJsonObject());
+    }
+
+    /**
+     * Asynchronously updates the folder metadata.
+     *
+     * @param  metadata the new metadata values.
+     * @return          a Future for the metadata returned from the server.
+     */
+    public Future<Metadata> updateMetadataAsync(final Metadata metadata) {
+        return this.getAPI().submitAsync(new Callable<Metadata>() {
+            @Override
+            public Metadata call() {
+                return BoxFolder.this.updateMetadata(metadata);
+            }
+        });
     }
 
     /**
@@ -1009,6 +1116,23 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
         response.disconnect();
     }
 
+    /**
+     * Asynchronously deletes the folder metadata of specified template type.
+     *
+     * @param  typeName the metadata template type name.
+     * @param  scope    the metadata scope (global or enterprise).
+     * @return          a Future that completes when the metadata has been deleted.
+     */
+    public Future<Void> deleteMetadataAsync(final String typeName, final String scope) {
+        return this.getAPI().submitAsync(new Callable<Void>() {
+            @Override
+            public Void call() {
+                BoxFolder.this.deleteMetadata(typeName, scope);
+                return null;
+            }
+        });
+    }
+
     /**
      * Adds a metadata classification to the specified file.
      *
@@ -1099,7 +1223,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
         request.setBody(body.toString());
 
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonObject = response.getJsonObject();
 
         String sessionId = jsonObject.get("id").asString();
         BoxFileUploadSession session = new BoxFileUploadSession(this.getAPI(), sessionId);
@@ -1191,6 +1315,51 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
                 upload(this.getAPI(), this.getID(), inputStream, url, fileName, fileSize, fileAttributes);
     }
 
+    /**
+     * Creates a new file from a local file with a resumable upload. The progress of the upload is recorded in a
+     * checkpoint store, and if a previous attempt to upload the same file was interrupted, only the parts that Box
+     * hasn't received yet are uploaded.
+     *
+     * @param file            the local file to upload.
+     * @param fileName        the name of the file to be created.
+     * @param checkpointStore the store in which the progress of the upload is recorded.
+     * @return the created file instance.
+     * @throws InterruptedException when a thread execution is interrupted.
+     * @throws IOException          when reading the file throws exception.
+     */
+    public BoxFile.Info resumeUpload(File file, String fileName, UploadCheckpointStore checkpointStore)
+            throws InterruptedException, IOException {
+        URL url = UPLOAD_SESSION_URL_TEMPLATE.build(this.getAPI().getBaseUploadURL());
+        this.canUpload(fileName, file.length());
+        return new LargeFileUpload().
+                resumeUpload(this.getAPI(), this.getID(), file, url, fileName, checkpointStore, null);
+    }
+
+    /**
+     * Creates a new file from a local file with a resumable upload using specified number of parallel http
+     * connections. Also sets file attributes.
+     *
+     * @param file                 the local file to upload.
+     * @param fileName             the name of the file to be created.
+     * @param checkpointStore      the store in which the progress of the upload is recorded.
+     * @param nParallelConnections number of parallel http connections to use
+     * @param timeOut              time to wait before killing the job
+     * @param unit                 time unit for the time wait value
+     * @param fileAttributes       file attributes to set
+     * @return the created file instance.
+     * @throws InterruptedException when a thread execution is interrupted.
+     * @throws IOException          when reading the file throws exception.
+     */
+    public BoxFile.Info resumeUpload(File file, String fileName, UploadCheckpointStore checkpointStore,
+                                     int nParallelConnections, long timeOut, TimeUnit unit,
+                                     Map<String, String> fileAttributes)
+            throws InterruptedException, IOException {
+        URL url = UPLOAD_SESSION_URL_TEMPLATE.build(this.getAPI().getBaseUploadURL());
+        this.canUpload(fileName, file.length());
+        return new LargeFileUpload(nParallelConnections, timeOut, unit).
+                resumeUpload(this.getAPI(), this.getID(), file, url, fileName, checkpointStore, fileAttributes);
+    }
+
     /**
      * Creates a new Metadata Cascade Policy on a folder.
      *
@@ -1256,7 +1425,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
                 "POST");
         request.setBody(body.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
 
         BoxFolderLock createdFolderLock = new BoxFolderLock(this.getAPI(), responseJSON.get("id").asString());
         return createdFolderLock.new Info(responseJSON);
@@ -1329,6 +1498,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
          * @return the upload email for the folder.
          */
         public BoxUploadEmail getUploadEmail() {
+            this.parseLazily("folder_upload_email");
             return this.uploadEmail;
         }
 
@@ -1338,6 +1508,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
          * @param uploadEmail the upload email for the folder.
          */
         public void setUploadEmail(BoxUploadEmail uploadEmail) {
+            this.parseLazily("folder_upload_email");
             if (this.uploadEmail == uploadEmail) {
                 return;
             }
@@ -1358,6 +1529,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
          * @return true if the folder has collaborations; otherwise false.
          */
         public boolean getHasCollaborations() {
+            this.parseLazily("has_collaborations");
             return this.hasCollaborations;
         }
 
@@ -1367,6 +1539,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
          * @return the sync state of the folder.
          */
         public SyncState getSyncState() {
+            this.parseLazily("sync_state");
             return this.syncState;
         }
 
@@ -1386,6 +1559,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
          * @return the permissions that the current user has on the folder.
          */
         public EnumSet<Permission> getPermissions() {
+            this.parseLazily("permissions");
             return this.permissions;
         }
 
@@ -1395,6 +1569,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
          * @return [description]
          */
         public boolean getCanNonOwnersInvite() {
+            this.parseLazily("can_non_owners_invite");
             return this.canNonOwnersInvite;
         }
 
@@ -1414,6 +1589,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
          * @return indicates whether collaboration is restricted to enterprise only.
          */
         public boolean getIsCollaborationRestrictedToEnterprise() {
+            this.parseLazily("is_collaboration_restricted_to_enterprise");
             return this.isCollaborationRestrictedToEnterprise;
         }
 
@@ -1433,6 +1609,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
          * @return the roles allowed for collaboration.
          */
         public List<String> getAllowedInviteeRoles() {
+            this.parseLazily("allowed_invitee_roles");
             return this.allowedInviteeRoles;
         }
 
@@ -1442,6 +1619,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
          * @return the allowed access levels for a shared link.
          */
         public List<String> getAllowedSharedLinkAccessLevels() {
+            this.parseLazily("allowed_shared_link_access_levels");
             return this.allowedSharedLinkAccessLevels;
         }
 
@@ -1451,6 +1629,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
          * @return whether the file is watermarked or not
          */
         public boolean getIsWatermarked() {
+            this.parseLazily("watermark_info");
             return this.isWatermarked;
         }
 
@@ -1464,6 +1643,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
          * @return the metadata returned from the server.
          */
         public Metadata getMetadata(String templateName, String scope) {
+            this.parseLazily("metadata");
             try {
                 return this.metadataMap.get(scope).get(templateName);
             } catch (NullPointerException e) {
@@ -1477,6 +1657,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
          * @return a boolean indicating whether this folder is owned by a user outside the enterprise.
          */
         public boolean getIsExternallyOwned() {
+            this.parseLazily("is_externally_owned");
             return this.isExternallyOwned;
         }
 
@@ -1485,6 +1666,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
          * @return the metadata classification type of this folder.
          */
         public BoxClassification getClassification() {
+            this.parseLazily("classification");
             return this.classification;
         }
 
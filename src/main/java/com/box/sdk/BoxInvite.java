@@ -46,7 +46,7 @@ public class BoxInvite extends BoxResource {
 
         BoxAPIRequest request = new BoxAPIRequest(api, url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonObject = response.getJsonObject();
         return new Info(jsonObject);
     }
 
@@ -74,7 +74,7 @@ public class BoxInvite extends BoxResource {
 
         request.setBody(body);
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
 
         BoxInvite invite = new BoxInvite(api, responseJSON.get("id").asString());
         return invite.new Info(responseJSON);
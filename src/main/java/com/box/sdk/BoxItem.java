@@ -72,7 +72,7 @@ public abstract class BoxItem extends BoxResource {
         URL url = SHARED_ITEM_URL_TEMPLATE.build(newAPI.getBaseURL());
         BoxAPIRequest request = new BoxAPIRequest(newAPI, url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject json = JsonObject.readFrom(response.getJSON());
+        JsonObject json = response.getJsonObject();
         return (BoxItem.Info) BoxResource.parseInfo(newAPI, json);
     }
 
@@ -92,7 +92,7 @@ public abstract class BoxItem extends BoxResource {
         URL url = WATERMARK_URL_TEMPLATE.buildWithQuery(watermarkUrl.toString(), builder.toString());
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        return new BoxWatermark(response.getJSON());
+        return new BoxWatermark(response.getJsonObject());
     }
 
     /**
@@ -110,7 +110,7 @@ public abstract class BoxItem extends BoxResource {
                         .add(BoxWatermark.WATERMARK_IMPRINT_JSON_KEY, imprint));
         request.setBody(body.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        return new BoxWatermark(response.getJSON());
+        return new BoxWatermark(response.getJsonObject());
     }
 
     /**
@@ -247,6 +247,7 @@ public abstract class BoxItem extends BoxResource {
          * @return the item's type.
          */
         public String getType() {
+            this.parseLazily("type");
             return this.type;
         }
 
@@ -255,6 +256,7 @@ public abstract class BoxItem extends BoxResource {
          * @return a unique string identifying the version of the item.
          */
         public String getEtag() {
+            this.parseLazily("etag");
             return this.etag;
         }
 
@@ -263,6 +265,7 @@ public abstract class BoxItem extends BoxResource {
          * @return the name of the item.
          */
         public String getName() {
+            this.parseLazily("name");
             return this.name;
         }
 
@@ -280,6 +283,7 @@ public abstract class BoxItem extends BoxResource {
          * @return the time the item was created.
          */
         public Date getCreatedAt() {
+            this.parseLazily("created_at");
             return this.createdAt;
         }
 
@@ -288,6 +292,7 @@ public abstract class BoxItem extends BoxResource {
          * @return the time the item was last modified.
          */
         public Date getModifiedAt() {
+            this.parseLazily("modified_at");
             return this.modifiedAt;
         }
 
@@ -296,6 +301,7 @@ public abstract class BoxItem extends BoxResource {
          * @return the description of the item.
          */
         public String getDescription() {
+            this.parseLazily("description");
             return this.description;
         }
 
@@ -313,6 +319,7 @@ public abstract class BoxItem extends BoxResource {
          * @return the size of the item in bytes.
          */
         public long getSize() {
+            this.parseLazily("size");
             return this.size;
         }
 
@@ -321,6 +328,7 @@ public abstract class BoxItem extends BoxResource {
          * @return the path of folders to the item.
          */
         public List<BoxFolder.Info> getPathCollection() {
+            this.parseLazily("path_collection");
             return this.pathCollection;
         }
 
@@ -329,6 +337,7 @@ public abstract class BoxItem extends BoxResource {
          * @return info about the user who created the item.
          */
         public BoxUser.Info getCreatedBy() {
+            this.parseLazily("created_by");
             return this.createdBy;
         }
 
@@ -337,6 +346,7 @@ public abstract class BoxItem extends BoxResource {
          * @return info about the user who last modified the item.
          */
         public BoxUser.Info getModifiedBy() {
+            this.parseLazily("modified_by");
             return this.modifiedBy;
         }
 
@@ -345,6 +355,7 @@ public abstract class BoxItem extends BoxResource {
          * @return the time that the item was trashed.
          */
         public Date getTrashedAt() {
+            this.parseLazily("trashed_at");
             return this.trashedAt;
         }
 
@@ -353,6 +364,7 @@ public abstract class BoxItem extends BoxResource {
          * @return the time that the item was purged from the trash.
          */
         public Date getPurgedAt() {
+            this.parseLazily("purged_at");
             return this.purgedAt;
         }
 
@@ -361,6 +373,7 @@ public abstract class BoxItem extends BoxResource {
          * @return the time that the item was created according to the uploader.
          */
         public Date getContentCreatedAt() {
+            this.parseLazily("content_created_at");
             return this.contentCreatedAt;
         }
 
@@ -369,6 +382,7 @@ public abstract class BoxItem extends BoxResource {
          * @return the time that the item was last modified according to the uploader.
          */
         public Date getContentModifiedAt() {
+            this.parseLazily("content_modified_at");
             return this.contentModifiedAt;
         }
 
@@ -377,6 +391,7 @@ public abstract class BoxItem extends BoxResource {
          * @return the time that the item will expire at.
          */
         public Date getExpiresAt() {
+            this.parseLazily("expires_at");
             return this.expiresAt;
         }
 
@@ -385,6 +400,7 @@ public abstract class BoxItem extends BoxResource {
          * @return info about the user who owns the item.
          */
         public BoxUser.Info getOwnedBy() {
+            this.parseLazily("owned_by");
             return this.ownedBy;
         }
 
@@ -393,6 +409,7 @@ public abstract class BoxItem extends BoxResource {
          * @return the shared link for the item.
          */
         public BoxSharedLink getSharedLink() {
+            this.parseLazily("shared_link");
             return this.sharedLink;
         }
 
@@ -418,6 +435,7 @@ public abstract class BoxItem extends BoxResource {
          * @return a unique ID for use with the EventStream.
          */
         public String getSequenceID() {
+            this.parseLazily("sequence_id");
             return this.sequenceID;
         }
 
@@ -430,6 +448,7 @@ public abstract class BoxItem extends BoxResource {
          * @return a list of all the tags applied to the item.
          */
         public List<String> getTags() {
+            this.parseLazily("tags");
             return this.tags;
         }
 
@@ -451,6 +470,7 @@ public abstract class BoxItem extends BoxResource {
          * @return info about the parent folder of the item.
          */
         public BoxFolder.Info getParent() {
+            this.parseLazily("parent");
             return this.parent;
         }
 
@@ -459,6 +479,7 @@ public abstract class BoxItem extends BoxResource {
          * @return the status of the item.
          */
         public String getItemStatus() {
+            this.parseLazily("item_status");
             return this.itemStatus;
         }
 
@@ -467,6 +488,7 @@ public abstract class BoxItem extends BoxResource {
          * @return info about the collections that this item belongs to.
          */
         public Iterable<BoxCollection.Info> getCollections() {
+            this.parseLazily("collections");
             return this.collections;
         }
 
@@ -491,6 +513,12 @@ public abstract class BoxItem extends BoxResource {
             this.addPendingChange("collections", jsonArray);
         }
 
+        @Override
+        boolean isParsedLazily() {
+            BoxAPIConnection api = getAPI();
+            return api != null && api.getLazyInfoParsing();
+        }
+
         @Override
         protected void parseJSONMember(JsonObject.Member member) {
             super.parseJSONMember(member);
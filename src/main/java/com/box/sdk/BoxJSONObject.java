@@ -32,6 +32,12 @@ public abstract class BoxJSONObject {
      */
     private final Map<String, BoxJSONObject> children;
 
+    /**
+     * The members of the current JSON object that haven't been parsed yet, by name, when this object is parsed lazily.
+     * This is null when every member has been parsed.
+     */
+    private volatile Map<String, JsonObject.Member> unparsedMembers;
+
     /**
      * Constructs an empty BoxJSONObject.
      */
@@ -99,6 +105,45 @@ public abstract class BoxJSONObject {
      */
     void parseJSONMember(JsonObject.Member member) { }
 
+    /**
+     * Gets whether the members of this object's JSON object are parsed when a getter first needs them instead of when
+     * the object is updated.
+     *
+     * <p>Subclasses whose getters all call {@link #parseLazily} can override this method to parse their members
+     * lazily. This method returns false by default.</p>
+     *
+     * @return true if members are parsed lazily; otherwise false.
+     */
+    boolean isParsedLazily() {
+        return false;
+    }
+
+    /**
+     * Parses a member of the JSON object if it hasn't been parsed yet because this object is parsed lazily. Getters
+     * call this method with the name of the member their field is parsed from before returning the field.
+     * @param memberName the name of the member.
+     */
+    void parseLazily(String memberName) {
+        if (this.unparsedMembers == null) {
+            return;
+        }
+
+        synchronized (this) {
+            Map<String, JsonObject.Member> members = this.unparsedMembers;
+            if (members == null) {
+                return;
+            }
+
+            JsonObject.Member member = members.remove(memberName);
+            if (members.isEmpty()) {
+                this.unparsedMembers = null;
+            }
+            if (member != null) {
+                this.parseJSONMember(member);
+            }
+        }
+    }
+
     /**
      * Adds a pending field change that needs to be sent to the API. It will be included in the JSON string the next
      * time {@link #getPendingChanges} is called.
@@ -106,11 +151,7 @@ public abstract class BoxJSONObject {
      * @param value the new boolean value of the field.
      */
     void addPendingChange(String key, boolean value) {
-        if (this.pendingChanges == null) {
-            this.pendingChanges = new JsonObject();
-        }
-
-        this.pendingChanges.set(key, value);
+        this.addPendingChange(key, JsonValue.valueOf(value));
     }
 
     /**
@@ -154,6 +195,7 @@ public abstract class BoxJSONObject {
     }
 
     void addChildObject(String fieldName, BoxJSONObject child) {
+        this.discardUnparsedMember(fieldName);
         if (child == null) {
             this.addPendingChange(fieldName, JsonValue.NULL);
         } else {
@@ -172,6 +214,7 @@ public abstract class BoxJSONObject {
      * @param value the JsonValue of the field.
      */
     private void addPendingChange(String key, JsonValue value) {
+        this.discardUnparsedMember(key);
         if (this.pendingChanges == null) {
             this.pendingChanges = new JsonObject();
         }
@@ -192,17 +235,50 @@ public abstract class BoxJSONObject {
     void update(JsonObject jsonObject) {
         this.jsonObject = jsonObject;
 
-        for (JsonObject.Member member : jsonObject) {
-            if (member.getValue().isNull()) {
-                continue;
+        if (this.isParsedLazily()) {
+            synchronized (this) {
+                // Members of the previous JSON object that weren't parsed yet are kept, like the fields parsed from it.
+                Map<String, JsonObject.Member> members = this.unparsedMembers == null
+                    ? new HashMap<String, JsonObject.Member>()
+                    : this.unparsedMembers;
+                for (JsonObject.Member member : jsonObject) {
+                    if (!member.getValue().isNull()) {
+                        members.put(member.getName(), member);
+                    }
+                }
+                this.unparsedMembers = members.isEmpty() ? null : members;
             }
+        } else {
+            for (JsonObject.Member member : jsonObject) {
+                if (member.getValue().isNull()) {
+                    continue;
+                }
 
-            this.parseJSONMember(member);
+                this.parseJSONMember(member);
+            }
         }
 
         this.clearPendingChanges();
     }
 
+    /**
+     * Forgets an unparsed member whose field is being changed, so that the new value isn't replaced when the member
+     * would have been parsed.
+     * @param memberName the name of the member.
+     */
+    private void discardUnparsedMember(String memberName) {
+        if (this.unparsedMembers == null) {
+            return;
+        }
+
+        synchronized (this) {
+            Map<String, JsonObject.Member> members = this.unparsedMembers;
+            if (members != null) {
+                members.remove(memberName);
+            }
+        }
+    }
+
     /**
      * Gets a JsonObject containing any pending changes to this object that can be sent back to the Box API.
      * @return a JsonObject containing the pending changes.
@@ -2,6 +2,7 @@ package com.box.sdk;
 
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.HttpURLConnection;
 import java.util.Map;
 
@@ -10,18 +11,21 @@ import com.eclipsesource.json.JsonObject;
 /**
  * Used to read HTTP responses containing JSON from the Box API.
  *
- * <p>This request type extends BoxAPIResponse to provide additional functionality for handling JSON strings. It reads
- * the response body into a string and allows the JSON in the response to be logged.</p>
+ * <p>This request type extends BoxAPIResponse to provide additional functionality for handling JSON strings. It parses
+ * the response body into a JsonObject and allows the JSON in the response to be logged.</p>
  */
 public class BoxJSONResponse extends BoxAPIResponse {
     private static final int BUFFER_SIZE = 8192;
+    private final boolean hasBody;
     private JsonObject jsonObject;
+    private String json;
 
     /**
      * Constructs a BoxJSONResponse without an associated HttpURLConnection.
      */
     public BoxJSONResponse() {
         super();
+        this.hasBody = false;
     }
 
     /**
@@ -30,6 +34,7 @@ public class BoxJSONResponse extends BoxAPIResponse {
      */
     public BoxJSONResponse(HttpURLConnection connection) {
         super(connection);
+        this.hasBody = true;
     }
 
     /**
@@ -40,16 +45,24 @@ public class BoxJSONResponse extends BoxAPIResponse {
      */
     public BoxJSONResponse(int responseCode, Map<String, String> httpHeaders, JsonObject body) {
         super(responseCode, httpHeaders);
+        this.hasBody = false;
         this.jsonObject = body;
     }
 
     /**
-     * Get response as Json Object.
+     * Get response as Json Object. When this method is first called, the response's body will be parsed directly from
+     * the network stream and the response will be disconnected, meaning that the stream returned by {@link #getBody}
+     * can no longer be used.
      * @return response as JsonObject
      */
     public JsonObject getJsonObject() {
         if (this.jsonObject != null) {
             return this.jsonObject;
+        } else if (this.json != null) {
+            this.jsonObject = JsonObject.readFrom(this.json);
+            return this.jsonObject;
+        } else if (this.hasBody) {
+            return this.parseBody();
         } else {
             return JsonObject.readFrom(this.getJSON());
         }
@@ -58,31 +71,40 @@ public class BoxJSONResponse extends BoxAPIResponse {
     /**
      * Gets the body of the response as a JSON string. When this method is called, the response's body will be read and
      * the response will be disconnected, meaning that the stream returned by {@link #getBody} can no longer be used.
+     *
+     * <p>The body is returned as it was received, unless {@link #getJsonObject} was called first, in which case the
+     * body was parsed without being kept and the parsed JSON is serialized again, without whitespace. Prefer
+     * {@link #getJsonObject} when the response is going to be parsed, since it avoids reading the body into a
+     * string.</p>
+     *
      * @return the body of the response as a JSON string.
      */
     public String getJSON() {
-        if (this.jsonObject != null) {
+        if (this.json != null) {
+            return this.json;
+        } else if (this.jsonObject != null) {
             return this.jsonObject.toString();
-        } else {
-            InputStreamReader reader = new InputStreamReader(this.getBody(), StandardCharsets.UTF_8);
-            StringBuilder builder = new StringBuilder();
-            char[] buffer = new char[BUFFER_SIZE];
-
-            try {
-                int read = reader.read(buffer, 0, BUFFER_SIZE);
-                while (read != -1) {
-                    builder.append(buffer, 0, read);
-                    read = reader.read(buffer, 0, BUFFER_SIZE);
-                }
+        }
 
-                this.disconnect();
-                reader.close();
-            } catch (IOException e) {
-                throw new BoxAPIException("Couldn't connect to the Box API due to a network error.", e);
+        Reader reader = new InputStreamReader(this.getBody(), StandardCharsets.UTF_8);
+        StringBuilder builder = new StringBuilder();
+        char[] buffer = new char[BUFFER_SIZE];
+        boolean read = false;
+        try {
+            int n = reader.read(buffer, 0, BUFFER_SIZE);
+            while (n != -1) {
+                builder.append(buffer, 0, n);
+                n = reader.read(buffer, 0, BUFFER_SIZE);
             }
-            this.jsonObject = JsonObject.readFrom(builder.toString());
-            return builder.toString();
+            read = true;
+        } catch (IOException e) {
+            throw new BoxAPIException("Couldn't connect to the Box API due to a network error.", e);
+        } finally {
+            this.closeBody(reader, read);
         }
+
+        this.json = builder.toString();
+        return this.json;
     }
 
     @Override
@@ -94,4 +116,40 @@ public class BoxJSONResponse extends BoxAPIResponse {
             return bodyString;
         }
     }
+
+    private JsonObject parseBody() {
+        Reader reader = new InputStreamReader(this.getBody(), StandardCharsets.UTF_8);
+        boolean parsed = false;
+        try {
+            this.jsonObject = JsonObject.readFrom(reader);
+            parsed = true;
+        } catch (IOException e) {
+            throw new BoxAPIException("Couldn't connect to the Box API due to a network error.", e);
+        } finally {
+            this.closeBody(reader, parsed);
+        }
+
+        return this.jsonObject;
+    }
+
+    /**
+     * Disconnects this response once its body has been read, or failed to be read.
+     * @param reader the reader of the body.
+     * @param read   whether the body was read successfully. Otherwise, errors are ignored so that they don't hide the
+     *               error that stopped the body from being read.
+     */
+    private void closeBody(Reader reader, boolean read) {
+        try {
+            this.disconnect();
+            reader.close();
+        } catch (IOException e) {
+            if (read) {
+                throw new BoxAPIException("Couldn't connect to the Box API due to a network error.", e);
+            }
+        } catch (BoxAPIException e) {
+            if (read) {
+                throw e;
+            }
+        }
+    }
 }
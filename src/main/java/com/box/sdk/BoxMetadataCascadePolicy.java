@@ -103,7 +103,7 @@ public class BoxMetadataCascadePolicy extends BoxResource {
                 builder.toString(), this.getID());
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
         return new Info(responseJSON);
     }
 
@@ -126,7 +126,7 @@ public class BoxMetadataCascadePolicy extends BoxResource {
                 .add("templateKey", templateKey);
         request.setBody(requestJSON.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
         BoxMetadataCascadePolicy createdMetadataCascadePolicy = new BoxMetadataCascadePolicy(api,
                 responseJSON.get("id").asString());
         return createdMetadataCascadePolicy.new Info(responseJSON);
@@ -145,7 +145,8 @@ public class BoxMetadataCascadePolicy extends BoxResource {
         JsonObject requestJSON = new JsonObject()
                 .add("conflict_resolution", conflictResolution);
         request.setBody(requestJSON.toString());
-        request.send();
+        BoxAPIResponse response = request.send();
+        response.disconnect();
     }
 
     /**
@@ -155,6 +156,7 @@ public class BoxMetadataCascadePolicy extends BoxResource {
         URL url = METADATA_CASCADE_POLICIES_URL_TEMPLATE.buildAlpha(this.getAPI().getBaseURL(), this.getID());
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "DELETE");
         BoxAPIResponse response = request.send();
+        response.disconnect();
     }
 
     /**
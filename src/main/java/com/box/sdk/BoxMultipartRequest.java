@@ -1,11 +1,16 @@
 package com.box.sdk;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -19,21 +24,29 @@ import java.util.logging.Logger;
  * request type cannot be set directly. Instead, it can be modified by adding multipart fields and setting file
  * contents. The body of multipart requests will not be logged since they are likely to contain binary data.</p>
  *
+ * <p>When the size of the file is known, the length of the whole body is computed before it is sent, and the body is
+ * sent with a Content-Length instead of in chunks.</p>
  */
 public class BoxMultipartRequest extends BoxAPIRequest {
     private static final Logger LOGGER = Logger.getLogger(BoxMultipartRequest.class.getName());
     private static final String BOUNDARY = "da39a3ee5e6b4b0d3255bfef95601890afd80709";
-    private static final int BUFFER_SIZE = 8192;
+    private static final String EPILOGUE = "\r\n--" + BOUNDARY + "--";
+    private static final byte[] EPILOGUE_BYTES = EPILOGUE.getBytes(StandardCharsets.UTF_8);
+    private static final int BUFFER_SIZE = 65536;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
 
     private final StringBuilder loggedRequest = new StringBuilder();
 
-    private OutputStream outputStream;
     private InputStream inputStream;
+    private FileChannel fileChannel;
+    private long fileChannelStart;
+    private String fileChannelSHA1;
     private UploadFileCallback callback;
     private String filename;
     private long fileSize;
+    private String contentSHA1;
     private Map<String, String> fields;
-    private boolean firstBoundary;
+    private byte[] preamble;
 
     /**
      * Constructs an authenticated BoxMultipartRequest using a provided BoxAPIConnection.
@@ -44,7 +57,6 @@ public class BoxMultipartRequest extends BoxAPIRequest {
         super(api, url, "POST");
 
         this.fields = new HashMap<String, String>();
-        this.firstBoundary = true;
 
         this.addHeader("Content-Type", "multipart/form-data; boundary=" + BOUNDARY);
     }
@@ -56,6 +68,7 @@ public class BoxMultipartRequest extends BoxAPIRequest {
      */
     public void putField(String key, String value) {
         this.fields.put(key, value);
+        this.preamble = null;
     }
 
     /**
@@ -64,7 +77,7 @@ public class BoxMultipartRequest extends BoxAPIRequest {
      * @param value the field's value.
      */
     public void putField(String key, Date value) {
-        this.fields.put(key, BoxDateFormat.format(value));
+        this.putField(key, BoxDateFormat.format(value));
     }
 
     /**
@@ -74,20 +87,48 @@ public class BoxMultipartRequest extends BoxAPIRequest {
      */
     public void setFile(InputStream inputStream, String filename) {
         this.inputStream = inputStream;
+        this.fileChannel = null;
+        this.callback = null;
         this.filename = filename;
+        this.fileSize = 0;
+        this.preamble = null;
     }
 
     /**
      * Sets the file contents of this request.
      * @param inputStream a stream containing the file contents.
      * @param filename    the name of the file.
-     * @param fileSize    the size of the file.
+     * @param fileSize    the size of the file, used for monitoring the upload's progress.
      */
     public void setFile(InputStream inputStream, String filename, long fileSize) {
         this.setFile(inputStream, filename);
         this.fileSize = fileSize;
     }
 
+    /**
+     * Sets the file contents of this request to the bytes of a file channel from its current position to its end. The
+     * SHA1 hash of the contents is computed before they are sent if it wasn't set with {@link #setContentSHA1}. The
+     * channel isn't closed by the request.
+     * @param fileChannel a channel reading the file contents.
+     * @param filename    the name of the file.
+     * @throws BoxAPIException if the size or the position of the channel can't be read.
+     */
+    public void setFile(FileChannel fileChannel, String filename) {
+        try {
+            this.fileChannelStart = fileChannel.position();
+            this.fileSize = fileChannel.size() - this.fileChannelStart;
+        } catch (IOException e) {
+            throw new BoxAPIException("Couldn't read the size of the file " + filename + ".", e);
+        }
+
+        this.inputStream = null;
+        this.fileChannel = fileChannel;
+        this.fileChannelSHA1 = null;
+        this.callback = null;
+        this.filename = filename;
+        this.preamble = null;
+    }
+
     /**
      * Sets the callback which allows file content to be written on output stream.
      *
@@ -95,8 +136,12 @@ public class BoxMultipartRequest extends BoxAPIRequest {
      * @param filename the size of the file.
      */
     public void setUploadFileCallback(UploadFileCallback callback, String filename) {
+        this.inputStream = null;
+        this.fileChannel = null;
         this.callback = callback;
         this.filename = filename;
+        this.fileSize = 0;
+        this.preamble = null;
     }
 
     /**
@@ -107,6 +152,7 @@ public class BoxMultipartRequest extends BoxAPIRequest {
      */
     public void setContentSHA1(String sha1) {
         this.addHeader("Content-MD5", sha1);
+        this.contentSHA1 = sha1;
     }
 
     /**
@@ -134,39 +180,65 @@ public class BoxMultipartRequest extends BoxAPIRequest {
     @Override
     protected void writeBody(HttpURLConnection connection, ProgressListener listener) {
         try {
-            connection.setChunkedStreamingMode(0);
-            connection.setDoOutput(true);
-            this.outputStream = connection.getOutputStream();
-
-            for (Map.Entry<String, String> entry : this.fields.entrySet()) {
-                this.writePartHeader(new String[][] {{"name", entry.getKey()}});
-                this.writeOutput(entry.getValue());
+            byte[] preambleBytes = this.getPreamble();
+            // Only the size of a channel is known to be exact, so bodies read from streams are sent in chunks.
+            long bodyLength = preambleBytes.length + this.fileSize + EPILOGUE_BYTES.length;
+            if (this.fileChannel != null && bodyLength <= Integer.MAX_VALUE) {
+                connection.setFixedLengthStreamingMode((int) bodyLength);
+            } else {
+                connection.setChunkedStreamingMode(0);
+            }
+            if (this.fileChannel != null && this.contentSHA1 == null) {
+                if (this.fileChannelSHA1 == null) {
+                    this.fileChannelSHA1 = this.computeChannelSHA1();
+                }
+                connection.setRequestProperty("Content-MD5", this.fileChannelSHA1);
             }
+            connection.setDoOutput(true);
+            OutputStream outputStream = connection.getOutputStream();
 
-            this.writePartHeader(new String[][] {{"name", "file"}, {"filename", this.filename}},
-                "application/octet-stream");
+            outputStream.write(preambleBytes);
+            this.addBytesSent(preambleBytes.length);
 
-            OutputStream fileContentsOutputStream = this.outputStream;
+            OutputStream fileContentsOutputStream = outputStream;
             if (listener != null) {
-                fileContentsOutputStream = new ProgressOutputStream(this.outputStream, listener, this.fileSize);
+                fileContentsOutputStream = new ProgressOutputStream(outputStream, listener, this.fileSize);
             }
-            if (this.inputStream != null) {
+            if (this.fileChannel != null) {
+                this.writeChannel(fileContentsOutputStream);
+            } else if (this.inputStream != null) {
                 byte[] buffer = new byte[BUFFER_SIZE];
                 int n = this.inputStream.read(buffer);
                 while (n != -1) {
                     fileContentsOutputStream.write(buffer, 0, n);
+                    this.addBytesSent(n);
                     n = this.inputStream.read(buffer);
                 }
             } else {
-                this.callback.writeToStream(this.outputStream);
+                this.callback.writeToStream(new FilterOutputStream(outputStream) {
+                    @Override
+                    public void write(int b) throws IOException {
+                        this.out.write(b);
+                        BoxMultipartRequest.this.addBytesSent(1);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        this.out.write(b, off, len);
+                        BoxMultipartRequest.this.addBytesSent(len);
+                    }
+                });
             }
 
+            outputStream.write(EPILOGUE_BYTES);
+            this.addBytesSent(EPILOGUE_BYTES.length);
+
             if (LOGGER.isLoggable(Level.FINE)) {
+                this.loggedRequest.setLength(0);
+                this.loggedRequest.append(new String(preambleBytes, StandardCharsets.UTF_8));
                 this.loggedRequest.append("<File Contents Omitted>");
+                this.loggedRequest.append(EPILOGUE);
             }
-
-            this.writeBoundary();
-            this.writeOutput("--");
         } catch (IOException e) {
             throw new BoxAPIException("Couldn't connect to the Box API due to a network error.", e);
         }
@@ -174,8 +246,11 @@ public class BoxMultipartRequest extends BoxAPIRequest {
 
     @Override
     protected void resetBody() throws IOException {
-        this.firstBoundary = true;
-        this.inputStream.reset();
+        if (this.fileChannel != null) {
+            this.fileChannel.position(this.fileChannelStart);
+        } else if (this.inputStream != null) {
+            this.inputStream.reset();
+        }
         this.loggedRequest.setLength(0);
     }
 
@@ -184,48 +259,101 @@ public class BoxMultipartRequest extends BoxAPIRequest {
         return this.loggedRequest.toString();
     }
 
-    private void writeBoundary() throws IOException {
-        if (!this.firstBoundary) {
-            this.writeOutput("\r\n");
+    /**
+     * Gets the fields and the header of the file part, which are encoded once and sent before the file contents of
+     * every attempt.
+     */
+    private byte[] getPreamble() throws IOException {
+        if (this.preamble == null) {
+            StringBuilder builder = new StringBuilder();
+            for (Map.Entry<String, String> entry : this.fields.entrySet()) {
+                appendPartHeader(builder, new String[][] {{"name", entry.getKey()}}, null);
+                builder.append(entry.getValue());
+            }
+
+            appendPartHeader(builder, new String[][] {{"name", "file"}, {"filename", this.filename}},
+                "application/octet-stream");
+            this.preamble = builder.toString().getBytes(StandardCharsets.UTF_8);
         }
 
-        this.firstBoundary = false;
-        this.writeOutput("--");
-        this.writeOutput(BOUNDARY);
+        return this.preamble;
     }
 
-    private void writePartHeader(String[][] formData) throws IOException {
-        this.writePartHeader(formData, null);
+    /**
+     * Writes the file channel's contents, reading no more than the size of the file so that the body always has the
+     * length that was announced even if the file grows.
+     */
+    private void writeChannel(OutputStream outputStream) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(BUFFER_SIZE, Math.max(1, this.fileSize)));
+        long remaining = this.fileSize;
+        while (remaining > 0) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), remaining));
+            int n = this.fileChannel.read(buffer);
+            if (n == -1) {
+                throw new IOException("The file " + this.filename + " is shorter than its size of " + this.fileSize
+                    + " bytes.");
+            }
+            outputStream.write(buffer.array(), 0, n);
+            this.addBytesSent(n);
+            remaining -= n;
+        }
     }
 
-    private void writePartHeader(String[][] formData, String contentType) throws IOException {
-        this.writeBoundary();
-        this.writeOutput("\r\n");
-        this.writeOutput("Content-Disposition: form-data");
-        for (int i = 0; i < formData.length; i++) {
-            this.writeOutput("; ");
-            this.writeOutput(formData[i][0]);
-            this.writeOutput("=\"");
-            this.writeOutput(URLEncoder.encode(formData[i][1], "UTF-8"));
-            this.writeOutput("\"");
+    /**
+     * Computes the SHA1 hash of the file channel's contents with reads at absolute positions, which leave the position
+     * of the channel unchanged.
+     */
+    private String computeChannelSHA1() throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new BoxAPIException("Digest algorithm not found", e);
         }
 
-        if (contentType != null) {
-            this.writeOutput("\r\nContent-Type: ");
-            this.writeOutput(contentType);
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(BUFFER_SIZE, Math.max(1, this.fileSize)));
+        long position = this.fileChannelStart;
+        long end = this.fileChannelStart + this.fileSize;
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+            int n = this.fileChannel.read(buffer, position);
+            if (n == -1) {
+                throw new IOException("The file " + this.filename + " is shorter than its size of " + this.fileSize
+                    + " bytes.");
+            }
+            digest.update(buffer.array(), 0, n);
+            position += n;
         }
 
-        this.writeOutput("\r\n\r\n");
+        byte[] hash = digest.digest();
+        char[] hex = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0xf];
+            hex[i * 2 + 1] = HEX_DIGITS[hash[i] & 0xf];
+        }
+        return new String(hex);
     }
 
-    private void writeOutput(String s) throws IOException {
-        this.outputStream.write(s.getBytes(StandardCharsets.UTF_8));
-        if (LOGGER.isLoggable(Level.FINE)) {
-            this.loggedRequest.append(s);
+    private static void appendPartHeader(StringBuilder builder, String[][] formData, String contentType)
+        throws IOException {
+
+        if (builder.length() > 0) {
+            builder.append("\r\n");
+        }
+        builder.append("--").append(BOUNDARY).append("\r\n");
+        builder.append("Content-Disposition: form-data");
+        for (int i = 0; i < formData.length; i++) {
+            builder.append("; ").append(formData[i][0]).append("=\"");
+            builder.append(URLEncoder.encode(formData[i][1], "UTF-8"));
+            builder.append("\"");
+        }
+
+        if (contentType != null) {
+            builder.append("\r\nContent-Type: ").append(contentType);
         }
-    }
 
-    private void writeOutput(int b) throws IOException {
-        this.outputStream.write(b);
+        builder.append("\r\n\r\n");
     }
 }
@@ -0,0 +1,190 @@
+package com.box.sdk;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * An immutable set of headers, such as As-User and Box-Notifications, that are sent with every request created while
+ * the context is applied.
+ *
+ * <p>A context is applied to the calls made by the current thread with {@link #run(Runnable)} or
+ * {@link #call(Callable)}, and applies to every resource operation made during those calls whatever the connection it
+ * uses. The context's headers replace the custom headers of the connection with the same name. Unlike
+ * {@link BoxAPIConnection#asUser(String)}, a context doesn't change the connection, so a single connection and its
+ * access token can be used to act as many users from different threads at the same time:</p>
+ *
+ * <pre>
+ * BoxRequestContext.asUser(userID).run(new Runnable() {
+ *     public void run() {
+ *         BoxFolder.getRootFolder(api).getInfo();
+ *     }
+ * });
+ * </pre>
+ *
+ * <p>Asynchronous calls started while a context is applied run with the same context. Requests get the context that
+ * is applied when they are created, so the pages of an iterable that is iterated after the task returned are requested
+ * without the context.</p>
+ */
+public final class BoxRequestContext {
+
+    private static final String AS_USER_HEADER = "As-User";
+    private static final String BOX_NOTIFICATIONS_HEADER = "Box-Notifications";
+    private static final BoxRequestContext EMPTY = new BoxRequestContext(new LinkedHashMap<String, String>());
+    private static final ThreadLocal<BoxRequestContext> CURRENT = new ThreadLocal<BoxRequestContext>();
+
+    private final Map<String, String> headers;
+
+    private BoxRequestContext(Map<String, String> headers) {
+        this.headers = Collections.unmodifiableMap(headers);
+    }
+
+    /**
+     * Gets a context without any headers.
+     * @return an empty context.
+     */
+    public static BoxRequestContext empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Gets a context that makes requests on behalf of another user. This can only be used by admins and service
+     * accounts.
+     * @param  userID the ID of the user to act as.
+     * @return        a context with an As-User header.
+     */
+    public static BoxRequestContext asUser(String userID) {
+        return EMPTY.withAsUser(userID);
+    }
+
+    /**
+     * Gets the context applied to the current thread.
+     * @return the current context, or null if no context is applied.
+     */
+    static BoxRequestContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Gets a copy of this context that makes requests on behalf of another user.
+     * @param  userID the ID of the user to act as.
+     * @return        a context with the headers of this context and an As-User header.
+     */
+    public BoxRequestContext withAsUser(String userID) {
+        return this.withHeader(AS_USER_HEADER, userID);
+    }
+
+    /**
+     * Gets a copy of this context that suppresses email notifications from API actions.
+     * @return a context with the headers of this context and a Box-Notifications header.
+     * @see    BoxAPIConnection#suppressNotifications()
+     */
+    public BoxRequestContext withNotificationsSuppressed() {
+        return this.withHeader(BOX_NOTIFICATIONS_HEADER, "off");
+    }
+
+    /**
+     * Gets a copy of this context with an additional header.
+     * @param  header the header name.
+     * @param  value  the header value.
+     * @return        a context with the headers of this context and the given header.
+     */
+    public BoxRequestContext withHeader(String header, String value) {
+        if (header == null || value == null) {
+            throw new IllegalArgumentException("The header name and value can't be null.");
+        }
+
+        Map<String, String> newHeaders = new LinkedHashMap<String, String>(this.headers);
+        newHeaders.put(header, value);
+        return new BoxRequestContext(newHeaders);
+    }
+
+    /**
+     * Gets the headers of this context.
+     * @return an unmodifiable map of the headers of this context.
+     */
+    public Map<String, String> getHeaders() {
+        return this.headers;
+    }
+
+    /**
+     * Runs a task with this context applied to the current thread. The context that was applied before is restored
+     * when the task returns.
+     * @param task the task to run.
+     */
+    public void run(Runnable task) {
+        BoxRequestContext previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            task.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Calls a task with this context applied to the current thread. The context that was applied before is restored
+     * when the task returns.
+     * @param  <T>       the type of the task's result.
+     * @param  task      the task to call.
+     * @return           the result of the task.
+     * @throws Exception if the task throws an exception.
+     */
+    public <T> T call(Callable<T> task) throws Exception {
+        BoxRequestContext previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Wraps a task so that it runs with the context of the current thread, for tasks run on another thread.
+     * @param  <T>  the type of the task's result.
+     * @param  task the task to wrap.
+     * @return      a task applying the current context, or the task itself if no context is applied.
+     */
+    static <T> Callable<T> propagate(final Callable<T> task) {
+        final BoxRequestContext context = CURRENT.get();
+        if (context == null) {
+            return task;
+        }
+
+        return new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                return context.call(task);
+            }
+        };
+    }
+
+    /**
+     * Wraps a task so that it runs with the context of the current thread, for tasks run on another thread.
+     * @param  task the task to wrap.
+     * @return      a task applying the current context, or the task itself if no context is applied.
+     */
+    static Runnable propagate(final Runnable task) {
+        final BoxRequestContext context = CURRENT.get();
+        if (context == null) {
+            return task;
+        }
+
+        return new Runnable() {
+            @Override
+            public void run() {
+                context.run(task);
+            }
+        };
+    }
+
+    private static void restore(BoxRequestContext previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -1,10 +1,8 @@
 package com.box.sdk;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import com.eclipsesource.json.JsonObject;
 
@@ -17,9 +15,9 @@ import com.eclipsesource.json.JsonObject;
 public abstract class BoxResource {
 
     /**
-     * @see #initResourceClassByType()
+     * @see #initInfoFactoryByType()
      */
-    private static final Map<String, Class<? extends BoxResource>> RESOURCE_CLASS_BY_TYPE = initResourceClassByType();
+    private static final Map<String, InfoFactory> INFO_FACTORY_BY_TYPE = initInfoFactoryByType();
 
     private final BoxAPIConnection api;
     private final String id;
@@ -36,36 +34,156 @@ public abstract class BoxResource {
     }
 
     /**
-     * @return Builds {@link Map} between String {@link #getResourceType(Class)} and {@link BoxResource} type.
+     * Builds the factories once, so that parsing info doesn't need reflection. Events aren't included because they
+     * don't have an Info class.
+     * @return Builds {@link Map} between String {@link #getResourceType(Class)} and {@link InfoFactory}.
      */
-    private static Map<String, Class<? extends BoxResource>> initResourceClassByType() {
-        Map<String, Class<? extends BoxResource>> result =
-                new ConcurrentHashMap<String, Class<? extends BoxResource>>();
-        result.put(getResourceType(BoxFolder.class), BoxFolder.class);
-        result.put(getResourceType(BoxFile.class), BoxFile.class);
-        result.put(getResourceType(BoxComment.class), BoxComment.class);
-        result.put(getResourceType(BoxCollaboration.class), BoxCollaboration.class);
-        result.put(getResourceType(BoxTask.class), BoxTask.class);
-        result.put(getResourceType(BoxTaskAssignment.class), BoxTaskAssignment.class);
-        result.put(getResourceType(BoxUser.class), BoxUser.class);
-        result.put(getResourceType(BoxGroup.class), BoxGroup.class);
-        result.put(getResourceType(BoxGroupMembership.class), BoxGroupMembership.class);
-        result.put(getResourceType(BoxEvent.class), BoxEvent.class);
-        result.put(getResourceType(BoxWebHook.class), BoxWebHook.class);
-        result.put(getResourceType(BoxCollection.class), BoxCollection.class);
-        result.put(getResourceType(BoxDevicePin.class), BoxDevicePin.class);
-        result.put(getResourceType(BoxRetentionPolicy.class), BoxRetentionPolicy.class);
-        result.put(getResourceType(BoxRetentionPolicyAssignment.class), BoxRetentionPolicyAssignment.class);
-        result.put(getResourceType(BoxFileVersionRetention.class), BoxFileVersionRetention.class);
-        result.put(getResourceType(BoxLegalHoldPolicy.class), BoxLegalHoldPolicy.class);
-        result.put(getResourceType(BoxLegalHoldAssignment.class), BoxLegalHoldAssignment.class);
-        result.put(getResourceType(BoxFileVersionLegalHold.class), BoxFileVersionLegalHold.class);
-        result.put(getResourceType(BoxFileUploadSession.class), BoxFileUploadSession.class);
-        result.put(getResourceType(BoxWebLink.class), BoxWebLink.class);
-        result.put(getResourceType(BoxStoragePolicy.class), BoxStoragePolicy.class);
-        result.put(getResourceType(BoxStoragePolicyAssignment.class), BoxStoragePolicyAssignment.class);
-        result.put(getResourceType(BoxFolderLock.class), BoxFolderLock.class);
-        result.put(getResourceType(BoxFileRequest.class), BoxFileRequest.class);
+    private static Map<String, InfoFactory> initInfoFactoryByType() {
+        Map<String, InfoFactory> result = new HashMap<String, InfoFactory>();
+        result.put(getResourceType(BoxFolder.class), new InfoFactory() {
+            @Override
+            public BoxResource.Info create(BoxAPIConnection api, String id, JsonObject jsonObject) {
+                return new BoxFolder(api, id).new Info(jsonObject);
+            }
+        });
+        result.put(getResourceType(BoxFile.class), new InfoFactory() {
+            @Override
+            public BoxResource.Info create(BoxAPIConnection api, String id, JsonObject jsonObject) {
+                return new BoxFile(api, id).new Info(jsonObject);
+            }
+        });
+        result.put(getResourceType(BoxComment.class), new InfoFactory() {
+            @Override
+            public BoxResource.Info create(BoxAPIConnection api, String id, JsonObject jsonObject) {
+                return new BoxComment(api, id).new Info(jsonObject);
+            }
+        });
+        result.put(getResourceType(BoxCollaboration.class), new InfoFactory() {
+            @Override
+            public BoxResource.Info create(BoxAPIConnection api, String id, JsonObject jsonObject) {
+                return new BoxCollaboration(api, id).new Info(jsonObject);
+            }
+        });
+        result.put(getResourceType(BoxTask.class), new InfoFactory() {
+            @Override
+            public BoxResource.Info create(BoxAPIConnection api, String id, JsonObject jsonObject) {
+                return new BoxTask(api, id).new Info(jsonObject);
+            }
+        });
+        result.put(getResourceType(BoxTaskAssignment.class), new InfoFactory() {
+            @Override
+            public BoxResource.Info create(BoxAPIConnection api, String id, JsonObject jsonObject) {
+                return new BoxTaskAssignment(api, id).new Info(jsonObject);
+            }
+        });
+        result.put(getResourceType(BoxUser.class), new InfoFactory() {
+            @Override
+            public BoxResource.Info create(BoxAPIConnection api, String id, JsonObject jsonObject) {
+                return new BoxUser(api, id).new Info(jsonObject);
+            }
+        });
+        result.put(getResourceType(BoxGroup.class), new InfoFactory() {
+            @Override
+            public BoxResource.Info create(BoxAPIConnection api, String id, JsonObject jsonObject) {
+                return new BoxGroup(api, id).new Info(jsonObject);
+            }
+        });
+        result.put(getResourceType(BoxGroupMembership.class), new InfoFactory() {
+            @Override
+            public BoxResource.Info create(BoxAPIConnection api, String id, JsonObject jsonObject) {
+                return new BoxGroupMembership(api, id).new Info(jsonObject);
+            }
+        });
+        result.put(getResourceType(BoxWebHook.class), new InfoFactory() {
+            @Override
+            public BoxResource.Info create(BoxAPIConnection api, String id, JsonObject jsonObject) {
+                return new BoxWebHook(api, id).new Info(jsonObject);
+            }
+        });
+        result.put(getResourceType(BoxCollection.class), new InfoFactory() {
+            @Override
+            public BoxResource.Info create(BoxAPIConnection api, String id, JsonObject jsonObject) {
+                return new BoxCollection(api, id).new Info(jsonObject);
+            }
+        });
+        result.put(getResourceType(BoxDevicePin.class), new InfoFactory() {
+            @Override
+            public BoxResource.Info create(BoxAPIConnection api, String id, JsonObject jsonObject) {
+                return new BoxDevicePin(api, id).new Info(jsonObject);
+            }
+        });
+        result.put(getResourceType(BoxRetentionPolicy.class), new InfoFactory() {
+            @Override
+            public BoxResource.Info create(BoxAPIConnection api, String id, JsonObject jsonObject) {
+                return new BoxRetentionPolicy(api, id).new Info(jsonObject);
+            }
+        });
+        result.put(getResourceType(BoxRetentionPolicyAssignment.class), new InfoFactory() {
+            @Override
+            public BoxResource.Info create(BoxAPIConnection api, String id, JsonObject jsonObject) {
+                return new BoxRetentionPolicyAssignment(api, id).new Info(jsonObject);
+            }
+        });
+        result.put(getResourceType(BoxFileVersionRetention.class), new InfoFactory() {
+            @Override
+            public BoxResource.Info create(BoxAPIConnection api, String id, JsonObject jsonObject) {
+                return new BoxFileVersionRetention(api, id).new Info(jsonObject);
+            }
+        });
+        result.put(getResourceType(BoxLegalHoldPolicy.class), new InfoFactory() {
+            @Override
+            public BoxResource.Info create(BoxAPIConnection api, String id, JsonObject jsonObject) {
+                return new BoxLegalHoldPolicy(api, id).new Info(jsonObject);
+            }
+        });
+        result.put(getResourceType(BoxLegalHoldAssignment.class), new InfoFactory() {
+            @Override
+            public BoxResource.Info create(BoxAPIConnection api, String id, JsonObject jsonObject) {
+                return new BoxLegalHoldAssignment(api, id).new Info(jsonObject);
+            }
+        });
+        result.put(getResourceType(BoxFileVersionLegalHold.class), new InfoFactory() {
+            @Override
+            public BoxResource.Info create(BoxAPIConnection api, String id, JsonObject jsonObject) {
+                return new BoxFileVersionLegalHold(api, id).new Info(jsonObject);
+            }
+        });
+        result.put(getResourceType(BoxFileUploadSession.class), new InfoFactory() {
+            @Override
+            public BoxResource.Info create(BoxAPIConnection api, String id, JsonObject jsonObject) {
+                return new BoxFileUploadSession(api, id).new Info(jsonObject);
+            }
+        });
+        result.put(getResourceType(BoxWebLink.class), new InfoFactory() {
+            @Override
+            public BoxResource.Info create(BoxAPIConnection api, String id, JsonObject jsonObject) {
+                return new BoxWebLink(api, id).new Info(jsonObject);
+            }
+        });
+        result.put(getResourceType(BoxStoragePolicy.class), new InfoFactory() {
+            @Override
+            public BoxResource.Info create(BoxAPIConnection api, String id, JsonObject jsonObject) {
+                return new BoxStoragePolicy(api, id).new Info(jsonObject);
+            }
+        });
+        result.put(getResourceType(BoxStoragePolicyAssignment.class), new InfoFactory() {
+            @Override
+            public BoxResource.Info create(BoxAPIConnection api, String id, JsonObject jsonObject) {
+                return new BoxStoragePolicyAssignment(api, id).new Info(jsonObject);
+            }
+        });
+        result.put(getResourceType(BoxFolderLock.class), new InfoFactory() {
+            @Override
+            public BoxResource.Info create(BoxAPIConnection api, String id, JsonObject jsonObject) {
+                return new BoxFolderLock(api, id).new Info(jsonObject);
+            }
+        });
+        result.put(getResourceType(BoxFileRequest.class), new InfoFactory() {
+            @Override
+            public BoxResource.Info create(BoxAPIConnection api, String id, JsonObject jsonObject) {
+                return new BoxFileRequest(api, id).new Info(jsonObject);
+            }
+        });
 
         return Collections.unmodifiableMap(result);
     }
@@ -85,32 +203,21 @@ public abstract class BoxResource {
         return resource.value();
     }
 
+    /**
+     * Creates the info of a resource of any type from its JSON representation.
+     * @param  api        the API connection of the resource.
+     * @param  jsonObject the JSON representation of the resource, including its type and ID.
+     * @return            the info of the resource, or null if the type of the resource doesn't have info.
+     */
     static BoxResource.Info parseInfo(BoxAPIConnection api, JsonObject jsonObject) {
         String type = jsonObject.get("type").asString();
-        String id = jsonObject.get("id").asString();
-
-        try {
-            Class<? extends BoxResource> resourceClass = RESOURCE_CLASS_BY_TYPE.get(type);
-            Constructor<? extends BoxResource> resourceConstructor =
-                    resourceClass.getConstructor(BoxAPIConnection.class, String.class);
-
-            Class<?> infoClass = resourceClass.getClassLoader().loadClass(resourceClass.getCanonicalName() + "$Info");
-            Constructor<?> infoConstructor = infoClass.getDeclaredConstructor(resourceClass, JsonObject.class);
-
-            BoxResource resource = resourceConstructor.newInstance(api, id);
-            return (BoxResource.Info) infoConstructor.newInstance(resource, jsonObject);
-
-        } catch (ClassNotFoundException e) {
-            return null;
-        } catch (NoSuchMethodException e) {
+        InfoFactory factory = INFO_FACTORY_BY_TYPE.get(type);
+        if (factory == null) {
             return null;
-        } catch (IllegalAccessException e) {
-            throw new BoxAPIException("Can not create BoxResource.Info instance:", e);
-        } catch (InvocationTargetException e) {
-            throw new BoxAPIException("Can not create BoxResource.Info instance:", e);
-        } catch (InstantiationException e) {
-            throw new BoxAPIException("Can not create BoxResource.Info instance:", e);
         }
+
+        String id = jsonObject.get("id").asString();
+        return factory.create(api, id, jsonObject);
     }
 
     /**
@@ -199,4 +306,18 @@ public abstract class BoxResource {
          */
         public abstract BoxResource getResource();
     }
+
+    /**
+     * Creates the info of resources of one type.
+     */
+    interface InfoFactory {
+        /**
+         * Creates the info of a resource from its JSON representation.
+         * @param  api        the API connection of the resource.
+         * @param  id         the ID of the resource.
+         * @param  jsonObject the JSON representation of the resource.
+         * @return            the info of the resource.
+         */
+        BoxResource.Info create(BoxAPIConnection api, String id, JsonObject jsonObject);
+    }
 }
@@ -4,6 +4,7 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.concurrent.FutureTask;
 
 import com.eclipsesource.json.JsonArray;
 import com.eclipsesource.json.JsonObject;
@@ -164,6 +165,11 @@ public abstract class BoxResourceIterable<T> implements Iterable<T> {
          */
         private JsonObject body;
 
+        /**
+         * The next page, when it is being fetched in the background.
+         */
+        private FutureTask<JsonObject> nextPage;
+
         /**
          * Constructor.
          *
@@ -177,9 +183,40 @@ public abstract class BoxResourceIterable<T> implements Iterable<T> {
         }
 
         /**
-         * Loads next page.
+         * Loads next page, and starts fetching the page after it when read-ahead is enabled.
          */
         private void loadNextPage() {
+            JsonObject pageBody;
+            if (this.nextPage != null) {
+                pageBody = PageReadAhead.get(this.nextPage);
+                this.nextPage = null;
+            } else {
+                BoxJSONResponse response = (BoxJSONResponse) this.createPageRequest().send();
+                pageBody = response.getJsonObject();
+            }
+
+            JsonValue markerNextValue = pageBody.get(BODY_PARAMETER_MARKER_NEXT);
+            if (markerNextValue != null && markerNextValue.isString()) {
+                this.markerNext = markerNextValue.asString();
+            } else {
+                this.markerNext = null;
+            }
+
+            this.page = pageBody.get(BODY_PARAMETER_ENTRIES).asArray();
+            this.pageCursor = 0;
+
+            BoxAPIConnection api = BoxResourceIterable.this.api;
+            if (api.getPageReadAhead() > 0 && this.markerNext != null && !this.markerNext.isEmpty()) {
+                this.nextPage = PageReadAhead.fetch(api, this.createPageRequest(), this);
+            }
+        }
+
+        /**
+         * Creates the request for the page starting at the next marker.
+         *
+         * @return the request for the page.
+         */
+        private BoxAPIRequest createPageRequest() {
             String existingQuery = BoxResourceIterable.this.url.getQuery();
             QueryStringBuilder builder = new QueryStringBuilder(existingQuery);
             builder.appendParam(PARAMETER_LIMIT, BoxResourceIterable.this.limit);
@@ -207,18 +244,7 @@ public abstract class BoxResourceIterable<T> implements Iterable<T> {
                 request = new BoxAPIRequest(BoxResourceIterable.this.api, url, "GET");
             }
 
-            BoxJSONResponse response = (BoxJSONResponse) request.send();
-            JsonObject pageBody = JsonObject.readFrom(response.getJSON());
-
-            JsonValue markerNextValue = pageBody.get(BODY_PARAMETER_MARKER_NEXT);
-            if (markerNextValue != null && markerNextValue.isString()) {
-                this.markerNext = markerNextValue.asString();
-            } else {
-                this.markerNext = null;
-            }
-
-            this.page = pageBody.get(BODY_PARAMETER_ENTRIES).asArray();
-            this.pageCursor = 0;
+            return request;
         }
 
         /**
@@ -137,7 +137,7 @@ public class BoxRetentionPolicyAssignment extends BoxResource {
 
         request.setBody(requestJSON.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
         BoxRetentionPolicyAssignment createdAssignment
             = new BoxRetentionPolicyAssignment(api, responseJSON.get("id").asString());
         return createdAssignment.new Info(responseJSON);
@@ -156,7 +156,7 @@ public class BoxRetentionPolicyAssignment extends BoxResource {
                 this.getAPI().getBaseURL(), builder.toString(), this.getID());
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
         return new Info(responseJSON);
     }
 
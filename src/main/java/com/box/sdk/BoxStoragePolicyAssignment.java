@@ -54,7 +54,7 @@ public class BoxStoragePolicyAssignment extends BoxResource {
 
         request.setBody(requestJSON.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
 
         BoxStoragePolicyAssignment storagePolicyAssignment = new BoxStoragePolicyAssignment(api,
                 responseJSON.get("id").asString());
@@ -73,7 +73,7 @@ public class BoxStoragePolicyAssignment extends BoxResource {
         request.setBody(info.getPendingChanges());
 
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
         info.update(responseJSON);
     }
 
@@ -109,7 +109,7 @@ public class BoxStoragePolicyAssignment extends BoxResource {
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, HttpMethod.GET);
         BoxJSONResponse response = (BoxJSONResponse) request.send();
 
-        return new Info(JsonObject.readFrom(response.getJSON()));
+        return new Info(response.getJsonObject());
     }
 
     /**
@@ -119,7 +119,8 @@ public class BoxStoragePolicyAssignment extends BoxResource {
         URL url = STORAGE_POLICY_ASSIGNMENT_WITH_ID_URL_TEMPLATE.buildAlpha(this.getAPI().getBaseURL(), this.getID());
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, HttpMethod.DELETE);
 
-        request.send();
+        BoxAPIResponse response = request.send();
+        response.disconnect();
     }
 
     /**
@@ -0,0 +1,28 @@
+package com.box.sdk;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the named daemon threads used by the SDK's background work, so that they never keep the JVM from exiting.
+ */
+final class BoxThreadFactory implements ThreadFactory {
+    private final String namePrefix;
+    private final AtomicInteger threadNumber;
+
+    /**
+     * Constructs a BoxThreadFactory whose threads are named after a purpose.
+     * @param purpose a short description of what the threads are used for, e.g. "async".
+     */
+    BoxThreadFactory(String purpose) {
+        this.namePrefix = "box-sdk-" + purpose + "-";
+        this.threadNumber = new AtomicInteger(1);
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, this.namePrefix + this.threadNumber.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
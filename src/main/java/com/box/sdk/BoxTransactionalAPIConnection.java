@@ -73,7 +73,7 @@ public class BoxTransactionalAPIConnection extends BoxAPIConnection {
         request.setBody(urlParameters);
 
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
 
         final String fileToken = responseJSON.get("access_token").asString();
         BoxTransactionalAPIConnection transactionConnection = new BoxTransactionalAPIConnection(fileToken);
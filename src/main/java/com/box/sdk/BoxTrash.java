@@ -66,10 +66,10 @@ public class BoxTrash implements Iterable<BoxItem.Info> {
         URL url = FOLDER_INFO_URL_TEMPLATE.build(this.api.getBaseURL(), folderID);
         BoxAPIRequest request = new BoxAPIRequest(this.api, url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonObject = response.getJsonObject();
 
         BoxFolder folder = new BoxFolder(this.api, jsonObject.get("id").asString());
-        return folder.new Info(response.getJSON());
+        return folder.new Info(response.getJsonObject());
     }
 
     /**
@@ -83,10 +83,10 @@ public class BoxTrash implements Iterable<BoxItem.Info> {
         URL url = FOLDER_INFO_URL_TEMPLATE.buildWithQuery(this.api.getBaseURL(), queryString, folderID);
         BoxAPIRequest request = new BoxAPIRequest(this.api, url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonObject = response.getJsonObject();
 
         BoxFolder folder = new BoxFolder(this.api, jsonObject.get("id").asString());
-        return folder.new Info(response.getJSON());
+        return folder.new Info(response.getJsonObject());
     }
 
     /**
@@ -101,7 +101,7 @@ public class BoxTrash implements Iterable<BoxItem.Info> {
                 .add("", "");
         request.setBody(requestJSON.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
 
         BoxFolder restoredFolder = new BoxFolder(this.api, responseJSON.get("id").asString());
         return restoredFolder.new Info(responseJSON);
@@ -132,7 +132,7 @@ public class BoxTrash implements Iterable<BoxItem.Info> {
         BoxJSONRequest request = new BoxJSONRequest(this.api, url, "POST");
         request.setBody(requestJSON.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
 
         BoxFolder restoredFolder = new BoxFolder(this.api, responseJSON.get("id").asString());
         return restoredFolder.new Info(responseJSON);
@@ -158,10 +158,10 @@ public class BoxTrash implements Iterable<BoxItem.Info> {
         URL url = FILE_INFO_URL_TEMPLATE.build(this.api.getBaseURL(), fileID);
         BoxAPIRequest request = new BoxAPIRequest(this.api, url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonObject = response.getJsonObject();
 
         BoxFile file = new BoxFile(this.api, jsonObject.get("id").asString());
-        return file.new Info(response.getJSON());
+        return file.new Info(response.getJsonObject());
     }
 
     /**
@@ -175,10 +175,10 @@ public class BoxTrash implements Iterable<BoxItem.Info> {
         URL url = FILE_INFO_URL_TEMPLATE.buildWithQuery(this.api.getBaseURL(), queryString, fileID);
         BoxAPIRequest request = new BoxAPIRequest(this.api, url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonObject = response.getJsonObject();
 
         BoxFile file = new BoxFile(this.api, jsonObject.get("id").asString());
-        return file.new Info(response.getJSON());
+        return file.new Info(response.getJsonObject());
     }
 
     /**
@@ -193,7 +193,7 @@ public class BoxTrash implements Iterable<BoxItem.Info> {
                 .add("", "");
         request.setBody(requestJSON.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
 
         BoxFile restoredFile = new BoxFile(this.api, responseJSON.get("id").asString());
         return restoredFile.new Info(responseJSON);
@@ -224,7 +224,7 @@ public class BoxTrash implements Iterable<BoxItem.Info> {
         BoxJSONRequest request = new BoxJSONRequest(this.api, url, "POST");
         request.setBody(requestJSON.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
 
         BoxFile restoredFile = new BoxFile(this.api, responseJSON.get("id").asString());
         return restoredFile.new Info(responseJSON);
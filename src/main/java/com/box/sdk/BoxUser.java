@@ -8,6 +8,8 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 import com.eclipsesource.json.JsonArray;
 import com.eclipsesource.json.JsonObject;
@@ -152,7 +154,7 @@ public class BoxUser extends BoxCollaborator {
         BoxJSONRequest request = new BoxJSONRequest(api, url, "POST");
         request.setBody(requestJSON.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
 
         BoxUser createdUser = new BoxUser(api, responseJSON.get("id").asString());
         return createdUser.new Info(responseJSON);
@@ -167,7 +169,7 @@ public class BoxUser extends BoxCollaborator {
         URL url = GET_ME_URL.build(api.getBaseURL());
         BoxAPIRequest request = new BoxAPIRequest(api, url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonObject = response.getJsonObject();
         return new BoxUser(api, jsonObject.get("id").asString());
     }
 
@@ -384,10 +386,27 @@ public class BoxUser extends BoxCollaborator {
         }
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonObject = response.getJsonObject();
         return new Info(jsonObject);
     }
 
+    /**
+     * Asynchronously gets information about this user that has a specified set of fields populated.
+     *
+     * <p>The request is sent on the executor returned by {@link BoxAPIConnection#getAsyncExecutor}.</p>
+     *
+     * @param  fields the fields to retrieve.
+     * @return        a Future for the info about this user.
+     */
+    public Future<BoxUser.Info> getInfoAsync(final String... fields) {
+        return this.getAPI().submitAsync(new Callable<BoxUser.Info>() {
+            @Override
+            public BoxUser.Info call() {
+                return BoxUser.this.getInfo(fields);
+            }
+        });
+    }
+
     /**
      * Gets information about all of the group memberships for this user.
      * Does not support paging.
@@ -402,7 +421,7 @@ public class BoxUser extends BoxCollaborator {
 
         BoxAPIRequest request = new BoxAPIRequest(api, url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
 
         int entriesCount = responseJSON.get("total_count").asInt();
         Collection<BoxGroupMembership.Info> memberships = new ArrayList<BoxGroupMembership.Info>(entriesCount);
@@ -465,7 +484,7 @@ public class BoxUser extends BoxCollaborator {
 
         request.setBody(requestJSON.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
         return new EmailAlias(responseJSON);
     }
 
@@ -494,7 +513,7 @@ public class BoxUser extends BoxCollaborator {
         URL url = EMAIL_ALIASES_URL_TEMPLATE.build(this.getAPI().getBaseURL(), this.getID());
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
 
         int totalCount = responseJSON.get("total_count").asInt();
         Collection<EmailAlias> emailAliases = new ArrayList<EmailAlias>(totalCount);
@@ -536,7 +555,7 @@ public class BoxUser extends BoxCollaborator {
         BoxJSONRequest request = new BoxJSONRequest(this.getAPI(), url, "PUT");
         request.setBody(info.getPendingChanges());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonObject = response.getJsonObject();
         info.update(jsonObject);
     }
 
@@ -565,7 +584,7 @@ public class BoxUser extends BoxCollaborator {
         ownedBy.add("owned_by", idValue);
         request.setBody(ownedBy.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
         BoxFolder movedFolder = new BoxFolder(this.getAPI(), responseJSON.get("id").asString());
 
         return movedFolder.new Info(responseJSON);
@@ -591,7 +610,7 @@ public class BoxUser extends BoxCollaborator {
         ownedBy.add("owned_by", destinationUser);
         request.setBody(ownedBy.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
         BoxFolder movedFolder = new BoxFolder(this.getAPI(), responseJSON.get("id").asString());
 
         return movedFolder.new Info(responseJSON);
@@ -1,9 +1,8 @@
 package com.box.sdk;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URL;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
 
 import com.eclipsesource.json.JsonArray;
@@ -22,7 +21,6 @@ public class BoxZip {
      * Zip Download URL Template.
      */
     public static final URLTemplate ZIP_DOWNLOAD_URL_TEMPLATE = new URLTemplate("zip_downloads/%s/content");
-    private static final int BUFFER_SIZE = 8192;
     private final BoxAPIConnection api;
 
     /**
@@ -54,7 +52,7 @@ public class BoxZip {
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "POST");
         request.setBody(requestJSON.toString());
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
 
         BoxZipInfo zipInfo = new BoxZipInfo(responseJSON);
         return zipInfo;
@@ -86,23 +84,33 @@ public class BoxZip {
         BoxZipInfo zipInfo = this.create(name, items);
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), zipInfo.getDownloadURL(), "GET");
         BoxAPIResponse response = request.send();
-        InputStream input = response.getBody(listener);
+        response.writeBody(output, listener, this.getAPI().getDownloadBufferSize());
+        return this.getDownloadStatus(zipInfo);
+    }
 
-        byte[] buffer = new byte[BUFFER_SIZE];
-        try {
-            int n = input.read(buffer);
-            while (n != -1) {
-                output.write(buffer, 0, n);
-                n = input.read(buffer);
-            }
-        } catch (IOException e) {
-            throw new BoxAPIException("Couldn't connect to the Box API due to a network error.", e);
-        } finally {
-            response.disconnect();
-        }
+    /**
+     * Creates a zip and downloads it to a given channel, such as a {@link java.nio.channels.FileChannel}. The zip is
+     * written starting at the channel's current position, and the channel isn't closed.
+     *
+     * @param name     the name of the zip file to be created
+     * @param items    list of files or folders to be part of the created zip
+     * @param output   the channel to where the zip file will be written.
+     * @param listener a listener for monitoring the download's progress.
+     * @return         information about status of the download
+     */
+    public BoxZipDownloadStatus download(String name, List<BoxZipItem> items, WritableByteChannel output,
+                                         ProgressListener listener) {
+        BoxZipInfo zipInfo = this.create(name, items);
+        BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), zipInfo.getDownloadURL(), "GET");
+        BoxAPIResponse response = request.send();
+        response.writeBody(output, listener, this.getAPI().getDownloadBufferSize());
+        return this.getDownloadStatus(zipInfo);
+    }
+
+    private BoxZipDownloadStatus getDownloadStatus(BoxZipInfo zipInfo) {
         BoxAPIRequest statusRequest = new BoxAPIRequest(this.getAPI(), zipInfo.getStatusURL(), "GET");
         BoxJSONResponse statusResponse = (BoxJSONResponse) statusRequest.send();
-        JsonObject statusResponseJSON = JsonObject.readFrom(statusResponse.getJSON());
+        JsonObject statusResponseJSON = statusResponse.getJsonObject();
         BoxZipDownloadStatus downloadStatus = new BoxZipDownloadStatus(statusResponseJSON);
         return downloadStatus;
     }
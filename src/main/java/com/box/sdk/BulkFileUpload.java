@@ -0,0 +1,386 @@
+package com.box.sdk;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Utility class for uploading many files to a folder, several at the same time.
+ *
+ * <p>Uploading small files one at a time spends most of the time waiting for responses rather than sending data. A
+ * BulkFileUpload uploads up to a number of files at the same time and reads the files to upload from an iterator only
+ * as fast as they are uploaded, so that millions of files can be uploaded without being listed in memory first.</p>
+ *
+ * <p>Before a file is uploaded, its name and size are checked with {@link BoxFolder#canUpload} on threads of their
+ * own, ahead of the uploads, so that files that would be rejected aren't sent and the upload threads always have
+ * checked files to upload. Files larger than a threshold are uploaded in parts with a {@link LargeFileUpload}. The
+ * result of each file is passed to a {@link BulkUploadListener}, and a file that fails doesn't stop the upload of the
+ * others. A BulkFileUpload can be used for several bulk uploads, including concurrent ones.</p>
+ */
+public final class BulkFileUpload {
+
+    private static final int DEFAULT_PARALLEL_UPLOADS = 8;
+    private static final long DEFAULT_LARGE_FILE_THRESHOLD = 50L * 1024 * 1024;
+
+    private final int parallelUploads;
+
+    private volatile long largeFileThreshold;
+    private volatile boolean preflightCheck;
+
+    /**
+     * Creates a BulkFileUpload uploading a default number of files at the same time.
+     */
+    public BulkFileUpload() {
+        this(DEFAULT_PARALLEL_UPLOADS);
+    }
+
+    /**
+     * Creates a BulkFileUpload uploading a number of files at the same time.
+     * @param parallelUploads the number of files uploaded at the same time.
+     */
+    public BulkFileUpload(int parallelUploads) {
+        if (parallelUploads < 1) {
+            throw new IllegalArgumentException("The number of parallel uploads must be at least 1.");
+        }
+
+        this.parallelUploads = parallelUploads;
+        this.largeFileThreshold = DEFAULT_LARGE_FILE_THRESHOLD;
+        this.preflightCheck = true;
+    }
+
+    /**
+     * Gets the size above which files are uploaded in parts.
+     * @return the large file threshold in bytes.
+     */
+    public long getLargeFileThreshold() {
+        return this.largeFileThreshold;
+    }
+
+    /**
+     * Sets the size above which files are uploaded in parts with a {@link LargeFileUpload}, which is 50 MB by default.
+     * Only files whose size is known can be uploaded in parts.
+     * @param largeFileThreshold the large file threshold in bytes.
+     */
+    public void setLargeFileThreshold(long largeFileThreshold) {
+        if (largeFileThreshold < 0) {
+            throw new IllegalArgumentException("The large file threshold can't be negative.");
+        }
+
+        this.largeFileThreshold = largeFileThreshold;
+    }
+
+    /**
+     * Sets whether the name and size of each file are checked before the file is uploaded, which they are by default.
+     * @param preflightCheck whether to check files before uploading them.
+     */
+    public void setPreflightCheck(boolean preflightCheck) {
+        this.preflightCheck = preflightCheck;
+    }
+
+    /**
+     * Uploads files to a folder, and returns once every file has been uploaded or has failed.
+     *
+     * <p>The upload parameters are read from the iterator as files finish uploading. The content stream of a file is
+     * read from an upload thread and isn't closed, but it can be closed once the result of the file was passed to the
+     * listener.</p>
+     *
+     * @param  folder   the folder to which the files are uploaded.
+     * @param  files    the parameters of the uploads.
+     * @param  listener the listener receiving the result of each file.
+     * @throws InterruptedException when a thread execution is interrupted.
+     */
+    public void upload(BoxFolder folder, final Iterator<FileUploadParams> files, BulkUploadListener listener)
+        throws InterruptedException {
+
+        this.run(folder, new Iterator<Item>() {
+            @Override
+            public boolean hasNext() {
+                return files.hasNext();
+            }
+
+            @Override
+            public Item next() {
+                return new Item(files.next(), null);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        }, listener);
+    }
+
+    /**
+     * Uploads local files to a folder under their own names, and returns once every file has been uploaded or has
+     * failed. Each file is opened when its upload starts and closed when it ends.
+     *
+     * @param  folder   the folder to which the files are uploaded.
+     * @param  files    the local files to upload.
+     * @param  listener the listener receiving the result of each file.
+     * @throws InterruptedException when a thread execution is interrupted.
+     */
+    public void uploadFiles(BoxFolder folder, final Iterator<File> files, BulkUploadListener listener)
+        throws InterruptedException {
+
+        this.run(folder, new Iterator<Item>() {
+            @Override
+            public boolean hasNext() {
+                return files.hasNext();
+            }
+
+            @Override
+            public Item next() {
+                File file = files.next();
+                FileUploadParams params = new FileUploadParams()
+                    .setName(file.getName())
+                    .setSize(file.length());
+                return new Item(params, file);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        }, listener);
+    }
+
+    private void run(BoxFolder folder, Iterator<Item> items, BulkUploadListener listener)
+        throws InterruptedException {
+
+        // Files are read from the iterator once they can be checked, and each upload thread has a checked file
+        // waiting for it.
+        int window = this.parallelUploads * 2;
+        Batch batch = new Batch(folder, listener, window);
+        try {
+            while (batch.failure == null && items.hasNext()) {
+                batch.window.acquire();
+                batch.submit(items.next());
+            }
+            batch.window.acquire(window);
+        } finally {
+            batch.preflights.shutdownNow();
+            batch.uploads.shutdownNow();
+        }
+
+        if (batch.failure != null) {
+            throw batch.failure;
+        }
+    }
+
+    /**
+     * The result of the upload of one file.
+     */
+    public static final class Result {
+        private final FileUploadParams uploadParams;
+        private final File file;
+        private final BoxFile.Info fileInfo;
+        private final BoxAPIException exception;
+
+        private Result(Item item, BoxFile.Info fileInfo, BoxAPIException exception) {
+            this.uploadParams = item.params;
+            this.file = item.file;
+            this.fileInfo = fileInfo;
+            this.exception = exception;
+        }
+
+        /**
+         * Gets the parameters of the upload, which hold the name of the file.
+         * @return the upload parameters.
+         */
+        public FileUploadParams getUploadParams() {
+            return this.uploadParams;
+        }
+
+        /**
+         * Gets the local file that was uploaded.
+         * @return the local file, or null if the file was uploaded from a stream.
+         */
+        public File getFile() {
+            return this.file;
+        }
+
+        /**
+         * Indicates whether the file was uploaded.
+         * @return true if the file was uploaded; otherwise false.
+         */
+        public boolean isSuccess() {
+            return this.exception == null;
+        }
+
+        /**
+         * Gets the info of the uploaded file.
+         * @return the info of the uploaded file, or null if the upload failed.
+         */
+        public BoxFile.Info getFileInfo() {
+            return this.fileInfo;
+        }
+
+        /**
+         * Gets the reason why the file wasn't uploaded.
+         * @return the exception thrown by the preflight check or the upload, or null if the file was uploaded.
+         */
+        public BoxAPIException getException() {
+            return this.exception;
+        }
+    }
+
+    /**
+     * A file to upload.
+     */
+    private static final class Item {
+        private final FileUploadParams params;
+        private final File file;
+
+        Item(FileUploadParams params, File file) {
+            this.params = params;
+            this.file = file;
+        }
+    }
+
+    /**
+     * The state of one bulk upload. Each file holds a permit of the window from the time it is read from the iterator
+     * until its result has been passed to the listener.
+     */
+    private final class Batch {
+        private final BoxFolder folder;
+        private final BulkUploadListener listener;
+        private final Semaphore window;
+        private final ExecutorService preflights;
+        private final ExecutorService uploads;
+        private final long largeFileThreshold;
+        private final boolean preflightCheck;
+        private volatile RuntimeException failure;
+
+        Batch(BoxFolder folder, BulkUploadListener listener, int window) {
+            BulkFileUpload bulkUpload = BulkFileUpload.this;
+            this.folder = folder;
+            this.listener = listener;
+            this.window = new Semaphore(window);
+            this.preflights = Executors.newFixedThreadPool(Math.max(1, bulkUpload.parallelUploads / 2),
+                new BoxThreadFactory("bulk-preflight"));
+            this.uploads = Executors.newFixedThreadPool(bulkUpload.parallelUploads,
+                new BoxThreadFactory("bulk-upload"));
+            this.largeFileThreshold = bulkUpload.largeFileThreshold;
+            this.preflightCheck = bulkUpload.preflightCheck;
+        }
+
+        void submit(final Item item) {
+            // Large file uploads check the file themselves before creating their upload session.
+            if (this.preflightCheck && !this.isLarge(item)) {
+                this.preflights.execute(BoxRequestContext.propagate(new Runnable() {
+                    @Override
+                    public void run() {
+                        Batch.this.preflight(item);
+                    }
+                }));
+            } else {
+                this.submitUpload(item);
+            }
+        }
+
+        private void submitUpload(final Item item) {
+            this.uploads.execute(BoxRequestContext.propagate(new Runnable() {
+                @Override
+                public void run() {
+                    Batch.this.upload(item);
+                }
+            }));
+        }
+
+        private void preflight(Item item) {
+            try {
+                this.folder.canUpload(item.params.getName(), item.params.getSize());
+            } catch (BoxAPIException e) {
+                this.finish(item, null, e);
+                return;
+            } catch (RuntimeException e) {
+                this.fail(e);
+                this.window.release();
+                return;
+            }
+
+            this.submitUpload(item);
+        }
+
+        private void upload(Item item) {
+            BoxFile.Info fileInfo;
+            try {
+                fileInfo = this.uploadItem(item);
+            } catch (BoxAPIException e) {
+                this.finish(item, null, e);
+                return;
+            } catch (RuntimeException e) {
+                this.fail(e);
+                this.window.release();
+                return;
+            }
+
+            this.finish(item, fileInfo, null);
+        }
+
+        private BoxFile.Info uploadItem(Item item) {
+            FileUploadParams params = item.params;
+            InputStream content = params.getContent();
+            FileInputStream fileContent = null;
+            try {
+                if (item.file != null) {
+                    fileContent = new FileInputStream(item.file);
+                    content = fileContent;
+                }
+
+                if (this.isLarge(item)) {
+                    return this.folder.uploadLargeFile(content, params.getName(), params.getSize());
+                }
+
+                // Local files are sent from their channel, with their exact length and SHA1 hash.
+                if (fileContent != null) {
+                    params.setFileChannel(fileContent.getChannel());
+                }
+                return this.folder.uploadFile(params);
+            } catch (IOException e) {
+                throw new BoxAPIException("Couldn't read the file " + params.getName() + ".", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BoxAPIException("The upload of " + params.getName() + " was interrupted.", e);
+            } finally {
+                if (fileContent != null) {
+                    params.setFileChannel(null);
+                    try {
+                        fileContent.close();
+                    } catch (IOException e) {
+                        // The file was read and doesn't need to be closed cleanly.
+                    }
+                }
+            }
+        }
+
+        private boolean isLarge(Item item) {
+            FileUploadParams params = item.params;
+            return params.getSize() > this.largeFileThreshold
+                && (params.getContent() != null || item.file != null) && params.getFileChannel() == null;
+        }
+
+        private void finish(Item item, BoxFile.Info fileInfo, BoxAPIException exception) {
+            try {
+                if (this.failure == null) {
+                    this.listener.onResult(new Result(item, fileInfo, exception));
+                }
+            } catch (RuntimeException e) {
+                this.fail(e);
+            } finally {
+                this.window.release();
+            }
+        }
+
+        private void fail(RuntimeException e) {
+            if (this.failure == null) {
+                this.failure = e;
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.box.sdk;
+
+/**
+ * The listener interface for receiving the result of each file uploaded by a {@link BulkFileUpload}.
+ *
+ * <p>Several files are uploaded at the same time, so the listener may be called from different threads at the same
+ * time and must be thread-safe.</p>
+ */
+public interface BulkUploadListener {
+    /**
+     * Invoked when a file has been uploaded, or when its upload failed.
+     * @param result the result of the file's upload.
+     */
+    void onResult(BulkFileUpload.Result result);
+}
@@ -0,0 +1,367 @@
+package com.box.sdk;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+
+/**
+ * Iterates over every enterprise event of a date range, paging through the admin logs stream automatically.
+ *
+ * <p>Pages are fetched in the background on the connection's asynchronous executor (see
+ * {@link BoxAPIConnection#setAsyncExecutor}) while the events of the previous pages are being read, and at most a few
+ * pages are buffered for each range being fetched, so the memory used doesn't depend on the number of events. A page
+ * whose fetch hasn't started on the executor when the iterator needs it is fetched on the iterator's thread, so the
+ * iterator can also be used by a task running on the executor.</p>
+ *
+ * <p>With {@link #setParallelSlices(int, long, TimeUnit)}, the date range is split into slices of time that are fetched
+ * concurrently, each from its own stream position. The events of the slices are still returned in the order of the
+ * slices, so the events of a slice are only returned once the events of every earlier slice have been returned:</p>
+ *
+ * <pre>
+ * EnterpriseEventIterable events = new EnterpriseEventIterable(api, after, before);
+ * events.setParallelSlices(8, 1, TimeUnit.HOURS);
+ * for (BoxEvent event : events) {
+ *     // Export the event.
+ * }
+ * </pre>
+ *
+ * <p>An error while fetching a page is thrown by the iterator once it reaches that page.</p>
+ */
+public class EnterpriseEventIterable implements Iterable<BoxEvent> {
+
+    /**
+     * The default number of events requested per page.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 500;
+
+    // The pages of a slice that are buffered, the page being fetched and the page whose events are being read.
+    private static final int MAX_BUFFERED_PAGES = 4;
+
+    private final BoxAPIConnection api;
+    private final Date after;
+    private final Date before;
+    private final BoxEvent.Type[] types;
+    private int pageSize;
+    private int parallelSlices;
+    private long sliceLength;
+
+    /**
+     * Constructs an EnterpriseEventIterable over the enterprise events that occurred within a date range.
+     * @param api    the API connection to use.
+     * @param after  the lower bound on the timestamp of the events returned, or null.
+     * @param before the upper bound on the timestamp of the events returned, or null.
+     * @param types  an optional list of event types to filter by.
+     */
+    public EnterpriseEventIterable(BoxAPIConnection api, Date after, Date before, BoxEvent.Type... types) {
+        this.api = api;
+        this.after = after;
+        this.before = before;
+        this.types = types;
+        this.pageSize = DEFAULT_PAGE_SIZE;
+        this.parallelSlices = 1;
+    }
+
+    /**
+     * Gets the number of events requested per page.
+     * @return the number of events requested per page.
+     */
+    public int getPageSize() {
+        return this.pageSize;
+    }
+
+    /**
+     * Sets the number of events requested per page.
+     * @param pageSize the number of events requested per page.
+     */
+    public void setPageSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("The page size must be at least 1.");
+        }
+
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Gets the number of slices of time that are fetched at the same time.
+     * @return the number of slices fetched at the same time, or 1 if the date range isn't split.
+     */
+    public int getParallelSlices() {
+        return this.parallelSlices;
+    }
+
+    /**
+     * Splits the date range into slices of time that are fetched concurrently. Both bounds of the date range must be
+     * set to split it. Slices are fetched in order, and a slice is only started when it is among the next
+     * parallelSlices slices whose events haven't all been returned yet, so up to parallelSlices times a few pages of
+     * events are buffered.
+     * @param parallelSlices the number of slices fetched at the same time, or 1 to fetch the whole range from a single
+     *                       stream position.
+     * @param sliceLength    the length of each slice, which is rounded up to whole seconds.
+     * @param unit           the time unit of the slice length.
+     */
+    public void setParallelSlices(int parallelSlices, long sliceLength, TimeUnit unit) {
+        if (parallelSlices < 1) {
+            throw new IllegalArgumentException("The number of parallel slices must be at least 1.");
+        }
+        if (parallelSlices > 1 && (this.after == null || this.before == null)) {
+            throw new IllegalStateException("The date range must have both bounds to be split into slices.");
+        }
+        if (sliceLength <= 0) {
+            throw new IllegalArgumentException("The length of the slices must be positive.");
+        }
+
+        long seconds = (unit.toMillis(sliceLength) + 999) / 1000;
+        this.parallelSlices = parallelSlices;
+        this.sliceLength = TimeUnit.SECONDS.toMillis(seconds);
+    }
+
+    /**
+     * Returns an iterator over the events of the date range, which starts fetching the first pages of events.
+     * @return an iterator over the events.
+     */
+    @Override
+    public Iterator<BoxEvent> iterator() {
+        List<Slice> slices = new ArrayList<Slice>();
+        if (this.parallelSlices == 1) {
+            slices.add(new Slice(this.after, this.before, true));
+        } else {
+            long end = this.before.getTime();
+            for (long start = this.after.getTime(); start < end; start += this.sliceLength) {
+                long sliceEnd = Math.min(start + this.sliceLength, end);
+                slices.add(new Slice(new Date(start), new Date(sliceEnd), sliceEnd == end));
+            }
+        }
+
+        return new EventIterator(slices);
+    }
+
+    /**
+     * Fetches and parses a page of events.
+     * @param  slice    the slice the page belongs to.
+     * @param  position the stream position of the page, or null for the first page of the slice.
+     * @return          the events of the page and the stream position of the next page.
+     */
+    private Page fetchPage(Slice slice, String position) {
+        URL url = EventLog.buildEnterpriseEventsURL(this.api, position, slice.after, slice.before, this.pageSize,
+            this.types);
+        BoxAPIRequest request = new BoxAPIRequest(this.api, url, "GET");
+        BoxJSONResponse response = (BoxJSONResponse) request.send();
+        JsonObject json = response.getJsonObject();
+
+        // Events created at the end of a slice that isn't the last one are returned by the next slice, since both
+        // slices may include them.
+        long end = slice.last || slice.before == null ? Long.MAX_VALUE : slice.before.getTime();
+        Set<BoxEvent> events = new LinkedHashSet<BoxEvent>();
+        int entries = 0;
+        for (JsonValue entry : json.get("entries").asArray()) {
+            BoxEvent event = new BoxEvent(this.api, entry.asObject());
+            if (event.getCreatedAtMillis() < end) {
+                events.add(event);
+            }
+            entries++;
+        }
+
+        JsonValue nextPosition = json.get("next_stream_position");
+        String next = nextPosition == null || nextPosition.isNull() ? null : nextPosition.asString();
+        boolean done = entries == 0 || next == null || next.equals(position);
+        return new Page(new ArrayList<BoxEvent>(events), next, done);
+    }
+
+    /**
+     * A page of events of a slice.
+     */
+    private static final class Page {
+        private final List<BoxEvent> events;
+        private final String nextPosition;
+        private final boolean last;
+
+        Page(List<BoxEvent> events, String nextPosition, boolean last) {
+            this.events = events;
+            this.nextPosition = nextPosition;
+            this.last = last;
+        }
+    }
+
+    /**
+     * A slice of the date range, and the pages of it that were fetched but not read yet. Guarded by the lock of the
+     * iterator reading it.
+     */
+    private static final class Slice {
+        private final Date after;
+        private final Date before;
+        private final boolean last;
+        private final LinkedList<List<BoxEvent>> pages;
+        private String position;
+        private boolean fetching;
+        private FutureTask<Void> pendingFetch;
+        private boolean done;
+        private RuntimeException error;
+
+        Slice(Date after, Date before, boolean last) {
+            this.after = after;
+            this.before = before;
+            this.last = last;
+            this.pages = new LinkedList<List<BoxEvent>>();
+        }
+    }
+
+    /**
+     * Returns the events of the slices in order, keeping the next slices fetching in the background.
+     */
+    private class EventIterator implements Iterator<BoxEvent> {
+        private final Object lock;
+        private final List<Slice> slices;
+        private int current;
+        private int started;
+        private Iterator<BoxEvent> events;
+
+        EventIterator(List<Slice> slices) {
+            this.lock = new Object();
+            this.slices = slices;
+            this.events = Collections.<BoxEvent>emptyList().iterator();
+
+            synchronized (this.lock) {
+                this.startSlices();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!this.events.hasNext()) {
+                FutureTask<Void> pendingFetch = null;
+                synchronized (this.lock) {
+                    if (this.current == this.slices.size()) {
+                        return false;
+                    }
+
+                    Slice slice = this.slices.get(this.current);
+                    if (!slice.pages.isEmpty()) {
+                        this.events = slice.pages.removeFirst().iterator();
+                        this.fetchNextPage(slice);
+                    } else if (slice.error != null) {
+                        throw slice.error;
+                    } else if (slice.done) {
+                        this.current++;
+                        this.startSlices();
+                    } else if (slice.pendingFetch != null) {
+                        pendingFetch = slice.pendingFetch;
+                    } else {
+                        this.waitForPage();
+                    }
+                }
+
+                // The fetch is still queued on the executor, which may be busy running the task using this iterator,
+                // so it is run on this thread instead. Running it does nothing if the executor started it meanwhile.
+                if (pendingFetch != null) {
+                    pendingFetch.run();
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        public BoxEvent next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return this.events.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private void waitForPage() {
+            try {
+                this.lock.wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BoxAPIException("Interrupted while waiting for the next page of events.", e);
+            }
+        }
+
+        private void startSlices() {
+            int end = Math.min(this.slices.size(), this.current + EnterpriseEventIterable.this.parallelSlices);
+            while (this.started < end) {
+                this.fetchNextPage(this.slices.get(this.started));
+                this.started++;
+            }
+        }
+
+        private void fetchNextPage(final Slice slice) {
+            // The page that will be fetched and the page being read, if any, count towards the pages of the slice.
+            if (slice.fetching || slice.done || slice.pages.size() + 2 > MAX_BUFFERED_PAGES) {
+                return;
+            }
+
+            slice.fetching = true;
+            final String position = slice.position;
+            try {
+                slice.pendingFetch = new FutureTask<Void>(BoxRequestContext.propagate(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        EventIterator.this.fetchStarted(slice);
+                        Page page = null;
+                        RuntimeException error = null;
+                        try {
+                            page = EnterpriseEventIterable.this.fetchPage(slice, position);
+                        } catch (RuntimeException e) {
+                            error = e;
+                        } finally {
+                            EventIterator.this.pageFetched(slice, page, error);
+                        }
+
+                        return null;
+                    }
+                }));
+                EnterpriseEventIterable.this.api.getAsyncExecutor().execute(slice.pendingFetch);
+            } catch (RuntimeException e) {
+                slice.fetching = false;
+                slice.pendingFetch = null;
+                slice.error = e;
+                slice.done = true;
+            }
+        }
+
+        private void fetchStarted(Slice slice) {
+            synchronized (this.lock) {
+                slice.pendingFetch = null;
+            }
+        }
+
+        private void pageFetched(Slice slice, Page page, RuntimeException error) {
+            synchronized (this.lock) {
+                slice.fetching = false;
+                if (page == null) {
+                    slice.error = error != null ? error : new BoxAPIException("Couldn't fetch a page of events.");
+                    slice.done = true;
+                } else {
+                    if (!page.events.isEmpty()) {
+                        slice.pages.addLast(page.events);
+                    }
+                    slice.position = page.nextPosition;
+                    slice.done = page.last;
+                    this.fetchNextPage(slice);
+                }
+
+                this.lock.notifyAll();
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.box.sdk;
+
+/**
+ * Remembers the IDs of the most recent events received by an {@link EventStream}, in order to ignore the events that
+ * the API sends more than once.
+ *
+ * <p>The IDs are kept in a ring of the window's size, which gives the order in which they are forgotten, and in an
+ * open-addressing hash table of at least twice that size. Both are allocated once, so remembering an ID doesn't
+ * allocate any memory. This class isn't thread-safe.</p>
+ */
+final class EventDeduplicationWindow {
+    private final String[] ring;
+    private final String[] table;
+    private final int mask;
+    private int next;
+    private int size;
+
+    /**
+     * Constructs a window remembering a number of event IDs.
+     * @param capacity the number of event IDs remembered.
+     */
+    EventDeduplicationWindow(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The deduplication window must hold at least 1 event.");
+        }
+
+        int tableSize = 2;
+        while (tableSize < capacity * 2) {
+            tableSize <<= 1;
+        }
+
+        this.ring = new String[capacity];
+        this.table = new String[tableSize];
+        this.mask = tableSize - 1;
+    }
+
+    /**
+     * Gets the number of event IDs remembered.
+     * @return the capacity of the window.
+     */
+    int getCapacity() {
+        return this.ring.length;
+    }
+
+    /**
+     * Remembers an event ID, forgetting the oldest ID if the window is full.
+     * @param  eventID the event ID.
+     * @return         true if the ID wasn't in the window; false if it is a duplicate.
+     */
+    boolean add(String eventID) {
+        if (this.indexOf(eventID) >= 0) {
+            return false;
+        }
+
+        if (this.size == this.ring.length) {
+            this.delete(this.ring[this.next]);
+            this.size--;
+        }
+
+        int i = this.slot(eventID);
+        while (this.table[i] != null) {
+            i = (i + 1) & this.mask;
+        }
+        this.table[i] = eventID;
+
+        this.ring[this.next] = eventID;
+        this.next = (this.next + 1) % this.ring.length;
+        this.size++;
+        return true;
+    }
+
+    private int indexOf(String eventID) {
+        int i = this.slot(eventID);
+        while (this.table[i] != null) {
+            if (this.table[i].equals(eventID)) {
+                return i;
+            }
+            i = (i + 1) & this.mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Removes an ID from the hash table, moving back the IDs that follow it so that linear probing still finds them.
+     * @param eventID the ID to remove.
+     */
+    private void delete(String eventID) {
+        int hole = this.indexOf(eventID);
+        int i = hole;
+        while (true) {
+            i = (i + 1) & this.mask;
+            String id = this.table[i];
+            if (id == null) {
+                break;
+            }
+
+            // The ID can fill the hole unless its own slot lies cyclically after the hole and not after its index.
+            int distanceToSlot = (i - this.slot(id)) & this.mask;
+            int distanceToHole = (i - hole) & this.mask;
+            if (distanceToSlot >= distanceToHole) {
+                this.table[hole] = id;
+                hole = i;
+            }
+        }
+        this.table[hole] = null;
+    }
+
+    private int slot(String eventID) {
+        int hash = eventID.hashCode();
+        return (hash ^ (hash >>> 16)) & this.mask;
+    }
+}
@@ -17,6 +17,9 @@ import com.eclipsesource.json.JsonValue;
  * <p>An EventLog cannot be instantiated directly. Instead, use one of the static methods to retrieve a log of events.
  * Unlike the {@link EventStream} class, EventLog doesn't support retrieving events in real-time.
  * </p>
+ *
+ * <p>An EventLog holds a single page of events. To read every enterprise event of a date range, use an
+ * {@link EnterpriseEventIterable}, which pages through the events automatically.</p>
  */
 public class EventLog implements Iterable<BoxEvent> {
 
@@ -89,6 +92,28 @@ public class EventLog implements Iterable<BoxEvent> {
     public static EventLog getEnterpriseEvents(BoxAPIConnection api, String position, Date after, Date before,
                                                int limit, BoxEvent.Type... types) {
 
+        URL url = buildEnterpriseEventsURL(api, position, after, before, limit, types);
+        BoxAPIRequest request = new BoxAPIRequest(api, url, "GET");
+        BoxJSONResponse response = (BoxJSONResponse) request.send();
+        JsonObject responseJSON = response.getJsonObject();
+        EventLog log = new EventLog(api, responseJSON, position, limit);
+        log.setStartDate(after);
+        log.setEndDate(before);
+        return log;
+    }
+
+    /**
+     * Builds the URL for a page of enterprise events.
+     * @param  api      the API connection to use.
+     * @param  position the starting position of the event stream, or null to start at the beginning.
+     * @param  after    the lower bound on the timestamp of the events returned, or null.
+     * @param  before   the upper bound on the timestamp of the events returned, or null.
+     * @param  limit    the number of entries to be returned in the response.
+     * @param  types    the event types to filter by.
+     * @return          the URL for the page of events.
+     */
+    static URL buildEnterpriseEventsURL(BoxAPIConnection api, String position, Date after, Date before, int limit,
+                                        BoxEvent.Type... types) {
         URL url = ENTERPRISE_EVENT_URL_TEMPLATE.build(api.getBaseURL());
 
         if (position != null || types.length > 0 || after != null
@@ -130,13 +155,7 @@ public class EventLog implements Iterable<BoxEvent> {
             }
         }
 
-        BoxAPIRequest request = new BoxAPIRequest(api, url, "GET");
-        BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
-        EventLog log = new EventLog(api, responseJSON, position, limit);
-        log.setStartDate(after);
-        log.setEndDate(before);
-        return log;
+        return url;
     }
 
     void setStartDate(Date startDate) {
@@ -0,0 +1,26 @@
+package com.box.sdk;
+
+/**
+ * Implement this interface to provide a custom store for the positions of event streams.
+ *
+ * <p>An {@link EventStream} with a position store saves its position once every event before that position has been
+ * handled by its listeners, and a stream started again with the same store and key resumes from the saved position,
+ * for example after a restart of the JVM. Positions are saved after every page of events, possibly from several
+ * threads at once. {@link FileEventPositionStore} keeps them in local files.</p>
+ */
+public interface EventPositionStore {
+
+    /**
+     * Get the position of a stream from the store.
+     * @param key       key of the stream.
+     * @return          the position, or null if there is no position for the stream.
+     */
+    Long get(String key);
+
+    /**
+     * Store the position of a stream, replacing the previous one.
+     * @param key       key of the stream.
+     * @param position  position to store.
+     */
+    void put(String key, long position);
+}
@@ -2,6 +2,13 @@ package com.box.sdk;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import com.eclipsesource.json.JsonArray;
 import com.eclipsesource.json.JsonObject;
@@ -17,12 +24,18 @@ import com.eclipsesource.json.JsonValue;
   * event IDs in order to automatically deduplicate events.</p>
   * <p>Note: Enterprise Events can be accessed by admin users with the EventLog.getEnterpriseEvents method</p>
  *
+ * <p>By default, events are passed to the listeners on the polling thread, so a slow listener delays polling. With
+ * {@link #setDispatchThreads(int, int)}, events are instead queued and passed to the listeners on a pool of threads,
+ * and polling only waits when the queue is full. With {@link #setPositionStore(EventPositionStore, String)}, the
+ * position of the stream is saved once the events before it have been handled, and a stream started again with the
+ * same store resumes from there.</p>
  */
 public class EventStream {
 
     private static final int LIMIT = 800;
     private static final int STREAM_POSITION_NOW = -1;
     private static final int DEFAULT_POLLING_DELAY = 1000;
+    private static final int DEFAULT_DEDUPLICATION_WINDOW = 4096;
 
     /**
      * Events URL.
@@ -33,12 +46,17 @@ public class EventStream {
     private final long startingPosition;
     private final int pollingDelay;
     private final Collection<EventListener> listeners;
-    private final Object listenerLock;
 
-    private LRUCache<String> receivedEvents;
-    private boolean started;
+    private EventDeduplicationWindow receivedEvents;
+    private int deduplicationWindow;
+    private EventPositionStore positionStore;
+    private String positionKey;
+    private int dispatchThreads;
+    private int dispatchQueueCapacity;
+    private volatile boolean started;
     private Poller poller;
     private Thread pollerThread;
+    private Dispatcher dispatcher;
 
     /**
      * Constructs an EventStream using an API connection.
@@ -66,9 +84,9 @@ public class EventStream {
     public EventStream(BoxAPIConnection api, long startingPosition, int pollingDelay) {
         this.api = api;
         this.startingPosition = startingPosition;
-        this.listeners = new ArrayList<EventListener>();
-        this.listenerLock = new Object();
+        this.listeners = new CopyOnWriteArrayList<EventListener>();
         this.pollingDelay = pollingDelay;
+        this.deduplicationWindow = DEFAULT_DEDUPLICATION_WINDOW;
     }
 
     /**
@@ -76,9 +94,63 @@ public class EventStream {
      * @param listener the listener to add.
      */
     public void addListener(EventListener listener) {
-        synchronized (this.listenerLock) {
-            this.listeners.add(listener);
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Sets the number of most recently received event IDs that are remembered to ignore duplicate events. It can't be
+     * changed while the stream is started, and is 4096 by default.
+     * @param size the number of event IDs remembered.
+     */
+    public synchronized void setDeduplicationWindow(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("The deduplication window must hold at least 1 event.");
+        }
+        this.checkStopped();
+
+        this.deduplicationWindow = size;
+        this.receivedEvents = null;
+    }
+
+    /**
+     * Sets a store in which the position of this stream is saved after each page of events has been handled by the
+     * listeners. When this stream is started without a starting position, it resumes from the position saved under
+     * the same key if there is one. It can't be changed while the stream is started.
+     * @param store the store in which positions are saved, or null to stop saving positions.
+     * @param key   the key under which the position of this stream is saved.
+     */
+    public synchronized void setPositionStore(EventPositionStore store, String key) {
+        if (store != null && key == null) {
+            throw new IllegalArgumentException("The key of the stream's position can't be null.");
+        }
+        this.checkStopped();
+
+        this.positionStore = store;
+        this.positionKey = key;
+    }
+
+    /**
+     * Sets the number of threads passing events to the listeners. When it is more than 0, events are put in a queue
+     * and passed to the listeners on that many threads, so that slow listeners don't delay polling, and polling waits
+     * when the queue is full. Listeners are then called from several threads at once and may receive events out of
+     * order, and {@link EventListener#onNextPosition} is only called once every event before the position has been
+     * handled. Events still queued when the stream is stopped aren't passed to the listeners. It can't be changed
+     * while the stream is started, and is 0 by default.
+     * @param threads       the number of threads passing events to the listeners, or 0 to pass them on the polling
+     *                      thread.
+     * @param queueCapacity the number of events that can be waiting for a thread.
+     */
+    public synchronized void setDispatchThreads(int threads, int queueCapacity) {
+        if (threads < 0) {
+            throw new IllegalArgumentException("The number of dispatch threads can't be negative.");
+        }
+        if (threads > 0 && queueCapacity < 1) {
+            throw new IllegalArgumentException("The dispatch queue must hold at least 1 event.");
         }
+        this.checkStopped();
+
+        this.dispatchThreads = threads;
+        this.dispatchQueueCapacity = queueCapacity;
     }
 
     /**
@@ -93,38 +165,51 @@ public class EventStream {
      * Stops this EventStream and disconnects from the API.
      * @throws IllegalStateException if the EventStream is already stopped.
      */
-    public void stop() {
+    public synchronized void stop() {
         if (!this.started) {
             throw new IllegalStateException("Cannot stop the EventStream because it isn't started.");
         }
 
         this.started = false;
         this.pollerThread.interrupt();
+        if (this.dispatcher != null) {
+            this.dispatcher.shutdown();
+            this.dispatcher = null;
+        }
     }
 
     /**
      * Starts this EventStream and begins long polling the API.
      * @throws IllegalStateException if the EventStream is already started.
      */
-    public void start() {
+    public synchronized void start() {
         if (this.started) {
             throw new IllegalStateException("Cannot start the EventStream because it isn't stopped.");
         }
 
         final long initialPosition;
+        Long storedPosition = null;
+        if (this.positionStore != null && this.startingPosition == STREAM_POSITION_NOW) {
+            storedPosition = this.positionStore.get(this.positionKey);
+        }
 
-        if (this.startingPosition == STREAM_POSITION_NOW) {
+        if (storedPosition != null) {
+            initialPosition = storedPosition;
+        } else if (this.startingPosition == STREAM_POSITION_NOW) {
             BoxAPIRequest request = new BoxAPIRequest(this.api,
                                     EVENT_URL.buildAlpha(this.api.getBaseURL(), "now"), "GET");
             BoxJSONResponse response = (BoxJSONResponse) request.send();
-            JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+            JsonObject jsonObject = response.getJsonObject();
             initialPosition = jsonObject.get("next_stream_position").asLong();
         } else {
             assert this.startingPosition >= 0 : "Starting position must be non-negative";
             initialPosition = this.startingPosition;
         }
 
-        this.poller = new Poller(initialPosition);
+        if (this.dispatchThreads > 0) {
+            this.dispatcher = new Dispatcher(this.dispatchThreads, this.dispatchQueueCapacity);
+        }
+        this.poller = new Poller(initialPosition, this.dispatcher);
 
         this.pollerThread = new Thread(this.poller);
         this.pollerThread.setUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
@@ -147,53 +232,65 @@ public class EventStream {
      */
     protected boolean isDuplicate(String eventID) {
         if (this.receivedEvents == null) {
-            this.receivedEvents = new LRUCache<String>();
+            this.receivedEvents = new EventDeduplicationWindow(this.deduplicationWindow);
         }
 
         return !this.receivedEvents.add(eventID);
     }
 
+    private void checkStopped() {
+        if (this.started) {
+            throw new IllegalStateException("Cannot change the EventStream while it is started.");
+        }
+    }
+
+    /**
+     * Saves a position in the position store once the events before it have been handled, and notifies the listeners
+     * of it, so that listeners are only notified of positions that have been saved.
+     * @param position the next position of the stream.
+     */
     private void notifyNextPosition(long position) {
-        synchronized (this.listenerLock) {
-            for (EventListener listener : this.listeners) {
-                listener.onNextPosition(position);
-            }
+        EventPositionStore store = this.positionStore;
+        if (store != null) {
+            store.put(this.positionKey, position);
+        }
+
+        for (EventListener listener : this.listeners) {
+            listener.onNextPosition(position);
         }
     }
 
     private void notifyEvent(BoxEvent event) {
-        synchronized (this.listenerLock) {
-            boolean isDuplicate = this.isDuplicate(event.getID());
-            if (!isDuplicate) {
-                for (EventListener listener : this.listeners) {
-                    listener.onEvent(event);
-                }
-            }
+        for (EventListener listener : this.listeners) {
+            listener.onEvent(event);
         }
     }
 
     private void notifyException(Throwable e) {
-        if (e instanceof InterruptedException && !this.started) {
-            return;
+        synchronized (this) {
+            if (!this.started) {
+                return;
+            }
+
+            this.stop();
         }
 
-        this.stop();
-        synchronized (this.listenerLock) {
-            for (EventListener listener : this.listeners) {
-                if (listener.onException(e)) {
-                    return;
-                }
+        for (EventListener listener : this.listeners) {
+            if (listener.onException(e)) {
+                return;
             }
         }
     }
 
     private class Poller implements Runnable {
         private final long initialPosition;
+        private final Dispatcher dispatcher;
 
         private RealtimeServerConnection server;
 
-        public Poller(long initialPosition) {
+        public Poller(long initialPosition, Dispatcher dispatcher) {
             this.initialPosition = initialPosition;
+            this.dispatcher = dispatcher;
             this.server = new RealtimeServerConnection(EventStream.this.api);
         }
 
@@ -213,14 +310,29 @@ public class EventStream {
                     BoxAPIRequest request = new BoxAPIRequest(EventStream.this.api,
                         EVENT_URL.buildAlpha(EventStream.this.api.getBaseURL(), position), "GET");
                     BoxJSONResponse response = (BoxJSONResponse) request.send();
-                    JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+                    JsonObject jsonObject = response.getJsonObject();
                     JsonArray entriesArray = jsonObject.get("entries").asArray();
+                    List<BoxEvent> events = new ArrayList<BoxEvent>(entriesArray.size());
                     for (JsonValue entry : entriesArray) {
                         BoxEvent event = new BoxEvent(EventStream.this.api, entry.asObject());
-                        EventStream.this.notifyEvent(event);
+                        if (!EventStream.this.isDuplicate(event.getID())) {
+                            events.add(event);
+                        }
                     }
                     position = jsonObject.get("next_stream_position").asLong();
-                    EventStream.this.notifyNextPosition(position);
+                    try {
+                        if (this.dispatcher == null) {
+                            for (BoxEvent event : events) {
+                                EventStream.this.notifyEvent(event);
+                            }
+                            EventStream.this.notifyNextPosition(position);
+                        } else {
+                            this.dispatcher.dispatch(events, position);
+                        }
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+
                     try {
                         // Delay re-polling to avoid making too many API calls
                         // Since duplicate events may appear in the stream, without any delay added
@@ -235,4 +347,149 @@ public class EventStream {
             }
         }
     }
+
+    /**
+     * The events of a page that haven't been handled yet, and the position that follows them.
+     */
+    private static final class Batch {
+        private final long position;
+        private int remaining;
+
+        Batch(long position, int remaining) {
+            this.position = position;
+            this.remaining = remaining;
+        }
+    }
+
+    /**
+     * An event waiting in the dispatch queue.
+     */
+    private static final class Delivery {
+        private final BoxEvent event;
+        private final Batch batch;
+
+        Delivery(BoxEvent event, Batch batch) {
+            this.event = event;
+            this.batch = batch;
+        }
+    }
+
+    /**
+     * Passes queued events to the listeners on a pool of threads, and notifies the positions of the pages whose events
+     * have all been handled, in order.
+     */
+    private class Dispatcher implements Runnable {
+        private final BlockingQueue<Delivery> queue;
+        private final LinkedList<Batch> batches;
+        private final ExecutorService workers;
+        private boolean notifying;
+
+        Dispatcher(int threads, int queueCapacity) {
+            this.queue = new ArrayBlockingQueue<Delivery>(queueCapacity);
+            this.batches = new LinkedList<Batch>();
+            this.workers = Executors.newFixedThreadPool(threads, new BoxThreadFactory("event-dispatch"));
+            for (int i = 0; i < threads; i++) {
+                this.workers.execute(this);
+            }
+        }
+
+        /**
+         * Queues the events of a page, waiting while the queue is full.
+         * @param  events               the events of the page.
+         * @param  position             the position that follows the page.
+         * @throws InterruptedException if the stream is stopped while waiting.
+         */
+        void dispatch(List<BoxEvent> events, long position) throws InterruptedException {
+            Batch batch = new Batch(position, events.size());
+            synchronized (this.batches) {
+                this.batches.addLast(batch);
+            }
+
+            for (BoxEvent event : events) {
+                this.queue.put(new Delivery(event, batch));
+            }
+
+            if (events.isEmpty()) {
+                this.notifyHandledBatches();
+            }
+        }
+
+        void shutdown() {
+            this.workers.shutdownNow();
+        }
+
+        @Override
+        public void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                Delivery delivery;
+                try {
+                    delivery = this.queue.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                try {
+                    EventStream.this.notifyEvent(delivery.event);
+                } catch (RuntimeException e) {
+                    // The position isn't advanced past an event that wasn't handled.
+                    EventStream.this.notifyException(e);
+                    return;
+                }
+
+                synchronized (this.batches) {
+                    delivery.batch.remaining--;
+                }
+                this.notifyHandledBatches();
+            }
+        }
+
+        /**
+         * Notifies the position of the last page whose events and all the events before it have been handled. The
+         * listeners and the position store are called outside of the lock on the batches, by one thread at a time so
+         * that positions are notified in order. A thread finding another one notifying leaves it the batches it
+         * handled, which that thread checks for before it stops notifying.
+         */
+        private void notifyHandledBatches() {
+            Batch handled;
+            synchronized (this.batches) {
+                if (this.notifying) {
+                    return;
+                }
+                handled = this.removeHandledBatches();
+                if (handled == null) {
+                    return;
+                }
+                this.notifying = true;
+            }
+
+            boolean notified = false;
+            try {
+                while (handled != null) {
+                    EventStream.this.notifyNextPosition(handled.position);
+                    synchronized (this.batches) {
+                        handled = this.removeHandledBatches();
+                        if (handled == null) {
+                            this.notifying = false;
+                        }
+                    }
+                }
+                notified = true;
+            } finally {
+                if (!notified) {
+                    synchronized (this.batches) {
+                        this.notifying = false;
+                    }
+                }
+            }
+        }
+
+        private Batch removeHandledBatches() {
+            Batch handled = null;
+            while (!this.batches.isEmpty() && this.batches.getFirst().remaining == 0) {
+                handled = this.batches.removeFirst();
+            }
+
+            return handled;
+        }
+    }
 }
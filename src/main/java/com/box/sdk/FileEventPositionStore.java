@@ -0,0 +1,51 @@
+package com.box.sdk;
+
+import java.io.File;
+
+/**
+ * Use this class to keep the positions of event streams in files in a local directory, so that they survive a restart
+ * of the JVM.
+ *
+ * <p>Positions are written like the checkpoints of a {@link FileUploadCheckpointStore}: to a temporary file which is
+ * synced to the disk and then replaces the previous position, so that a crash while a position is being written leaves
+ * the previous position intact.</p>
+ */
+public class FileEventPositionStore implements EventPositionStore {
+
+    private final FileUploadCheckpointStore files;
+
+    /**
+     * Creates a store that keeps positions in a directory, which is created if it doesn't exist.
+     * @param directory     the directory in which positions are stored.
+     */
+    public FileEventPositionStore(File directory) {
+        this.files = new FileUploadCheckpointStore(directory);
+    }
+
+    /**
+     * Gets the directory in which positions are stored.
+     * @return the position directory.
+     */
+    public File getDirectory() {
+        return this.files.getDirectory();
+    }
+
+    @Override
+    public Long get(String key) {
+        String position = this.files.get(key);
+        if (position == null) {
+            return null;
+        }
+
+        try {
+            return Long.valueOf(position.trim());
+        } catch (NumberFormatException e) {
+            throw new BoxAPIException("The stored event stream position \"" + position + "\" isn't a number.", e);
+        }
+    }
+
+    @Override
+    public void put(String key, long position) {
+        this.files.put(key, Long.toString(position));
+    }
+}
@@ -0,0 +1,153 @@
+package com.box.sdk;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Use this class to keep the checkpoints of resumable large file uploads in files in a local directory, so that they
+ * survive a restart of the JVM.
+ *
+ * <p>Each checkpoint is written and synced to the disk in a temporary file which then replaces the previous checkpoint,
+ * so that a crash while a checkpoint is being written leaves the previous checkpoint intact. On platforms that can't
+ * rename a file over an existing one, the previous checkpoint is first moved to a backup file, which is read when a
+ * crash happened before the new checkpoint was moved in place.</p>
+ */
+public class FileUploadCheckpointStore implements UploadCheckpointStore {
+
+    private static final String CHECKPOINT_FILE_EXTENSION = ".checkpoint";
+    private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+    private static final String BACKUP_FILE_EXTENSION = ".bak";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final File directory;
+
+    /**
+     * Creates a store that keeps checkpoints in a directory, which is created if it doesn't exist.
+     * @param directory     the directory in which checkpoints are stored.
+     */
+    public FileUploadCheckpointStore(File directory) {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalArgumentException("The checkpoint directory " + directory + " couldn't be created.");
+        }
+
+        this.directory = directory;
+    }
+
+    /**
+     * Gets the directory in which checkpoints are stored.
+     * @return the checkpoint directory.
+     */
+    public File getDirectory() {
+        return this.directory;
+    }
+
+    @Override
+    public synchronized String get(String key) {
+        File checkpointFile = this.getCheckpointFile(key);
+        String checkpoint = read(checkpointFile);
+        if (checkpoint == null) {
+            checkpoint = read(this.getBackupFile(checkpointFile));
+        }
+
+        return checkpoint;
+    }
+
+    @Override
+    public synchronized void put(String key, String value) {
+        File checkpointFile = this.getCheckpointFile(key);
+        File temporaryFile = new File(this.directory, checkpointFile.getName() + TEMPORARY_FILE_EXTENSION);
+
+        try {
+            FileOutputStream output = new FileOutputStream(temporaryFile);
+            try {
+                output.write(value.getBytes("UTF-8"));
+                output.getFD().sync();
+            } finally {
+                output.close();
+            }
+        } catch (IOException e) {
+            throw new BoxAPIException("Couldn't write the upload checkpoint.", e);
+        }
+
+        File backupFile = this.getBackupFile(checkpointFile);
+        if (!temporaryFile.renameTo(checkpointFile)) {
+            // Some platforms can't rename a file over an existing one, so the previous checkpoint is kept in a backup
+            // until the new one is in place.
+            if (checkpointFile.exists()) {
+                backupFile.delete();
+                if (!checkpointFile.renameTo(backupFile)) {
+                    throw new BoxAPIException("Couldn't write the upload checkpoint " + checkpointFile + ".");
+                }
+            }
+            if (!temporaryFile.renameTo(checkpointFile)) {
+                throw new BoxAPIException("Couldn't write the upload checkpoint " + checkpointFile + ".");
+            }
+        }
+        backupFile.delete();
+    }
+
+    @Override
+    public synchronized void remove(String key) {
+        File checkpointFile = this.getCheckpointFile(key);
+        checkpointFile.delete();
+        this.getBackupFile(checkpointFile).delete();
+    }
+
+    private static String read(File file) {
+        InputStream input;
+        try {
+            input = new FileInputStream(file);
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+
+        try {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int n = input.read(buffer);
+            while (n != -1) {
+                output.write(buffer, 0, n);
+                n = input.read(buffer);
+            }
+            return output.toString("UTF-8");
+        } catch (IOException e) {
+            throw new BoxAPIException("Couldn't read the upload checkpoint.", e);
+        } finally {
+            try {
+                input.close();
+            } catch (IOException e) {
+                // Ignore errors when closing a file that has been read.
+            }
+        }
+    }
+
+    private File getCheckpointFile(String key) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA1").digest(key.getBytes("UTF-8"));
+        } catch (NoSuchAlgorithmException e) {
+            throw new BoxAPIException("Digest algorithm not found", e);
+        } catch (IOException e) {
+            throw new BoxAPIException("UTF-8 encoding isn't supported.", e);
+        }
+
+        StringBuilder name = new StringBuilder(digest.length * 2 + CHECKPOINT_FILE_EXTENSION.length());
+        for (byte b : digest) {
+            name.append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+        }
+        name.append(CHECKPOINT_FILE_EXTENSION);
+
+        return new File(this.directory, name.toString());
+    }
+
+    private File getBackupFile(File checkpointFile) {
+        return new File(this.directory, checkpointFile.getName() + BACKUP_FILE_EXTENSION);
+    }
+}
@@ -1,6 +1,7 @@
 package com.box.sdk;
 
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
 import java.util.Date;
 
 /**
@@ -8,6 +9,7 @@ import java.util.Date;
  */
 public class FileUploadParams {
     private InputStream content;
+    private FileChannel fileChannel;
     private UploadFileCallback uploadFileCallback;
     private String name;
     private Date created;
@@ -40,6 +42,26 @@ public class FileUploadParams {
         return this;
     }
 
+    /**
+     * Gets the file channel whose content will be uploaded to Box.
+     * @return a FileChannel reading the content to be uploaded to Box.
+     */
+    public FileChannel getFileChannel() {
+        return this.fileChannel;
+    }
+
+    /**
+     * Sets a file channel whose content, from its current position to its end, will be uploaded to Box instead of the
+     * content stream. The size of the upload is read from the channel, and the SHA-1 hash of the content is computed
+     * before it is uploaded unless it was set with {@link #setSHA1}. The channel isn't closed after the upload.
+     * @param  fileChannel a FileChannel reading the content to be uploaded to Box.
+     * @return             this FileUploadParams object for chaining.
+     */
+    public FileUploadParams setFileChannel(FileChannel fileChannel) {
+        this.fileChannel = fileChannel;
+        return this;
+    }
+
     /**
      * @return content writer callback.
      */
@@ -0,0 +1,26 @@
+package com.box.sdk;
+
+/**
+ * The listener interface for receiving the items found by a {@link FolderTreeWalker}.
+ *
+ * <p>Several folders are listed at the same time, so the methods may be called from different threads at the same
+ * time and must be thread-safe.</p>
+ */
+public interface FolderTreeListener {
+    /**
+     * Invoked when an item is found in a folder of the tree.
+     * @param item     the item found.
+     * @param parentID the ID of the folder containing the item.
+     * @param depth    the depth of the item, which is 1 for the items directly in the folder where the walk started.
+     */
+    void onItem(BoxItem.Info item, String parentID, int depth);
+
+    /**
+     * Invoked when a folder of the tree couldn't be listed.
+     * @param  folderID the ID of the folder that couldn't be listed.
+     * @param  e        the exception that was thrown while listing the folder.
+     * @return          true to skip the rest of the folder and continue the walk; false to stop the walk and have it
+     *                  throw the exception.
+     */
+    boolean onException(String folderID, BoxAPIException e);
+}
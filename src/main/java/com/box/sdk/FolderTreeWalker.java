@@ -0,0 +1,278 @@
+package com.box.sdk;
+
+import java.net.URL;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+
+/**
+ * Walks the tree of items under a folder, listing several folders at the same time, and passes the items to a
+ * {@link FolderTreeListener} as soon as they are found.
+ *
+ * <p>Listing the folders of a large tree one at a time with {@link BoxFolder#getChildren} spends most of the time
+ * waiting for responses. A FolderTreeWalker lists up to a number of folders at the same time on threads of its own, and
+ * queues the subfolders found until a thread is free to list them. When the queue is full, the thread that found a
+ * subfolder lists it right away, which keeps the queue bounded however wide the tree is. Items are passed to the
+ * listener one at a time as their pages are read, without being collected, in an order that depends on which
+ * listings finish first.</p>
+ *
+ * <p>The walk can be limited to a depth, report only some types of items, skip items with a filter, and skip whole
+ * subtrees with a folder filter. A FolderTreeWalker can be used for several walks, including concurrent ones.</p>
+ */
+public class FolderTreeWalker {
+
+    private static final int DEFAULT_CONCURRENCY = 4;
+    private static final int DEFAULT_QUEUE_CAPACITY = 1000;
+    private static final long PAGE_SIZE = 1000;
+
+    private final BoxFolder folder;
+
+    private volatile int concurrency;
+    private volatile int queueCapacity;
+    private volatile int maxDepth;
+    private volatile Set<String> types;
+    private volatile String[] fields;
+    private volatile ItemFilter itemFilter;
+    private volatile ItemFilter folderFilter;
+
+    /**
+     * Constructs a FolderTreeWalker walking the tree under a folder.
+     * @param folder the folder where the walk starts, which isn't itself passed to the listener.
+     */
+    public FolderTreeWalker(BoxFolder folder) {
+        this.folder = folder;
+        this.concurrency = DEFAULT_CONCURRENCY;
+        this.queueCapacity = DEFAULT_QUEUE_CAPACITY;
+        this.maxDepth = -1;
+        this.fields = new String[0];
+    }
+
+    /**
+     * Sets the number of folders listed at the same time, which is 4 by default.
+     * @param concurrency the number of threads listing folders.
+     */
+    public void setConcurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("The concurrency must be at least 1.");
+        }
+
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Sets the number of folders found that can wait for a thread to list them, which is 1000 by default.
+     * @param queueCapacity the capacity of the queue of folders to list.
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("The queue capacity must be at least 1.");
+        }
+
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Sets the depth of the deepest items found. The items directly in the folder where the walk starts have a depth
+     * of 1. By default, the whole tree is walked.
+     * @param maxDepth the maximum depth, or -1 to walk the whole tree.
+     */
+    public void setMaxDepth(int maxDepth) {
+        if (maxDepth < 1 && maxDepth != -1) {
+            throw new IllegalArgumentException("The maximum depth must be at least 1, or -1 for no limit.");
+        }
+
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Sets the types of the items passed to the listener, such as "file", "folder" or "web_link". Folders are walked
+     * even when they aren't passed to the listener. By default, every type of item is passed to the listener.
+     * @param types the types of the items passed to the listener, or none to pass every item.
+     */
+    public void setTypes(String... types) {
+        this.types = types.length == 0 ? null : new HashSet<String>(Arrays.asList(types));
+    }
+
+    /**
+     * Sets the fields retrieved for each item. The fields used by the filters, such as the name, must be included.
+     * By default, the standard fields of items are retrieved.
+     * @param fields the fields to retrieve.
+     */
+    public void setFields(String... fields) {
+        this.fields = fields.clone();
+    }
+
+    /**
+     * Sets a filter deciding which items are passed to the listener, after their type was checked. Folders that
+     * aren't passed to the listener are still walked.
+     * @param filter the item filter, or null to pass every item.
+     */
+    public void setItemFilter(ItemFilter filter) {
+        this.itemFilter = filter;
+    }
+
+    /**
+     * Sets a filter deciding which folders are walked. The items in the folders that the filter rejects aren't
+     * listed, but the folders themselves are still passed to the listener.
+     * @param filter the folder filter, or null to walk every folder.
+     */
+    public void setFolderFilter(ItemFilter filter) {
+        this.folderFilter = filter;
+    }
+
+    /**
+     * Walks the tree, passing the items found to a listener, and returns once every folder has been listed.
+     * @param  listener the listener receiving the items.
+     * @throws BoxAPIException      if a folder couldn't be listed and the listener chose to stop the walk.
+     * @throws InterruptedException if the thread is interrupted while waiting for the walk to finish, which stops
+     *                              the walk.
+     */
+    public void walk(FolderTreeListener listener) throws InterruptedException {
+        Walk walk = new Walk(listener);
+        try {
+            walk.submit(this.folder.getID(), 1);
+            walk.done.await();
+        } finally {
+            walk.executor.shutdownNow();
+        }
+
+        if (walk.failure != null) {
+            throw walk.failure;
+        }
+    }
+
+    /**
+     * A filter of the items found by a {@link FolderTreeWalker}. It may be called from several threads at the same
+     * time.
+     */
+    public interface ItemFilter {
+        /**
+         * Decides whether an item is accepted.
+         * @param  item the item found.
+         * @return      true to accept the item; otherwise false.
+         */
+        boolean accept(BoxItem.Info item);
+    }
+
+    /**
+     * The state of one walk of the tree. The walk is over when no listing is queued or in progress.
+     */
+    private final class Walk {
+        private final FolderTreeListener listener;
+        private final ThreadPoolExecutor executor;
+        private final AtomicInteger pendingListings;
+        private final CountDownLatch done;
+        private final int maxDepth;
+        private final Set<String> types;
+        private final ItemFilter itemFilter;
+        private final ItemFilter folderFilter;
+        private final String query;
+        private volatile RuntimeException failure;
+
+        Walk(FolderTreeListener listener) {
+            FolderTreeWalker walker = FolderTreeWalker.this;
+            this.listener = listener;
+            this.executor = new ThreadPoolExecutor(walker.concurrency, walker.concurrency, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(walker.queueCapacity), new BoxThreadFactory("folder-walk"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+            this.pendingListings = new AtomicInteger();
+            this.done = new CountDownLatch(1);
+            this.maxDepth = walker.maxDepth;
+            this.types = walker.types;
+            this.itemFilter = walker.itemFilter;
+            this.folderFilter = walker.folderFilter;
+
+            String[] walkFields = walker.fields;
+            this.query = walkFields.length == 0 ? ""
+                : new QueryStringBuilder().appendParam("fields", walkFields).toString();
+        }
+
+        /**
+         * Queues the listing of a folder, or lists it on the calling thread if the queue is full.
+         * @param folderID the ID of the folder.
+         * @param depth    the depth of the items in the folder.
+         */
+        void submit(final String folderID, final int depth) {
+            this.pendingListings.incrementAndGet();
+            try {
+                this.executor.execute(BoxRequestContext.propagate(new Runnable() {
+                    @Override
+                    public void run() {
+                        Walk.this.list(folderID, depth);
+                    }
+                }));
+            } catch (RejectedExecutionException e) {
+                this.listingFinished();
+            }
+        }
+
+        private void list(String folderID, int depth) {
+            try {
+                if (this.failure == null) {
+                    this.listItems(folderID, depth);
+                }
+            } catch (BoxAPIException e) {
+                if (!this.listener.onException(folderID, e)) {
+                    this.fail(e);
+                }
+            } catch (RuntimeException e) {
+                this.fail(e);
+            } finally {
+                this.listingFinished();
+            }
+        }
+
+        private void listItems(String folderID, int depth) {
+            BoxAPIConnection api = FolderTreeWalker.this.folder.getAPI();
+            URL url = BoxFolder.GET_ITEMS_URL.buildWithQuery(api.getBaseURL(), this.query, folderID);
+            JSONIterator iterator = new JSONIterator(api, url, PAGE_SIZE);
+            while (iterator.hasNext() && this.failure == null) {
+                JsonObject jsonObject = iterator.next();
+                JsonValue typeValue = jsonObject.get("type");
+                String type = typeValue == null ? null : typeValue.asString();
+                boolean isFolder = "folder".equals(type);
+                boolean typeIncluded = this.types == null || this.types.contains(type);
+                if (!isFolder && !typeIncluded) {
+                    continue;
+                }
+
+                BoxResource.Info info = BoxResource.parseInfo(api, jsonObject);
+                if (!(info instanceof BoxItem.Info)) {
+                    continue;
+                }
+
+                BoxItem.Info item = (BoxItem.Info) info;
+                if (typeIncluded && (this.itemFilter == null || this.itemFilter.accept(item))) {
+                    this.listener.onItem(item, folderID, depth);
+                }
+                if (isFolder && (this.maxDepth == -1 || depth < this.maxDepth)
+                    && (this.folderFilter == null || this.folderFilter.accept(item))) {
+                    this.submit(item.getID(), depth + 1);
+                }
+            }
+        }
+
+        private void listingFinished() {
+            if (this.pendingListings.decrementAndGet() == 0) {
+                this.done.countDown();
+            }
+        }
+
+        private void fail(RuntimeException e) {
+            if (this.failure == null) {
+                this.failure = e;
+            }
+            this.executor.shutdownNow();
+            this.done.countDown();
+        }
+    }
+}
@@ -3,7 +3,10 @@ package com.box.sdk;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.FutureTask;
 
 import com.eclipsesource.json.JsonArray;
 import com.eclipsesource.json.JsonObject;
@@ -20,6 +23,8 @@ class JSONIterator implements Iterator<JsonObject> {
     private Iterator<JsonValue> currentPage;
     private JsonObject nextJsonObject;
     private Filter<JsonObject> filter;
+    private final Queue<FutureTask<JsonObject>> prefetchedPages = new LinkedList<FutureTask<JsonObject>>();
+    private long prefetchOffset;
 
     public JSONIterator(BoxAPIConnection api, URL url, long limit) {
         this.api = api;
@@ -64,12 +69,11 @@ class JSONIterator implements Iterator<JsonObject> {
         this.filter = filter;
     }
 
-    private void loadNextPage() {
-        String offsetString;
+    private BoxAPIRequest createPageRequest(long offset) {
         String existingQuery = this.url.getQuery();
         QueryStringBuilder builder = new QueryStringBuilder(existingQuery);
         builder.appendParam("limit", this.limit);
-        builder.appendParam("offset", this.offset);
+        builder.appendParam("offset", offset);
 
         URL url;
         try {
@@ -78,11 +82,19 @@ class JSONIterator implements Iterator<JsonObject> {
             throw new BoxAPIException("Couldn't append a query string to the provided URL.");
         }
 
-        BoxAPIRequest request = new BoxAPIRequest(this.api, url, "GET");
-        BoxJSONResponse response = (BoxJSONResponse) request.send();
-        String json = response.getJSON();
+        return new BoxAPIRequest(this.api, url, "GET");
+    }
 
-        JsonObject jsonObject = JsonObject.readFrom(json);
+    private void loadNextPage() {
+        String offsetString;
+        JsonObject jsonObject;
+        FutureTask<JsonObject> prefetchedPage = this.prefetchedPages.poll();
+        if (prefetchedPage != null) {
+            jsonObject = PageReadAhead.get(prefetchedPage);
+        } else {
+            BoxJSONResponse response = (BoxJSONResponse) this.createPageRequest(this.offset).send();
+            jsonObject = response.getJsonObject();
+        }
         String totalCountString = jsonObject.get("total_count").toString();
         this.totalCount = Double.valueOf(totalCountString).longValue();
 
@@ -97,6 +109,24 @@ class JSONIterator implements Iterator<JsonObject> {
 
         JsonArray jsonArray = jsonObject.get("entries").asArray();
         this.currentPage = jsonArray.iterator();
+        this.prefetchPages();
+    }
+
+    /**
+     * Starts fetching the pages following the next page in the background when read-ahead is enabled. The offsets of
+     * the following pages are known once the total count has been received, so several pages can be fetched at once.
+     */
+    private void prefetchPages() {
+        if (!this.hasMorePages) {
+            return;
+        }
+
+        this.prefetchOffset = Math.max(this.prefetchOffset, this.offset);
+        int pages = this.api.getPageReadAhead();
+        while (this.prefetchedPages.size() < pages && this.prefetchOffset < this.totalCount) {
+            this.prefetchedPages.add(PageReadAhead.fetch(this.api, this.createPageRequest(this.prefetchOffset), this));
+            this.prefetchOffset += this.limit;
+        }
     }
 
     private JsonObject loadNextJsonObject() {
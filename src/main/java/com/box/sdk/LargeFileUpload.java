@@ -1,23 +1,46 @@
 package com.box.sdk;
 
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigInteger;
 import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import com.box.sdk.http.HttpMethod;
 import com.eclipsesource.json.JsonObject;
 
 /**
  * Utility class for uploading large files.
+ *
+ * <p>Parts are read from the stream into a fixed pool of buffers, one more than the number of parallel connections,
+ * and uploaded from those buffers by an executor. Reading blocks while every buffer is being uploaded, so the memory
+ * used by an upload doesn't depend on the size of the file. The SHA-1 digests of the file and of each part are computed
+ * while the parts are read. A LargeFileUpload can be reused for several uploads, including concurrent ones.</p>
+ *
+ * <p>Uploads of local files can be made resumable by recording their progress in an {@link UploadCheckpointStore}.
+ * Resuming an upload checks which parts of the recorded upload session have already been uploaded, and only uploads
+ * the missing ones.</p>
  */
 public final class LargeFileUpload {
 
@@ -29,11 +52,32 @@ public final class LargeFileUpload {
     private static final int DEFAULT_CONNECTIONS = 3;
     private static final int DEFAULT_TIMEOUT = 1;
     private static final TimeUnit DEFAULT_TIMEUNIT = TimeUnit.HOURS;
-    private static final int THREAD_POOL_WAIT_TIME_IN_MILLIS = 1000;
-    private ThreadPoolExecutor executorService;
-    private long timeout;
-    private TimeUnit timeUnit;
-    private int connections;
+
+    private static ExecutorService defaultExecutor;
+
+    private final ExecutorService executorService;
+    private final long timeout;
+    private final TimeUnit timeUnit;
+    private final int connections;
+
+    /**
+     * Creates a LargeFileUpload object that uploads parts on a given executor. The executor can be shared with other
+     * uploads and isn't shut down by the SDK.
+     * @param executorService executor used to upload the parts
+     * @param nParallelConnections maximum number of parts of a single upload being uploaded at the same time
+     * @param timeOut time to wait before killing the job
+     * @param unit time unit for the time wait value
+     */
+    public LargeFileUpload(ExecutorService executorService, int nParallelConnections, long timeOut, TimeUnit unit) {
+        if (nParallelConnections < 1) {
+            throw new IllegalArgumentException("The number of parallel connections must be at least 1.");
+        }
+
+        this.executorService = executorService;
+        this.connections = nParallelConnections;
+        this.timeout = timeOut;
+        this.timeUnit = unit;
+    }
 
     /**
      * Creates a LargeFileUpload object.
@@ -42,18 +86,27 @@ public final class LargeFileUpload {
      * @param unit time unit for the time wait value
      */
     public LargeFileUpload(int nParallelConnections, long timeOut, TimeUnit unit) {
-        this.executorService = (ThreadPoolExecutor) Executors.newFixedThreadPool(nParallelConnections);
-        this.timeout = timeOut;
-        this.timeUnit = unit;
+        this(getDefaultExecutor(), nParallelConnections, timeOut, unit);
     }
 
     /**
      * Creates a LargeFileUpload object with a default number of parallel conections and timeout.
      */
     public LargeFileUpload() {
-        this.executorService = (ThreadPoolExecutor) Executors.newFixedThreadPool(LargeFileUpload.DEFAULT_CONNECTIONS);
-        this.timeout = LargeFileUpload.DEFAULT_TIMEOUT;
-        this.timeUnit = LargeFileUpload.DEFAULT_TIMEUNIT;
+        this(LargeFileUpload.DEFAULT_CONNECTIONS, LargeFileUpload.DEFAULT_TIMEOUT, LargeFileUpload.DEFAULT_TIMEUNIT);
+    }
+
+    /**
+     * Gets the executor shared by the uploads that weren't given their own executor. Its threads are created as parts
+     * are submitted and exit after being idle for a minute.
+     * @return the shared executor.
+     */
+    private static synchronized ExecutorService getDefaultExecutor() {
+        if (defaultExecutor == null) {
+            defaultExecutor = Executors.newCachedThreadPool(new BoxThreadFactory("upload"));
+        }
+
+        return defaultExecutor;
     }
 
     private BoxFileUploadSession.Info createUploadSession(BoxAPIConnection boxApi, String folderId,
@@ -69,7 +122,7 @@ public final class LargeFileUpload {
         request.setBody(body.toString());
 
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonObject = response.getJsonObject();
 
         String sessionId = jsonObject.get("id").asString();
         BoxFileUploadSession session = new BoxFileUploadSession(boxApi, sessionId);
@@ -157,14 +210,14 @@ public final class LargeFileUpload {
             Map<String, String> fileAttributes)
         throws InterruptedException, IOException {
         //Upload parts using the upload session
-        MessageDigest digest = null;
+        MessageDigest digest = createSHA1Digest();
+        List<BoxFileUploadSessionPart> parts;
         try {
-            digest = MessageDigest.getInstance(DIGEST_ALGORITHM_SHA1);
-        } catch (NoSuchAlgorithmException ae) {
-            throw new BoxAPIException("Digest algorithm not found", ae);
+            parts = this.uploadParts(session, stream, fileSize, digest, null, null);
+        } catch (BoxAPIException e) {
+            session.getResource().abort();
+            throw e;
         }
-        DigestInputStream dis = new DigestInputStream(stream, digest);
-        List<BoxFileUploadSessionPart> parts = this.uploadParts(session, dis, fileSize);
 
         //Creates the file hash
         byte[] digestBytes = digest.digest();
@@ -179,6 +232,156 @@ public final class LargeFileUpload {
         }
     }
 
+    /**
+     * Uploads a new large file from a local file, resuming the previous attempt to upload it if it was interrupted.
+     * @param boxApi the API connection to be used by the upload session.
+     * @param folderId the id of the folder in which the file will be uploaded.
+     * @param file the local file to upload.
+     * @param url the upload session URL.
+     * @param fileName the name of the file to be created.
+     * @param checkpointStore the store in which the progress of the upload is recorded.
+     * @param fileAttributes file attributes to set, or null.
+     * @return the created file instance.
+     * @throws InterruptedException when a thread gets interupted.
+     * @throws IOException when reading the file throws exception.
+     */
+    public BoxFile.Info resumeUpload(BoxAPIConnection boxApi, String folderId, File file, URL url, String fileName,
+                                     UploadCheckpointStore checkpointStore, Map<String, String> fileAttributes)
+        throws InterruptedException, IOException {
+
+        String key = getCheckpointKey(url, folderId + "/" + fileName, file);
+        return this.resumeHelper(boxApi, folderId, file, url, fileName, checkpointStore, key, fileAttributes);
+    }
+
+    /**
+     * Creates a new version of a large file from a local file, resuming the previous attempt to upload it if it was
+     * interrupted.
+     * @param boxApi the API connection to be used by the upload session.
+     * @param file the local file to upload.
+     * @param url the upload session URL.
+     * @param checkpointStore the store in which the progress of the upload is recorded.
+     * @param fileAttributes file attributes to set, or null.
+     * @return the file instance that also contains the version information.
+     * @throws InterruptedException when a thread gets interupted.
+     * @throws IOException when reading the file throws exception.
+     */
+    public BoxFile.Info resumeUpload(BoxAPIConnection boxApi, File file, URL url,
+                                     UploadCheckpointStore checkpointStore, Map<String, String> fileAttributes)
+        throws InterruptedException, IOException {
+
+        String key = getCheckpointKey(url, "", file);
+        return this.resumeHelper(boxApi, null, file, url, null, checkpointStore, key, fileAttributes);
+    }
+
+    /*
+     * Identifies an upload by its destination and by the path, size and modification time of the local file, so that
+     * a file that changed is uploaded again from the start.
+     */
+    private static String getCheckpointKey(URL url, String destination, File file) {
+        return url + "|" + destination + "|" + file.getAbsolutePath() + "|" + file.length() + "|"
+            + file.lastModified();
+    }
+
+    private BoxFile.Info resumeHelper(BoxAPIConnection boxApi, String folderId, File file, URL url, String fileName,
+                                      UploadCheckpointStore checkpointStore, String key,
+                                      Map<String, String> fileAttributes)
+        throws InterruptedException, IOException {
+
+        FileInputStream input = new FileInputStream(file);
+        try {
+            FileChannel channel = input.getChannel();
+            long fileSize = channel.size();
+
+            //Reconciles the recorded upload session with the parts that Box has received.
+            Map<Long, BoxFileUploadSessionPart> uploadedParts = null;
+            UploadCheckpoint checkpoint = UploadCheckpoint.restore(checkpointStore, key, boxApi, fileSize);
+            if (checkpoint != null) {
+                try {
+                    uploadedParts = listUploadedParts(checkpoint.getSession().getResource());
+                } catch (BoxAPIException e) {
+                    if (e.getResponseCode() != 404) {
+                        throw e;
+                    }
+                    //The upload session has expired.
+                    checkpoint = null;
+                }
+            }
+
+            if (checkpoint == null) {
+                BoxFileUploadSession.Info session;
+                if (folderId == null) {
+                    session = this.createUploadSession(boxApi, url, fileSize);
+                } else {
+                    session = this.createUploadSession(boxApi, folderId, url, fileName, fileSize);
+                }
+                checkpoint = new UploadCheckpoint(checkpointStore, key, session, fileSize);
+                checkpoint.save();
+            }
+
+            //Uploads the missing parts while computing the digest of the whole file. The upload session is kept when
+            //the upload fails so that it can be resumed.
+            BoxFileUploadSession.Info session = checkpoint.getSession();
+            MessageDigest digest = createSHA1Digest();
+            List<BoxFileUploadSessionPart> parts = this.uploadParts(session, Channels.newInputStream(channel),
+                fileSize, digest, uploadedParts, checkpoint);
+
+            String digestStr = Base64.encode(digest.digest());
+            BoxFile.Info fileInfo = session.getResource().commit(digestStr, parts, fileAttributes, null, null);
+            checkpoint.remove();
+            return fileInfo;
+        } finally {
+            input.close();
+        }
+    }
+
+    private static Map<Long, BoxFileUploadSessionPart> listUploadedParts(BoxFileUploadSession session) {
+        final int limit = 1000;
+        Map<Long, BoxFileUploadSessionPart> parts = new HashMap<Long, BoxFileUploadSessionPart>();
+        int offset = 0;
+        while (true) {
+            BoxFileUploadSessionPartList list = session.listParts(offset, limit);
+            List<BoxFileUploadSessionPart> entries = list.getEntries();
+            if (entries == null || entries.isEmpty()) {
+                return parts;
+            }
+
+            for (BoxFileUploadSessionPart part : entries) {
+                parts.put(part.getOffset(), part);
+            }
+
+            offset += entries.size();
+            if (offset >= list.getTotalCount()) {
+                return parts;
+            }
+        }
+    }
+
+    /*
+     * Returns the part uploaded in a previous attempt at an offset if it has the same content as the part that was
+     * just read; otherwise returns null.
+     */
+    private static BoxFileUploadSessionPart findUploadedPart(Map<Long, BoxFileUploadSessionPart> uploadedParts,
+                                                            UploadCheckpoint checkpoint, long offset, int length,
+                                                            byte[] digestBytes, String digest) {
+        if (uploadedParts == null) {
+            return null;
+        }
+
+        BoxFileUploadSessionPart part = uploadedParts.get(offset);
+        if (part == null || part.getSize() != length) {
+            return null;
+        }
+
+        String sha1 = part.getSha1();
+        if (sha1 != null && sha1.equalsIgnoreCase(String.format("%040x", new BigInteger(1, digestBytes)))) {
+            return part;
+        } else if (digest.equals(checkpoint.getPartDigest(offset))) {
+            return part;
+        } else {
+            return null;
+        }
+    }
+
     private BoxFileUploadSession.Info createUploadSession(BoxAPIConnection boxApi, URL url, long fileSize) {
         BoxJSONRequest request = new BoxJSONRequest(boxApi, url, HttpMethod.POST);
 
@@ -188,7 +391,7 @@ public final class LargeFileUpload {
         request.setBody(body.toString());
 
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonObject = response.getJsonObject();
 
         String sessionId = jsonObject.get("id").asString();
         BoxFileUploadSession session = new BoxFileUploadSession(boxApi, sessionId);
@@ -197,65 +400,125 @@ public final class LargeFileUpload {
     }
 
     /*
-     * Upload parts of the file. The part size is retrieved from the upload session.
+     * Upload parts of the file. The part size is retrieved from the upload session. The parts are read into a pool of
+     * buffers, and the whole file's digest is updated as each part is read. Parts found in uploadedParts are only
+     * read, and uploaded parts are recorded in the checkpoint when there is one.
      */
     private List<BoxFileUploadSessionPart> uploadParts(BoxFileUploadSession.Info session, InputStream stream,
-                                                       long fileSize) throws InterruptedException {
-        List<BoxFileUploadSessionPart> parts = new ArrayList<BoxFileUploadSessionPart>();
+                                                       long fileSize, MessageDigest fileDigest,
+                                                       Map<Long, BoxFileUploadSessionPart> uploadedParts,
+                                                       final UploadCheckpoint checkpoint)
+        throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + TimeUnit.MILLISECONDS.convert(this.timeout, this.timeUnit);
+        if (deadline < 0) {
+            deadline = Long.MAX_VALUE;
+        }
 
         int partSize = session.getPartSize();
-        long offset = 0;
-        long processed = 0;
-        int partPostion = 0;
-        //Set the Max Queue Size to 1.5x the number of processors
-        double maxQueueSizeDouble = Math.ceil(this.executorService.getMaximumPoolSize() * 1.5);
-        int maxQueueSize = Double.valueOf(maxQueueSizeDouble).intValue();
-        while (processed < fileSize) {
-            //Waiting for any thread to finish before
-            long timeoutForWaitingInMillis = TimeUnit.MILLISECONDS.convert(this.timeout, this.timeUnit);
-            if (this.executorService.getCorePoolSize() <= this.executorService.getActiveCount()) {
-                if (timeoutForWaitingInMillis > 0) {
-                    Thread.sleep(LargeFileUpload.THREAD_POOL_WAIT_TIME_IN_MILLIS);
-                    timeoutForWaitingInMillis -= THREAD_POOL_WAIT_TIME_IN_MILLIS;
-                } else {
+        long partCount = (fileSize + partSize - 1) / partSize;
+        int bufferCount = (int) Math.max(1, Math.min(this.connections + 1, partCount));
+        BlockingQueue<byte[]> buffers = new ArrayBlockingQueue<byte[]>(bufferCount);
+        for (int i = 0; i < bufferCount; i++) {
+            buffers.add(new byte[(int) Math.min(partSize, fileSize)]);
+        }
+
+        MessageDigest partDigest = createSHA1Digest();
+        BoxFileUploadSessionPart[] parts = new BoxFileUploadSessionPart[(int) partCount];
+        List<Future<BoxFileUploadSessionPart>> futures = new ArrayList<Future<BoxFileUploadSessionPart>>();
+        RunningParts runningParts = new RunningParts();
+        try {
+            long offset = 0;
+            while (offset < fileSize) {
+                //The size last part of the file can be lesser than the part size.
+                int length = (int) Math.min(partSize, fileSize - offset);
+
+                //Waits for an upload to give back its buffer when all of them are in use.
+                byte[] buffer = buffers.poll(remainingTime(deadline), TimeUnit.MILLISECONDS);
+                if (buffer == null) {
                     throw new BoxAPIException("Upload parts timedout");
                 }
+
+                readPart(stream, buffer, length, fileDigest, partDigest);
+                byte[] digestBytes = partDigest.digest();
+                final String digest = Base64.encode(digestBytes);
+
+                BoxFileUploadSessionPart uploadedPart = findUploadedPart(uploadedParts, checkpoint, offset, length,
+                    digestBytes, digest);
+                if (uploadedPart == null) {
+                    Callable<BoxFileUploadSessionPart> task = new LargeFileUploadTask(session.getResource(), buffer,
+                        offset, length, fileSize, digest, buffers);
+                    if (checkpoint != null) {
+                        final Callable<BoxFileUploadSessionPart> uploadTask = task;
+                        task = new Callable<BoxFileUploadSessionPart>() {
+                            @Override
+                            public BoxFileUploadSessionPart call() throws Exception {
+                                BoxFileUploadSessionPart part = uploadTask.call();
+                                checkpoint.recordPart(part, digest);
+                                return part;
+                            }
+                        };
+                    }
+                    futures.add(this.executorService.submit(BoxRequestContext.propagate(runningParts.track(task))));
+                } else {
+                    buffers.offer(buffer);
+                    parts[futures.size()] = uploadedPart;
+                    futures.add(null);
+                }
+
+                offset += length;
             }
-            if (this.executorService.getQueue().size() < maxQueueSize) {
-                long diff = fileSize - (long) processed;
-                //The size last part of the file can be lesser than the part size.
-                if (diff < (long) partSize) {
-                    partSize = (int) diff;
+
+            for (int i = 0; i < futures.size(); i++) {
+                if (futures.get(i) != null) {
+                    parts[i] = futures.get(i).get(remainingTime(deadline), TimeUnit.MILLISECONDS);
+                }
+            }
+            return Arrays.asList(parts);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof BoxAPIException) {
+                throw (BoxAPIException) e.getCause();
+            }
+            throw new BoxAPIException("Upload part failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new BoxAPIException("Upload parts timedout", e);
+        } finally {
+            // Parts that are still uploading when another one fails are left to finish, so that they are recorded in
+            // the checkpoint before the upload returns. They are interrupted once the upload has timed out.
+            runningParts.stop();
+            boolean timedOut = remainingTime(deadline) == 0;
+            for (Future<BoxFileUploadSessionPart> future : futures) {
+                if (future != null) {
+                    future.cancel(timedOut);
+                }
+            }
+            if (!timedOut) {
+                try {
+                    runningParts.await(deadline);
+                } catch (InterruptedException e) {
+                    for (Future<BoxFileUploadSessionPart> future : futures) {
+                        if (future != null) {
+                            future.cancel(true);
+                        }
+                    }
+                    Thread.currentThread().interrupt();
                 }
-                parts.add(null);
-                byte[] bytes = getBytesFromStream(stream, partSize);
-                this.executorService.execute(
-                    new LargeFileUploadTask(session.getResource(), bytes, offset,
-                        partSize, fileSize, parts, partPostion)
-                );
-
-                //Increase the offset and proceesed bytes to calculate the Content-Range header.
-                processed += partSize;
-                offset += partSize;
-                partPostion++;
             }
         }
-        this.executorService.shutdown();
-        this.executorService.awaitTermination(this.timeout, this.timeUnit);
-        return parts;
     }
 
-    private static byte[] getBytesFromStream(InputStream stream, int numBytes) {
-
-        int bytesNeeded = numBytes;
-        int offset = 0;
-        byte[] bytes = new byte[numBytes];
+    private static long remainingTime(long deadline) {
+        return Math.max(0, deadline - System.currentTimeMillis());
+    }
 
-        while (bytesNeeded > 0) {
+    private static void readPart(InputStream stream, byte[] buffer, int length, MessageDigest fileDigest,
+                                 MessageDigest partDigest) {
 
+        int offset = 0;
+        while (offset < length) {
             int bytesRead = -1;
             try {
-                bytesRead = stream.read(bytes, offset, bytesNeeded);
+                bytesRead = stream.read(buffer, offset, length - offset);
             } catch (IOException ioe) {
                 throw new BoxAPIException("Reading data from stream failed.", ioe);
             }
@@ -264,11 +527,18 @@ public final class LargeFileUpload {
                 throw new BoxAPIException("Stream ended while upload was progressing");
             }
 
-            bytesNeeded = bytesNeeded - bytesRead;
+            fileDigest.update(buffer, offset, bytesRead);
+            partDigest.update(buffer, offset, bytesRead);
             offset = offset + bytesRead;
         }
+    }
 
-        return bytes;
+    private static MessageDigest createSHA1Digest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM_SHA1);
+        } catch (NoSuchAlgorithmException ae) {
+            throw new BoxAPIException("Digest algorithm not found", ae);
+        }
     }
 
     /**
@@ -278,12 +548,7 @@ public final class LargeFileUpload {
      * @return the Base64 encoded hash string.
      */
     public String generateDigest(InputStream stream) {
-        MessageDigest digest = null;
-        try {
-            digest = MessageDigest.getInstance(DIGEST_ALGORITHM_SHA1);
-        } catch (NoSuchAlgorithmException ae) {
-            throw new BoxAPIException("Digest algorithm not found", ae);
-        }
+        MessageDigest digest = createSHA1Digest();
 
         //Calcuate the digest using the stream.
         DigestInputStream dis = new DigestInputStream(stream, digest);
@@ -300,4 +565,47 @@ public final class LargeFileUpload {
         byte[] digestBytes = digest.digest();
         return Base64.encode(digestBytes);
     }
+
+    /**
+     * The part uploads of an upload that have started and not finished yet. Once the upload stops, the parts that
+     * haven't started are never uploaded.
+     */
+    private static final class RunningParts {
+        private int running;
+        private boolean stopped;
+
+        Callable<BoxFileUploadSessionPart> track(final Callable<BoxFileUploadSessionPart> task) {
+            return new Callable<BoxFileUploadSessionPart>() {
+                @Override
+                public BoxFileUploadSessionPart call() throws Exception {
+                    synchronized (RunningParts.this) {
+                        if (RunningParts.this.stopped) {
+                            throw new CancellationException("The upload stopped before the part was uploaded.");
+                        }
+                        RunningParts.this.running++;
+                    }
+                    try {
+                        return task.call();
+                    } finally {
+                        synchronized (RunningParts.this) {
+                            RunningParts.this.running--;
+                            RunningParts.this.notifyAll();
+                        }
+                    }
+                }
+            };
+        }
+
+        synchronized void stop() {
+            this.stopped = true;
+        }
+
+        synchronized void await(long deadline) throws InterruptedException {
+            long remaining = remainingTime(deadline);
+            while (this.running > 0 && remaining > 0) {
+                this.wait(remaining);
+                remaining = remainingTime(deadline);
+            }
+        }
+    }
 }
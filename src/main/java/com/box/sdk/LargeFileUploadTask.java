@@ -1,11 +1,13 @@
 package com.box.sdk;
 
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
 
 /**
  *
  */
-public class LargeFileUploadTask implements Runnable {
+public class LargeFileUploadTask implements Runnable, Callable<BoxFileUploadSessionPart> {
 
     private final int partPostion;
     private BoxFileUploadSession session;
@@ -14,6 +16,8 @@ public class LargeFileUploadTask implements Runnable {
     private long offset;
     private int partSize;
     private long fileSize;
+    private String digest;
+    private BlockingQueue<byte[]> buffers;
 
     /**
      * Runable task to create parallel http connctions for file upload session.
@@ -36,21 +40,41 @@ public class LargeFileUploadTask implements Runnable {
         this.partPostion = partPostion;
     }
 
+    /**
+     * Task that uploads a part held in a pooled buffer and gives the buffer back to the pool once it's done.
+     * @param session       file upload session object
+     * @param data          pooled buffer holding the part's bytes
+     * @param offset        stream offset
+     * @param partSize      number of bytes of the buffer to upload
+     * @param fileSize      total file size
+     * @param digest        Base64 encoded SHA-1 digest of the part's bytes
+     * @param buffers       pool the buffer is returned to
+     */
+    LargeFileUploadTask(BoxFileUploadSession session, byte[] data, long offset, int partSize, long fileSize,
+                        String digest, BlockingQueue<byte[]> buffers) {
+        this(session, data, offset, partSize, fileSize, null, -1);
+        this.digest = digest;
+        this.buffers = buffers;
+    }
+
     @Override
     public void run() {
-        //Retries the upload part 3 times in case of failure.
-        for (int i = 0; i < 3; i++) {
-            try {
-                BoxFileUploadSessionPart part =
-                    this.session.uploadPart(this.data, this.offset, this.partSize, this.fileSize);
-                this.parts.set(this.partPostion, part);
-                return;
-            } catch (BoxAPIException ex) {
-                if (i == 2) {
-                    throw ex;
-                }
+        this.parts.set(this.partPostion, this.call());
+    }
+
+    @Override
+    public BoxFileUploadSessionPart call() {
+        // The part request retries failures itself, according to the connection's retry policy.
+        try {
+            if (this.digest == null) {
+                return this.session.uploadPart(this.data, this.offset, this.partSize, this.fileSize);
+            } else {
+                return this.session.uploadPart(this.data, this.offset, this.partSize, this.fileSize, this.digest);
+            }
+        } finally {
+            if (this.buffers != null) {
+                this.buffers.offer(this.data);
             }
         }
-        throw new BoxAPIException("Upload part failed for offset: " + this.offset + " range: " + this.partSize);
     }
 }
@@ -0,0 +1,139 @@
+package com.box.sdk;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of latencies in microseconds that can be recorded from many threads at the same time without locking.
+ *
+ * <p>Latencies are counted in buckets whose width grows with the latency, so that every latency is known within about
+ * 1.6% of its value while the histogram keeps a fixed size, from a microsecond to about 19 hours. Longer latencies are
+ * counted as the longest one. Recording a latency only increments atomic counters, so percentiles read while latencies
+ * are recorded may not include the latest ones.</p>
+ */
+public final class LatencyHistogram {
+
+    // Latencies below 2^SUB_BUCKET_BITS are counted exactly, and longer ones in buckets keeping their
+    // SUB_BUCKET_BITS - 1 most significant bits after the highest one.
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int MAX_MAGNITUDE = 36;
+    private static final long MAX_VALUE = (1L << MAX_MAGNITUDE) - 1;
+    private static final int BUCKET_COUNT = (MAX_MAGNITUDE - SUB_BUCKET_BITS) * SUB_BUCKET_HALF_COUNT
+        + SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts;
+    private final AtomicLong count;
+    private final AtomicLong total;
+    private final AtomicLong max;
+
+    /**
+     * Creates an empty histogram.
+     */
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKET_COUNT);
+        this.count = new AtomicLong();
+        this.total = new AtomicLong();
+        this.max = new AtomicLong();
+    }
+
+    /**
+     * Records a latency.
+     * @param micros the latency in microseconds. Negative latencies are recorded as 0.
+     */
+    public void record(long micros) {
+        long value = Math.min(Math.max(micros, 0), MAX_VALUE);
+        this.counts.incrementAndGet(getBucket(value));
+        this.count.incrementAndGet();
+        this.total.addAndGet(value);
+
+        long currentMax = this.max.get();
+        while (value > currentMax && !this.max.compareAndSet(currentMax, value)) {
+            currentMax = this.max.get();
+        }
+    }
+
+    /**
+     * Gets the number of latencies recorded.
+     * @return the number of latencies recorded.
+     */
+    public long getCount() {
+        return this.count.get();
+    }
+
+    /**
+     * Gets the longest latency recorded.
+     * @return the longest latency in microseconds, or 0 if no latency was recorded.
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * Gets the mean of the latencies recorded.
+     * @return the mean latency in microseconds, or 0 if no latency was recorded.
+     */
+    public double getMean() {
+        long recorded = this.count.get();
+        if (recorded == 0) {
+            return 0;
+        }
+
+        return (double) this.total.get() / recorded;
+    }
+
+    /**
+     * Gets the latency below which a percentage of the latencies recorded fall, such as 99 for the 99th percentile.
+     * The latency returned is the longest latency of the bucket containing the percentile, and isn't more than the
+     * longest latency recorded.
+     * @param  percentile the percentile, from 0 to 100.
+     * @return            the latency at the percentile in microseconds, or 0 if no latency was recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("The percentile must be between 0 and 100.");
+        }
+
+        long recorded = 0;
+        long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = this.counts.get(i);
+            recorded += snapshot[i];
+        }
+        if (recorded == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * recorded));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(getBucketMaxValue(i), this.max.get());
+            }
+        }
+
+        return this.max.get();
+    }
+
+    private static int getBucket(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS + 1;
+        return shift * SUB_BUCKET_HALF_COUNT + (int) (value >>> shift);
+    }
+
+    private static long getBucketMaxValue(int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+
+        int shift = bucket / SUB_BUCKET_HALF_COUNT - 1;
+        long subBucket = bucket - shift * SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
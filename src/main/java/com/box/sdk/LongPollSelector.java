@@ -0,0 +1,706 @@
+package com.box.sdk;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLParameters;
+
+/**
+ * Waits for the responses of many long polls on a single thread, using non-blocking sockets.
+ *
+ * <p>A long poll is a GET request that the server holds open until it has something to say. With blocking sockets,
+ * every long poll in flight takes a thread for as long as the server holds it. The selector instead sends each long
+ * poll on a non-blocking socket, waits for all of them on one thread, and passes each response, or the error that ended
+ * the long poll, to a callback run by an executor. Responses are expected to be small and are read whole before the
+ * callback runs.</p>
+ *
+ * <p>HTTPS long polls are encrypted with an {@link SSLEngine} that verifies the host name of the server. Long polls
+ * that go through an HTTP proxy open a tunnel to the server with a CONNECT request.</p>
+ */
+final class LongPollSelector {
+    private static final Logger LOGGER = Logger.getLogger(LongPollSelector.class.getName());
+
+    private static final int MAX_RESPONSE_SIZE = 65536;
+    private static final int BUFFER_SIZE = 8192;
+    private static final int HTTP_PORT = 80;
+    private static final int HTTPS_PORT = 443;
+    private static final int HTTP_OK = 200;
+    private static final byte[] HEADERS_END = {'\r', '\n', '\r', '\n'};
+    private static final byte[] LINE_END = {'\r', '\n'};
+
+    private final Executor callbacks;
+    private final SSLContext sslContext;
+    private final Selector selector;
+    private final Queue<LongPoll> pending;
+    private long nextExpiration;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a LongPollSelector and starts the thread waiting for the responses of its long polls.
+     * @param  purpose     a short description of what the long polls are used for, which names the thread.
+     * @param  callbacks   the executor running the callbacks of the long polls.
+     * @param  sslContext  the SSL context creating the engines of HTTPS long polls.
+     * @throws IOException if the selector couldn't be opened.
+     */
+    LongPollSelector(String purpose, Executor callbacks, SSLContext sslContext) throws IOException {
+        this.callbacks = callbacks;
+        this.sslContext = sslContext;
+        this.selector = Selector.open();
+        this.pending = new ConcurrentLinkedQueue<LongPoll>();
+        this.nextExpiration = Long.MAX_VALUE;
+        new BoxThreadFactory(purpose).newThread(new Runnable() {
+            @Override
+            public void run() {
+                LongPollSelector.this.select();
+            }
+        }).start();
+    }
+
+    /**
+     * Sends a long poll. The callback is run once with the response or the error that ended the long poll, unless the
+     * long poll is cancelled or the selector is closed first.
+     * @param  url                the URL of the long poll.
+     * @param  headers            the headers of the request, in addition to the Host and Connection headers.
+     * @param  proxy              the proxy through which the long poll is sent, or null to connect directly.
+     * @param  proxyAuthorization the Proxy-Authorization header sent to the proxy, or null.
+     * @param  timeout            the number of milliseconds after which the long poll fails with a
+     *                            {@link SocketTimeoutException} if it hasn't been answered.
+     * @param  callback           the callback receiving the response of the long poll.
+     * @return                    the long poll, which can be cancelled.
+     * @throws IOException        if the long poll couldn't be sent.
+     */
+    LongPoll poll(URL url, Map<String, String> headers, Proxy proxy, String proxyAuthorization, long timeout,
+        Callback callback) throws IOException {
+
+        if (this.closed) {
+            throw new IOException("The long poll selector is closed.");
+        }
+
+        String host = url.getHost();
+        int port = url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+        boolean secure = url.getProtocol().equalsIgnoreCase("https");
+        if (!secure && !url.getProtocol().equalsIgnoreCase("http")) {
+            throw new IOException("Long polls can't be sent to " + url.getProtocol() + " URLs.");
+        }
+
+        InetSocketAddress address;
+        ByteBuffer tunnelRequest = null;
+        if (proxy == null || proxy.type() == Proxy.Type.DIRECT) {
+            address = new InetSocketAddress(host, port);
+        } else if (proxy.type() == Proxy.Type.HTTP) {
+            InetSocketAddress proxyAddress = (InetSocketAddress) proxy.address();
+            address = new InetSocketAddress(proxyAddress.getHostName(), proxyAddress.getPort());
+            StringBuilder builder = new StringBuilder("CONNECT ").append(host).append(':').append(port)
+                .append(" HTTP/1.1\r\nHost: ").append(host).append(':').append(port).append("\r\n");
+            if (proxyAuthorization != null) {
+                builder.append("Proxy-Authorization: ").append(proxyAuthorization).append("\r\n");
+            }
+            tunnelRequest = ByteBuffer.wrap(bytesOf(builder.append("\r\n").toString()));
+        } else {
+            throw new IOException("Long polls can't be sent through a " + proxy.type() + " proxy.");
+        }
+        if (address.isUnresolved()) {
+            throw new UnknownHostException(address.getHostName());
+        }
+
+        String file = url.getFile().isEmpty() ? "/" : url.getFile();
+        boolean defaultPort = port == (secure ? HTTPS_PORT : HTTP_PORT);
+        StringBuilder builder = new StringBuilder("GET ").append(file).append(" HTTP/1.1\r\nHost: ").append(host);
+        if (!defaultPort) {
+            builder.append(':').append(port);
+        }
+        builder.append("\r\nConnection: close\r\n");
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            builder.append(header.getKey()).append(": ").append(header.getValue()).append("\r\n");
+        }
+        ByteBuffer request = ByteBuffer.wrap(bytesOf(builder.append("\r\n").toString()));
+
+        SSLEngine engine = secure ? this.createEngine(host, port) : null;
+        SocketChannel channel = SocketChannel.open();
+        try {
+            channel.configureBlocking(false);
+            channel.connect(address);
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw e;
+        }
+
+        LongPoll longPoll = new LongPoll(channel, engine, tunnelRequest, request,
+            System.currentTimeMillis() + timeout, callback);
+        this.pending.add(longPoll);
+        this.selector.wakeup();
+        if (this.closed) {
+            // The selector thread may have stopped before it could see the new long poll.
+            longPoll.close();
+        }
+        return longPoll;
+    }
+
+    /**
+     * Closes the selector and every long poll in flight, without running their callbacks.
+     */
+    void close() {
+        this.closed = true;
+        this.selector.wakeup();
+    }
+
+    private void select() {
+        try {
+            while (!this.closed) {
+                this.registerPending();
+                long now = System.currentTimeMillis();
+                if (now >= this.nextExpiration) {
+                    this.expire(now);
+                }
+                long timeout = this.nextExpiration == Long.MAX_VALUE ? 0 : Math.max(1, this.nextExpiration - now);
+                this.selector.select(timeout);
+                for (SelectionKey key : this.selector.selectedKeys()) {
+                    this.process((LongPoll) key.attachment());
+                }
+                this.selector.selectedKeys().clear();
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "The long poll selector failed.", e);
+            this.closed = true;
+        } finally {
+            for (SelectionKey key : this.selector.keys()) {
+                ((LongPoll) key.attachment()).close();
+            }
+            LongPoll longPoll;
+            while ((longPoll = this.pending.poll()) != null) {
+                longPoll.close();
+            }
+            try {
+                this.selector.close();
+            } catch (IOException e) {
+                // Ignore since there's nothing left to do with the selector.
+            }
+        }
+    }
+
+    private void registerPending() throws IOException {
+        LongPoll longPoll;
+        while ((longPoll = this.pending.poll()) != null) {
+            if (longPoll.cancelled) {
+                longPoll.close();
+            } else if (longPoll.key == null) {
+                longPoll.key = longPoll.channel.register(this.selector, SelectionKey.OP_CONNECT, longPoll);
+                this.nextExpiration = Math.min(this.nextExpiration, longPoll.deadline);
+                if (!longPoll.channel.isConnectionPending()) {
+                    this.process(longPoll);
+                }
+            }
+        }
+    }
+
+    private void expire(long now) {
+        this.nextExpiration = Long.MAX_VALUE;
+        for (SelectionKey key : this.selector.keys()) {
+            LongPoll longPoll = (LongPoll) key.attachment();
+            if (!key.isValid()) {
+                continue;
+            } else if (longPoll.deadline <= now) {
+                longPoll.close();
+                this.fail(longPoll, new SocketTimeoutException("The long poll timed out."));
+            } else {
+                this.nextExpiration = Math.min(this.nextExpiration, longPoll.deadline);
+            }
+        }
+    }
+
+    private void process(LongPoll longPoll) {
+        if (longPoll.cancelled) {
+            longPoll.close();
+            return;
+        }
+
+        final Callback callback = longPoll.callback;
+        try {
+            if (longPoll.step()) {
+                longPoll.close();
+                final int status = longPoll.response.getStatus();
+                final String body = longPoll.response.getBody();
+                this.run(new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onResponse(status, body);
+                    }
+                });
+            }
+        } catch (IOException e) {
+            longPoll.close();
+            this.fail(longPoll, e);
+        } catch (RuntimeException e) {
+            // An engine or a socket that misbehaves must not stop the thread waiting for every other long poll.
+            longPoll.close();
+            IOException exception = new IOException("The long poll failed.");
+            exception.initCause(e);
+            this.fail(longPoll, exception);
+        }
+    }
+
+    private void fail(LongPoll longPoll, final IOException e) {
+        final Callback callback = longPoll.callback;
+        this.run(new Runnable() {
+            @Override
+            public void run() {
+                callback.onFailure(e);
+            }
+        });
+    }
+
+    private void run(Runnable callback) {
+        try {
+            this.callbacks.execute(callback);
+        } catch (RejectedExecutionException e) {
+            // The executor was shut down, so nobody is waiting for the long poll anymore.
+        }
+    }
+
+    private SSLEngine createEngine(String host, int port) throws IOException {
+        SSLEngine engine = this.sslContext.createSSLEngine(host, port);
+        engine.setUseClientMode(true);
+
+        // Endpoint identification is only available through reflection when compiling against Java 6.
+        SSLParameters parameters = engine.getSSLParameters();
+        try {
+            Method method = SSLParameters.class.getMethod("setEndpointIdentificationAlgorithm", String.class);
+            method.invoke(parameters, "HTTPS");
+        } catch (NoSuchMethodException e) {
+            throw new IOException("HTTPS long polls require a JVM that supports hostname verification.");
+        } catch (IllegalAccessException e) {
+            throw new IOException("Couldn't enable hostname verification for an HTTPS long poll.");
+        } catch (InvocationTargetException e) {
+            throw new IOException("Couldn't enable hostname verification for an HTTPS long poll.");
+        }
+        engine.setSSLParameters(parameters);
+        engine.beginHandshake();
+        return engine;
+    }
+
+    private static byte[] bytesOf(String string) {
+        try {
+            return string.getBytes("UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException("UTF-8 encoding isn't supported.", e);
+        }
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern, int from, int to) {
+        int end = Math.min(to, data.length);
+        for (int i = from; i <= end - pattern.length; i++) {
+            int matched = 0;
+            while (matched < pattern.length && data[i + matched] == pattern[matched]) {
+                matched++;
+            }
+            if (matched == pattern.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Ignore since the long poll is over.
+        }
+    }
+
+    /**
+     * Receives the result of a long poll.
+     */
+    interface Callback {
+        /**
+         * Invoked when the server answered the long poll.
+         * @param status the HTTP status code of the response.
+         * @param body   the body of the response.
+         */
+        void onResponse(int status, String body);
+
+        /**
+         * Invoked when the long poll failed or timed out.
+         * @param e the error that ended the long poll.
+         */
+        void onFailure(IOException e);
+    }
+
+    /**
+     * A long poll in flight. Its socket is only used by the selector thread.
+     */
+    final class LongPoll {
+        private final SocketChannel channel;
+        private final SSLEngine engine;
+        private final ByteBuffer request;
+        private final long deadline;
+        private final Callback callback;
+        private final Response response;
+        private ByteBuffer tunnelRequest;
+        private ByteBuffer netIn;
+        private ByteBuffer netOut;
+        private ByteBuffer appIn;
+        private SelectionKey key;
+        private volatile boolean cancelled;
+
+        LongPoll(SocketChannel channel, SSLEngine engine, ByteBuffer tunnelRequest, ByteBuffer request, long deadline,
+            Callback callback) {
+
+            this.channel = channel;
+            this.engine = engine;
+            this.tunnelRequest = tunnelRequest;
+            this.request = request;
+            this.deadline = deadline;
+            this.callback = callback;
+            this.response = new Response();
+            if (engine == null) {
+                this.netIn = ByteBuffer.allocate(BUFFER_SIZE);
+            } else {
+                this.netIn = ByteBuffer.allocate(engine.getSession().getPacketBufferSize());
+                this.netOut = ByteBuffer.allocate(engine.getSession().getPacketBufferSize());
+                this.netOut.flip();
+                this.appIn = ByteBuffer.allocate(engine.getSession().getApplicationBufferSize());
+            }
+        }
+
+        /**
+         * Cancels the long poll, whose callback won't be run unless it already was.
+         */
+        void cancel() {
+            this.cancelled = true;
+            LongPollSelector.this.pending.add(this);
+            LongPollSelector.this.selector.wakeup();
+        }
+
+        /**
+         * Reads and writes as much of the long poll as the socket allows without blocking.
+         * @return             true if the whole response was read; otherwise false.
+         * @throws IOException if the long poll failed.
+         */
+        private boolean step() throws IOException {
+            if (this.channel.isConnectionPending() && !this.channel.finishConnect()) {
+                this.interest(SelectionKey.OP_CONNECT);
+                return false;
+            }
+
+            if (this.tunnelRequest != null) {
+                if (!this.tunnel()) {
+                    return false;
+                }
+                this.tunnelRequest = null;
+                this.netIn.clear();
+            }
+
+            return this.engine == null ? this.exchange() : this.exchangeSecurely();
+        }
+
+        private boolean tunnel() throws IOException {
+            if (this.tunnelRequest.hasRemaining()) {
+                this.channel.write(this.tunnelRequest);
+                if (this.tunnelRequest.hasRemaining()) {
+                    this.interest(SelectionKey.OP_WRITE);
+                    return false;
+                }
+            }
+
+            // The proxy answers the CONNECT request before the server sends anything through the tunnel.
+            Response tunnelResponse = this.response;
+            while (!tunnelResponse.hasHeaders()) {
+                this.netIn.clear();
+                int read = this.channel.read(this.netIn);
+                if (read < 0) {
+                    throw new IOException("The proxy closed the connection before opening a tunnel.");
+                } else if (read == 0) {
+                    this.interest(SelectionKey.OP_READ);
+                    return false;
+                }
+                this.netIn.flip();
+                tunnelResponse.append(this.netIn);
+            }
+
+            if (tunnelResponse.getStatus() != HTTP_OK) {
+                throw new IOException("The proxy refused to open a tunnel with the status "
+                    + tunnelResponse.getStatus() + ".");
+            }
+            tunnelResponse.reset();
+            return true;
+        }
+
+        private boolean exchange() throws IOException {
+            if (this.request.hasRemaining()) {
+                this.channel.write(this.request);
+                if (this.request.hasRemaining()) {
+                    this.interest(SelectionKey.OP_WRITE);
+                    return false;
+                }
+            }
+
+            while (true) {
+                this.netIn.clear();
+                int read = this.channel.read(this.netIn);
+                if (read < 0) {
+                    return this.response.end();
+                } else if (read == 0) {
+                    this.interest(SelectionKey.OP_READ);
+                    return false;
+                }
+                this.netIn.flip();
+                this.response.append(this.netIn);
+                if (this.response.isComplete()) {
+                    return true;
+                }
+            }
+        }
+
+        private boolean exchangeSecurely() throws IOException {
+            while (true) {
+                if (this.netOut.hasRemaining()) {
+                    this.channel.write(this.netOut);
+                    if (this.netOut.hasRemaining()) {
+                        this.interest(SelectionKey.OP_WRITE);
+                        return false;
+                    }
+                }
+
+                SSLEngineResult.HandshakeStatus handshake = this.engine.getHandshakeStatus();
+                if (handshake == SSLEngineResult.HandshakeStatus.NEED_TASK) {
+                    Runnable task;
+                    while ((task = this.engine.getDelegatedTask()) != null) {
+                        task.run();
+                    }
+                    continue;
+                }
+
+                if (handshake == SSLEngineResult.HandshakeStatus.NEED_WRAP
+                    || (handshake == SSLEngineResult.HandshakeStatus.NOT_HANDSHAKING && this.request.hasRemaining())) {
+                    this.netOut.clear();
+                    SSLEngineResult result = this.engine.wrap(this.request, this.netOut);
+                    this.netOut.flip();
+                    if (result.getStatus() != SSLEngineResult.Status.OK) {
+                        throw new SSLException("Couldn't encrypt the long poll: " + result.getStatus() + ".");
+                    }
+                    continue;
+                }
+
+                this.netIn.flip();
+                SSLEngineResult result = this.engine.unwrap(this.netIn, this.appIn);
+                this.netIn.compact();
+                this.appIn.flip();
+                this.response.append(this.appIn);
+                this.appIn.clear();
+                if (this.response.isComplete()) {
+                    return true;
+                }
+
+                SSLEngineResult.Status status = result.getStatus();
+                if (status == SSLEngineResult.Status.CLOSED) {
+                    return this.response.end();
+                } else if (status == SSLEngineResult.Status.BUFFER_OVERFLOW) {
+                    this.appIn = ByteBuffer.allocate(this.appIn.capacity()
+                        + this.engine.getSession().getApplicationBufferSize());
+                } else if (status == SSLEngineResult.Status.BUFFER_UNDERFLOW
+                    || (result.bytesConsumed() == 0 && result.bytesProduced() == 0)) {
+                    if (!this.netIn.hasRemaining()) {
+                        ByteBuffer larger = ByteBuffer.allocate(this.netIn.capacity()
+                            + this.engine.getSession().getPacketBufferSize());
+                        this.netIn.flip();
+                        larger.put(this.netIn);
+                        this.netIn = larger;
+                    }
+                    int read = this.channel.read(this.netIn);
+                    if (read < 0) {
+                        if (this.engine.getHandshakeStatus() != SSLEngineResult.HandshakeStatus.NOT_HANDSHAKING) {
+                            throw new SSLException("The server closed the connection during the TLS handshake.");
+                        }
+                        return this.response.end();
+                    } else if (read == 0) {
+                        this.interest(SelectionKey.OP_READ);
+                        return false;
+                    }
+                }
+            }
+        }
+
+        private void interest(int operation) {
+            this.key.interestOps(operation);
+        }
+
+        private void close() {
+            if (this.key != null) {
+                this.key.cancel();
+            }
+            closeQuietly(this.channel);
+        }
+    }
+
+    /**
+     * The response of a long poll, parsed as it is read.
+     */
+    private static final class Response {
+        private final ByteArrayOutputStream received;
+        private int headersLength;
+        private int status;
+        private int contentLength;
+        private boolean chunked;
+        private byte[] body;
+
+        Response() {
+            this.received = new ByteArrayOutputStream();
+            this.reset();
+        }
+
+        void reset() {
+            this.received.reset();
+            this.headersLength = -1;
+            this.contentLength = -1;
+            this.chunked = false;
+            this.body = null;
+        }
+
+        void append(ByteBuffer buffer) throws IOException {
+            if (this.received.size() + buffer.remaining() > MAX_RESPONSE_SIZE) {
+                throw new IOException("The long poll response is larger than " + MAX_RESPONSE_SIZE + " bytes.");
+            }
+            this.received.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            buffer.position(buffer.limit());
+            if (this.headersLength < 0) {
+                this.parseHeaders();
+            }
+        }
+
+        boolean hasHeaders() {
+            return this.headersLength >= 0;
+        }
+
+        int getStatus() {
+            return this.status;
+        }
+
+        String getBody() throws IOException {
+            return new String(this.body, "UTF-8");
+        }
+
+        /**
+         * Checks whether the response is complete, which for responses without a length is only known at the end of
+         * the stream.
+         * @return             true if the response is complete; otherwise false.
+         * @throws IOException if the response is malformed.
+         */
+        boolean isComplete() throws IOException {
+            if (this.headersLength < 0) {
+                return false;
+            }
+
+            byte[] data = this.received.toByteArray();
+            if (this.chunked) {
+                this.body = decodeChunks(data, this.headersLength);
+            } else if (this.contentLength >= 0 && data.length - this.headersLength >= this.contentLength) {
+                this.body = new byte[this.contentLength];
+                System.arraycopy(data, this.headersLength, this.body, 0, this.contentLength);
+            }
+            return this.body != null;
+        }
+
+        /**
+         * Completes the response when the server closed the connection.
+         * @return             true.
+         * @throws IOException if the connection was closed before the end of the response.
+         */
+        boolean end() throws IOException {
+            if (this.headersLength < 0 || this.chunked || this.contentLength >= 0) {
+                throw new IOException("The server closed the connection before the end of the long poll response.");
+            }
+
+            byte[] data = this.received.toByteArray();
+            this.body = new byte[data.length - this.headersLength];
+            System.arraycopy(data, this.headersLength, this.body, 0, this.body.length);
+            return true;
+        }
+
+        private void parseHeaders() throws IOException {
+            byte[] data = this.received.toByteArray();
+            int end = indexOf(data, HEADERS_END, 0, data.length);
+            if (end < 0) {
+                return;
+            }
+
+            String[] lines = new String(data, 0, end, "ISO-8859-1").split("\r\n");
+            String[] statusLine = lines[0].split(" ");
+            try {
+                this.status = Integer.parseInt(statusLine[1]);
+                for (int i = 1; i < lines.length; i++) {
+                    int colon = lines[i].indexOf(':');
+                    if (colon < 0) {
+                        continue;
+                    }
+                    String name = lines[i].substring(0, colon).trim();
+                    String value = lines[i].substring(colon + 1).trim();
+                    if (name.equalsIgnoreCase("Content-Length")) {
+                        this.contentLength = Integer.parseInt(value);
+                    } else if (name.equalsIgnoreCase("Transfer-Encoding")) {
+                        this.chunked = value.toLowerCase().contains("chunked");
+                    }
+                }
+            } catch (NumberFormatException e) {
+                throw new IOException("The long poll response is malformed.");
+            } catch (ArrayIndexOutOfBoundsException e) {
+                throw new IOException("The long poll response is malformed.");
+            }
+            this.headersLength = end + HEADERS_END.length;
+        }
+
+        private static byte[] decodeChunks(byte[] data, int offset) throws IOException {
+            ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+            int position = offset;
+            while (true) {
+                int lineEnd = indexOf(data, LINE_END, position, data.length);
+                if (lineEnd < 0) {
+                    return null;
+                }
+
+                String sizeLine = new String(data, position, lineEnd - position, "ISO-8859-1");
+                int extension = sizeLine.indexOf(';');
+                int size;
+                try {
+                    size = Integer.parseInt((extension < 0 ? sizeLine : sizeLine.substring(0, extension)).trim(), 16);
+                } catch (NumberFormatException e) {
+                    throw new IOException("The long poll response has a malformed chunk.");
+                }
+                position = lineEnd + LINE_END.length;
+
+                if (size == 0) {
+                    // The last chunk is followed by optional trailers and an empty line.
+                    boolean ended = indexOf(data, LINE_END, position, position + LINE_END.length) == position
+                        || indexOf(data, HEADERS_END, position - LINE_END.length, data.length) >= 0;
+                    return ended ? decoded.toByteArray() : null;
+                } else if (position + size + LINE_END.length > data.length) {
+                    return null;
+                }
+                decoded.write(data, position, size);
+                position += size + LINE_END.length;
+            }
+        }
+    }
+}
@@ -266,7 +266,7 @@ public class MetadataTemplate extends BoxJSONObject {
         request.setBody(jsonObject.toString());
 
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJSON = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJSON = response.getJsonObject();
 
         return new MetadataTemplate(responseJSON);
     }
@@ -332,7 +332,7 @@ public class MetadataTemplate extends BoxJSONObject {
         request.setBody(array.toString());
 
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject responseJson = JsonObject.readFrom(response.getJSON());
+        JsonObject responseJson = response.getJsonObject();
 
         return new MetadataTemplate(responseJson);
     }
@@ -349,7 +349,8 @@ public class MetadataTemplate extends BoxJSONObject {
         URL url = METADATA_TEMPLATE_URL_TEMPLATE.buildAlpha(api.getBaseURL(), scope, template);
         BoxJSONRequest request = new BoxJSONRequest(api, url, "DELETE");
 
-        request.send();
+        BoxAPIResponse response = request.send();
+        response.disconnect();
     }
 
     /**
@@ -698,7 +699,7 @@ public class MetadataTemplate extends BoxJSONObject {
                 api.getBaseURL(), builder.toString(), scope, templateName);
         BoxAPIRequest request = new BoxAPIRequest(api, url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        return new MetadataTemplate(response.getJSON());
+        return new MetadataTemplate(response.getJsonObject());
     }
 
     /**
@@ -712,7 +713,7 @@ public class MetadataTemplate extends BoxJSONObject {
         URL url = METADATA_TEMPLATE_BY_ID_URL_TEMPLATE.buildAlpha(api.getBaseURL(), templateID);
         BoxAPIRequest request = new BoxAPIRequest(api, url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        return new MetadataTemplate(response.getJSON());
+        return new MetadataTemplate(response.getJsonObject());
     }
 
     /**
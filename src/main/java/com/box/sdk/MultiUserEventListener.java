@@ -0,0 +1,32 @@
+package com.box.sdk;
+
+/**
+ * The listener interface for receiving the events of many users from a {@link MultiUserEventStream}.
+ *
+ * <p>The methods are called for one user at a time and in the order of the user's events, but may be called for
+ * different users from different threads at the same time.</p>
+ */
+public interface MultiUserEventListener {
+    /**
+     * Invoked when an event of a user is received from the API.
+     * @param key   the key with which the user was added to the stream.
+     * @param event the received event.
+     */
+    void onEvent(String key, BoxEvent event);
+
+    /**
+     * Invoked when the events of a user before an updated stream position have been received.
+     * @param key      the key with which the user was added to the stream.
+     * @param position the next position of the user's stream.
+     */
+    void onNextPosition(String key, long position);
+
+    /**
+     * Invoked when an error occurs while receiving the events of a user.
+     * @param  key the key with which the user was added to the stream.
+     * @param  e   the exception that was thrown while receiving events.
+     * @return     true to keep receiving the events of the user after a delay; false to remove the user from the
+     *             stream.
+     */
+    boolean onException(String key, Throwable e);
+}
@@ -0,0 +1,500 @@
+package com.box.sdk;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.Proxy;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.net.ssl.SSLContext;
+
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+
+/**
+ * Receives the events of many users on a small, fixed pool of threads and forwards them to a
+ * {@link MultiUserEventListener}.
+ *
+ * <p>Like an {@link EventStream}, a MultiUserEventStream long polls the realtime server of each user, which answers as
+ * soon as the user has new events, and then reads the new events from the API. An event stream waits for the answer on
+ * a thread of its own, so following thousands of users with event streams takes thousands of threads. A
+ * MultiUserEventStream instead sends the long polls of all its users on non-blocking sockets that are watched by a
+ * single thread, and only uses its pool of threads to find the realtime servers, read events and call the listener.</p>
+ *
+ * <p>The realtime server of a user is found once with an OPTIONS request and reused until the server asks to
+ * reconnect or the long polls it allows have been used. Reconnections are delayed by a random amount of time, so that
+ * the users of a realtime server that restarts don't all reconnect at once, and the delay grows while errors keep
+ * occurring.</p>
+ *
+ * <p>Users are added with the API connection used to read their events, such as an App User connection or a
+ * connection of the user. The events of a user are passed to the listener in order, and never at the same time as
+ * other events of the same user. Like an {@link EventStream}, the stream ignores duplicate events and can save the
+ * position of each user in an {@link EventPositionStore}.</p>
+ */
+public class MultiUserEventStream {
+
+    private static final int STREAM_POSITION_NOW = -1;
+    private static final int DEFAULT_THREADS = 4;
+    private static final int DEFAULT_DEDUPLICATION_WINDOW = 512;
+    private static final long DEFAULT_MIN_RECONNECT_DELAY = TimeUnit.SECONDS.toMillis(5);
+    private static final long DEFAULT_MAX_RECONNECT_DELAY = TimeUnit.SECONDS.toMillis(60);
+    private static final int HTTP_OK = 200;
+
+    private final MultiUserEventListener listener;
+    private final ConcurrentMap<String, UserStream> users;
+    private final Random random;
+    private final int threads;
+
+    private volatile long minReconnectDelay;
+    private volatile long maxReconnectDelay;
+    private volatile int deduplicationWindow;
+    private volatile EventPositionStore positionStore;
+    private ScheduledExecutorService scheduler;
+    private LongPollSelector longPolls;
+
+    /**
+     * Constructs a MultiUserEventStream reading the events of its users on a default number of threads.
+     * @param listener the listener receiving the events of every user.
+     */
+    public MultiUserEventStream(MultiUserEventListener listener) {
+        this(listener, DEFAULT_THREADS);
+    }
+
+    /**
+     * Constructs a MultiUserEventStream reading the events of its users on a number of threads. The long polls of all
+     * the users are watched by one more thread, whatever the number of users.
+     * @param listener the listener receiving the events of every user.
+     * @param threads  the number of threads finding realtime servers, reading events and calling the listener.
+     */
+    public MultiUserEventStream(MultiUserEventListener listener, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads must be at least 1.");
+        }
+
+        this.listener = listener;
+        this.threads = threads;
+        this.users = new ConcurrentHashMap<String, UserStream>();
+        this.random = new Random();
+        this.minReconnectDelay = DEFAULT_MIN_RECONNECT_DELAY;
+        this.maxReconnectDelay = DEFAULT_MAX_RECONNECT_DELAY;
+        this.deduplicationWindow = DEFAULT_DEDUPLICATION_WINDOW;
+    }
+
+    /**
+     * Sets the delays before a user reconnects to its realtime server. A user reconnects after the minimum delay when
+     * the stream starts, when the realtime server asks it to, and when the server announced new events that were
+     * already received. After an error, the delay doubles with each consecutive error, up to the maximum delay. Each
+     * delay is randomly shortened by up to half. The default delays are 5 and 60 seconds.
+     * @param minDelay the delay before a reconnection that doesn't follow an error.
+     * @param maxDelay the longest delay before a reconnection.
+     * @param unit     the time unit of the delays.
+     */
+    public void setReconnectDelay(long minDelay, long maxDelay, TimeUnit unit) {
+        if (minDelay <= 0 || maxDelay < minDelay) {
+            throw new IllegalArgumentException("The reconnect delays must be positive and the maximum delay can't be "
+                + "shorter than the minimum delay.");
+        }
+
+        this.minReconnectDelay = unit.toMillis(minDelay);
+        this.maxReconnectDelay = unit.toMillis(maxDelay);
+    }
+
+    /**
+     * Sets the number of most recently received event IDs that are remembered for each user to ignore duplicate
+     * events. It applies to the users added afterwards, and is 512 by default.
+     * @param size the number of event IDs remembered for each user.
+     */
+    public void setDeduplicationWindow(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("The deduplication window must hold at least 1 event.");
+        }
+
+        this.deduplicationWindow = size;
+    }
+
+    /**
+     * Sets a store in which the position of each user is saved under the user's key after each page of events has
+     * been passed to the listener. Users added without a starting position resume from their saved position if they
+     * have one.
+     * @param store the store in which positions are saved, or null to stop saving positions.
+     */
+    public void setPositionStore(EventPositionStore store) {
+        this.positionStore = store;
+    }
+
+    /**
+     * Adds a user whose events are received from now on, or from the position saved in the position store.
+     * @param key the key identifying the user in the listener and the position store.
+     * @param api the API connection used to read the events of the user.
+     */
+    public void addUser(String key, BoxAPIConnection api) {
+        this.addUser(key, api, STREAM_POSITION_NOW);
+    }
+
+    /**
+     * Adds a user whose events are received from a starting position.
+     * @param key              the key identifying the user in the listener and the position store.
+     * @param api              the API connection used to read the events of the user.
+     * @param startingPosition the starting position of the user's event stream.
+     */
+    public void addUser(String key, BoxAPIConnection api, long startingPosition) {
+        UserStream stream = new UserStream(key, api, startingPosition, this.deduplicationWindow);
+        synchronized (this) {
+            if (this.users.putIfAbsent(key, stream) != null) {
+                throw new IllegalArgumentException("A user with the key " + key + " was already added.");
+            }
+
+            if (this.scheduler != null) {
+                this.schedule(stream, 0, this.scheduler);
+            }
+        }
+    }
+
+    /**
+     * Removes a user, whose events stop being received once the events being read for the user, if any, have been
+     * passed to the listener.
+     * @param key the key with which the user was added.
+     */
+    public void removeUser(String key) {
+        UserStream stream = this.users.remove(key);
+        if (stream != null) {
+            stream.remove();
+        }
+    }
+
+    /**
+     * Gets the number of users whose events are received.
+     * @return the number of users.
+     */
+    public int getUserCount() {
+        return this.users.size();
+    }
+
+    /**
+     * Indicates whether or not this stream has been started.
+     * @return true if this stream has been started; otherwise false.
+     */
+    public synchronized boolean isStarted() {
+        return this.scheduler != null;
+    }
+
+    /**
+     * Starts receiving the events of the users. The users connect to their realtime servers after a random delay of up
+     * to the minimum reconnect delay.
+     * @throws IllegalStateException if the stream is already started.
+     */
+    public synchronized void start() {
+        if (this.scheduler != null) {
+            throw new IllegalStateException("Cannot start the MultiUserEventStream because it isn't stopped.");
+        }
+
+        ScheduledExecutorService newScheduler = new ScheduledThreadPoolExecutor(this.threads,
+            new BoxThreadFactory("multi-user-events"));
+        try {
+            this.longPolls = new LongPollSelector("multi-user-long-polls", newScheduler, SSLContext.getDefault());
+        } catch (IOException e) {
+            newScheduler.shutdown();
+            throw new BoxAPIException("Couldn't open the selector waiting for the long polls.", e);
+        } catch (NoSuchAlgorithmException e) {
+            newScheduler.shutdown();
+            throw new BoxAPIException("Couldn't get the SSL context of the long polls.", e);
+        }
+
+        this.scheduler = newScheduler;
+        for (UserStream stream : this.users.values()) {
+            this.schedule(stream, this.randomDelay(this.minReconnectDelay), this.scheduler);
+        }
+    }
+
+    /**
+     * Stops receiving the events of the users, closing their long polls and interrupting the events being read. The
+     * users stay added and their events are received again from their last position when the stream is started again.
+     * @throws IllegalStateException if the stream is already stopped.
+     */
+    public synchronized void stop() {
+        if (this.scheduler == null) {
+            throw new IllegalStateException("Cannot stop the MultiUserEventStream because it isn't started.");
+        }
+
+        this.scheduler.shutdownNow();
+        this.longPolls.close();
+        this.scheduler = null;
+        this.longPolls = null;
+    }
+
+    /**
+     * Schedules the next long poll of a user, unless the stream was stopped since the scheduler was started. Each step
+     * of a user keeps the scheduler it was scheduled on, so that a step that was in progress when the stream was
+     * stopped and started again doesn't schedule another long poll on the new scheduler, which already follows the
+     * user.
+     * @param stream    the user's stream.
+     * @param delay     the delay before the long poll in milliseconds.
+     * @param scheduler the scheduler on which the previous step of the user ran.
+     */
+    private synchronized void schedule(final UserStream stream, long delay, final ScheduledExecutorService scheduler) {
+        if (this.isCurrent(scheduler) && !stream.removed) {
+            scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    stream.connect(scheduler);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Gets the selector on which the long polls of a step are sent.
+     * @param  scheduler the scheduler on which the step runs.
+     * @return           the selector, or null if the stream was stopped since the scheduler was started.
+     */
+    private synchronized LongPollSelector getLongPolls(ScheduledExecutorService scheduler) {
+        return this.isCurrent(scheduler) ? this.longPolls : null;
+    }
+
+    private synchronized boolean isCurrent(ScheduledExecutorService scheduler) {
+        return scheduler != null && this.scheduler == scheduler;
+    }
+
+    /**
+     * Randomizes a delay between half of it and all of it.
+     * @param  delay the delay in milliseconds.
+     * @return       the randomized delay in milliseconds.
+     */
+    private long randomDelay(long delay) {
+        return delay / 2 + (long) (this.random.nextDouble() * (delay - delay / 2));
+    }
+
+    /**
+     * The events of one user. Each step of a user either schedules the next one or sends a long poll whose callback
+     * runs the next one, and steps are synchronized on the user's stream, so that the steps of a user never run at the
+     * same time, even while a step started before the stream was stopped is still in progress.
+     */
+    private class UserStream {
+        private final String key;
+        private final BoxAPIConnection api;
+        private final EventDeduplicationWindow receivedEvents;
+        private long position;
+        private boolean positionLoaded;
+        private RealtimeServerConnection server;
+        private int remainingRetries;
+        private int failures;
+        private volatile LongPollSelector.LongPoll longPoll;
+        private volatile boolean removed;
+
+        UserStream(String key, BoxAPIConnection api, long startingPosition, int deduplicationWindow) {
+            this.key = key;
+            this.api = api;
+            this.position = startingPosition;
+            this.positionLoaded = startingPosition != STREAM_POSITION_NOW;
+            this.receivedEvents = new EventDeduplicationWindow(deduplicationWindow);
+        }
+
+        /**
+         * Stops following the user and closes its long poll, if any.
+         */
+        void remove() {
+            this.removed = true;
+            LongPollSelector.LongPoll poll = this.longPoll;
+            if (poll != null) {
+                poll.cancel();
+            }
+        }
+
+        /**
+         * Finds the realtime server of the user if needed and sends a long poll to it.
+         * @param scheduler the scheduler on which the step was scheduled.
+         */
+        synchronized void connect(final ScheduledExecutorService scheduler) {
+            LongPollSelector selector = MultiUserEventStream.this.getLongPolls(scheduler);
+            if (this.removed || selector == null || Thread.currentThread().isInterrupted()) {
+                return;
+            }
+
+            try {
+                this.loadPosition();
+                if (this.server == null || this.remainingRetries < 1) {
+                    this.server = new RealtimeServerConnection(this.api);
+                    this.remainingRetries = this.server.getRemainingRetries();
+                }
+
+                URL url;
+                try {
+                    url = new URL(this.server.getServerURL() + "&stream_position=" + this.position);
+                } catch (MalformedURLException e) {
+                    throw new BoxAPIException("The long poll URL was malformed.", e);
+                }
+
+                Map<String, String> headers = new HashMap<String, String>();
+                headers.put("Authorization", "Bearer " + this.api.getAccessToken());
+                headers.put("User-Agent", this.api.getUserAgent());
+                String proxyAuthorization = null;
+                if (this.api.getProxyUsername() != null && this.api.getProxyPassword() != null) {
+                    String usernameAndPassword = this.api.getProxyUsername() + ":" + this.api.getProxyPassword();
+                    proxyAuthorization = "Basic " + Base64.encode(usernameAndPassword.getBytes());
+                }
+
+                this.remainingRetries--;
+                Proxy proxy = this.api.getProxy();
+                long timeout = TimeUnit.SECONDS.toMillis(this.server.getTimeout());
+                this.longPoll = selector.poll(url, headers, proxy, proxyAuthorization, timeout,
+                    new LongPollSelector.Callback() {
+                        @Override
+                        public void onResponse(int status, String body) {
+                            UserStream.this.onResponse(status, body, scheduler);
+                        }
+
+                        @Override
+                        public void onFailure(IOException e) {
+                            UserStream.this.onFailure(e, scheduler);
+                        }
+                    });
+                if (this.removed) {
+                    this.longPoll.cancel();
+                }
+            } catch (IOException e) {
+                this.server = null;
+                this.fail(e, scheduler);
+            } catch (RuntimeException e) {
+                this.fail(e, scheduler);
+            }
+        }
+
+        /**
+         * Handles the answer of the realtime server, reading the new events of the user if there are any.
+         * @param status    the HTTP status code of the answer.
+         * @param body      the body of the answer.
+         * @param scheduler the scheduler on which the long poll was sent.
+         */
+        synchronized void onResponse(int status, String body, ScheduledExecutorService scheduler) {
+            this.longPoll = null;
+            if (this.removed || !MultiUserEventStream.this.isCurrent(scheduler)) {
+                return;
+            }
+
+            MultiUserEventStream stream = MultiUserEventStream.this;
+            long delay = 0;
+            try {
+                if (status != HTTP_OK) {
+                    this.server = null;
+                    throw new BoxAPIException("The realtime server responded with an error.", status, body);
+                }
+
+                String message = JsonObject.readFrom(body).get("message").asString();
+                if (message.equals("new_change")) {
+                    if (!this.read()) {
+                        // The announced events were already received, so wait before asking the server again.
+                        delay = stream.randomDelay(stream.minReconnectDelay);
+                    }
+                } else if (message.equals("reconnect")) {
+                    this.server = null;
+                    delay = stream.randomDelay(stream.minReconnectDelay);
+                }
+                this.failures = 0;
+            } catch (RuntimeException e) {
+                this.fail(e, scheduler);
+                return;
+            }
+
+            stream.schedule(this, delay, scheduler);
+        }
+
+        /**
+         * Handles a long poll that failed. A long poll that timed out is sent again right away.
+         * @param e         the error that ended the long poll.
+         * @param scheduler the scheduler on which the long poll was sent.
+         */
+        synchronized void onFailure(IOException e, ScheduledExecutorService scheduler) {
+            this.longPoll = null;
+            if (e instanceof SocketTimeoutException) {
+                MultiUserEventStream.this.schedule(this, 0, scheduler);
+            } else {
+                this.server = null;
+                this.fail(e, scheduler);
+            }
+        }
+
+        /**
+         * Passes an error to the listener and schedules a reconnection after a delay that grows with each consecutive
+         * error, or removes the user if the listener asks to.
+         * @param e         the error.
+         * @param scheduler the scheduler on which the failed step ran.
+         */
+        private void fail(Exception e, ScheduledExecutorService scheduler) {
+            MultiUserEventStream stream = MultiUserEventStream.this;
+            if (this.removed || Thread.currentThread().isInterrupted() || !stream.isCurrent(scheduler)) {
+                return;
+            }
+            if (!stream.listener.onException(this.key, e)) {
+                stream.users.remove(this.key, this);
+                this.removed = true;
+                return;
+            }
+
+            long delay = stream.minReconnectDelay;
+            for (int i = 0; i < this.failures && delay < stream.maxReconnectDelay; i++) {
+                delay *= 2;
+            }
+            this.failures++;
+            stream.schedule(this, stream.randomDelay(Math.min(delay, stream.maxReconnectDelay)), scheduler);
+        }
+
+        /**
+         * Reads the next page of events of the user and passes its new events to the listener.
+         * @return true if the page had new events; otherwise false.
+         */
+        private boolean read() {
+            EventPositionStore store = MultiUserEventStream.this.positionStore;
+            BoxAPIRequest request = new BoxAPIRequest(this.api,
+                EventStream.EVENT_URL.buildAlpha(this.api.getBaseURL(), this.position), "GET");
+            BoxJSONResponse response = (BoxJSONResponse) request.send();
+            JsonObject jsonObject = response.getJsonObject();
+            JsonArray entries = jsonObject.get("entries").asArray();
+            boolean received = false;
+            for (JsonValue entry : entries) {
+                BoxEvent event = new BoxEvent(this.api, entry.asObject());
+                if (this.receivedEvents.add(event.getID()) && !this.removed) {
+                    MultiUserEventStream.this.listener.onEvent(this.key, event);
+                    received = true;
+                }
+            }
+
+            long nextPosition = jsonObject.get("next_stream_position").asLong();
+            if (nextPosition != this.position) {
+                this.position = nextPosition;
+                if (store != null) {
+                    store.put(this.key, nextPosition);
+                }
+                MultiUserEventStream.this.listener.onNextPosition(this.key, nextPosition);
+            }
+
+            return received;
+        }
+
+        private void loadPosition() {
+            if (this.positionLoaded) {
+                return;
+            }
+
+            EventPositionStore store = MultiUserEventStream.this.positionStore;
+            Long storedPosition = store == null ? null : store.get(this.key);
+            if (storedPosition != null) {
+                this.position = storedPosition;
+            } else {
+                BoxAPIRequest request = new BoxAPIRequest(this.api,
+                    EventStream.EVENT_URL.buildAlpha(this.api.getBaseURL(), "now"), "GET");
+                BoxJSONResponse response = (BoxJSONResponse) request.send();
+                this.position = response.getJsonObject().get("next_stream_position").asLong();
+            }
+            this.positionLoaded = true;
+        }
+    }
+}
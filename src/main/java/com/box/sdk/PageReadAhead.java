@@ -0,0 +1,71 @@
+package com.box.sdk;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import com.eclipsesource.json.JsonObject;
+
+/**
+ * Fetches pages of collections in the background for the iterators of paged collections, when read-ahead has been
+ * enabled with {@link BoxAPIConnection#setPageReadAhead(int)}.
+ *
+ * <p>Requests are created by the iterator's thread and only sent and parsed on the connection's asynchronous executor,
+ * so an error while fetching a page is only thrown once the iterator reaches that page. A page whose fetch hasn't
+ * started when the iterator reaches it is fetched on the iterator's thread instead, so that iterators used by tasks
+ * running on the asynchronous executor never wait for a fetch queued behind them. Fetches that start after their
+ * iterator was garbage collected aren't sent.</p>
+ */
+final class PageReadAhead {
+
+    private PageReadAhead() {
+    }
+
+    /**
+     * Sends a request for a page on the connection's asynchronous executor.
+     * @param  api      the API connection used to run the request.
+     * @param  request  the request for the page.
+     * @param  iterator the iterator that will read the page, which isn't kept from being garbage collected.
+     * @return          a task for the JSON body of the page, to be passed to {@link #get}.
+     */
+    static FutureTask<JsonObject> fetch(BoxAPIConnection api, final BoxAPIRequest request, Object iterator) {
+        final WeakReference<Object> iteratorReference = new WeakReference<Object>(iterator);
+        FutureTask<JsonObject> page = new FutureTask<JsonObject>(BoxRequestContext.propagate(
+            new Callable<JsonObject>() {
+                @Override
+                public JsonObject call() {
+                    if (iteratorReference.get() == null) {
+                        return null;
+                    }
+
+                    BoxJSONResponse response = (BoxJSONResponse) request.send();
+                    return response.getJsonObject();
+                }
+            }));
+        api.getAsyncExecutor().execute(page);
+        return page;
+    }
+
+    /**
+     * Gets a page that is being fetched in the background, fetching it on the current thread if its fetch hasn't
+     * started yet.
+     * @param  page the task fetching the page.
+     * @return      the JSON body of the page.
+     */
+    static JsonObject get(FutureTask<JsonObject> page) {
+        // Running a task that has already started or completed does nothing.
+        page.run();
+        try {
+            return page.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new BoxAPIException("Couldn't fetch the next page.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BoxAPIException("Interrupted while waiting for the next page.", e);
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.box.sdk;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Utility class for downloading files by fetching several ranges of the file at the same time.
+ *
+ * <p>The file is split into one segment per parallel connection, and each segment is requested with a Range header
+ * and written directly at its offset in a {@link FileChannel}, so segments don't need to be buffered in memory or
+ * reassembled. A segment that fails because of a network error is retried on its own, starting at the first byte
+ * that wasn't written yet. Once every segment has been written, the SHA-1 digest of the downloaded file can be
+ * verified against the one Box has for the file. A ParallelFileDownload can be reused for several downloads, including
+ * concurrent ones.</p>
+ */
+public final class ParallelFileDownload {
+
+    private static final String DIGEST_ALGORITHM_SHA1 = "SHA1";
+    private static final int BUFFER_SIZE = 65536;
+    private static final int MAX_SEGMENT_ATTEMPTS = 3;
+    private static final int DEFAULT_CONNECTIONS = 3;
+    private static final int DEFAULT_TIMEOUT = 1;
+    private static final TimeUnit DEFAULT_TIMEUNIT = TimeUnit.HOURS;
+
+    private static ExecutorService defaultExecutor;
+
+    private final ExecutorService executorService;
+    private final long timeout;
+    private final TimeUnit timeUnit;
+    private final int connections;
+
+    /**
+     * Creates a ParallelFileDownload object that downloads segments on a given executor. The executor can be shared
+     * with other downloads and isn't shut down by the SDK.
+     * @param executorService executor used to download the segments
+     * @param nParallelConnections number of segments of a single download being downloaded at the same time
+     * @param timeOut time to wait before killing the job
+     * @param unit time unit for the time wait value
+     */
+    public ParallelFileDownload(ExecutorService executorService, int nParallelConnections, long timeOut,
+                                TimeUnit unit) {
+        if (nParallelConnections < 1) {
+            throw new IllegalArgumentException("The number of parallel connections must be at least 1.");
+        }
+
+        this.executorService = executorService;
+        this.connections = nParallelConnections;
+        this.timeout = timeOut;
+        this.timeUnit = unit;
+    }
+
+    /**
+     * Creates a ParallelFileDownload object.
+     * @param nParallelConnections number of segments of a single download being downloaded at the same time
+     * @param timeOut time to wait before killing the job
+     * @param unit time unit for the time wait value
+     */
+    public ParallelFileDownload(int nParallelConnections, long timeOut, TimeUnit unit) {
+        this(getDefaultExecutor(), nParallelConnections, timeOut, unit);
+    }
+
+    /**
+     * Creates a ParallelFileDownload object with a default number of parallel conections and timeout.
+     */
+    public ParallelFileDownload() {
+        this(DEFAULT_CONNECTIONS, DEFAULT_TIMEOUT, DEFAULT_TIMEUNIT);
+    }
+
+    /**
+     * Gets the executor shared by the downloads that weren't given their own executor. Its threads are created as
+     * segments are submitted and exit after being idle for a minute.
+     * @return the shared executor.
+     */
+    private static synchronized ExecutorService getDefaultExecutor() {
+        if (defaultExecutor == null) {
+            defaultExecutor = Executors.newCachedThreadPool(new BoxThreadFactory("download"));
+        }
+
+        return defaultExecutor;
+    }
+
+    /**
+     * Downloads a file into a local file, which is created or replaced.
+     * @param file the file to download.
+     * @param target the local file into which the file is downloaded.
+     * @param verifySha1 whether to verify the SHA-1 digest of the downloaded file.
+     * @throws InterruptedException when a thread execution is interrupted.
+     * @throws IOException when writing the local file throws exception.
+     */
+    public void download(BoxFile file, File target, boolean verifySha1) throws InterruptedException, IOException {
+        RandomAccessFile output = new RandomAccessFile(target, "rw");
+        try {
+            this.download(file, output.getChannel(), verifySha1);
+        } finally {
+            output.close();
+        }
+    }
+
+    /**
+     * Downloads a file into a file channel, starting at the beginning of the channel. The channel is truncated to the
+     * size of the file and isn't closed.
+     * @param file the file to download.
+     * @param channel the channel into which the file is downloaded. It must be open for reading when verifying the
+     *                SHA-1 digest of the downloaded file.
+     * @param verifySha1 whether to verify the SHA-1 digest of the downloaded file.
+     * @throws InterruptedException when a thread execution is interrupted.
+     * @throws IOException when writing to the channel throws exception.
+     */
+    public void download(BoxFile file, FileChannel channel, boolean verifySha1)
+        throws InterruptedException, IOException {
+
+        BoxFile.Info info = file.getInfo("size", "sha1");
+        long fileSize = info.getSize();
+        if (channel.size() > fileSize) {
+            channel.truncate(fileSize);
+        }
+
+        this.downloadSegments(file, channel, fileSize);
+
+        if (verifySha1 && info.getSha1() != null) {
+            String sha1 = computeSHA1(channel, fileSize);
+            if (!sha1.equalsIgnoreCase(info.getSha1())) {
+                throw new BoxAPIException("The SHA-1 digest of the downloaded file " + sha1
+                    + " doesn't match the digest of the file " + info.getSha1() + ".");
+            }
+        }
+    }
+
+    private void downloadSegments(BoxFile file, FileChannel channel, long fileSize) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.MILLISECONDS.convert(this.timeout, this.timeUnit);
+        if (deadline < 0) {
+            deadline = Long.MAX_VALUE;
+        }
+
+        //There can't be more segments than bytes in the file.
+        long segmentCount = Math.max(1, Math.min(this.connections, fileSize));
+        long segmentSize = (fileSize + segmentCount - 1) / segmentCount;
+
+        List<SegmentDownload> segments = new ArrayList<SegmentDownload>();
+        List<Future<Void>> futures = new ArrayList<Future<Void>>();
+        try {
+            for (long start = 0; start < fileSize; start += segmentSize) {
+                long end = Math.min(start + segmentSize, fileSize) - 1;
+                SegmentDownload segment = new SegmentDownload(file, channel, start, end, fileSize);
+                segments.add(segment);
+                futures.add(this.executorService.submit(BoxRequestContext.propagate(segment)));
+            }
+
+            for (Future<Void> future : futures) {
+                future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof BoxAPIException) {
+                throw (BoxAPIException) e.getCause();
+            }
+            throw new BoxAPIException("Download segment failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new BoxAPIException("Download segments timedout", e);
+        } finally {
+            //Running segments aren't interrupted, because interrupting a thread writing to a channel closes it. They
+            //are stopped by closing their connections instead, and waited for so that they don't write to the channel
+            //once the download has returned.
+            for (int i = 0; i < segments.size(); i++) {
+                segments.get(i).cancel();
+                futures.get(i).cancel(false);
+            }
+            for (SegmentDownload segment : segments) {
+                segment.awaitStopped();
+            }
+        }
+    }
+
+    private static String computeSHA1(FileChannel channel, long fileSize) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(DIGEST_ALGORITHM_SHA1);
+        } catch (NoSuchAlgorithmException ae) {
+            throw new BoxAPIException("Digest algorithm not found", ae);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long position = 0;
+        while (position < fileSize) {
+            int n = channel.read(buffer, position);
+            if (n == -1) {
+                break;
+            }
+            buffer.flip();
+            digest.update(buffer);
+            buffer.clear();
+            position += n;
+        }
+
+        return String.format("%040x", new BigInteger(1, digest.digest()));
+    }
+
+    /**
+     * Downloads one segment of a file into its place in a file channel.
+     */
+    private static final class SegmentDownload implements Callable<Void> {
+        private final BoxFile file;
+        private final FileChannel channel;
+        private final long end;
+        private final long fileSize;
+        private long position;
+        private boolean running;
+        private boolean cancelled;
+        private BoxAPIResponse response;
+
+        SegmentDownload(BoxFile file, FileChannel channel, long start, long end, long fileSize) {
+            this.file = file;
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+            this.fileSize = fileSize;
+        }
+
+        @Override
+        public Void call() {
+            synchronized (this) {
+                if (this.cancelled) {
+                    return null;
+                }
+                this.running = true;
+            }
+
+            try {
+                byte[] buffer = new byte[this.file.getAPI().getDownloadBufferSize()];
+                int attempt = 1;
+                while (true) {
+                    try {
+                        this.downloadRemainingBytes(buffer);
+                        return null;
+                    } catch (BoxAPIException e) {
+                        //Only network errors are retried, other errors have already been retried by the request.
+                        if (attempt >= MAX_SEGMENT_ATTEMPTS || !(e.getCause() instanceof IOException)
+                            || this.isCancelled()) {
+                            throw e;
+                        }
+                        attempt++;
+                    }
+                }
+            } finally {
+                synchronized (this) {
+                    this.running = false;
+                    this.notifyAll();
+                }
+            }
+        }
+
+        /**
+         * Stops this segment, closing the connection from which it is being read.
+         */
+        void cancel() {
+            BoxAPIResponse current;
+            synchronized (this) {
+                this.cancelled = true;
+                current = this.response;
+            }
+            if (current != null) {
+                current.abort();
+            }
+        }
+
+        /**
+         * Waits until this segment isn't running anymore. An interruption doesn't stop the wait, because the segment
+         * could still write to the channel, and is restored once the segment has stopped.
+         */
+        void awaitStopped() {
+            boolean interrupted = false;
+            synchronized (this) {
+                while (this.running) {
+                    try {
+                        this.wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private synchronized boolean isCancelled() {
+            return this.cancelled;
+        }
+
+        private synchronized boolean setResponse(BoxAPIResponse current) {
+            this.response = current;
+            return !this.cancelled;
+        }
+
+        private void downloadRemainingBytes(byte[] buffer) {
+            boolean wholeFile = this.position == 0 && this.end == this.fileSize - 1;
+            BoxAPIResponse response = this.file.requestRange(this.position, this.end);
+            boolean complete = false;
+            try {
+                if (!this.setResponse(response)) {
+                    throw new BoxAPIException("The download of the segment was cancelled.");
+                }
+                if (response.getResponseCode() != HttpURLConnection.HTTP_PARTIAL && !wholeFile) {
+                    throw new BoxAPIException("The Box API didn't return the requested range of the file.",
+                        response.getResponseCode(), null);
+                }
+
+                InputStream input = response.getBody();
+                while (this.position <= this.end) {
+                    int length = (int) Math.min(buffer.length, this.end - this.position + 1);
+                    int n = input.read(buffer, 0, length);
+                    if (n == -1) {
+                        throw new IOException("The connection was closed before the whole range was received.");
+                    }
+
+                    if (this.isCancelled()) {
+                        throw new BoxAPIException("The download of the segment was cancelled.");
+                    }
+
+                    ByteBuffer data = ByteBuffer.wrap(buffer, 0, n);
+                    while (data.hasRemaining()) {
+                        this.position += this.channel.write(data, this.position);
+                    }
+                }
+                complete = true;
+            } catch (IOException e) {
+                throw new BoxAPIException("Couldn't connect to the Box API due to a network error.", e);
+            } finally {
+                this.setResponse(null);
+                //A body that failed to be read is abandoned rather than drained, so its error is the one reported.
+                if (complete) {
+                    response.disconnect();
+                } else {
+                    response.abort();
+                }
+            }
+        }
+    }
+}
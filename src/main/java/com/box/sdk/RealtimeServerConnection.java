@@ -20,7 +20,7 @@ class RealtimeServerConnection {
     RealtimeServerConnection(BoxAPIConnection api) {
         BoxAPIRequest request = new BoxAPIRequest(api, EVENT_URL.build(api.getBaseURL()), "OPTIONS");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject jsonObject = JsonObject.readFrom(response.getJSON());
+        JsonObject jsonObject = response.getJsonObject();
         JsonArray entries = jsonObject.get("entries").asArray();
         JsonObject firstEntry = entries.get(0).asObject();
         this.serverURLString = firstEntry.get("url").asString();
@@ -29,6 +29,14 @@ class RealtimeServerConnection {
         this.api = api;
     }
 
+    String getServerURL() {
+        return this.serverURLString;
+    }
+
+    int getTimeout() {
+        return this.timeout;
+    }
+
     int getRemainingRetries() {
         return this.retries;
     }
@@ -53,7 +61,7 @@ class RealtimeServerConnection {
                 request.setConnectTimeout(this.timeout * 1000);
                 request.setReadTimeout(this.timeout * 1000);
                 this.response = (BoxJSONResponse) request.send();
-                JsonObject jsonObject = JsonObject.readFrom(this.response.getJSON());
+                JsonObject jsonObject = this.response.getJsonObject();
                 String message = jsonObject.get("message").asString();
                 if (message.equals("new_change")) {
                     return true;
@@ -0,0 +1,191 @@
+package com.box.sdk;
+
+import java.net.URL;
+
+/**
+ * The metrics of one attempt to send a request to the Box API, passed to a {@link RequestMetricsListener}.
+ *
+ * <p>An attempt includes the redirects followed to get its response. Its latency is measured from the time the request
+ * starts being sent, after waiting for the connection's rate limiter, until its response is returned. JSON responses
+ * are read before they are returned, but the body of other responses, such as downloads, is read afterwards and isn't
+ * part of the latency.</p>
+ */
+public final class RequestMetrics {
+
+    private final String method;
+    private final URL url;
+    private final String endpoint;
+    private final int statusCode;
+    private final int attempt;
+    private final long backoffMillis;
+    private final long bytesSent;
+    private final long bytesReceived;
+    private final long timeToFirstByteNanos;
+    private final long latencyNanos;
+    private final BoxAPIException exception;
+
+    RequestMetrics(String method, URL url, int statusCode, int attempt, long backoffMillis, long bytesSent,
+        long bytesReceived, long timeToFirstByteNanos, long latencyNanos, BoxAPIException exception) {
+
+        this.method = method;
+        this.url = url;
+        this.endpoint = getEndpointTemplate(url);
+        this.statusCode = statusCode;
+        this.attempt = attempt;
+        this.backoffMillis = backoffMillis;
+        this.bytesSent = bytesSent;
+        this.bytesReceived = bytesReceived;
+        this.timeToFirstByteNanos = timeToFirstByteNanos;
+        this.latencyNanos = latencyNanos;
+        this.exception = exception;
+    }
+
+    /**
+     * Gets the HTTP method of the request.
+     * @return the HTTP method of the request.
+     */
+    public String getMethod() {
+        return this.method;
+    }
+
+    /**
+     * Gets the URL to which the request was sent, before any redirect.
+     * @return the URL of the request.
+     */
+    public URL getURL() {
+        return this.url;
+    }
+
+    /**
+     * Gets the path of the request with the IDs it contains replaced with "{id}", such as "/2.0/files/{id}/content",
+     * which identifies the endpoint of the API that was called.
+     * @return the endpoint template of the request.
+     */
+    public String getEndpoint() {
+        return this.endpoint;
+    }
+
+    /**
+     * Gets the status code of the response.
+     * @return the status code of the response, or 0 if no response was received because of a network error.
+     */
+    public int getStatusCode() {
+        return this.statusCode;
+    }
+
+    /**
+     * Gets the number of this attempt among the attempts to send the request, starting at 1.
+     * @return the attempt number.
+     */
+    public int getAttempt() {
+        return this.attempt;
+    }
+
+    /**
+     * Gets the time waited after the previous attempt failed and before this attempt was sent.
+     * @return the backoff time in milliseconds, or 0 for the first attempt.
+     */
+    public long getBackoffMillis() {
+        return this.backoffMillis;
+    }
+
+    /**
+     * Gets the number of bytes of request body sent, not including the headers.
+     * @return the number of body bytes sent.
+     */
+    public long getBytesSent() {
+        return this.bytesSent;
+    }
+
+    /**
+     * Gets the length of the response body as sent by the API, which is compressed when the response is compressed.
+     * @return the Content-Length of the response, or -1 if it is unknown.
+     */
+    public long getBytesReceived() {
+        return this.bytesReceived;
+    }
+
+    /**
+     * Gets the time from the start of the request until the status of its response was received.
+     * @return the time to first byte in nanoseconds, or -1 if no response was received.
+     */
+    public long getTimeToFirstByteNanos() {
+        return this.timeToFirstByteNanos;
+    }
+
+    /**
+     * Gets the time from the start of the request until its response was returned or its error thrown.
+     * @return the latency in nanoseconds.
+     */
+    public long getLatencyNanos() {
+        return this.latencyNanos;
+    }
+
+    /**
+     * Indicates whether the request succeeded.
+     * @return true if a successful response was returned; otherwise false.
+     */
+    public boolean isSuccess() {
+        return this.exception == null;
+    }
+
+    /**
+     * Gets the error of the attempt.
+     * @return the exception thrown by the attempt, or null if it succeeded.
+     */
+    public BoxAPIException getException() {
+        return this.exception;
+    }
+
+    @Override
+    public String toString() {
+        return this.method + " " + this.endpoint + " status=" + this.statusCode + " attempt=" + this.attempt
+            + " latency=" + (this.latencyNanos / 1000000) + "ms";
+    }
+
+    /**
+     * Gets the endpoint template of a URL by replacing the segments of its path that contain digits, other than API
+     * versions such as "2.0", with "{id}".
+     * @param  url the URL of a request.
+     * @return     the endpoint template of the URL.
+     */
+    static String getEndpointTemplate(URL url) {
+        String path = url.getPath();
+        StringBuilder endpoint = new StringBuilder(path.length());
+        int start = 0;
+        while (start < path.length()) {
+            int end = path.indexOf('/', start);
+            if (end == -1) {
+                end = path.length();
+            }
+
+            String segment = path.substring(start, end);
+            if (isID(segment)) {
+                endpoint.append("{id}");
+            } else {
+                endpoint.append(segment);
+            }
+            if (end < path.length()) {
+                endpoint.append('/');
+            }
+            start = end + 1;
+        }
+
+        return endpoint.toString();
+    }
+
+    private static boolean isID(String segment) {
+        boolean hasDigit = false;
+        boolean isVersion = true;
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (Character.isDigit(c)) {
+                hasDigit = true;
+            } else if (c != '.') {
+                isVersion = false;
+            }
+        }
+
+        return hasDigit && !(isVersion && segment.indexOf('.') > 0);
+    }
+}
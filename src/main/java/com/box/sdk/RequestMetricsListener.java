@@ -0,0 +1,19 @@
+package com.box.sdk;
+
+/**
+ * The listener interface for receiving the metrics of the requests sent through a connection.
+ *
+ * <p>A listener is set with {@link BoxAPIConnection#setRequestMetricsListener(RequestMetricsListener)} and is notified
+ * once for every attempt to send a request to the API, including the attempts that fail and are retried. It is called
+ * on the thread that sent the request, after the response was received and before it is returned, so it must be
+ * thread-safe and return quickly. Exceptions thrown by the listener are logged and don't fail the request.</p>
+ *
+ * <p>{@link RequestMetricsRecorder} is a listener that aggregates the metrics of each endpoint in histograms.</p>
+ */
+public interface RequestMetricsListener {
+    /**
+     * Invoked when an attempt to send a request has completed, with a response or with an error.
+     * @param metrics the metrics of the attempt.
+     */
+    void onRequestCompleted(RequestMetrics metrics);
+}
@@ -0,0 +1,186 @@
+package com.box.sdk;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aggregates the metrics of the requests sent through one or more connections by endpoint, with histograms of their
+ * latencies, so that the calls that are slowest at high percentiles can be found.
+ *
+ * <p>Requests are grouped by HTTP method and endpoint template, such as "GET /2.0/folders/{id}/items". Every attempt to
+ * send a request is recorded, including the ones that fail and are retried. Recording an attempt doesn't lock, so a
+ * recorder can be shared by connections used from many threads.</p>
+ *
+ * <pre>RequestMetricsRecorder recorder = new RequestMetricsRecorder();
+ *api.setRequestMetricsListener(recorder);
+ *
+ *for (RequestMetricsRecorder.Endpoint endpoint : recorder.getEndpoints()) {
+ *    long p99 = endpoint.getLatencies().getValueAtPercentile(99);
+ *}</pre>
+ */
+public class RequestMetricsRecorder implements RequestMetricsListener {
+
+    private final ConcurrentMap<String, Endpoint> endpoints;
+
+    /**
+     * Creates a recorder without any recorded request.
+     */
+    public RequestMetricsRecorder() {
+        this.endpoints = new ConcurrentHashMap<String, Endpoint>();
+    }
+
+    @Override
+    public void onRequestCompleted(RequestMetrics metrics) {
+        String name = metrics.getMethod() + " " + metrics.getEndpoint();
+        Endpoint endpoint = this.endpoints.get(name);
+        if (endpoint == null) {
+            Endpoint newEndpoint = new Endpoint(name);
+            endpoint = this.endpoints.putIfAbsent(name, newEndpoint);
+            if (endpoint == null) {
+                endpoint = newEndpoint;
+            }
+        }
+
+        endpoint.record(metrics);
+    }
+
+    /**
+     * Gets the metrics of every endpoint to which requests were sent.
+     * @return the metrics of the endpoints.
+     */
+    public Collection<Endpoint> getEndpoints() {
+        return new ArrayList<Endpoint>(this.endpoints.values());
+    }
+
+    /**
+     * Gets the metrics of an endpoint.
+     * @param  method   the HTTP method of the requests.
+     * @param  endpoint the endpoint template of the requests, such as "/2.0/files/{id}".
+     * @return          the metrics of the endpoint, or null if no request was sent to it.
+     */
+    public Endpoint getEndpoint(String method, String endpoint) {
+        return this.endpoints.get(method + " " + endpoint);
+    }
+
+    /**
+     * Forgets the metrics of every endpoint.
+     */
+    public void reset() {
+        this.endpoints.clear();
+    }
+
+    /**
+     * The metrics of the requests sent to one endpoint with one HTTP method.
+     */
+    public static final class Endpoint {
+        private final String name;
+        private final LatencyHistogram latencies;
+        private final LatencyHistogram timesToFirstByte;
+        private final AtomicLong errorCount;
+        private final AtomicLong retryCount;
+        private final AtomicLong bytesSent;
+        private final AtomicLong bytesReceived;
+
+        private Endpoint(String name) {
+            this.name = name;
+            this.latencies = new LatencyHistogram();
+            this.timesToFirstByte = new LatencyHistogram();
+            this.errorCount = new AtomicLong();
+            this.retryCount = new AtomicLong();
+            this.bytesSent = new AtomicLong();
+            this.bytesReceived = new AtomicLong();
+        }
+
+        /**
+         * Gets the HTTP method and endpoint template of the requests, such as "GET /2.0/folders/{id}".
+         * @return the name of the endpoint.
+         */
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * Gets the number of attempts to send a request to the endpoint.
+         * @return the number of requests.
+         */
+        public long getRequestCount() {
+            return this.latencies.getCount();
+        }
+
+        /**
+         * Gets the number of attempts that failed with an error status or a network error.
+         * @return the number of errors.
+         */
+        public long getErrorCount() {
+            return this.errorCount.get();
+        }
+
+        /**
+         * Gets the number of attempts that were retries of a failed attempt.
+         * @return the number of retries.
+         */
+        public long getRetryCount() {
+            return this.retryCount.get();
+        }
+
+        /**
+         * Gets the total number of request body bytes sent to the endpoint.
+         * @return the number of bytes sent.
+         */
+        public long getBytesSent() {
+            return this.bytesSent.get();
+        }
+
+        /**
+         * Gets the total length of the response bodies of known length received from the endpoint.
+         * @return the number of bytes received.
+         */
+        public long getBytesReceived() {
+            return this.bytesReceived.get();
+        }
+
+        /**
+         * Gets the histogram of the latencies of the requests, in microseconds.
+         * @return the latency histogram.
+         */
+        public LatencyHistogram getLatencies() {
+            return this.latencies;
+        }
+
+        /**
+         * Gets the histogram of the times to first byte of the requests that received a response, in microseconds.
+         * @return the time to first byte histogram.
+         */
+        public LatencyHistogram getTimesToFirstByte() {
+            return this.timesToFirstByte;
+        }
+
+        @Override
+        public String toString() {
+            return this.name + " count=" + this.getRequestCount() + " errors=" + this.getErrorCount()
+                + " p50=" + this.latencies.getValueAtPercentile(50) + "us"
+                + " p99=" + this.latencies.getValueAtPercentile(99) + "us"
+                + " max=" + this.latencies.getMax() + "us";
+        }
+
+        private void record(RequestMetrics metrics) {
+            this.latencies.record(metrics.getLatencyNanos() / 1000);
+            if (metrics.getTimeToFirstByteNanos() >= 0) {
+                this.timesToFirstByte.record(metrics.getTimeToFirstByteNanos() / 1000);
+            }
+            if (!metrics.isSuccess()) {
+                this.errorCount.incrementAndGet();
+            }
+            if (metrics.getAttempt() > 1) {
+                this.retryCount.incrementAndGet();
+            }
+            this.bytesSent.addAndGet(metrics.getBytesSent());
+            if (metrics.getBytesReceived() > 0) {
+                this.bytesReceived.addAndGet(metrics.getBytesReceived());
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.box.sdk;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paces the requests sent through the API connections that share it, so that they slow down together when the Box
+ * API starts rate limiting them.
+ *
+ * <p>Requests are limited to a number of requests per second by a token bucket holding up to one second of requests,
+ * and to a number of requests waiting for their response at the same time. The rate adapts to rate limiting:</p>
+ *
+ * <ul>
+ *     <li>When a request is rejected with a 429 status, the rate is halved and no request is sent until the delay
+ *     given by the Retry-After header has passed. Requests that were sent before the rate was lowered don't lower it
+ *     again, so many requests throttled at once only halve the rate once.</li>
+ *     <li>Every successful request raises the rate, by about one request per second for each second of successful
+ *     requests, until the maximum rate is reached again.</li>
+ * </ul>
+ *
+ * <p>A rate limiter is set on a connection with {@link BoxAPIConnection#setRequestRateLimiter(RequestRateLimiter)}
+ * and can be shared by several connections that use the same rate limits, such as connections for several users of
+ * one application.</p>
+ */
+public class RequestRateLimiter {
+
+    private static final double DECREASE_FACTOR = 0.5;
+    private static final double INCREASE_PER_SECOND = 1.0;
+    private static final double MIN_REQUESTS_PER_SECOND = 1.0;
+    private static final long DEFAULT_RETRY_AFTER_MILLIS = 1000;
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double maxRequestsPerSecond;
+    private final double minRequestsPerSecond;
+    private final int maxConcurrentRequests;
+    private final Semaphore concurrentRequests;
+
+    private double requestsPerSecond;
+    private long theoreticalArrivalTime;
+    private long pausedUntil;
+    private long lastDecrease;
+
+    /**
+     * Creates a rate limiter.
+     * @param maxRequestsPerSecond  the maximum number of requests sent per second.
+     * @param maxConcurrentRequests the maximum number of requests waiting for their response at the same time.
+     */
+    public RequestRateLimiter(double maxRequestsPerSecond, int maxConcurrentRequests) {
+        if (maxRequestsPerSecond <= 0) {
+            throw new IllegalArgumentException("The number of requests per second must be positive.");
+        }
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("The number of concurrent requests must be at least 1.");
+        }
+
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+        this.minRequestsPerSecond = Math.min(MIN_REQUESTS_PER_SECOND, maxRequestsPerSecond);
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.concurrentRequests = new Semaphore(maxConcurrentRequests, true);
+        this.requestsPerSecond = maxRequestsPerSecond;
+
+        long now = System.nanoTime();
+        this.theoreticalArrivalTime = now;
+        this.pausedUntil = now;
+        this.lastDecrease = now;
+    }
+
+    /**
+     * Gets the maximum number of requests sent per second.
+     * @return the maximum number of requests sent per second.
+     */
+    public double getMaxRequestsPerSecond() {
+        return this.maxRequestsPerSecond;
+    }
+
+    /**
+     * Gets the maximum number of requests waiting for their response at the same time.
+     * @return the maximum number of concurrent requests.
+     */
+    public int getMaxConcurrentRequests() {
+        return this.maxConcurrentRequests;
+    }
+
+    /**
+     * Gets the number of requests currently allowed per second, which is lowered when requests are rate limited.
+     * @return the current number of requests allowed per second.
+     */
+    public synchronized double getRequestsPerSecond() {
+        return this.requestsPerSecond;
+    }
+
+    /**
+     * Waits until a request can be sent. Every call must be followed by a call to {@link #release}.
+     * @return the time at which the request is sent, to be passed to {@link #release}.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    long acquire() throws InterruptedException {
+        this.concurrentRequests.acquire();
+        try {
+            long delay = this.reserve(System.nanoTime());
+            while (delay > 0) {
+                TimeUnit.NANOSECONDS.sleep(delay);
+                delay = this.reserve(System.nanoTime());
+            }
+        } catch (InterruptedException e) {
+            this.concurrentRequests.release();
+            throw e;
+        }
+
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the outcome of a request and lets another request be sent.
+     * @param sentAt       the time at which the request was sent, as returned by {@link #acquire}.
+     * @param responseCode the response code of the request, or 0 if no response was received.
+     * @param retryAfter   the values of the Retry-After header of the response, or null if there isn't one.
+     */
+    void release(long sentAt, int responseCode, List<String> retryAfter) {
+        try {
+            if (responseCode == 429) {
+                this.throttled(sentAt, System.nanoTime(), parseRetryAfter(retryAfter));
+            } else if (responseCode >= 200 && responseCode < 300) {
+                this.succeeded();
+            }
+        } finally {
+            this.concurrentRequests.release();
+        }
+    }
+
+    /**
+     * Takes a token from the bucket if one is available.
+     * @param  now the current time.
+     * @return     0 if a token was taken, or else the number of nanoseconds to wait before trying again.
+     */
+    private synchronized long reserve(long now) {
+        if (this.pausedUntil - now > 0) {
+            return this.pausedUntil - now;
+        }
+
+        long arrivalTime = Math.max(this.theoreticalArrivalTime, now);
+        long allowedAt = arrivalTime - this.burstTolerance();
+        if (allowedAt - now > 0) {
+            return allowedAt - now;
+        }
+
+        this.theoreticalArrivalTime = arrivalTime + this.interval();
+        return 0;
+    }
+
+    private synchronized void throttled(long sentAt, long now, long retryAfterMillis) {
+        if (sentAt - this.lastDecrease >= 0) {
+            this.requestsPerSecond = Math.max(this.minRequestsPerSecond, this.requestsPerSecond * DECREASE_FACTOR);
+            this.lastDecrease = now;
+        }
+
+        // The bucket is emptied, so that requests resume one at a time once the pause is over.
+        this.pausedUntil = Math.max(this.pausedUntil, now + TimeUnit.MILLISECONDS.toNanos(retryAfterMillis));
+        this.theoreticalArrivalTime = Math.max(this.theoreticalArrivalTime, this.pausedUntil + this.burstTolerance());
+    }
+
+    private synchronized void succeeded() {
+        this.requestsPerSecond = Math.min(this.maxRequestsPerSecond,
+            this.requestsPerSecond + INCREASE_PER_SECOND / this.requestsPerSecond);
+    }
+
+    /**
+     * Gets the time between two requests at the current rate.
+     * @return the interval in nanoseconds.
+     */
+    private long interval() {
+        return (long) (NANOS_PER_SECOND / this.requestsPerSecond);
+    }
+
+    /**
+     * Gets how far ahead of their theoretical arrival time requests can be sent, which lets up to one second of
+     * requests be sent at once.
+     * @return the burst tolerance in nanoseconds.
+     */
+    private long burstTolerance() {
+        return this.interval() * (Math.max(1, (long) this.requestsPerSecond) - 1);
+    }
+
+    private static long parseRetryAfter(List<String> retryAfter) {
+        if (retryAfter == null || retryAfter.isEmpty()) {
+            return DEFAULT_RETRY_AFTER_MILLIS;
+        }
+
+        try {
+            return Math.max(0, TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.get(0).trim())));
+        } catch (NumberFormatException e) {
+            return DEFAULT_RETRY_AFTER_MILLIS;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.box.sdk;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the JSON responses of GET requests that have an ETag, so that the same request can be revalidated with an
+ * If-None-Match header instead of downloading the whole response again.
+ *
+ * <p>A response cache is set on a connection with {@link BoxAPIConnection#setResponseCache(ResponseCache)}. Every GET
+ * request of the connection is still sent to the API, so responses are never stale, but when the API answers that the
+ * resource hasn't changed since the cached response, with a 304 status and no body, the cached response is returned
+ * instead. This saves sending and receiving the body of responses to requests that are repeated often, such as reading
+ * the info of the same folders. Responses without an ETag, such as most collections, aren't cached.</p>
+ *
+ * <p>Responses are cached under the URL of the request, including the fields requested, and the As-User and shared
+ * link headers sent with it. A cache shouldn't be shared by the connections of different users, whose requests for
+ * the same URL may have different responses.</p>
+ */
+public class ResponseCache {
+
+    private final ResponseCacheStore store;
+    private final AtomicLong hitCount;
+    private final AtomicLong missCount;
+
+    /**
+     * Creates a response cache keeping up to a number of responses in memory, forgetting the least recently used ones
+     * first.
+     * @param maxEntries the maximum number of responses kept.
+     */
+    public ResponseCache(int maxEntries) {
+        this(new MemoryStore(maxEntries));
+    }
+
+    /**
+     * Creates a response cache keeping responses in a custom store.
+     * @param store the store in which responses are kept.
+     */
+    public ResponseCache(ResponseCacheStore store) {
+        if (store == null) {
+            throw new IllegalArgumentException("The store can't be null.");
+        }
+
+        this.store = store;
+        this.hitCount = new AtomicLong();
+        this.missCount = new AtomicLong();
+    }
+
+    /**
+     * Gets the store in which responses are kept.
+     * @return the store of this cache.
+     */
+    public ResponseCacheStore getStore() {
+        return this.store;
+    }
+
+    /**
+     * Gets the number of requests answered with a cached response because the resource hadn't changed.
+     * @return the number of cache hits.
+     */
+    public long getHitCount() {
+        return this.hitCount.get();
+    }
+
+    /**
+     * Gets the number of requests that returned a new response, because there was no cached response or because the
+     * resource had changed.
+     * @return the number of cache misses.
+     */
+    public long getMissCount() {
+        return this.missCount.get();
+    }
+
+    /**
+     * Gets the cached response of a request.
+     * @param  key the key of the request.
+     * @return     the cached response, or null.
+     */
+    Entry get(String key) {
+        return this.store.get(key);
+    }
+
+    /**
+     * Records that a request was answered with its cached response.
+     */
+    void hit() {
+        this.hitCount.incrementAndGet();
+    }
+
+    /**
+     * Records that a request returned a new response, and caches the response if it has an ETag.
+     * @param key  the key of the request.
+     * @param etag the ETag of the response, or null.
+     * @param body the JSON body of the response.
+     */
+    void miss(String key, String etag, String body) {
+        this.missCount.incrementAndGet();
+        if (etag == null) {
+            this.store.remove(key);
+        } else {
+            this.store.put(key, new Entry(etag, body));
+        }
+    }
+
+    /**
+     * A cached response: its ETag and its JSON body.
+     */
+    public static final class Entry {
+        private final String etag;
+        private final String body;
+
+        /**
+         * Creates a cached response.
+         * @param etag the ETag of the response.
+         * @param body the JSON body of the response.
+         */
+        public Entry(String etag, String body) {
+            this.etag = etag;
+            this.body = body;
+        }
+
+        /**
+         * Gets the ETag of the response, which is sent in the If-None-Match header of the next request.
+         * @return the ETag of the response.
+         */
+        public String getETag() {
+            return this.etag;
+        }
+
+        /**
+         * Gets the JSON body of the response.
+         * @return the body of the response.
+         */
+        public String getBody() {
+            return this.body;
+        }
+    }
+
+    /**
+     * Keeps a bounded number of responses in memory, in the order in which they were last used.
+     */
+    private static final class MemoryStore implements ResponseCacheStore {
+        private final Map<String, Entry> entries;
+
+        MemoryStore(final int maxEntries) {
+            if (maxEntries < 1) {
+                throw new IllegalArgumentException("The cache must hold at least 1 response.");
+            }
+
+            this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return this.size() > maxEntries;
+                }
+            };
+        }
+
+        @Override
+        public synchronized Entry get(String key) {
+            return this.entries.get(key);
+        }
+
+        @Override
+        public synchronized void put(String key, Entry entry) {
+            this.entries.put(key, entry);
+        }
+
+        @Override
+        public synchronized void remove(String key) {
+            this.entries.remove(key);
+        }
+    }
+}
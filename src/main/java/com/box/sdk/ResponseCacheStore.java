@@ -0,0 +1,32 @@
+package com.box.sdk;
+
+/**
+ * Implement this interface to provide a custom store for the responses kept by a {@link ResponseCache}.
+ *
+ * <p>The store is called from every thread sending requests through the connections using the cache, so it must be
+ * thread-safe. It may forget entries at any time, for example to stay within a size limit, since a forgotten entry
+ * only means that the next response is downloaded in full. The default store of a ResponseCache keeps a bounded
+ * number of entries in memory and forgets the least recently used ones first.</p>
+ */
+public interface ResponseCacheStore {
+
+    /**
+     * Get a response from the store.
+     * @param key       key of the request.
+     * @return          the cached response, or null if there is no response for the request.
+     */
+    ResponseCache.Entry get(String key);
+
+    /**
+     * Store a response, replacing the previous one.
+     * @param key       key of the request.
+     * @param entry     the response to store.
+     */
+    void put(String key, ResponseCache.Entry entry);
+
+    /**
+     * Remove a response from the store.
+     * @param key       key of the request.
+     */
+    void remove(String key);
+}
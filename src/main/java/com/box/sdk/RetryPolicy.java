@@ -0,0 +1,277 @@
+package com.box.sdk;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides which failed requests are retried and how long to wait before retrying them.
+ *
+ * <p>A retry policy is set on a connection with {@link BoxAPIConnection#setRetryPolicy(RetryPolicy)} and is used by
+ * every request sent through the connection, including the parts of large file uploads and the token requests of
+ * developer edition connections. By default, a policy:</p>
+ *
+ * <ul>
+ *     <li>Retries as many times as {@link BoxAPIConnection#getMaxRetryAttempts()} allows, unless
+ *     {@link #setMaxRetryAttempts(int)} was called.</li>
+ *     <li>Retries responses with a 429 or 5xx status, clock skew errors of JWT token requests, and requests whose
+ *     body couldn't be written. The parts of large file uploads, which can be sent again safely, are also retried
+ *     after network errors. Statuses can be made retryable or not with {@link #setRetryStatus(int, boolean)}.</li>
+ *     <li>Waits for the number of seconds given by the Retry-After header of the response if there is one, and
+ *     doesn't retry if that is longer than the maximum delay.</li>
+ *     <li>Otherwise waits for a random delay between 0 and the base delay times 2 to the power of the number of
+ *     previous retries, capped to the maximum delay ("full jitter"). The base delay is 1 second and the maximum delay
+ *     60 seconds.</li>
+ * </ul>
+ *
+ * <p>A retry budget can be set with {@link #setRetryBudget(double, int)} to keep retries from multiplying the load
+ * on the API when many requests fail at once. A policy can be shared by several connections, which then share its
+ * retry budget.</p>
+ */
+public class RetryPolicy {
+
+    private static final long DEFAULT_BASE_DELAY = 1000;
+    private static final long DEFAULT_MAX_DELAY = 60000;
+    private static final int MAX_EXPONENT = 30;
+
+    private final Map<Integer, Boolean> retryStatuses;
+    private final Random random;
+
+    private volatile int maxRetryAttempts;
+    private volatile long baseDelay;
+    private volatile long maxDelay;
+    private double budgetRatio;
+    private int budgetCapacity;
+    private double budgetTokens;
+
+    /**
+     * Creates a retry policy with the default settings.
+     */
+    public RetryPolicy() {
+        this.retryStatuses = new ConcurrentHashMap<Integer, Boolean>();
+        this.random = new Random();
+        this.maxRetryAttempts = -1;
+        this.baseDelay = DEFAULT_BASE_DELAY;
+        this.maxDelay = DEFAULT_MAX_DELAY;
+    }
+
+    /**
+     * Gets the maximum number of times a request is retried, or -1 if the connection's setting is used.
+     * @return the maximum number of retries, or -1.
+     */
+    public int getMaxRetryAttempts() {
+        return this.maxRetryAttempts;
+    }
+
+    /**
+     * Sets the maximum number of times a request is retried, which replaces the setting of the connections using this
+     * policy.
+     * @param attempts the maximum number of retries, or -1 to use the setting of the connection.
+     */
+    public void setMaxRetryAttempts(int attempts) {
+        if (attempts < -1) {
+            throw new IllegalArgumentException("The number of retries can't be negative.");
+        }
+
+        this.maxRetryAttempts = attempts;
+    }
+
+    /**
+     * Sets the delays between retries.
+     * @param baseDelay the delay in milliseconds from which the exponential backoff starts.
+     * @param maxDelay  the longest delay in milliseconds before a retry, including delays given by Retry-After
+     *                  headers.
+     */
+    public void setDelays(long baseDelay, long maxDelay) {
+        if (baseDelay <= 0 || maxDelay < baseDelay) {
+            throw new IllegalArgumentException("The delays must be positive and the maximum delay can't be shorter "
+                + "than the base delay.");
+        }
+
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+    }
+
+    /**
+     * Gets the delay from which the exponential backoff starts.
+     * @return the base delay in milliseconds.
+     */
+    public long getBaseDelay() {
+        return this.baseDelay;
+    }
+
+    /**
+     * Gets the longest delay before a retry.
+     * @return the maximum delay in milliseconds.
+     */
+    public long getMaxDelay() {
+        return this.maxDelay;
+    }
+
+    /**
+     * Sets whether responses with a status are retried, replacing the default rule for that status.
+     * @param statusCode the HTTP status of the response.
+     * @param retry      whether responses with the status are retried.
+     */
+    public void setRetryStatus(int statusCode, boolean retry) {
+        this.retryStatuses.put(statusCode, retry);
+    }
+
+    /**
+     * Limits the number of retries to a ratio of the number of requests. Every request adds the ratio to a budget that
+     * holds up to a number of retries and starts full, and every retry takes one retry from the budget. A failed
+     * request isn't retried when the budget is empty.
+     * @param ratio    the number of retries allowed per request, such as 0.1 for one retry every ten requests.
+     * @param capacity the number of retries the budget holds, which can be spent at once.
+     */
+    public synchronized void setRetryBudget(double ratio, int capacity) {
+        if (ratio < 0 || capacity < 1) {
+            throw new IllegalArgumentException("The ratio can't be negative and the capacity must be at least 1.");
+        }
+
+        this.budgetRatio = ratio;
+        this.budgetCapacity = capacity;
+        this.budgetTokens = capacity;
+    }
+
+    /**
+     * Determines whether a failed request is retried. Requests that aren't idempotent aren't retried after network
+     * errors, since they may have been received by the API.
+     * @param  apiException the exception thrown by the request.
+     * @param  idempotent   whether the request can be sent again safely after a network error.
+     * @return              true if the request is retried if attempts remain; otherwise false.
+     */
+    public boolean isRetryable(BoxAPIException apiException, boolean idempotent) {
+        int responseCode = apiException.getResponseCode();
+        Boolean rule = this.retryStatuses.get(responseCode);
+        if (rule != null) {
+            return rule;
+        }
+
+        if (BoxAPIRequest.isRequestRetryable(apiException)) {
+            return true;
+        }
+        if (responseCode == 0) {
+            return idempotent && apiException.getCause() instanceof IOException;
+        }
+
+        return BoxAPIRequest.isResponseRetryable(responseCode, apiException);
+    }
+
+    /**
+     * Gets how long to wait before retrying a failed request, and takes the retry from the budget.
+     * @param  retry        the number of the retry, starting at 1 for the first retry of a request.
+     * @param  apiException the exception thrown by the failed attempt.
+     * @param  idempotent   whether the request can be sent again safely after a network error.
+     * @return              the delay in milliseconds, or -1 if the request isn't retried.
+     */
+    public long getRetryDelay(int retry, BoxAPIException apiException, boolean idempotent) {
+        if (!this.isRetryable(apiException, idempotent)) {
+            return -1;
+        }
+
+        long delay;
+        long retryAfter = parseRetryAfter(apiException);
+        if (retryAfter >= 0) {
+            if (retryAfter > this.maxDelay) {
+                return -1;
+            }
+            delay = retryAfter;
+        } else {
+            int exponent = Math.min(MAX_EXPONENT, Math.max(0, retry - 1));
+            long ceiling = Math.min(this.maxDelay, this.baseDelay << exponent);
+            if (ceiling <= 0) {
+                ceiling = this.maxDelay;
+            }
+            synchronized (this.random) {
+                delay = (long) (this.random.nextDouble() * ceiling);
+            }
+        }
+
+        if (!this.takeRetryFromBudget()) {
+            return -1;
+        }
+
+        return delay;
+    }
+
+    /**
+     * Records that a request is being sent, which adds to the retry budget.
+     */
+    synchronized void requestStarted() {
+        if (this.budgetCapacity > 0) {
+            this.budgetTokens = Math.min(this.budgetCapacity, this.budgetTokens + this.budgetRatio);
+        }
+    }
+
+    /**
+     * Counts a failed attempt of a request and, if the request is retried, waits before the retry.
+     * @param  counter      the counter of the request's attempts.
+     * @param  apiException the exception thrown by the failed attempt.
+     * @param  idempotent   whether the request can be sent again safely after a network error.
+     * @return              true if the request should be sent again; otherwise false.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    boolean waitBeforeRetry(BackoffCounter counter, BoxAPIException apiException, boolean idempotent)
+        throws InterruptedException {
+
+        if (!counter.decrement()) {
+            return false;
+        }
+
+        long delay = this.getRetryDelay(counter.getRetryNumber(), apiException, idempotent);
+        if (delay < 0) {
+            return false;
+        }
+
+        counter.waitBackoff(delay);
+        return true;
+    }
+
+    /**
+     * Gets the maximum number of retries of a request.
+     * @param  api the connection sending the request, or null.
+     * @return     the maximum number of retries.
+     */
+    int getMaxRetryAttempts(BoxAPIConnection api) {
+        int attempts = this.maxRetryAttempts;
+        if (attempts >= 0) {
+            return attempts;
+        }
+
+        return api == null ? BoxGlobalSettings.getMaxRetryAttempts() : api.getMaxRetryAttempts();
+    }
+
+    private synchronized boolean takeRetryFromBudget() {
+        if (this.budgetCapacity == 0) {
+            return true;
+        }
+        if (this.budgetTokens < 1) {
+            return false;
+        }
+
+        this.budgetTokens--;
+        return true;
+    }
+
+    /**
+     * Reads the Retry-After header of a response, which the Box API sends as a number of seconds.
+     * @param  apiException the exception thrown for the response.
+     * @return              the delay in milliseconds, or -1 if there isn't a valid header.
+     */
+    private static long parseRetryAfter(BoxAPIException apiException) {
+        Map<String, List<String>> headers = apiException.getHeaders();
+        List<String> retryAfter = headers == null ? null : headers.get("Retry-After");
+        if (retryAfter == null || retryAfter.isEmpty()) {
+            return -1;
+        }
+
+        try {
+            return Math.max(0, Long.parseLong(retryAfter.get(0).trim()) * 1000);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -139,6 +139,26 @@ public class SharedLinkAPIConnection extends BoxAPIConnection {
         this.wrappedConnection.setMaxRetryAttempts(attempts);
     }
 
+    @Override
+    public RetryPolicy getRetryPolicy() {
+        return this.wrappedConnection.getRetryPolicy();
+    }
+
+    @Override
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.wrappedConnection.setRetryPolicy(retryPolicy);
+    }
+
+    @Override
+    public int getDownloadBufferSize() {
+        return this.wrappedConnection.getDownloadBufferSize();
+    }
+
+    @Override
+    public void setDownloadBufferSize(int downloadBufferSize) {
+        this.wrappedConnection.setDownloadBufferSize(downloadBufferSize);
+    }
+
     @Override
     public boolean canRefresh() {
         return this.wrappedConnection.canRefresh();
@@ -155,13 +175,8 @@ public class SharedLinkAPIConnection extends BoxAPIConnection {
     }
 
     @Override
-    String lockAccessToken() {
-        return this.wrappedConnection.lockAccessToken();
-    }
-
-    @Override
-    void unlockAccessToken() {
-        this.wrappedConnection.unlockAccessToken();
+    boolean refreshRejectedAccessToken(String rejectedAccessToken) {
+        return this.wrappedConnection.refreshRejectedAccessToken(rejectedAccessToken);
     }
 
     /**
@@ -0,0 +1,68 @@
+package com.box.sdk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Copies the contents of response bodies to the streams and channels they are downloaded to.
+ *
+ * <p>A single buffer of a configurable size is read into and written from for the whole copy. When the destination is
+ * a channel, the buffer is handed to the channel as a ByteBuffer wrapping the same array, so the SDK doesn't copy the
+ * data again. The buffer is on the heap, so channels backed by a file or a socket still copy it into a temporary
+ * direct buffer of the JDK before writing it.</p>
+ */
+final class StreamTransfer {
+
+    private StreamTransfer() {
+    }
+
+    /**
+     * Copies everything that remains in an input stream to an output stream.
+     * @param  input      the stream to read from.
+     * @param  output     the stream to write to.
+     * @param  bufferSize the size of the buffer used for the copy.
+     * @return            the number of bytes copied.
+     * @throws IOException if reading or writing throws an exception.
+     */
+    static long transfer(InputStream input, OutputStream output, int bufferSize) throws IOException {
+        byte[] buffer = new byte[bufferSize];
+        long total = 0;
+        int n = input.read(buffer);
+        while (n != -1) {
+            output.write(buffer, 0, n);
+            total += n;
+            n = input.read(buffer);
+        }
+
+        return total;
+    }
+
+    /**
+     * Copies everything that remains in an input stream to a channel, starting at the channel's current position.
+     * @param  input      the stream to read from.
+     * @param  output     the channel to write to.
+     * @param  bufferSize the size of the buffer used for the copy.
+     * @return            the number of bytes copied.
+     * @throws IOException if reading or writing throws an exception.
+     */
+    static long transfer(InputStream input, WritableByteChannel output, int bufferSize) throws IOException {
+        byte[] buffer = new byte[bufferSize];
+        ByteBuffer data = ByteBuffer.wrap(buffer);
+        long total = 0;
+        int n = input.read(buffer);
+        while (n != -1) {
+            data.limit(n);
+            while (data.hasRemaining()) {
+                output.write(data);
+            }
+            data.clear();
+            total += n;
+            n = input.read(buffer);
+        }
+
+        return total;
+    }
+}
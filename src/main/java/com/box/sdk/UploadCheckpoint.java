@@ -0,0 +1,134 @@
+package com.box.sdk;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+import com.eclipsesource.json.ParseException;
+
+/**
+ * The progress of a resumable large file upload: its upload session and the parts uploaded so far, along with the
+ * Base64 encoded SHA-1 digest of each part. The checkpoint is saved to an {@link UploadCheckpointStore} every time a
+ * part is recorded.
+ */
+final class UploadCheckpoint {
+
+    private final UploadCheckpointStore store;
+    private final String key;
+    private final BoxFileUploadSession.Info session;
+    private final long fileSize;
+    private final Map<Long, JsonObject> parts;
+
+    /**
+     * Creates the checkpoint of a new upload session.
+     * @param store    the store the checkpoint is saved to.
+     * @param key      the key of the upload.
+     * @param session  the upload session.
+     * @param fileSize the size of the file being uploaded.
+     */
+    UploadCheckpoint(UploadCheckpointStore store, String key, BoxFileUploadSession.Info session, long fileSize) {
+        this.store = store;
+        this.key = key;
+        this.session = session;
+        this.fileSize = fileSize;
+        this.parts = new TreeMap<Long, JsonObject>();
+    }
+
+    /**
+     * Restores the checkpoint of an upload from a store.
+     * @param  store    the store the checkpoint was saved to.
+     * @param  key      the key of the upload.
+     * @param  api      the API connection to be used by the upload session.
+     * @param  fileSize the size of the file being uploaded.
+     * @return          the checkpoint, or null if the store doesn't have a usable checkpoint for this file.
+     */
+    static UploadCheckpoint restore(UploadCheckpointStore store, String key, BoxAPIConnection api, long fileSize) {
+        String value = store.get(key);
+        if (value == null) {
+            return null;
+        }
+
+        JsonObject json;
+        try {
+            json = JsonObject.readFrom(value);
+        } catch (ParseException e) {
+            return null;
+        }
+
+        if (json.get("file_size") == null || json.get("file_size").asLong() != fileSize) {
+            return null;
+        }
+
+        JsonObject sessionJSON = json.get("session").asObject();
+        BoxFileUploadSession session = new BoxFileUploadSession(api, sessionJSON.get("id").asString());
+        UploadCheckpoint checkpoint = new UploadCheckpoint(store, key, session.new Info(sessionJSON), fileSize);
+        for (JsonValue part : json.get("parts").asArray()) {
+            JsonObject partJSON = part.asObject();
+            checkpoint.parts.put(partJSON.get("offset").asLong(), partJSON);
+        }
+
+        return checkpoint;
+    }
+
+    /**
+     * Gets the upload session.
+     * @return the upload session.
+     */
+    BoxFileUploadSession.Info getSession() {
+        return this.session;
+    }
+
+    /**
+     * Gets the digest recorded for the part starting at an offset.
+     * @param  offset the offset of the part.
+     * @return        the Base64 encoded SHA-1 digest of the part, or null if the part wasn't recorded.
+     */
+    synchronized String getPartDigest(long offset) {
+        JsonObject part = this.parts.get(offset);
+        if (part == null) {
+            return null;
+        }
+
+        return part.get("digest").asString();
+    }
+
+    /**
+     * Records an uploaded part and saves the checkpoint.
+     * @param part   the uploaded part.
+     * @param digest the Base64 encoded SHA-1 digest of the part.
+     */
+    synchronized void recordPart(BoxFileUploadSessionPart part, String digest) {
+        JsonObject partJSON = new JsonObject()
+            .add("part_id", part.getPartId())
+            .add("offset", part.getOffset())
+            .add("size", part.getSize())
+            .add("digest", digest);
+        this.parts.put(part.getOffset(), partJSON);
+        this.save();
+    }
+
+    /**
+     * Saves the checkpoint to its store.
+     */
+    synchronized void save() {
+        JsonArray partsJSON = new JsonArray();
+        for (JsonObject part : this.parts.values()) {
+            partsJSON.add(part);
+        }
+
+        JsonObject json = new JsonObject()
+            .add("session", JsonObject.readFrom(this.session.getJson()))
+            .add("file_size", this.fileSize)
+            .add("parts", partsJSON);
+        this.store.put(this.key, json.toString());
+    }
+
+    /**
+     * Removes the checkpoint from its store.
+     */
+    void remove() {
+        this.store.remove(this.key);
+    }
+}
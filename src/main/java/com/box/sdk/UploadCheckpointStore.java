@@ -0,0 +1,34 @@
+package com.box.sdk;
+
+/**
+ * Implement this interface to provide a custom store for the checkpoints of resumable large file uploads.
+ *
+ * <p>A checkpoint records the upload session and the parts that have already been uploaded, so that an upload
+ * interrupted by a failure or a restart of the JVM can be resumed with
+ * {@link BoxFolder#resumeUpload(java.io.File, String, UploadCheckpointStore)} or
+ * {@link BoxFile#resumeUpload(java.io.File, UploadCheckpointStore)}. Checkpoints are opaque strings and are updated
+ * after every uploaded part, possibly from several threads at once. {@link FileUploadCheckpointStore} keeps them in
+ * local files.</p>
+ */
+public interface UploadCheckpointStore {
+
+    /**
+     * Get the checkpoint of an upload from the store.
+     * @param key       key of the upload.
+     * @return          the checkpoint, or null if there is no checkpoint for the upload.
+     */
+    String get(String key);
+
+    /**
+     * Store the checkpoint of an upload, replacing the previous one.
+     * @param key       key of the upload.
+     * @param value     checkpoint to store.
+     */
+    void put(String key, String value);
+
+    /**
+     * Remove the checkpoint of an upload from the store once the upload has been committed.
+     * @param key       key of the upload.
+     */
+    void remove(String key);
+}
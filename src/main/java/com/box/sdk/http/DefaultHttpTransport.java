@@ -0,0 +1,25 @@
+package com.box.sdk.http;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.Proxy;
+import java.net.URL;
+
+/**
+ * The default {@link HttpTransport} which opens connections with {@link URL#openConnection}.
+ *
+ * <p>Connections opened by this transport are kept alive and pooled by the JVM's built-in HTTP client, which can only
+ * be tuned globally through the <code>http.keepAlive</code> and <code>http.maxConnections</code> system properties.
+ * Use {@link PooledHttpTransport} when the pool needs to be configured per API connection.</p>
+ */
+public class DefaultHttpTransport implements HttpTransport {
+
+    @Override
+    public HttpURLConnection openConnection(URL url, Proxy proxy) throws IOException {
+        if (proxy == null) {
+            return (HttpURLConnection) url.openConnection();
+        } else {
+            return (HttpURLConnection) url.openConnection(proxy);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.box.sdk.http;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.Proxy;
+import java.net.URL;
+
+/**
+ * The transport used by a {@link com.box.sdk.BoxAPIConnection} to open HTTP connections to the Box API.
+ *
+ * <p>Every request sent through the SDK obtains its connection from the transport configured on its API connection.
+ * The returned connection is used exactly like one returned by {@link URL#openConnection}, which allows different
+ * connection management strategies to be plugged in without changing how requests and responses are handled.</p>
+ *
+ * <p>Implementations must be thread-safe since a single transport is shared by every request made through an API
+ * connection.</p>
+ */
+public interface HttpTransport {
+
+    /**
+     * Opens a new, not yet connected, HTTP connection to the given URL.
+     * @param  url   the URL to connect to.
+     * @param  proxy the proxy to connect through or null if the connection should be direct.
+     * @return       an unconnected HttpURLConnection.
+     * @throws IOException if the connection couldn't be opened.
+     */
+    HttpURLConnection openConnection(URL url, Proxy proxy) throws IOException;
+}
@@ -0,0 +1,665 @@
+package com.box.sdk.http;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Map;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+
+/**
+ * An {@link HttpTransport} that keeps a configurable pool of persistent HTTP/1.1 connections.
+ *
+ * <p>Unlike the JVM's built-in keep-alive cache, this pool is owned by the transport, so every API connection (or group
+ * of API connections sharing a transport) can be tuned independently. The pool is bounded by a maximum number of
+ * connections per route (scheme, host and port) and a maximum number of connections overall. When either limit is
+ * reached, requests wait for a connection to be returned to the pool instead of opening a new socket, which keeps
+ * highly concurrent clients from churning through short-lived sockets. A request that can't get a connection within
+ * the pool timeout fails instead of waiting forever. Connections that stay idle for longer than the
+ * idle timeout are closed the next time the pool is used.</p>
+ *
+ * <p>HTTPS connections are opened with the SSL socket factory set on each {@link HttpsURLConnection} returned by the
+ * transport, such as the one the SDK sets to enable newer TLS versions on legacy JVMs, and are only reused by
+ * connections with the same factory.</p>
+ *
+ * <p>Requests that go through a proxy are not pooled and fall back to {@link URL#openConnection(Proxy)}.</p>
+ *
+ * <p>A single PooledHttpTransport can be shared by many API connections:</p>
+ *
+ * <pre>
+ * PooledHttpTransport transport = new PooledHttpTransport();
+ * transport.setMaxConnectionsPerRoute(50);
+ * api.setHttpTransport(transport);
+ * </pre>
+ */
+public class PooledHttpTransport implements HttpTransport {
+
+    /**
+     * The default maximum number of connections, either idle or in use, kept by the pool.
+     */
+    public static final int DEFAULT_MAX_CONNECTIONS = 200;
+
+    /**
+     * The default maximum number of connections, either idle or in use, kept by the pool for a single route.
+     */
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 20;
+
+    /**
+     * The default amount of time, in milliseconds, that a connection may stay idle in the pool before being closed.
+     */
+    public static final long DEFAULT_IDLE_TIMEOUT = 30000;
+
+    /**
+     * The default amount of time, in milliseconds, that a request waits for a connection when the pool is full.
+     */
+    public static final long DEFAULT_POOL_TIMEOUT = 60000;
+
+    // Connections idle for less than this are reused without checking whether the server closed them, since that
+    // check blocks for a short read. Requests that can't be replayed on a new connection always check.
+    private static final long STALE_CHECK_IDLE_TIME = 2000;
+
+    private static final int HTTP_PORT = 80;
+    private static final int HTTPS_PORT = 443;
+
+    private final Map<String, LinkedList<PooledSocket>> idleConnections;
+    private final Map<String, Integer> connectionsPerRoute;
+
+    private int totalConnections;
+    private int maxConnections;
+    private int maxConnectionsPerRoute;
+    private long idleTimeout;
+    private long poolTimeout;
+    private boolean shutdown;
+    private SSLSocketFactory sslSocketFactory;
+
+    /**
+     * Constructs a PooledHttpTransport with the default pool limits.
+     */
+    public PooledHttpTransport() {
+        this(DEFAULT_MAX_CONNECTIONS, DEFAULT_MAX_CONNECTIONS_PER_ROUTE, DEFAULT_IDLE_TIMEOUT);
+    }
+
+    /**
+     * Constructs a PooledHttpTransport with the given pool limits.
+     * @param maxConnections         the maximum number of connections kept by the pool.
+     * @param maxConnectionsPerRoute the maximum number of connections kept by the pool for a single route.
+     * @param idleTimeout            the number of milliseconds a connection may stay idle before being closed.
+     */
+    public PooledHttpTransport(int maxConnections, int maxConnectionsPerRoute, long idleTimeout) {
+        this.idleConnections = new HashMap<String, LinkedList<PooledSocket>>();
+        this.connectionsPerRoute = new HashMap<String, Integer>();
+        this.setMaxConnections(maxConnections);
+        this.setMaxConnectionsPerRoute(maxConnectionsPerRoute);
+        this.setIdleTimeout(idleTimeout);
+        this.poolTimeout = DEFAULT_POOL_TIMEOUT;
+        this.sslSocketFactory = HttpsURLConnection.getDefaultSSLSocketFactory();
+    }
+
+    /**
+     * Gets the maximum number of connections, either idle or in use, kept by the pool.
+     * @return the maximum number of connections.
+     */
+    public synchronized int getMaxConnections() {
+        return this.maxConnections;
+    }
+
+    /**
+     * Sets the maximum number of connections, either idle or in use, kept by the pool.
+     * @param maxConnections the maximum number of connections.
+     */
+    public synchronized void setMaxConnections(int maxConnections) {
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("The maximum number of connections must be at least 1.");
+        }
+        this.maxConnections = maxConnections;
+        this.notifyAll();
+    }
+
+    /**
+     * Gets the maximum number of connections, either idle or in use, kept by the pool for a single route.
+     * @return the maximum number of connections per route.
+     */
+    public synchronized int getMaxConnectionsPerRoute() {
+        return this.maxConnectionsPerRoute;
+    }
+
+    /**
+     * Sets the maximum number of connections, either idle or in use, kept by the pool for a single route. A route is
+     * the combination of a URL's scheme, host and port.
+     * @param maxConnectionsPerRoute the maximum number of connections per route.
+     */
+    public synchronized void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        if (maxConnectionsPerRoute < 1) {
+            throw new IllegalArgumentException("The maximum number of connections per route must be at least 1.");
+        }
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        this.notifyAll();
+    }
+
+    /**
+     * Gets the amount of time that a connection may stay idle in the pool before being closed.
+     * @return the idle timeout in milliseconds.
+     */
+    public synchronized long getIdleTimeout() {
+        return this.idleTimeout;
+    }
+
+    /**
+     * Sets the amount of time that a connection may stay idle in the pool before being closed.
+     * @param idleTimeout the idle timeout in milliseconds.
+     */
+    public synchronized void setIdleTimeout(long idleTimeout) {
+        if (idleTimeout < 0) {
+            throw new IllegalArgumentException("The idle timeout cannot be negative.");
+        }
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Gets the amount of time that a request waits for a connection when the pool is full.
+     * @return the pool timeout in milliseconds.
+     */
+    public synchronized long getPoolTimeout() {
+        return this.poolTimeout;
+    }
+
+    /**
+     * Sets the amount of time that a request waits for a connection when the pool is full, after which it fails with a
+     * {@link SocketTimeoutException}. A timeout of 0 makes requests fail as soon as the pool is full.
+     * @param poolTimeout the pool timeout in milliseconds.
+     */
+    public synchronized void setPoolTimeout(long poolTimeout) {
+        if (poolTimeout < 0) {
+            throw new IllegalArgumentException("The pool timeout cannot be negative.");
+        }
+        this.poolTimeout = poolTimeout;
+    }
+
+    /**
+     * Gets the socket factory used to open HTTPS connections whose own factory isn't set.
+     * @return the default socket factory of the connections opened by this transport.
+     */
+    public synchronized SSLSocketFactory getSSLSocketFactory() {
+        return this.sslSocketFactory;
+    }
+
+    /**
+     * Sets the socket factory used to open HTTPS connections whose own factory isn't set. Defaults to
+     * {@link HttpsURLConnection#getDefaultSSLSocketFactory}. Requests sent by the SDK set their own factory with
+     * {@link HttpsURLConnection#setSSLSocketFactory}, which takes precedence.
+     * @param sslSocketFactory the default socket factory of the connections opened by this transport.
+     */
+    public synchronized void setSSLSocketFactory(SSLSocketFactory sslSocketFactory) {
+        this.sslSocketFactory = sslSocketFactory;
+    }
+
+    /**
+     * Gets the number of idle connections currently kept by the pool.
+     * @return the number of idle connections.
+     */
+    public synchronized int getIdleConnectionCount() {
+        int count = 0;
+        for (LinkedList<PooledSocket> idle : this.idleConnections.values()) {
+            count += idle.size();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the total number of connections, either idle or in use, currently kept by the pool.
+     * @return the number of connections.
+     */
+    public synchronized int getConnectionCount() {
+        return this.totalConnections;
+    }
+
+    /**
+     * Closes every idle connection kept by the pool. Connections that are in use aren't affected.
+     */
+    public void closeIdleConnections() {
+        LinkedList<PooledSocket> closed = new LinkedList<PooledSocket>();
+        synchronized (this) {
+            for (LinkedList<PooledSocket> idle : this.idleConnections.values()) {
+                closed.addAll(idle);
+            }
+            this.idleConnections.clear();
+            for (PooledSocket socket : closed) {
+                this.removeConnection(socket.getRoute());
+            }
+        }
+
+        for (PooledSocket socket : closed) {
+            socket.close();
+        }
+    }
+
+    /**
+     * Shuts down this transport by closing every idle connection. Connections that are in use will be closed when
+     * they're returned to the pool and any further attempt to open a pooled connection will fail.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            this.shutdown = true;
+            this.notifyAll();
+        }
+        this.closeIdleConnections();
+    }
+
+    @Override
+    public HttpURLConnection openConnection(URL url, Proxy proxy) throws IOException {
+        String protocol = url.getProtocol();
+        boolean supported = protocol.equalsIgnoreCase("http") || protocol.equalsIgnoreCase("https");
+        if (!supported || (proxy != null && proxy.type() != Proxy.Type.DIRECT)) {
+            if (proxy == null) {
+                return (HttpURLConnection) url.openConnection();
+            } else {
+                return (HttpURLConnection) url.openConnection(proxy);
+            }
+        }
+
+        return new PooledHttpURLConnection(url, this);
+    }
+
+    /**
+     * Leases a connection to the route of a URL, reusing an idle connection if one is available.
+     * @param  url            the URL being requested.
+     * @param  connectTimeout the connect timeout in milliseconds.
+     * @param  readTimeout    the read timeout in milliseconds.
+     * @param  replayable     whether the request can be replayed on a new connection if the server closed the one
+     *                        leased, in which case recently used connections aren't checked before being reused.
+     * @param  factory        the socket factory with which HTTPS connections are opened, which is ignored for HTTP.
+     * @return                a connected socket which must be released or discarded once the exchange is complete.
+     * @throws IOException if a connection couldn't be established.
+     */
+    PooledSocket lease(URL url, int connectTimeout, int readTimeout, boolean replayable, SSLSocketFactory factory)
+        throws IOException {
+
+        String route = routeOf(url);
+        SSLSocketFactory sslFactory = url.getProtocol().equalsIgnoreCase("https") ? factory : null;
+        long deadline;
+        synchronized (this) {
+            deadline = System.currentTimeMillis() + this.poolTimeout;
+        }
+
+        while (true) {
+            PooledSocket candidate;
+            boolean retry = false;
+            boolean timedOut = false;
+            boolean interrupted = false;
+            LinkedList<PooledSocket> evicted = new LinkedList<PooledSocket>();
+            synchronized (this) {
+                if (this.shutdown) {
+                    throw new IOException("The HTTP transport has been shut down.");
+                }
+
+                this.evictExpired(evicted);
+                LinkedList<PooledSocket> idle = this.idleConnections.get(route);
+                candidate = removeIdle(idle, sslFactory);
+                if (candidate == null) {
+                    if (this.routeCount(route) < this.maxConnectionsPerRoute
+                        && this.totalConnections < this.maxConnections) {
+                        this.addConnection(route);
+                    } else if (idle != null && !idle.isEmpty()) {
+                        // The idle connections of the route were opened with another socket factory.
+                        PooledSocket socket = idle.removeLast();
+                        this.removeConnection(route);
+                        evicted.add(socket);
+                        retry = true;
+                    } else if (this.totalConnections >= this.maxConnections && this.evictOldestIdle(evicted)) {
+                        retry = true;
+                    } else {
+                        long wait = deadline - System.currentTimeMillis();
+                        if (wait <= 0) {
+                            timedOut = true;
+                        } else {
+                            try {
+                                this.wait(wait);
+                                retry = true;
+                            } catch (InterruptedException e) {
+                                interrupted = true;
+                            }
+                        }
+                    }
+                }
+            }
+
+            for (PooledSocket socket : evicted) {
+                socket.close();
+            }
+
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for a pooled connection.");
+            }
+            if (timedOut) {
+                throw new SocketTimeoutException("Timed out waiting for a pooled connection to " + route);
+            }
+            if (retry) {
+                continue;
+            }
+
+            if (candidate != null) {
+                long idleTime = System.currentTimeMillis() - candidate.getLastUsed();
+                if (candidate.isStale(!replayable || idleTime >= STALE_CHECK_IDLE_TIME)) {
+                    this.discard(candidate);
+                    continue;
+                }
+                candidate.setReadTimeout(readTimeout);
+                return candidate;
+            }
+
+            try {
+                return this.connect(url, route, connectTimeout, readTimeout, sslFactory);
+            } catch (IOException e) {
+                synchronized (this) {
+                    this.removeConnection(route);
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Returns a connection whose exchange completed cleanly to the pool so that it can be reused.
+     * @param socket the connection to return.
+     */
+    void release(PooledSocket socket) {
+        synchronized (this) {
+            if (!this.shutdown && !socket.isClosed()) {
+                socket.markIdle(System.currentTimeMillis());
+                LinkedList<PooledSocket> idle = this.idleConnections.get(socket.getRoute());
+                if (idle == null) {
+                    idle = new LinkedList<PooledSocket>();
+                    this.idleConnections.put(socket.getRoute(), idle);
+                }
+                idle.addFirst(socket);
+                this.notifyAll();
+                return;
+            }
+            this.removeConnection(socket.getRoute());
+        }
+        socket.close();
+    }
+
+    /**
+     * Closes a connection that can't be reused and frees its slot in the pool.
+     * @param socket the connection to discard.
+     */
+    void discard(PooledSocket socket) {
+        synchronized (this) {
+            this.removeConnection(socket.getRoute());
+        }
+        socket.close();
+    }
+
+    private PooledSocket connect(URL url, String route, int connectTimeout, int readTimeout, SSLSocketFactory factory)
+        throws IOException {
+
+        String host = url.getHost();
+        int port = portOf(url);
+
+        Socket socket = new Socket();
+        try {
+            socket.setTcpNoDelay(true);
+            socket.setKeepAlive(true);
+            socket.connect(new InetSocketAddress(host, port), connectTimeout);
+            socket.setSoTimeout(readTimeout);
+            if (factory != null) {
+                SSLSocket sslSocket = (SSLSocket) factory.createSocket(socket, host, port, true);
+                enableHostnameVerification(sslSocket);
+                sslSocket.startHandshake();
+                socket = sslSocket;
+            }
+        } catch (IOException e) {
+            try {
+                socket.close();
+            } catch (IOException closeException) {
+                // Ignore since the original exception is more relevant.
+            }
+            throw e;
+        }
+
+        return new PooledSocket(route, socket, factory);
+    }
+
+    private static PooledSocket removeIdle(LinkedList<PooledSocket> idle, SSLSocketFactory factory) {
+        if (idle == null) {
+            return null;
+        }
+
+        Iterator<PooledSocket> sockets = idle.iterator();
+        while (sockets.hasNext()) {
+            PooledSocket socket = sockets.next();
+            if (socket.getSSLSocketFactory() == factory) {
+                sockets.remove();
+                return socket;
+            }
+        }
+        return null;
+    }
+
+    private void evictExpired(LinkedList<PooledSocket> evicted) {
+        long now = System.currentTimeMillis();
+        Iterator<LinkedList<PooledSocket>> routes = this.idleConnections.values().iterator();
+        while (routes.hasNext()) {
+            LinkedList<PooledSocket> idle = routes.next();
+            // Idle connections are ordered from most to least recently used, so expired ones are at the end.
+            while (!idle.isEmpty() && now - idle.getLast().getLastUsed() >= this.idleTimeout) {
+                PooledSocket socket = idle.removeLast();
+                this.removeConnection(socket.getRoute());
+                evicted.add(socket);
+            }
+            if (idle.isEmpty()) {
+                routes.remove();
+            }
+        }
+    }
+
+    private boolean evictOldestIdle(LinkedList<PooledSocket> evicted) {
+        LinkedList<PooledSocket> oldestRoute = null;
+        for (LinkedList<PooledSocket> idle : this.idleConnections.values()) {
+            if (!idle.isEmpty() && (oldestRoute == null
+                || idle.getLast().getLastUsed() < oldestRoute.getLast().getLastUsed())) {
+                oldestRoute = idle;
+            }
+        }
+
+        if (oldestRoute == null) {
+            return false;
+        }
+
+        PooledSocket socket = oldestRoute.removeLast();
+        this.removeConnection(socket.getRoute());
+        evicted.add(socket);
+        return true;
+    }
+
+    private int routeCount(String route) {
+        Integer count = this.connectionsPerRoute.get(route);
+        return count == null ? 0 : count;
+    }
+
+    private void addConnection(String route) {
+        this.connectionsPerRoute.put(route, this.routeCount(route) + 1);
+        this.totalConnections++;
+    }
+
+    private void removeConnection(String route) {
+        int count = this.routeCount(route) - 1;
+        if (count <= 0) {
+            this.connectionsPerRoute.remove(route);
+        } else {
+            this.connectionsPerRoute.put(route, count);
+        }
+        this.totalConnections--;
+        this.notifyAll();
+    }
+
+    private static String routeOf(URL url) {
+        return url.getProtocol().toLowerCase() + "://" + url.getHost().toLowerCase() + ":" + portOf(url);
+    }
+
+    private static int portOf(URL url) {
+        if (url.getPort() != -1) {
+            return url.getPort();
+        }
+        return url.getProtocol().equalsIgnoreCase("https") ? HTTPS_PORT : HTTP_PORT;
+    }
+
+    private static void enableHostnameVerification(SSLSocket socket) throws IOException {
+        // Endpoint identification is only available through reflection when compiling against Java 6.
+        SSLParameters parameters = socket.getSSLParameters();
+        try {
+            Method method = SSLParameters.class.getMethod("setEndpointIdentificationAlgorithm", String.class);
+            method.invoke(parameters, "HTTPS");
+        } catch (NoSuchMethodException e) {
+            throw new IOException("Pooled HTTPS connections require a JVM that supports hostname verification.");
+        } catch (IllegalAccessException e) {
+            throw new IOException("Couldn't enable hostname verification for a pooled HTTPS connection.");
+        } catch (InvocationTargetException e) {
+            throw new IOException("Couldn't enable hostname verification for a pooled HTTPS connection.");
+        }
+        socket.setSSLParameters(parameters);
+    }
+
+    /**
+     * A socket kept by the pool along with its buffered streams.
+     */
+    static final class PooledSocket {
+        private static final int BUFFER_SIZE = 8192;
+
+        private final String route;
+        private final Socket socket;
+        private final SSLSocketFactory sslSocketFactory;
+        private final BufferedInputStream input;
+        private final OutputStream output;
+        private long lastUsed;
+        private boolean reused;
+
+        PooledSocket(String route, Socket socket, SSLSocketFactory sslSocketFactory) throws IOException {
+            this.route = route;
+            this.socket = socket;
+            this.sslSocketFactory = sslSocketFactory;
+            this.input = new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE);
+            this.output = new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE);
+            this.lastUsed = System.currentTimeMillis();
+        }
+
+        String getRoute() {
+            return this.route;
+        }
+
+        /**
+         * Gets the socket factory with which this connection was opened.
+         * @return the socket factory of an HTTPS connection, or null for an HTTP connection.
+         */
+        SSLSocketFactory getSSLSocketFactory() {
+            return this.sslSocketFactory;
+        }
+
+        /**
+         * Gets the SSL session of this connection.
+         * @return the SSL session of an HTTPS connection, or null for an HTTP connection.
+         */
+        SSLSession getSSLSession() {
+            if (this.socket instanceof SSLSocket) {
+                return ((SSLSocket) this.socket).getSession();
+            }
+            return null;
+        }
+
+        InputStream getInputStream() {
+            return this.input;
+        }
+
+        OutputStream getOutputStream() {
+            return this.output;
+        }
+
+        long getLastUsed() {
+            return this.lastUsed;
+        }
+
+        void markIdle(long lastUsed) {
+            this.lastUsed = lastUsed;
+            this.reused = true;
+        }
+
+        /**
+         * Gets whether this connection already completed an exchange before being leased again.
+         * @return true if this connection has been reused.
+         */
+        boolean isReused() {
+            return this.reused;
+        }
+
+        void setReadTimeout(int readTimeout) throws IOException {
+            this.socket.setSoTimeout(readTimeout);
+        }
+
+        boolean isClosed() {
+            return this.socket.isClosed();
+        }
+
+        /**
+         * Checks whether the server closed this idle connection (or sent unexpected data on it).
+         * @param  probe whether to attempt a very short read, which detects connections closed by the server but
+         *               blocks for a millisecond when the connection is still open.
+         * @return       true if the connection can't be reused.
+         */
+        boolean isStale(boolean probe) {
+            if (this.socket.isClosed() || this.socket.isInputShutdown() || this.socket.isOutputShutdown()) {
+                return true;
+            }
+
+            try {
+                if (this.input.available() > 0) {
+                    return true;
+                }
+                if (!probe) {
+                    return false;
+                }
+                int timeout = this.socket.getSoTimeout();
+                this.socket.setSoTimeout(1);
+                try {
+                    this.input.mark(1);
+                    if (this.input.read() == -1) {
+                        return true;
+                    }
+                    this.input.reset();
+                    return true;
+                } catch (SocketTimeoutException e) {
+                    return false;
+                } finally {
+                    this.socket.setSoTimeout(timeout);
+                }
+            } catch (IOException e) {
+                return true;
+            }
+        }
+
+        void close() {
+            try {
+                this.socket.close();
+            } catch (IOException e) {
+                // The connection is being thrown away, so there's nothing else to do.
+            }
+        }
+    }
+}
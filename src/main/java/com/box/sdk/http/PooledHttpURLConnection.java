@@ -0,0 +1,749 @@
+package com.box.sdk.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ProtocolException;
+import java.net.SocketException;
+import java.net.URL;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLPeerUnverifiedException;
+import javax.net.ssl.SSLSession;
+
+/**
+ * An HTTP/1.1 connection that sends its exchange over a socket leased from a {@link PooledHttpTransport}.
+ *
+ * <p>The socket is returned to the pool once the response body has been fully read (or immediately if the response
+ * has no body) and is closed instead if the exchange didn't complete cleanly. Request bodies are streamed when
+ * {@link #setFixedLengthStreamingMode(int)} or {@link #setChunkedStreamingMode} are used and buffered otherwise.</p>
+ *
+ * <p>The connection is an {@link HttpsURLConnection} so that the SSL socket factory set on it is used to open HTTPS
+ * connections. The hostname is always verified by the socket, so the hostname verifier set on it isn't used.</p>
+ */
+final class PooledHttpURLConnection extends HttpsURLConnection {
+    private static final String CRLF = "\r\n";
+    private static final String HTTP_VERSION = "HTTP/1.1";
+    private static final int HTTP_CONTINUE = 100;
+    private static final int HTTP_CLIENT_ERROR = 400;
+    private static final int HEX_RADIX = 16;
+
+    private final PooledHttpTransport transport;
+
+    private PooledHttpTransport.PooledSocket socket;
+    private Map<String, List<String>> requestHeaders;
+    private OutputStream requestBody;
+    private ByteArrayOutputStream bufferedRequestBody;
+    private boolean requestSent;
+    private boolean responseStarted;
+    private String statusLine;
+    private List<String[]> responseHeaders;
+    private InputStream responseBody;
+    private boolean exchangeComplete;
+
+    PooledHttpURLConnection(URL url, PooledHttpTransport transport) {
+        super(url);
+        this.transport = transport;
+        this.setSSLSocketFactory(transport.getSSLSocketFactory());
+    }
+
+    @Override
+    public void connect() throws IOException {
+        if (this.connected) {
+            return;
+        }
+
+        this.requestHeaders = this.getRequestProperties();
+        this.socket = this.transport.lease(this.url, this.getConnectTimeout(), this.getReadTimeout(),
+            this.isReplayable(), this.getSSLSocketFactory());
+        this.connected = true;
+    }
+
+    @Override
+    public void disconnect() {
+        if (this.socket != null && !this.exchangeComplete) {
+            this.exchangeComplete = true;
+            this.transport.discard(this.socket);
+        }
+    }
+
+    @Override
+    public boolean usingProxy() {
+        return false;
+    }
+
+    @Override
+    public String getCipherSuite() {
+        return this.getSSLSession().getCipherSuite();
+    }
+
+    @Override
+    public Certificate[] getLocalCertificates() {
+        return this.getSSLSession().getLocalCertificates();
+    }
+
+    @Override
+    public Certificate[] getServerCertificates() throws SSLPeerUnverifiedException {
+        return this.getSSLSession().getPeerCertificates();
+    }
+
+    private SSLSession getSSLSession() {
+        if (this.socket == null) {
+            throw new IllegalStateException("The connection hasn't been established yet.");
+        }
+        SSLSession session = this.socket.getSSLSession();
+        if (session == null) {
+            throw new IllegalStateException("The connection doesn't use HTTPS.");
+        }
+        return session;
+    }
+
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        if (!this.doOutput) {
+            throw new ProtocolException("Cannot write output to a connection without setting doOutput to true.");
+        }
+        if (this.requestSent) {
+            throw new ProtocolException("Cannot write output after reading the response.");
+        }
+        if (this.requestBody != null) {
+            return this.requestBody;
+        }
+
+        if (this.fixedContentLength >= 0) {
+            this.connect();
+            this.writeRequestHead(HttpHeaders.CONTENT_LENGTH, String.valueOf(this.fixedContentLength));
+            this.requestBody = new FixedLengthOutputStream(this.socket.getOutputStream(), this.fixedContentLength);
+        } else if (this.chunkLength > 0) {
+            this.connect();
+            this.writeRequestHead("Transfer-Encoding", "chunked");
+            this.requestBody = new ChunkedOutputStream(this.socket.getOutputStream());
+        } else {
+            this.bufferedRequestBody = new ByteArrayOutputStream();
+            this.requestBody = this.bufferedRequestBody;
+        }
+
+        return this.requestBody;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        this.sendRequest();
+        if (this.responseCode >= HTTP_CLIENT_ERROR) {
+            if (this.responseCode == HTTP_NOT_FOUND || this.responseCode == HTTP_GONE) {
+                throw new FileNotFoundException(this.url.toString());
+            }
+            throw new IOException("Server returned HTTP response code: " + this.responseCode + " for URL: "
+                + this.url);
+        }
+        return this.responseBody;
+    }
+
+    @Override
+    public InputStream getErrorStream() {
+        if (this.responseHeaders == null || this.responseCode < HTTP_CLIENT_ERROR) {
+            return null;
+        }
+        return this.responseBody;
+    }
+
+    @Override
+    public int getResponseCode() throws IOException {
+        this.sendRequest();
+        return this.responseCode;
+    }
+
+    @Override
+    public String getResponseMessage() throws IOException {
+        this.sendRequest();
+        return this.responseMessage;
+    }
+
+    @Override
+    public String getHeaderField(String name) {
+        if (!this.ensureResponse() || name == null) {
+            return null;
+        }
+
+        for (int i = this.responseHeaders.size() - 1; i >= 0; i--) {
+            String[] header = this.responseHeaders.get(i);
+            if (header[0].equalsIgnoreCase(name)) {
+                return header[1];
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String getHeaderField(int n) {
+        if (!this.ensureResponse()) {
+            return null;
+        }
+        if (n == 0) {
+            return this.statusLine;
+        }
+        return n <= this.responseHeaders.size() ? this.responseHeaders.get(n - 1)[1] : null;
+    }
+
+    @Override
+    public String getHeaderFieldKey(int n) {
+        if (!this.ensureResponse() || n == 0) {
+            return null;
+        }
+        return n <= this.responseHeaders.size() ? this.responseHeaders.get(n - 1)[0] : null;
+    }
+
+    @Override
+    public Map<String, List<String>> getHeaderFields() {
+        if (!this.ensureResponse()) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, List<String>> fields = new LinkedHashMap<String, List<String>>();
+        Map<String, String> names = new LinkedHashMap<String, String>();
+        fields.put(null, Collections.singletonList(this.statusLine));
+        for (String[] header : this.responseHeaders) {
+            String key = header[0].toLowerCase();
+            String name = names.get(key);
+            if (name == null) {
+                name = header[0];
+                names.put(key, name);
+                fields.put(name, new ArrayList<String>());
+            }
+            fields.get(name).add(header[1]);
+        }
+
+        for (Map.Entry<String, List<String>> entry : fields.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(fields);
+    }
+
+    private boolean ensureResponse() {
+        try {
+            this.sendRequest();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void sendRequest() throws IOException {
+        if (this.requestSent) {
+            if (this.responseHeaders == null) {
+                throw new IOException("The request to " + this.url + " failed.");
+            }
+            return;
+        }
+        this.requestSent = true;
+
+        try {
+            if (this.requestBody == null || this.bufferedRequestBody != null) {
+                this.sendReplayableRequest();
+            } else {
+                this.requestBody.close();
+                this.readResponseHead();
+            }
+        } catch (IOException e) {
+            this.disconnect();
+            throw e;
+        }
+    }
+
+    private void sendReplayableRequest() throws IOException {
+        this.connect();
+        try {
+            this.writeReplayableRequest();
+            this.readResponseHead();
+        } catch (IOException e) {
+            if (!this.socket.isReused() || !this.isReplayable() || this.responseStarted
+                || !(e instanceof SocketException || e instanceof EOFException)) {
+                throw e;
+            }
+
+            // The server may have closed a pooled connection right as it was being reused, in which case the connection
+            // is reset or closed before any of the response is received. Only idempotent requests are replayed, once
+            // and on a brand new connection, since the server may still have processed the first one. Other errors,
+            // such as read timeouts, are never replayed.
+            this.transport.discard(this.socket);
+            this.socket = this.transport.lease(this.url, this.getConnectTimeout(), this.getReadTimeout(), true,
+                this.getSSLSocketFactory());
+            this.writeReplayableRequest();
+            this.readResponseHead();
+        }
+    }
+
+    /**
+     * Gets whether this request can be sent again if its pooled connection turns out to have been closed by the server,
+     * which is the case of idempotent requests whose body, if any, is buffered.
+     * @return true if the request can be replayed.
+     */
+    private boolean isReplayable() {
+        if (this.fixedContentLength >= 0 || this.chunkLength > 0) {
+            return false;
+        }
+
+        return this.method.equals("GET") || this.method.equals("HEAD") || this.method.equals("OPTIONS")
+            || this.method.equals("PUT") || this.method.equals("DELETE");
+    }
+
+    private void writeReplayableRequest() throws IOException {
+        byte[] body = null;
+        if (this.bufferedRequestBody != null) {
+            body = this.bufferedRequestBody.toByteArray();
+        }
+
+        if (body != null || this.method.equals("POST") || this.method.equals("PUT")) {
+            this.writeRequestHead(HttpHeaders.CONTENT_LENGTH, String.valueOf(body == null ? 0 : body.length));
+        } else {
+            this.writeRequestHead(null, null);
+        }
+
+        OutputStream output = this.socket.getOutputStream();
+        if (body != null) {
+            output.write(body);
+        }
+        output.flush();
+    }
+
+    private void writeRequestHead(String framingHeader, String framingValue) throws IOException {
+        StringBuilder head = new StringBuilder();
+        String file = this.url.getFile();
+        head.append(this.method).append(' ').append(file.length() == 0 ? "/" : file).append(' ')
+            .append(HTTP_VERSION).append(CRLF);
+
+        int port = this.url.getPort();
+        head.append("Host: ").append(this.url.getHost());
+        if (port != -1 && port != this.url.getDefaultPort()) {
+            head.append(':').append(port);
+        }
+        head.append(CRLF);
+
+        for (Map.Entry<String, List<String>> header : this.requestHeaders.entrySet()) {
+            String name = header.getKey();
+            if (name == null || name.equalsIgnoreCase("Host") || name.equalsIgnoreCase(HttpHeaders.CONTENT_LENGTH)
+                || name.equalsIgnoreCase("Transfer-Encoding")) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                head.append(name).append(": ").append(value == null ? "" : value).append(CRLF);
+            }
+        }
+
+        if (framingHeader != null) {
+            head.append(framingHeader).append(": ").append(framingValue).append(CRLF);
+        }
+        head.append(CRLF);
+
+        this.socket.getOutputStream().write(head.toString().getBytes("ISO-8859-1"));
+    }
+
+    private void readResponseHead() throws IOException {
+        InputStream input = this.socket.getInputStream();
+        input.mark(1);
+        if (input.read() == -1) {
+            throw new EOFException("The server closed the connection without sending a response.");
+        }
+        input.reset();
+        this.responseStarted = true;
+
+        List<String[]> headers;
+        String line;
+        do {
+            line = readLine(input);
+            if (line == null) {
+                throw new IOException("The server closed the connection without sending a response.");
+            }
+            this.parseStatusLine(line);
+            headers = readHeaders(input);
+        } while (this.responseCode == HTTP_CONTINUE);
+
+        this.statusLine = line;
+        this.responseHeaders = headers;
+        this.responseBody = this.createResponseBody(input);
+    }
+
+    private void parseStatusLine(String line) throws IOException {
+        if (!line.startsWith("HTTP/")) {
+            throw new IOException("Invalid HTTP status line: " + line);
+        }
+
+        int codeStart = line.indexOf(' ');
+        int codeEnd = line.indexOf(' ', codeStart + 1);
+        try {
+            if (codeEnd == -1) {
+                this.responseCode = Integer.parseInt(line.substring(codeStart + 1).trim());
+                this.responseMessage = null;
+            } else {
+                this.responseCode = Integer.parseInt(line.substring(codeStart + 1, codeEnd));
+                this.responseMessage = line.substring(codeEnd + 1);
+            }
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid HTTP status line: " + line);
+        }
+    }
+
+    private InputStream createResponseBody(InputStream input) throws IOException {
+        boolean reusable = !"close".equalsIgnoreCase(this.getHeaderField("Connection"));
+        if (this.method.equals("HEAD") || this.responseCode < HTTP_OK || this.responseCode == HTTP_NO_CONTENT
+            || this.responseCode == HTTP_NOT_MODIFIED) {
+            this.completeExchange(reusable);
+            return new BodyInputStream(input, 0, reusable);
+        }
+
+        String transferEncoding = this.getHeaderField("Transfer-Encoding");
+        if (transferEncoding != null && transferEncoding.toLowerCase().contains("chunked")) {
+            return new ChunkedInputStream(input, reusable);
+        }
+
+        String contentLength = this.getHeaderField(HttpHeaders.CONTENT_LENGTH);
+        if (contentLength != null) {
+            long length;
+            try {
+                length = Long.parseLong(contentLength.trim());
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid Content-Length: " + contentLength);
+            }
+            if (length == 0) {
+                this.completeExchange(reusable);
+            }
+            return new BodyInputStream(input, length, reusable);
+        }
+
+        // Without any framing, the body extends until the server closes the connection.
+        return new BodyInputStream(input, -1, false);
+    }
+
+    private void completeExchange(boolean reusable) {
+        if (this.exchangeComplete) {
+            return;
+        }
+        this.exchangeComplete = true;
+        if (reusable) {
+            this.transport.release(this.socket);
+        } else {
+            this.transport.discard(this.socket);
+        }
+    }
+
+    private static List<String[]> readHeaders(InputStream input) throws IOException {
+        List<String[]> headers = new ArrayList<String[]>();
+        String line = readLine(input);
+        while (line != null && line.length() > 0) {
+            int separator = line.indexOf(':');
+            if (separator > 0) {
+                headers.add(new String[] {line.substring(0, separator).trim(), line.substring(separator + 1).trim()});
+            }
+            line = readLine(input);
+        }
+        return headers;
+    }
+
+    private static String readLine(InputStream input) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b = input.read();
+        if (b == -1) {
+            return null;
+        }
+        while (b != -1 && b != '\n') {
+            if (b != '\r') {
+                line.append((char) b);
+            }
+            b = input.read();
+        }
+        return line.toString();
+    }
+
+    /**
+     * Base class for response bodies which completes the exchange once the whole body has been read.
+     */
+    private abstract class ResponseBodyInputStream extends InputStream {
+        private boolean closed;
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            int n = this.read(b, 0, 1);
+            return n == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (this.closed) {
+                throw new IOException("The response body has already been closed.");
+            }
+            if (this.isFinished()) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            return this.readBody(b, off, len);
+        }
+
+        @Override
+        public void close() {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            // Closing a body that wasn't fully read leaves unread bytes on the socket, so it can't be reused.
+            PooledHttpURLConnection.this.completeExchange(this.isFinished() && this.isReusable());
+        }
+
+        boolean isClosed() {
+            return this.closed;
+        }
+
+        IOException prematureEnd() {
+            PooledHttpURLConnection.this.completeExchange(false);
+            return new IOException("The server closed the connection before the response body was complete.");
+        }
+
+        abstract boolean isFinished();
+
+        abstract boolean isReusable();
+
+        abstract int readBody(byte[] b, int off, int len) throws IOException;
+    }
+
+    /**
+     * Reads a response body of a known length, or until the end of the stream if the length is -1.
+     */
+    private final class BodyInputStream extends ResponseBodyInputStream {
+        private final InputStream input;
+        private final boolean reusable;
+        private long remaining;
+
+        BodyInputStream(InputStream input, long length, boolean reusable) {
+            this.input = input;
+            this.remaining = length;
+            this.reusable = reusable;
+        }
+
+        @Override
+        public int available() throws IOException {
+            if (this.isClosed() || this.remaining == 0) {
+                return 0;
+            }
+            int available = this.input.available();
+            return this.remaining < 0 ? available : (int) Math.min(available, this.remaining);
+        }
+
+        @Override
+        boolean isFinished() {
+            return this.remaining == 0;
+        }
+
+        @Override
+        boolean isReusable() {
+            return this.reusable;
+        }
+
+        @Override
+        int readBody(byte[] b, int off, int len) throws IOException {
+            int toRead = this.remaining < 0 ? len : (int) Math.min(len, this.remaining);
+            int n = this.input.read(b, off, toRead);
+            if (n == -1) {
+                if (this.remaining > 0) {
+                    throw this.prematureEnd();
+                }
+                this.remaining = 0;
+                PooledHttpURLConnection.this.completeExchange(false);
+                return -1;
+            }
+
+            if (this.remaining > 0) {
+                this.remaining -= n;
+                if (this.remaining == 0) {
+                    PooledHttpURLConnection.this.completeExchange(this.reusable);
+                }
+            }
+            return n;
+        }
+    }
+
+    /**
+     * Decodes a response body sent with chunked transfer encoding.
+     */
+    private final class ChunkedInputStream extends ResponseBodyInputStream {
+        private final InputStream input;
+        private final boolean reusable;
+        private long chunkRemaining;
+        private boolean finished;
+
+        ChunkedInputStream(InputStream input, boolean reusable) {
+            this.input = input;
+            this.reusable = reusable;
+        }
+
+        @Override
+        public int available() throws IOException {
+            if (this.isClosed() || this.finished) {
+                return 0;
+            }
+            return (int) Math.min(this.input.available(), this.chunkRemaining);
+        }
+
+        @Override
+        boolean isFinished() {
+            return this.finished;
+        }
+
+        @Override
+        boolean isReusable() {
+            return this.reusable;
+        }
+
+        @Override
+        int readBody(byte[] b, int off, int len) throws IOException {
+            if (this.chunkRemaining == 0) {
+                this.chunkRemaining = this.readChunkSize();
+                if (this.chunkRemaining == 0) {
+                    readHeaders(this.input);
+                    this.finished = true;
+                    PooledHttpURLConnection.this.completeExchange(this.reusable);
+                    return -1;
+                }
+            }
+
+            int n = this.input.read(b, off, (int) Math.min(len, this.chunkRemaining));
+            if (n == -1) {
+                throw this.prematureEnd();
+            }
+
+            this.chunkRemaining -= n;
+            if (this.chunkRemaining == 0) {
+                readLine(this.input);
+            }
+            return n;
+        }
+
+        private long readChunkSize() throws IOException {
+            String line = readLine(this.input);
+            if (line == null) {
+                throw this.prematureEnd();
+            }
+            int extension = line.indexOf(';');
+            if (extension != -1) {
+                line = line.substring(0, extension);
+            }
+            try {
+                return Long.parseLong(line.trim(), HEX_RADIX);
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid chunk size: " + line);
+            }
+        }
+    }
+
+    /**
+     * Writes a request body whose length was declared with a Content-Length header.
+     */
+    private static final class FixedLengthOutputStream extends OutputStream {
+        private final OutputStream output;
+        private long remaining;
+        private boolean closed;
+
+        FixedLengthOutputStream(OutputStream output, long length) {
+            this.output = output;
+            this.remaining = length;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (this.closed) {
+                throw new IOException("The request body has already been closed.");
+            }
+            if (this.remaining < 1) {
+                throw new IOException("The request body is larger than its declared Content-Length.");
+            }
+            this.output.write(b);
+            this.remaining--;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (this.closed) {
+                throw new IOException("The request body has already been closed.");
+            }
+            if (len > this.remaining) {
+                throw new IOException("The request body is larger than its declared Content-Length.");
+            }
+            this.output.write(b, off, len);
+            this.remaining -= len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.output.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            if (this.remaining > 0) {
+                throw new IOException("The request body is smaller than its declared Content-Length.");
+            }
+            this.output.flush();
+        }
+    }
+
+    /**
+     * Writes a request body with chunked transfer encoding.
+     */
+    private static final class ChunkedOutputStream extends OutputStream {
+        private static final byte[] LAST_CHUNK = ("0" + CRLF + CRLF).getBytes();
+        private static final byte[] CHUNK_END = CRLF.getBytes();
+
+        private final OutputStream output;
+        private boolean closed;
+
+        ChunkedOutputStream(OutputStream output) {
+            this.output = output;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            this.write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (this.closed) {
+                throw new IOException("The request body has already been closed.");
+            }
+            if (len == 0) {
+                return;
+            }
+            this.output.write((Integer.toHexString(len) + CRLF).getBytes());
+            this.output.write(b, off, len);
+            this.output.write(CHUNK_END);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.output.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            this.output.write(LAST_CHUNK);
+            this.output.flush();
+        }
+    }
+}
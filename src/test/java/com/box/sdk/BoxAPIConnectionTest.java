@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
 import java.util.StringTokenizer;
+import java.util.concurrent.CountDownLatch;
 
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
@@ -895,4 +896,123 @@ public class BoxAPIConnectionTest {
         assertEquals(instanceConnectTimeout, req.getConnectTimeout());
         assertEquals(instanceReadTimeout, req.getReadTimeout());
     }
+
+    @Test
+    @Category(UnitTest.class)
+    public void requestIsSentAgainWithRefreshedTokenWhenTokenIsRejected() {
+        BoxAPIConnection api = new BoxAPIConnection("clientID", "clientSecret", "oldAccessToken", "refreshToken");
+        api.setBaseURL("http://localhost:53621/");
+        api.setTokenURL("http://localhost:53621/oauth2/token");
+        api.setExpires(3600000);
+        api.setLastRefresh(System.currentTimeMillis());
+
+        WIRE_MOCK_CLASS_RULE.stubFor(post(urlPathEqualTo("/oauth2/token"))
+            .willReturn(aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"access_token\": \"newAccessToken\", \"refresh_token\": \"newRefreshToken\", "
+                    + "\"expires_in\": 3600}")));
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.get(urlPathEqualTo("/users/me"))
+            .withHeader("Authorization", WireMock.equalTo("Bearer oldAccessToken"))
+            .willReturn(aResponse().withStatus(401)));
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.get(urlPathEqualTo("/users/me"))
+            .withHeader("Authorization", WireMock.equalTo("Bearer newAccessToken"))
+            .willReturn(aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"type\": \"user\", \"id\": \"12345\"}")));
+
+        BoxUser user = BoxUser.getCurrentUser(api);
+
+        assertEquals("12345", user.getID());
+        assertEquals("newAccessToken", api.getAccessToken());
+        assertEquals("newRefreshToken", api.getRefreshToken());
+    }
+
+    @Test(timeout = 10000)
+    @Category(UnitTest.class)
+    public void expiredTokenIsRefreshedWhileTheRateLimiterIsFull() throws Exception {
+        final BoxAPIConnection api = new BoxAPIConnection("clientID", "clientSecret", "expiredToken", "refreshToken");
+        api.setTokenURL("http://localhost:53621/oauth2/token/limited");
+        api.setExpires(1);
+        api.setRequestRateLimiter(new RequestRateLimiter(10, 1));
+
+        WIRE_MOCK_CLASS_RULE.stubFor(post(urlPathEqualTo("/oauth2/token/limited"))
+            .willReturn(aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"access_token\": \"limitedToken\", \"refresh_token\": \"refreshToken\", "
+                    + "\"expires_in\": 3600}")));
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.get(urlPathEqualTo("/limited"))
+            .willReturn(aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withBody("{}")));
+
+        final URL url = new URL("http://localhost:53621/limited");
+        new BoxAPIRequest(api, url, "GET").send().disconnect();
+
+        final CountDownLatch done = new CountDownLatch(4);
+        for (int i = 0; i < 4; i++) {
+            new Thread() {
+                @Override
+                public void run() {
+                    new BoxAPIRequest(api, url, "GET").send().disconnect();
+                    done.countDown();
+                }
+            }.start();
+        }
+
+        done.await();
+        WIRE_MOCK_CLASS_RULE.verify(5, WireMock.getRequestedFor(urlPathEqualTo("/limited"))
+            .withHeader("Authorization", WireMock.equalTo("Bearer limitedToken")));
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void rejectedTokenIsOnlyRefreshedOnce() {
+        BoxAPIConnection api = new BoxAPIConnection("clientID", "clientSecret", "staleAccessToken", "refreshToken");
+        api.setTokenURL("http://localhost:53621/oauth2/token/rejected");
+
+        WIRE_MOCK_CLASS_RULE.stubFor(post(urlPathEqualTo("/oauth2/token/rejected"))
+            .willReturn(aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"access_token\": \"freshAccessToken\", \"refresh_token\": \"refreshToken\", "
+                    + "\"expires_in\": 3600}")));
+
+        assertTrue(api.refreshRejectedAccessToken("staleAccessToken"));
+        assertTrue(api.refreshRejectedAccessToken("staleAccessToken"));
+
+        WIRE_MOCK_CLASS_RULE.verify(1, WireMock.postRequestedFor(urlPathEqualTo("/oauth2/token/rejected")));
+        assertEquals("freshAccessToken", api.getAccessToken());
+    }
+
+    @Test(timeout = 10000)
+    @Category(UnitTest.class)
+    public void getAccessTokenDoesNotWaitForRefreshWhileTokenIsStillValid() throws InterruptedException {
+        final BoxAPIConnection api = new BoxAPIConnection("clientID", "clientSecret", "accessToken", "refreshToken");
+        api.setExpires(30000);
+        api.setLastRefresh(System.currentTimeMillis());
+        assertTrue(api.needsRefresh());
+
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        Thread refresher = new Thread() {
+            @Override
+            public void run() {
+                api.getRefreshLock().writeLock().lock();
+                try {
+                    locked.countDown();
+                    done.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    api.getRefreshLock().writeLock().unlock();
+                }
+            }
+        };
+        refresher.start();
+        locked.await();
+
+        assertEquals("accessToken", api.getAccessToken());
+
+        done.countDown();
+        refresher.join();
+    }
 }
@@ -2,6 +2,15 @@ package com.box.sdk;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -14,6 +23,7 @@ import org.junit.experimental.categories.Category;
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 
 import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
 
 public class BoxAPIRequestTest {
     @Rule
@@ -55,6 +65,30 @@ public class BoxAPIRequestTest {
         }
     }
 
+    @Test
+    @Category(UnitTest.class)
+    public void throttledRequestPausesTheConnectionRateLimiter() throws Exception {
+        stubFor(get(urlEqualTo("/throttled")).inScenario("Throttle").whenScenarioStateIs(Scenario.STARTED)
+            .willReturn(aResponse().withStatus(429).withHeader("Retry-After", "1"))
+            .willSetStateTo("Throttled"));
+        stubFor(get(urlEqualTo("/throttled")).inScenario("Throttle").whenScenarioStateIs("Throttled")
+            .willReturn(aResponse().withStatus(200)));
+
+        BoxAPIConnection api = new BoxAPIConnection("");
+        RequestRateLimiter rateLimiter = new RequestRateLimiter(100, 4);
+        api.setRequestRateLimiter(rateLimiter);
+
+        BoxAPIRequest request = new BoxAPIRequest(api, new URL("http://localhost:53620/throttled"), "GET");
+        request.setBackoffCounter(new BackoffCounter(mock(Time.class)));
+        long start = System.currentTimeMillis();
+        request.send();
+
+        // The request's own backoff doesn't wait, so the retry was held back by the rate limiter.
+        assertTrue(System.currentTimeMillis() - start >= 900);
+        assertTrue(rateLimiter.getRequestsPerSecond() < 100);
+        verify(2, getRequestedFor(urlEqualTo("/throttled")));
+    }
+
     @Test
     @Category(UnitTest.class)
     public void requestRetriesTheNumberOfTimesConfiguredInTheAPIConnection() throws MalformedURLException {
@@ -77,6 +111,38 @@ public class BoxAPIRequestTest {
         }
     }
 
+    @Test
+    @Category(UnitTest.class)
+    public void requestFollowsTheRetryPolicyOfTheAPIConnection() throws MalformedURLException {
+        stubFor(get(urlEqualTo("/")).willReturn(aResponse().withStatus(503)));
+        stubFor(get(urlEqualTo("/internal")).willReturn(aResponse().withStatus(500)));
+
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.setMaxRetryAttempts(5);
+        RetryPolicy retryPolicy = new RetryPolicy();
+        retryPolicy.setMaxRetryAttempts(2);
+        retryPolicy.setRetryStatus(500, false);
+        api.setRetryPolicy(retryPolicy);
+
+        BoxAPIRequest request = new BoxAPIRequest(api, new URL("http://localhost:53620/"), "GET");
+        request.setBackoffCounter(new BackoffCounter(mock(Time.class)));
+        try {
+            request.send();
+            fail("The request should have failed.");
+        } catch (BoxAPIException e) {
+            verify(3, getRequestedFor(urlEqualTo("/")));
+        }
+
+        request = new BoxAPIRequest(api, new URL("http://localhost:53620/internal"), "GET");
+        request.setBackoffCounter(new BackoffCounter(mock(Time.class)));
+        try {
+            request.send();
+            fail("The request should have failed.");
+        } catch (BoxAPIException e) {
+            verify(1, getRequestedFor(urlEqualTo("/internal")));
+        }
+    }
+
     @Test
     @Category(UnitTest.class)
     public void requestSendsXBoxUAHeader() throws MalformedURLException {
@@ -140,4 +206,101 @@ public class BoxAPIRequestTest {
 
         assertEquals("67890", headerValue);
     }
+
+    @Test
+    @Category(UnitTest.class)
+    public void sendAsyncReturnsTheServerResponse() throws Exception {
+        stubFor(get(urlEqualTo("/")).willReturn(aResponse()
+            .withHeader("Content-Type", "application/json")
+            .withBody("{\"id\": \"12345\"}")));
+
+        BoxAPIConnection api = new BoxAPIConnection("");
+        BoxAPIRequest request = new BoxAPIRequest(api, new URL("http://localhost:53620/"), "GET");
+        Future<BoxAPIResponse> future = request.sendAsync();
+
+        BoxJSONResponse response = (BoxJSONResponse) future.get();
+        assertEquals("12345", response.getJsonObject().get("id").asString());
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void sendAsyncReportsErrorsThroughTheFuture() throws Exception {
+        stubFor(get(urlEqualTo("/")).willReturn(aResponse().withStatus(404)));
+
+        BoxAPIRequest request = new BoxAPIRequest(new URL("http://localhost:53620/"), "GET");
+        Future<BoxAPIResponse> future = request.sendAsync();
+
+        try {
+            future.get();
+            fail("Expected the request to fail.");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof BoxAPIException);
+            assertEquals(404, ((BoxAPIException) e.getCause()).getResponseCode());
+        }
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    @Category(UnitTest.class)
+    public void sendAsyncUsesTheConnectionExecutor() throws MalformedURLException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.setAsyncExecutor(executor);
+        assertSame(executor, api.getAsyncExecutor());
+
+        new BoxAPIRequest(api, new URL("http://localhost:53620/"), "GET").sendAsync();
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void requestContextHeadersReplaceTheConnectionHeaders() throws MalformedURLException {
+        final BoxAPIConnection api = new BoxAPIConnection("");
+        api.asUser("11111");
+        final URL url = new URL("http://localhost:53620/");
+
+        final BoxAPIRequest[] requests = new BoxAPIRequest[1];
+        BoxRequestContext.asUser("22222").withNotificationsSuppressed().run(new Runnable() {
+            @Override
+            public void run() {
+                requests[0] = new BoxAPIRequest(api, url, "GET");
+            }
+        });
+
+        assertEquals(Arrays.asList("22222"), getHeaderValues(requests[0], "As-User"));
+        assertEquals(Arrays.asList("off"), getHeaderValues(requests[0], "Box-Notifications"));
+        assertEquals(Arrays.asList("11111"), getHeaderValues(new BoxAPIRequest(api, url, "GET"), "As-User"));
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void asynchronousCallsRunWithTheRequestContextTheyWereStartedWith() throws Exception {
+        final BoxAPIConnection api = new BoxAPIConnection("");
+        final URL url = new URL("http://localhost:53620/");
+
+        Future<BoxAPIRequest> future = BoxRequestContext.asUser("33333").call(new Callable<Future<BoxAPIRequest>>() {
+            @Override
+            public Future<BoxAPIRequest> call() {
+                return api.submitAsync(new Callable<BoxAPIRequest>() {
+                    @Override
+                    public BoxAPIRequest call() {
+                        return new BoxAPIRequest(api, url, "GET");
+                    }
+                });
+            }
+        });
+
+        assertEquals(Arrays.asList("33333"), getHeaderValues(future.get(), "As-User"));
+        assertNull(BoxRequestContext.current());
+    }
+
+    private static List<String> getHeaderValues(BoxAPIRequest request, String name) {
+        List<String> values = new ArrayList<String>();
+        for (BoxAPIRequest.RequestHeader header : request.getHeaders()) {
+            if (header.getKey().equals(name)) {
+                values.add(header.getValue());
+            }
+        }
+        return values;
+    }
 }
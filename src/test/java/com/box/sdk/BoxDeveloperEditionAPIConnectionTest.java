@@ -181,10 +181,101 @@ public class BoxDeveloperEditionAPIConnectionTest {
         Assert.assertEquals(accessToken, api.getAccessToken());
     }
 
+    @Test
+    @Category(UnitTest.class)
+    public void connectionsUsingTheSameKeyShareTheDecryptedKey() {
+        BoxDeveloperEditionAPIConnection first = this.getBoxDeveloperEditionAPIConnection("/oauth2/token");
+        BoxDeveloperEditionAPIConnection second = this.getBoxDeveloperEditionAPIConnection("/oauth2/token");
+
+        Assert.assertSame(first.getPrivateKey(), second.getPrivateKey());
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void backgroundRefreshGetsANewTokenBeforeTheCurrentOneExpires() throws InterruptedException {
+        final String tokenPath = "/oauth2/token/background";
+        final String accessToken = "backgroundRefreshedAccessToken";
+        BoxDeveloperEditionAPIConnection api = this.getBoxDeveloperEditionAPIConnection(tokenPath);
+
+        this.wireMockRule.stubFor(post(urlPathEqualTo(tokenPath))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"access_token\": \"" + accessToken + "\", \"expires_in\": 4169}")));
+
+        // The current token is still valid for requests, but is close enough to its expiry to be refreshed.
+        api.setAccessToken("currentAccessToken");
+        api.setLastRefresh(System.currentTimeMillis());
+        api.setExpires(120100);
+        api.setBackgroundRefresh(true);
+
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!accessToken.equals(api.getAccessToken()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        api.setBackgroundRefresh(false);
+
+        Assert.assertEquals(accessToken, api.getAccessToken());
+        verify(1, postRequestedFor(urlPathEqualTo(tokenPath)));
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void tokenBrokerSendsOneTokenRequestForConcurrentConnectionsOfAUser() throws InterruptedException {
+        final String tokenPath = "/oauth2/token/broker";
+        final String accessToken = "brokeredAccessToken";
+        this.wireMockRule.stubFor(post(urlPathEqualTo(tokenPath))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withFixedDelay(500)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"access_token\": \"" + accessToken + "\", \"expires_in\": 4169}")));
+
+        BoxDeveloperEditionTokenBroker broker = new BoxDeveloperEditionTokenBroker("foo", "bar",
+            this.getEncryptionPreferences(), null);
+        broker.setTokenURL("http://localhost:53620" + tokenPath);
+
+        final String[] accessTokens = new String[4];
+        Thread[] threads = new Thread[accessTokens.length];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            final BoxDeveloperEditionAPIConnection api = broker.getAppUserConnection("12345");
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    accessTokens[index] = api.getAccessToken();
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (String token : accessTokens) {
+            Assert.assertEquals(accessToken, token);
+        }
+        Assert.assertEquals(accessToken, broker.getAppUserConnection("12345").getAccessToken());
+        verify(1, postRequestedFor(urlPathEqualTo(tokenPath)));
+        broker.shutdown();
+    }
+
     private BoxDeveloperEditionAPIConnection getBoxDeveloperEditionAPIConnection(final String tokenPath) {
         final String baseURL = "http://localhost:53620";
         final Integer expectedNumRetryAttempts = 2;
 
+        BoxDeveloperEditionAPIConnection api = new BoxDeveloperEditionAPIConnection("12345",
+                DeveloperEditionEntityType.USER, "foo", "bar", this.getEncryptionPreferences(), null);
+        api.setBaseURL(baseURL + "/");
+        api.setTokenURL(baseURL + tokenPath);
+        api.setMaxRetryAttempts(expectedNumRetryAttempts);
+
+        final String[] jtiClaims = new String[1];
+
+        return api;
+    }
+
+    private JWTEncryptionPreferences getEncryptionPreferences() {
         JWTEncryptionPreferences prefs = new JWTEncryptionPreferences();
         prefs.setEncryptionAlgorithm(EncryptionAlgorithm.RSA_SHA_256);
         // @NOTE(mwiller) 2018-01-16: These are freshly-generated keys which are not used for a real Box
@@ -222,16 +313,7 @@ public class BoxDeveloperEditionAPIConnectionTest {
         prefs.setPrivateKeyPassword("testkey");
         prefs.setPublicKeyID("abcdefg");
 
-
-        BoxDeveloperEditionAPIConnection api = new BoxDeveloperEditionAPIConnection("12345",
-                DeveloperEditionEntityType.USER, "foo", "bar", prefs, null);
-        api.setBaseURL(baseURL + "/");
-        api.setTokenURL(baseURL + tokenPath);
-        api.setMaxRetryAttempts(expectedNumRetryAttempts);
-
-        final String[] jtiClaims = new String[1];
-
-        return api;
+        return prefs;
     }
 
     private void mockFirstResponse(String tokenPath) {
@@ -157,4 +157,46 @@ public class BoxEventTest {
         assertEquals(groupID, parsedGroupInfo.getID());
         assertEquals(groupName, parsedGroupInfo.getName());
     }
+
+    @Test
+    @Category(UnitTest.class)
+    public void compactEventsOnlyKeepTheirTypeTimeSourceAndCreator() throws ParseException {
+        final String createdAt = "2014-12-18T16:25:15-08:00";
+        JsonObject eventJSON = new JsonObject()
+            .add("event_id", "1234")
+            .add("event_type", "ITEM_PREVIEW")
+            .add("created_at", createdAt)
+            .add("ip_address", "non-empty IP")
+            .add("source", new JsonObject()
+                .add("item_type", "file")
+                .add("item_id", "5678")
+                .add("item_name", "file.txt"))
+            .add("created_by", new JsonObject()
+                .add("type", "user")
+                .add("id", "9012")
+                .add("name", "non-empty user name"));
+
+        BoxAPIConnection compactAPI = new BoxAPIConnection("");
+        compactAPI.setEventForm(BoxEvent.Form.COMPACT);
+        BoxEvent event = new BoxEvent(compactAPI, eventJSON);
+
+        assertEquals("1234", event.getID());
+        assertEquals(BoxEvent.Type.ITEM_PREVIEW, event.getType());
+        assertEquals(BoxDateFormat.parse(createdAt).getTime(), event.getCreatedAtMillis());
+        assertEquals(BoxDateFormat.parse(createdAt), event.getCreatedAt());
+        assertEquals("5678", event.getSourceID());
+        assertEquals("file", event.getSourceType());
+        assertEquals("9012", event.getCreatedByID());
+        Assert.assertNull(event.getCreatedBy());
+        Assert.assertNull(event.getIPAddress());
+        Assert.assertNull(event.getSourceJSON());
+
+        compactAPI.setEventForm(BoxEvent.Form.COMPACT_WITH_JSON);
+        event = new BoxEvent(compactAPI, eventJSON);
+
+        assertEquals("9012", event.getCreatedByID());
+        assertEquals("non-empty user name", event.getCreatedBy().getName());
+        assertEquals("non-empty IP", event.getIPAddress());
+        assertEquals("file.txt", event.getSourceJSON().get("item_name").asString());
+    }
 }
@@ -4,6 +4,7 @@ import java.io.*;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLDecoder;
+import java.nio.channels.Channels;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.text.SimpleDateFormat;
@@ -11,10 +12,12 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.Future;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
@@ -1201,6 +1204,76 @@ public class BoxFileTest {
         Assert.assertTrue(info.getHasCollaborations());
     }
 
+    @Test
+    @Category(UnitTest.class)
+    public void testGetFileInfoAsyncSucceeds() throws Exception {
+        final String fileID = "12345";
+        final String fileURL = "/files/" + fileID;
+        String result = TestConfig.getFixture("BoxFile/GetFileInfo200");
+
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.get(WireMock.urlPathEqualTo(fileURL))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(result)));
+
+        BoxFile file = new BoxFile(this.api, fileID);
+        Future<BoxFile.Info> future = file.getInfoAsync("name");
+        BoxFile.Info info = future.get();
+
+        Assert.assertEquals(fileID, info.getID());
+        Assert.assertEquals("Example.pdf", info.getName());
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void testDownloadToChannelSucceeds() throws Exception {
+        final String fileID = "12346";
+        byte[] content = "channel content".getBytes("UTF-8");
+
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.get(WireMock.urlPathEqualTo("/files/" + fileID + "/content"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/octet-stream")
+                        .withBody(content)));
+
+        // A buffer smaller than the file makes the content be copied in several writes.
+        this.api.setDownloadBufferSize(4);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new BoxFile(this.api, fileID).download(Channels.newChannel(output));
+
+        Assert.assertArrayEquals(content, output.toByteArray());
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void testLazyInfoParsingDecodesFieldsWhenTheyAreRead() {
+        this.api.setLazyInfoParsing(true);
+        JsonObject json = new JsonObject()
+            .add("type", "file")
+            .add("id", "12347")
+            .add("name", "lazy.txt")
+            .add("size", 42)
+            .add("created_at", "not a date")
+            .add("permissions", new JsonObject().add("can_download", true));
+
+        // The invalid date is only reported when it is read.
+        BoxFile.Info info = new BoxFile(this.api, "12347").new Info(json);
+        Assert.assertEquals("lazy.txt", info.getName());
+        Assert.assertEquals(42, info.getSize());
+        Assert.assertEquals(EnumSet.of(BoxFile.Permission.CAN_DOWNLOAD), info.getPermissions());
+        try {
+            info.getCreatedAt();
+            Assert.fail("The invalid date should have been reported.");
+        } catch (BoxDeserializationException e) {
+            Assert.assertEquals("created_at", e.getFieldName());
+        }
+
+        // A field that is changed before being read keeps its new value.
+        BoxFile.Info renamedInfo = new BoxFile(this.api, "12347").new Info(json);
+        renamedInfo.setName("renamed.txt");
+        Assert.assertEquals("renamed.txt", renamedInfo.getName());
+        Assert.assertEquals("{\"name\":\"renamed.txt\"}", renamedInfo.getPendingChanges());
+    }
+
     @Test(expected = BoxDeserializationException.class)
     public void testDeserializationException() throws IOException {
         String result = "";
@@ -0,0 +1,90 @@
+package com.box.sdk;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import com.box.sdk.http.PooledHttpTransport;
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.ParseException;
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+
+public class BoxJSONResponseTest {
+    @ClassRule
+    public static final WireMockClassRule WIRE_MOCK_CLASS_RULE = new WireMockClassRule(53621);
+
+    @Test
+    @Category(UnitTest.class)
+    public void getJsonObjectParsesBodyOnce() throws MalformedURLException {
+        stubFor(get(urlEqualTo("/json")).willReturn(aResponse()
+            .withHeader("Content-Type", "application/json")
+            .withBody("{\n    \"id\": \"12345\",\n    \"name\": \"café\"\n}")));
+
+        BoxAPIRequest request = new BoxAPIRequest(new URL("http://localhost:53621/json"), "GET");
+        BoxJSONResponse response = (BoxJSONResponse) request.send();
+
+        JsonObject jsonObject = response.getJsonObject();
+        assertEquals("12345", jsonObject.get("id").asString());
+        assertEquals("café", jsonObject.get("name").asString());
+        assertSame(jsonObject, response.getJsonObject());
+        assertEquals(jsonObject, JsonObject.readFrom(response.getJSON()));
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void getJSONReturnsRawBody() throws MalformedURLException {
+        stubFor(get(urlEqualTo("/json")).willReturn(aResponse()
+            .withHeader("Content-Type", "application/json")
+            .withBody("{\"id\": \"12345\"}")));
+
+        BoxAPIRequest request = new BoxAPIRequest(new URL("http://localhost:53621/json"), "GET");
+        BoxJSONResponse response = (BoxJSONResponse) request.send();
+
+        assertEquals("{\"id\": \"12345\"}", response.getJSON());
+        assertEquals("{\"id\": \"12345\"}", response.getJSON());
+        assertEquals("12345", response.getJsonObject().get("id").asString());
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void invalidBodyDisconnectsTheResponse() throws MalformedURLException {
+        stubFor(get(urlEqualTo("/invalid")).willReturn(aResponse()
+            .withHeader("Content-Type", "application/json")
+            .withBody("{\"id\": ")));
+
+        PooledHttpTransport transport = new PooledHttpTransport();
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.setHttpTransport(transport);
+        BoxJSONResponse response = (BoxJSONResponse) new BoxAPIRequest(api,
+            new URL("http://localhost:53621/invalid"), "GET").send();
+
+        try {
+            response.getJsonObject();
+            fail("An invalid body should have thrown an exception.");
+        } catch (ParseException e) {
+            assertEquals(1, transport.getIdleConnectionCount());
+        }
+        transport.shutdown();
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void getJsonObjectUsesOverriddenGetJSON() {
+        BoxJSONResponse response = new BoxJSONResponse() {
+            @Override
+            public String getJSON() {
+                return "{\"id\": \"12345\"}";
+            }
+        };
+
+        assertEquals("12345", response.getJsonObject().get("id").asString());
+    }
+}
@@ -2,20 +2,37 @@ package com.box.sdk;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.nio.channels.FileChannel;
 
 import static org.mockito.Mockito.*;
 
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
 
 
 public class BoxMultipartRequestTest {
 
+    private static final String EXPECTED_FILE_BODY =
+        "--da39a3ee5e6b4b0d3255bfef95601890afd80709\r\n"
+        + "Content-Disposition: form-data; name=\"file\"; filename=\"testfile\"\r\n"
+        + "Content-Type: application/octet-stream\r\n"
+        + "\r\n"
+        + "test body\r\n"
+        + "--da39a3ee5e6b4b0d3255bfef95601890afd80709--";
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private class TestBoxMultipartRequest extends BoxMultipartRequest {
         public TestBoxMultipartRequest(BoxAPIConnection api, URL url) {
             super(api, url);
@@ -96,4 +113,59 @@ public class BoxMultipartRequestTest {
         String body = bodyOutputStream.toString();
         Assert.assertEquals(expectedBody, body);
     }
+
+    @Test
+    @Category(UnitTest.class)
+    public void streamOfGivenSizeIsChunked() throws Exception {
+        HttpURLConnection mockConnection = mock(HttpURLConnection.class);
+        ByteArrayOutputStream bodyOutputStream = new ByteArrayOutputStream();
+        when(mockConnection.getOutputStream()).thenReturn(bodyOutputStream);
+
+        BoxAPIConnection api = new BoxAPIConnection("");
+        BoxMultipartRequest request = new TestBoxMultipartRequest(api, new URL("http://localhost"));
+        // The size given with a stream is only used for progress and may not be exact.
+        request.setFile(new ByteArrayInputStream("test body".getBytes()), "testfile", 4);
+        request.writeBody(mockConnection, null);
+
+        Assert.assertEquals(EXPECTED_FILE_BODY, bodyOutputStream.toString());
+        verify(mockConnection).setChunkedStreamingMode(0);
+        verify(mockConnection, never()).setFixedLengthStreamingMode(anyInt());
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void fileChannelIsSentFromItsPositionWithItsSHA1() throws Exception {
+        File file = this.temporaryFolder.newFile("testfile");
+        FileOutputStream fileOutputStream = new FileOutputStream(file);
+        try {
+            fileOutputStream.write("skiptest body".getBytes());
+        } finally {
+            fileOutputStream.close();
+        }
+
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = randomAccessFile.getChannel();
+            channel.position(4);
+            BoxAPIConnection api = new BoxAPIConnection("");
+            BoxMultipartRequest request = new TestBoxMultipartRequest(api, new URL("http://localhost"));
+            request.setFile(channel, "testfile");
+
+            // The body is sent again from the same position after a retry.
+            for (int i = 0; i < 2; i++) {
+                HttpURLConnection mockConnection = mock(HttpURLConnection.class);
+                ByteArrayOutputStream bodyOutputStream = new ByteArrayOutputStream();
+                when(mockConnection.getOutputStream()).thenReturn(bodyOutputStream);
+
+                request.writeBody(mockConnection, null);
+                request.resetBody();
+
+                Assert.assertEquals(EXPECTED_FILE_BODY, bodyOutputStream.toString());
+                verify(mockConnection).setFixedLengthStreamingMode(EXPECTED_FILE_BODY.length());
+                verify(mockConnection).setRequestProperty("Content-MD5", "a140e4eff89659e835b76f8fef7da83e096a91ff");
+            }
+        } finally {
+            randomAccessFile.close();
+        }
+    }
 }
@@ -1,7 +1,11 @@
 package com.box.sdk;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -156,4 +160,53 @@ public class BoxResourceIterableTest {
         Assert.assertEquals(value3, field);
         Assert.assertEquals(false, iterator.hasNext());
     }
+
+    /**
+     * Unit test for {@link BoxResourceIterable.IteratorImpl#hasNext()} with read-ahead enabled.
+     */
+    @Test
+    @Category(UnitTest.class)
+    public void testReadAheadFetchesTheNextPageInTheBackground() throws Exception {
+        final URLTemplate urlTemplate = new URLTemplate("endpoint/%s");
+        final CountDownLatch secondPageRequested = new CountDownLatch(1);
+
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.setPageReadAhead(1);
+        api.setRequestInterceptor(new RequestInterceptor() {
+            @Override
+            public BoxAPIResponse onRequest(BoxAPIRequest request) {
+                final boolean secondPage = request.getUrl().getQuery().contains("marker=marker");
+                if (secondPage) {
+                    secondPageRequested.countDown();
+                }
+                return new BoxJSONResponse() {
+                    @Override
+                    public String getJSON() {
+                        if (secondPage) {
+                            return "{\"entries\":[{\"field\": \"3\"}]}";
+                        }
+                        return "{\"entries\":[{\"field\": \"1\"}, {\"field\": \"2\"}], \"next_marker\": \"marker\"}";
+                    }
+                };
+            }
+        });
+
+        Iterator<String> iterator = new BoxResourceIterable<String>(api, urlTemplate.build(api.getBaseURL(), "0"), 2) {
+                @Override
+                protected String factory(JsonObject jsonObject) {
+                    return jsonObject.get("field").asString();
+                }
+            }
+            .iterator();
+
+        // The second page is requested while the first one hasn't been read yet.
+        Assert.assertTrue(secondPageRequested.await(10, TimeUnit.SECONDS));
+
+        List<String> fields = new ArrayList<String>();
+        while (iterator.hasNext()) {
+            fields.add(iterator.next());
+        }
+        Assert.assertEquals(3, fields.size());
+        Assert.assertEquals("3", fields.get(2));
+    }
 }
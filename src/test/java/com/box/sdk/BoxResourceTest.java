@@ -35,6 +35,20 @@ public class BoxResourceTest {
         resourceTypeByClass.put(BoxGroupMembership.class, "group_membership");
         resourceTypeByClass.put(BoxEvent.class, "event");
         resourceTypeByClass.put(BoxWebHook.class, "webhook");
+        resourceTypeByClass.put(BoxCollection.class, "collection");
+        resourceTypeByClass.put(BoxDevicePin.class, "device_pin");
+        resourceTypeByClass.put(BoxRetentionPolicy.class, "retention_policy");
+        resourceTypeByClass.put(BoxRetentionPolicyAssignment.class, "retention_policy_assignment");
+        resourceTypeByClass.put(BoxFileVersionRetention.class, "file_version_retention");
+        resourceTypeByClass.put(BoxLegalHoldPolicy.class, "legal_hold");
+        resourceTypeByClass.put(BoxLegalHoldAssignment.class, "legal_hold_assignment");
+        resourceTypeByClass.put(BoxFileVersionLegalHold.class, "file_version_legal_hold");
+        resourceTypeByClass.put(BoxFileUploadSession.class, "upload_session");
+        resourceTypeByClass.put(BoxWebLink.class, "web_link");
+        resourceTypeByClass.put(BoxStoragePolicy.class, "storage_policy");
+        resourceTypeByClass.put(BoxStoragePolicyAssignment.class, "storage_policy_assignment");
+        resourceTypeByClass.put(BoxFolderLock.class, "folder_lock");
+        resourceTypeByClass.put(BoxFileRequest.class, "file_request");
         this.resourceTypeByClass = resourceTypeByClass;
     }
 
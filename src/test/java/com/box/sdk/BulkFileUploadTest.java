@@ -0,0 +1,214 @@
+package com.box.sdk;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+
+public class BulkFileUploadTest {
+    /**
+     * Wiremock
+     */
+    @ClassRule
+    public static final WireMockClassRule WIRE_MOCK_CLASS_RULE = new WireMockClassRule(53622);
+
+    private static final String UPLOAD_URL = "/files/content";
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private BoxAPIConnection api = TestConfig.getAPIConnection();
+
+    @Before
+    public void stubUploads() {
+        // The uploads are sent on a port of their own, because the first ones could otherwise reuse a connection kept
+        // alive to the server of another test, and uploads aren't retried after a network error.
+        this.api.setBaseURL("http://localhost:53622/");
+        this.api.setBaseUploadURL("http://localhost:53622/");
+        WIRE_MOCK_CLASS_RULE.resetAll();
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.options(WireMock.urlPathEqualTo(UPLOAD_URL))
+            .willReturn(WireMock.aResponse().withStatus(200)));
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.options(WireMock.urlPathEqualTo(UPLOAD_URL))
+            .withRequestBody(WireMock.containing("conflict.txt"))
+            .willReturn(WireMock.aResponse()
+                .withStatus(409)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"type\": \"error\", \"status\": 409, \"code\": \"item_name_in_use\"}")));
+        for (String name : Arrays.asList("a.txt", "b.txt", "c.txt", "d.txt", "conflict.txt")) {
+            JsonObject entry = new JsonObject()
+                .add("type", "file")
+                .add("id", "id-" + name)
+                .add("name", name);
+            WIRE_MOCK_CLASS_RULE.stubFor(WireMock.post(WireMock.urlPathEqualTo(UPLOAD_URL))
+                .withRequestBody(WireMock.containing("filename=\"" + name + "\""))
+                .willReturn(WireMock.aResponse()
+                    .withStatus(201)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody(new JsonObject()
+                        .add("total_count", 1)
+                        .add("entries", new JsonArray().add(entry))
+                        .toString())));
+        }
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void everyFileGetsAResultAndRejectedFilesAreNotSent() throws Exception {
+        List<FileUploadParams> files = new ArrayList<FileUploadParams>();
+        for (String name : Arrays.asList("a.txt", "b.txt", "conflict.txt", "c.txt", "d.txt")) {
+            files.add(new FileUploadParams()
+                .setName(name)
+                .setSize(4)
+                .setContent(new ByteArrayInputStream("data".getBytes("UTF-8"))));
+        }
+
+        final Map<String, BulkFileUpload.Result> results =
+            Collections.synchronizedMap(new HashMap<String, BulkFileUpload.Result>());
+        new BulkFileUpload(2).upload(new BoxFolder(this.api, "12345"), files.iterator(), new BulkUploadListener() {
+            @Override
+            public void onResult(BulkFileUpload.Result result) {
+                results.put(result.getUploadParams().getName(), result);
+            }
+        });
+
+        Assert.assertEquals(5, results.size());
+        for (String name : Arrays.asList("a.txt", "b.txt", "c.txt", "d.txt")) {
+            Assert.assertTrue(results.get(name).isSuccess());
+            Assert.assertEquals("id-" + name, results.get(name).getFileInfo().getID());
+        }
+
+        BulkFileUpload.Result conflict = results.get("conflict.txt");
+        Assert.assertFalse(conflict.isSuccess());
+        Assert.assertNull(conflict.getFileInfo());
+        Assert.assertEquals(409, conflict.getException().getResponseCode());
+        WIRE_MOCK_CLASS_RULE.verify(4, WireMock.postRequestedFor(WireMock.urlPathEqualTo(UPLOAD_URL)));
+        WIRE_MOCK_CLASS_RULE.verify(0, WireMock.postRequestedFor(WireMock.urlPathEqualTo(UPLOAD_URL))
+            .withRequestBody(WireMock.containing("conflict.txt")));
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void filesAreCheckedAndUploadedWithTheRequestContextOfTheBulkUpload() throws Exception {
+        final List<FileUploadParams> files = new ArrayList<FileUploadParams>();
+        for (String name : Arrays.asList("a.txt", "b.txt")) {
+            files.add(new FileUploadParams()
+                .setName(name)
+                .setSize(4)
+                .setContent(new ByteArrayInputStream("data".getBytes("UTF-8"))));
+        }
+
+        final List<BulkFileUpload.Result> results =
+            Collections.synchronizedList(new ArrayList<BulkFileUpload.Result>());
+        BoxRequestContext.asUser("66666").call(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                new BulkFileUpload(2).upload(new BoxFolder(BulkFileUploadTest.this.api, "12345"), files.iterator(),
+                    new BulkUploadListener() {
+                        @Override
+                        public void onResult(BulkFileUpload.Result result) {
+                            results.add(result);
+                        }
+                    });
+                return null;
+            }
+        });
+
+        Assert.assertEquals(2, results.size());
+        WIRE_MOCK_CLASS_RULE.verify(2, WireMock.optionsRequestedFor(WireMock.urlPathEqualTo(UPLOAD_URL))
+            .withHeader("As-User", WireMock.equalTo("66666")));
+        WIRE_MOCK_CLASS_RULE.verify(2, WireMock.postRequestedFor(WireMock.urlPathEqualTo(UPLOAD_URL))
+            .withHeader("As-User", WireMock.equalTo("66666")));
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void localFilesAreUploadedUnderTheirNamesAndLargeFilesInParts() throws Exception {
+        List<File> files = new ArrayList<File>();
+        for (String name : Arrays.asList("a.txt", "b.txt", "large.bin")) {
+            File file = this.temporaryFolder.newFile(name);
+            FileOutputStream output = new FileOutputStream(file);
+            try {
+                output.write(name.equals("large.bin") ? new byte[100] : "data".getBytes("UTF-8"));
+            } finally {
+                output.close();
+            }
+            files.add(file);
+        }
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.post(WireMock.urlPathEqualTo("/files/upload_sessions"))
+            .willReturn(WireMock.aResponse()
+                .withStatus(403)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"type\": \"error\", \"status\": 403, \"code\": \"access_denied\"}")));
+
+        final List<BulkFileUpload.Result> results =
+            Collections.synchronizedList(new ArrayList<BulkFileUpload.Result>());
+        BulkFileUpload bulkUpload = new BulkFileUpload(3);
+        bulkUpload.setLargeFileThreshold(50);
+        bulkUpload.uploadFiles(new BoxFolder(this.api, "12345"), files.iterator(), new BulkUploadListener() {
+            @Override
+            public void onResult(BulkFileUpload.Result result) {
+                results.add(result);
+            }
+        });
+
+        Assert.assertEquals(3, results.size());
+        for (BulkFileUpload.Result result : results) {
+            Assert.assertNotNull(result.getFile());
+            if (result.getFile().getName().equals("large.bin")) {
+                Assert.assertEquals(403, result.getException().getResponseCode());
+            } else {
+                Assert.assertEquals("id-" + result.getFile().getName(), result.getFileInfo().getID());
+            }
+        }
+        WIRE_MOCK_CLASS_RULE.verify(1, WireMock.postRequestedFor(WireMock.urlPathEqualTo("/files/upload_sessions")));
+        WIRE_MOCK_CLASS_RULE.verify(0, WireMock.postRequestedFor(WireMock.urlPathEqualTo(UPLOAD_URL))
+            .withRequestBody(WireMock.containing("large.bin")));
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void listenerExceptionStopsTheBulkUpload() throws Exception {
+        List<FileUploadParams> files = new ArrayList<FileUploadParams>();
+        for (int i = 0; i < 100; i++) {
+            files.add(new FileUploadParams()
+                .setName("a.txt")
+                .setSize(4)
+                .setContent(new ByteArrayInputStream("data".getBytes("UTF-8"))));
+        }
+
+        try {
+            new BulkFileUpload(1).upload(new BoxFolder(this.api, "12345"), files.iterator(), new BulkUploadListener() {
+                @Override
+                public void onResult(BulkFileUpload.Result result) {
+                    throw new IllegalStateException("stop");
+                }
+            });
+            Assert.fail("The listener's exception should be rethrown.");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("stop", e.getMessage());
+        }
+
+        int uploads = WIRE_MOCK_CLASS_RULE.findAll(
+            WireMock.postRequestedFor(WireMock.urlPathEqualTo(UPLOAD_URL))).size();
+        Assert.assertTrue(uploads < 10);
+    }
+}
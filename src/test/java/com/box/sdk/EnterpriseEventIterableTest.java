@@ -0,0 +1,141 @@
+package com.box.sdk;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.junit.Assert.assertEquals;
+
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+
+public class EnterpriseEventIterableTest {
+
+    @ClassRule
+    public static final WireMockClassRule WIRE_MOCK_CLASS_RULE = new WireMockClassRule(53621);
+    private BoxAPIConnection api = TestConfig.getAPIConnection();
+
+    @Test
+    @Category(UnitTest.class)
+    public void iteratorPagesThroughTheStreamPositions() throws ParseException {
+        WIRE_MOCK_CLASS_RULE.resetRequests();
+        String after = "2019-02-02T21:00:00Z";
+        String before = "2019-02-02T23:00:00Z";
+        this.stubPage(after, before, null, "10", this.event("1", "2019-02-02T21:10:00Z"),
+            this.event("2", "2019-02-02T21:20:00Z"));
+        this.stubPage(after, before, "10", "20", this.event("3", "2019-02-02T22:30:00Z"));
+        this.stubPage(after, before, "20", "20");
+
+        EnterpriseEventIterable events = new EnterpriseEventIterable(this.api, BoxDateFormat.parse(after),
+            BoxDateFormat.parse(before));
+
+        assertEquals("[1, 2, 3]", this.eventIDs(events).toString());
+        WIRE_MOCK_CLASS_RULE.verify(3, getRequestedFor(urlPathEqualTo("/events")));
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void parallelSlicesAreReturnedInOrderWithoutDuplicatingBoundaryEvents() throws ParseException {
+        String start = "2019-02-02T21:00:00Z";
+        String middle = "2019-02-02T22:00:00Z";
+        String end = "2019-02-02T23:00:00Z";
+        this.stubPage(start, middle, null, "10", this.event("1", "2019-02-02T21:10:00Z"),
+            this.event("2", middle));
+        this.stubPage(start, middle, "10", "10");
+        this.stubPage(middle, end, null, "30", this.event("2", middle), this.event("3", "2019-02-02T22:30:00Z"));
+        this.stubPage(middle, end, "30", "40", this.event("4", end));
+        this.stubPage(middle, end, "40", "40");
+
+        EnterpriseEventIterable events = new EnterpriseEventIterable(this.api, BoxDateFormat.parse(start),
+            BoxDateFormat.parse(end));
+        events.setParallelSlices(2, 1, TimeUnit.HOURS);
+
+        assertEquals("[1, 2, 3, 4]", this.eventIDs(events).toString());
+    }
+
+    @Test(timeout = 10000)
+    @Category(UnitTest.class)
+    public void iteratorCanBeUsedByATaskOfTheAsynchronousExecutor() throws Exception {
+        String start = "2019-02-03T21:00:00Z";
+        String middle = "2019-02-03T22:00:00Z";
+        String end = "2019-02-03T23:00:00Z";
+        this.stubPage(start, middle, null, "10", this.event("1", "2019-02-03T21:10:00Z"));
+        this.stubPage(start, middle, "10", "10");
+        this.stubPage(middle, end, null, "30", this.event("2", "2019-02-03T22:30:00Z"));
+        this.stubPage(middle, end, "30", "30");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        this.api.setAsyncExecutor(executor);
+        final EnterpriseEventIterable events = new EnterpriseEventIterable(this.api, BoxDateFormat.parse(start),
+            BoxDateFormat.parse(end));
+        events.setParallelSlices(2, 1, TimeUnit.HOURS);
+
+        try {
+            Future<List<String>> future = this.api.submitAsync(new Callable<List<String>>() {
+                @Override
+                public List<String> call() {
+                    return EnterpriseEventIterableTest.this.eventIDs(events);
+                }
+            });
+            List<String> ids = future.get(10, TimeUnit.SECONDS);
+
+            assertEquals("[1, 2]", ids.toString());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<String> eventIDs(Iterable<BoxEvent> events) {
+        List<String> ids = new ArrayList<String>();
+        for (BoxEvent event : events) {
+            ids.add(event.getID());
+        }
+
+        return ids;
+    }
+
+    private JsonObject event(String id, String createdAt) {
+        return new JsonObject()
+            .add("type", "event")
+            .add("event_id", id)
+            .add("event_type", "ITEM_PREVIEW")
+            .add("created_at", createdAt);
+    }
+
+    private void stubPage(String after, String before, String position, String nextPosition,
+                          JsonObject... events) {
+        JsonArray entries = new JsonArray();
+        for (JsonObject event : events) {
+            entries.add(event);
+        }
+        JsonObject body = new JsonObject()
+            .add("chunk_size", events.length)
+            .add("next_stream_position", nextPosition)
+            .add("entries", entries);
+
+        WIRE_MOCK_CLASS_RULE.stubFor(get(urlPathEqualTo("/events"))
+            .withQueryParam("stream_type", equalTo("admin_logs"))
+            .withQueryParam("created_after", equalTo(after))
+            .withQueryParam("created_before", equalTo(before))
+            .withQueryParam("stream_position", position == null ? absent() : equalTo(position))
+            .willReturn(aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withBody(body.toString())));
+    }
+}
@@ -0,0 +1,44 @@
+package com.box.sdk;
+
+import java.util.LinkedHashSet;
+import java.util.Random;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+public class EventDeduplicationWindowTest {
+    @Test
+    @Category(UnitTest.class)
+    public void addReturnsFalseForEventsInTheWindow() {
+        EventDeduplicationWindow window = new EventDeduplicationWindow(2);
+
+        assertThat(window.add("1"), is(true));
+        assertThat(window.add("2"), is(true));
+        assertThat(window.add("1"), is(false));
+        assertThat(window.add("3"), is(true));
+        assertThat(window.add("1"), is(true));
+        assertThat(window.add("3"), is(false));
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void addForgetsTheOldestEventsLikeABoundedSet() {
+        int capacity = 100;
+        EventDeduplicationWindow window = new EventDeduplicationWindow(capacity);
+        LinkedHashSet<String> expected = new LinkedHashSet<String>();
+        Random random = new Random(1);
+
+        for (int i = 0; i < 100000; i++) {
+            String eventID = Integer.toString(random.nextInt(300));
+            boolean isNew = expected.add(eventID);
+            if (expected.size() > capacity) {
+                expected.remove(expected.iterator().next());
+            }
+
+            assertThat(window.add(eventID), is(isNew));
+        }
+    }
+}
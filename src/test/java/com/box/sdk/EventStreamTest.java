@@ -1,5 +1,7 @@
 package com.box.sdk;
 
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
@@ -15,6 +17,7 @@ import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 
@@ -27,6 +30,9 @@ public class EventStreamTest {
     @Rule
     public final WireMockRule wireMockRule = new WireMockRule(53620);
 
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     @Category(IntegrationTest.class)
     public void receiveEventsForFolderCreateAndFolderDelete() throws InterruptedException {
@@ -281,4 +287,155 @@ public class EventStreamTest {
 
         Assert.assertTrue("Calls should be be 2s apart", times[1] - times[0] >= delay);
     }
+
+    @Test
+    @Category(UnitTest.class)
+    public void dispatchedStreamResumesFromAndSavesItsStoredPosition() throws Exception {
+        final String realtimeServerURL = "/realtimeServer?channel=0";
+
+        stubFor(options(urlEqualTo("/events"))
+            .willReturn(aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withBody("{ \"entries\": [ { \"url\": \"http://localhost:53620" + realtimeServerURL + "\", "
+                    + "\"max_retries\": \"3\", \"retry_timeout\": 60000 } ] }")));
+
+        stubFor(get(urlMatching("/realtimeServer.*"))
+            .willReturn(aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withBody("{ \"message\": \"new_change\" }")));
+
+        stubFor(get(urlMatching("/events\\?.*stream_position=5"))
+            .willReturn(aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withBody("{ \"next_stream_position\": 6, \"entries\": [ { \"type\": \"event\", "
+                    + "\"event_id\": \"1\" }, { \"type\": \"event\", \"event_id\": \"2\" } ] }")));
+
+        stubFor(get(urlMatching("/events\\?.*stream_position=6"))
+            .willReturn(aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withBody("{ \"next_stream_position\": 6, \"entries\": [] }")));
+
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.setBaseURL("http://localhost:53620/");
+
+        File directory = this.temporaryFolder.newFolder("positions");
+        new FileEventPositionStore(directory).put("user", 5);
+
+        final LinkedBlockingQueue<Object> notifications = new LinkedBlockingQueue<Object>();
+        EventStream stream = new EventStream(api);
+        stream.setPositionStore(new FileEventPositionStore(directory), "user");
+        stream.setDispatchThreads(2, 1);
+        stream.addListener(new EventListener() {
+            @Override
+            public void onEvent(BoxEvent event) {
+                notifications.add(event.getID());
+            }
+
+            @Override
+            public void onNextPosition(long position) {
+                notifications.add(position);
+            }
+
+            @Override
+            public boolean onException(Throwable e) {
+                notifications.add(e);
+                return true;
+            }
+        });
+
+        stream.start();
+        Object first = notifications.poll(10, TimeUnit.SECONDS);
+        Object second = notifications.poll(10, TimeUnit.SECONDS);
+        Object third = notifications.poll(10, TimeUnit.SECONDS);
+        stream.stop();
+
+        assertThat(first.equals("1") && second.equals("2") || first.equals("2") && second.equals("1"), is(true));
+        assertThat(third, is((Object) 6L));
+        assertThat(new FileEventPositionStore(directory).get("user"), is(6L));
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void eventsAreDispatchedWhileThePositionIsBeingSaved() throws Exception {
+        final String realtimeServerURL = "/realtimeServer?channel=0";
+
+        stubFor(options(urlEqualTo("/events"))
+            .willReturn(aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withBody("{ \"entries\": [ { \"url\": \"http://localhost:53620" + realtimeServerURL + "\", "
+                    + "\"max_retries\": \"3\", \"retry_timeout\": 60000 } ] }")));
+
+        stubFor(get(urlMatching("/realtimeServer.*"))
+            .willReturn(aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withBody("{ \"message\": \"new_change\" }")));
+
+        stubFor(get(urlMatching("/events\\?.*stream_position=5"))
+            .willReturn(aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withBody("{ \"next_stream_position\": 6, \"entries\": [ { \"type\": \"event\", "
+                    + "\"event_id\": \"1\" } ] }")));
+
+        stubFor(get(urlMatching("/events\\?.*stream_position=6"))
+            .willReturn(aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withBody("{ \"next_stream_position\": 7, \"entries\": [ { \"type\": \"event\", "
+                    + "\"event_id\": \"2\" }, { \"type\": \"event\", \"event_id\": \"3\" } ] }")));
+
+        stubFor(get(urlMatching("/events\\?.*stream_position=7"))
+            .willReturn(aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withBody("{ \"next_stream_position\": 7, \"entries\": [] }")));
+
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.setBaseURL("http://localhost:53620/");
+
+        // Saving a position blocks until the test is done.
+        final CountDownLatch saved = new CountDownLatch(1);
+        EventPositionStore store = new EventPositionStore() {
+            @Override
+            public Long get(String key) {
+                return 5L;
+            }
+
+            @Override
+            public void put(String key, long position) {
+                try {
+                    saved.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+
+        final LinkedBlockingQueue<String> events = new LinkedBlockingQueue<String>();
+        EventStream stream = new EventStream(api);
+        stream.setPositionStore(store, "user");
+        stream.setDispatchThreads(2, 4);
+        stream.addListener(new EventListener() {
+            @Override
+            public void onEvent(BoxEvent event) {
+                events.add(event.getID());
+            }
+
+            @Override
+            public void onNextPosition(long position) {
+            }
+
+            @Override
+            public boolean onException(Throwable e) {
+                return true;
+            }
+        });
+
+        stream.start();
+        try {
+            Assert.assertNotNull(events.poll(10, TimeUnit.SECONDS));
+            Assert.assertNotNull(events.poll(5, TimeUnit.SECONDS));
+            Assert.assertNotNull(events.poll(5, TimeUnit.SECONDS));
+        } finally {
+            saved.countDown();
+            stream.stop();
+        }
+    }
 }
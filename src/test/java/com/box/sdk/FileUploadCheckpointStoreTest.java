@@ -0,0 +1,65 @@
+package com.box.sdk;
+
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+public class FileUploadCheckpointStoreTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    @Category(UnitTest.class)
+    public void checkpointsArePersistedAcrossStoreInstances() throws Exception {
+        File directory = this.temporaryFolder.newFolder("checkpoints");
+        String key = "https://upload.box.com/api/2.0/files/upload_sessions|0/file.txt|/tmp/file.txt|10|1";
+
+        new FileUploadCheckpointStore(directory).put(key, "{\"file_size\": 10}");
+        new FileUploadCheckpointStore(directory).put(key, "{\"file_size\": 11}");
+
+        FileUploadCheckpointStore store = new FileUploadCheckpointStore(directory);
+        assertEquals("{\"file_size\": 11}", store.get(key));
+        assertEquals(1, directory.listFiles().length);
+
+        store.remove(key);
+        assertNull(store.get(key));
+        assertEquals(0, directory.listFiles().length);
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void backupOfThePreviousCheckpointIsReadAfterACrash() throws Exception {
+        File directory = this.temporaryFolder.newFolder("checkpoints");
+        FileUploadCheckpointStore store = new FileUploadCheckpointStore(directory);
+        store.put("key", "{\"file_size\": 10}");
+
+        // A crash after the previous checkpoint was moved to its backup leaves only the backup.
+        File checkpointFile = directory.listFiles()[0];
+        assertTrue(checkpointFile.renameTo(new File(directory, checkpointFile.getName() + ".bak")));
+
+        store = new FileUploadCheckpointStore(directory);
+        assertEquals("{\"file_size\": 10}", store.get("key"));
+
+        store.put("key", "{\"file_size\": 11}");
+        assertEquals("{\"file_size\": 11}", store.get("key"));
+        assertEquals(1, directory.listFiles().length);
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void missingDirectoryIsCreated() throws Exception {
+        File directory = new File(this.temporaryFolder.getRoot(), "missing/checkpoints");
+
+        FileUploadCheckpointStore store = new FileUploadCheckpointStore(directory);
+
+        assertEquals(directory, store.getDirectory());
+        assertNull(store.get("key"));
+    }
+}
@@ -0,0 +1,186 @@
+package com.box.sdk;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+
+public class FolderTreeWalkerTest {
+    /**
+     * Wiremock
+     */
+    @ClassRule
+    public static final WireMockClassRule WIRE_MOCK_CLASS_RULE = new WireMockClassRule(53621);
+
+    private BoxAPIConnection api = TestConfig.getAPIConnection();
+
+    @Before
+    public void stubTree() {
+        WIRE_MOCK_CLASS_RULE.resetAll();
+
+        // 0 contains folder 1, file 2 and web link 3. Folder 1 contains file 11 and folder 12, which contains file 121.
+        this.stubFolder("0", item("folder", "1", "Documents"), item("file", "2", "a.txt"),
+            item("web_link", "3", "link"));
+        this.stubFolder("1", item("file", "11", "b.txt"), item("folder", "12", "Archive"));
+        this.stubFolder("12", item("file", "121", "c.txt"));
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void walkFindsEveryItemOfTheTreeWithItsParentAndDepth() throws Exception {
+        FolderTreeWalker walker = new FolderTreeWalker(new BoxFolder(this.api, "0"));
+        walker.setConcurrency(2);
+        walker.setQueueCapacity(1);
+        RecordingListener listener = new RecordingListener(true);
+
+        walker.walk(listener);
+
+        Assert.assertEquals(new HashSet<String>(Arrays.asList("1", "2", "3", "11", "12", "121")),
+            listener.depths.keySet());
+        Assert.assertEquals(Integer.valueOf(1), listener.depths.get("3"));
+        Assert.assertEquals(Integer.valueOf(2), listener.depths.get("12"));
+        Assert.assertEquals(Integer.valueOf(3), listener.depths.get("121"));
+        Assert.assertEquals("12", listener.parents.get("121"));
+        Assert.assertTrue(listener.items.get("3") instanceof BoxWebLink.Info);
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void walkOnlyListsTheFoldersWithinTheDepthAndFilters() throws Exception {
+        FolderTreeWalker walker = new FolderTreeWalker(new BoxFolder(this.api, "0"));
+        walker.setMaxDepth(2);
+        walker.setTypes("file");
+        walker.setFields("name");
+        walker.setItemFilter(new FolderTreeWalker.ItemFilter() {
+            @Override
+            public boolean accept(BoxItem.Info item) {
+                return item.getName().endsWith(".txt");
+            }
+        });
+        RecordingListener listener = new RecordingListener(true);
+
+        walker.walk(listener);
+
+        Assert.assertEquals(new HashSet<String>(Arrays.asList("2", "11")), listener.depths.keySet());
+        WIRE_MOCK_CLASS_RULE.verify(WireMock.getRequestedFor(WireMock.urlPathEqualTo("/folders/1/items/"))
+            .withQueryParam("fields", WireMock.equalTo("name")));
+        WIRE_MOCK_CLASS_RULE.verify(0, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/folders/12/items/")));
+
+        walker.setMaxDepth(-1);
+        walker.setFolderFilter(new FolderTreeWalker.ItemFilter() {
+            @Override
+            public boolean accept(BoxItem.Info item) {
+                return !item.getName().equals("Documents");
+            }
+        });
+        listener = new RecordingListener(true);
+
+        walker.walk(listener);
+
+        Assert.assertEquals(Collections.singleton("2"), listener.depths.keySet());
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void folderThatCannotBeListedIsSkippedOrStopsTheWalk() throws Exception {
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.get(WireMock.urlPathEqualTo("/folders/12/items/"))
+            .willReturn(WireMock.aResponse().withStatus(404)));
+        FolderTreeWalker walker = new FolderTreeWalker(new BoxFolder(this.api, "0"));
+        RecordingListener listener = new RecordingListener(true);
+
+        walker.walk(listener);
+
+        Assert.assertEquals(Collections.singleton("12"), listener.failedFolders);
+        Assert.assertEquals(5, listener.depths.size());
+
+        try {
+            walker.walk(new RecordingListener(false));
+            Assert.fail("The walk should have stopped.");
+        } catch (BoxAPIException e) {
+            Assert.assertEquals(404, e.getResponseCode());
+        }
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void nestedFoldersAreListedWithTheRequestContextOfTheWalk() throws Exception {
+        final FolderTreeWalker walker = new FolderTreeWalker(new BoxFolder(this.api, "0"));
+        walker.setConcurrency(2);
+        final RecordingListener listener = new RecordingListener(true);
+
+        BoxRequestContext.asUser("77777").call(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                walker.walk(listener);
+                return null;
+            }
+        });
+
+        Assert.assertEquals(6, listener.depths.size());
+        WIRE_MOCK_CLASS_RULE.verify(1, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/folders/12/items/"))
+            .withHeader("As-User", WireMock.equalTo("77777")));
+        WIRE_MOCK_CLASS_RULE.verify(0, WireMock.getRequestedFor(WireMock.urlPathMatching("/folders/.*/items/"))
+            .withoutHeader("As-User"));
+    }
+
+    private static JsonObject item(String type, String id, String name) {
+        return new JsonObject().add("type", type).add("id", id).add("name", name);
+    }
+
+    private void stubFolder(String id, JsonObject... items) {
+        JsonArray entries = new JsonArray();
+        for (JsonObject item : items) {
+            entries.add(item);
+        }
+
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.get(WireMock.urlPathEqualTo("/folders/" + id + "/items/"))
+            .willReturn(WireMock.aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withBody(new JsonObject()
+                    .add("entries", entries)
+                    .add("offset", 0)
+                    .add("limit", 1000)
+                    .add("total_count", items.length).toString())));
+    }
+
+    private static class RecordingListener implements FolderTreeListener {
+        private final boolean skipFailedFolders;
+        private final Map<String, Integer> depths = new ConcurrentHashMap<String, Integer>();
+        private final Map<String, String> parents = new ConcurrentHashMap<String, String>();
+        private final Map<String, BoxItem.Info> items = Collections.synchronizedMap(
+            new HashMap<String, BoxItem.Info>());
+        private final Set<String> failedFolders = Collections.synchronizedSet(new HashSet<String>());
+
+        RecordingListener(boolean skipFailedFolders) {
+            this.skipFailedFolders = skipFailedFolders;
+        }
+
+        @Override
+        public void onItem(BoxItem.Info item, String parentID, int depth) {
+            this.depths.put(item.getID(), depth);
+            this.parents.put(item.getID(), parentID);
+            this.items.put(item.getID(), item);
+        }
+
+        @Override
+        public boolean onException(String folderID, BoxAPIException e) {
+            this.failedFolders.add(folderID);
+            return this.skipFailedFolders;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.box.sdk;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+
+/**
+ * {@link JSONIterator} related unit tests.
+ */
+public class JSONIteratorTest {
+
+    /**
+     * Unit test for {@link JSONIterator#next()} with read-ahead enabled.
+     */
+    @Test
+    @Category(UnitTest.class)
+    public void testReadAheadFetchesEveryPageOnceAndKeepsTheirOrder() throws Exception {
+        List<String> requestedOffsets = Collections.synchronizedList(new ArrayList<String>());
+        BoxAPIConnection api = this.createPagedConnection(5, requestedOffsets);
+        api.setPageReadAhead(2);
+
+        JSONIterator iterator = new JSONIterator(api, new URL(api.getBaseURL() + "users"), 2);
+        List<String> ids = new ArrayList<String>();
+        while (iterator.hasNext()) {
+            ids.add(iterator.next().get("id").asString());
+        }
+
+        Assert.assertEquals(Arrays.asList("0", "1", "2", "3", "4"), ids);
+        Collections.sort(requestedOffsets);
+        Assert.assertEquals(Arrays.asList("0", "2", "4"), requestedOffsets);
+    }
+
+    /**
+     * Unit test for {@link JSONIterator#next()} with read-ahead enabled, used by a task running on the connection's
+     * asynchronous executor, which has no other thread to fetch the pages.
+     */
+    @Test(timeout = 10000)
+    @Category(UnitTest.class)
+    public void testReadAheadFromATaskOfTheAsynchronousExecutor() throws Exception {
+        final BoxAPIConnection api = this.createPagedConnection(5, new ArrayList<String>());
+        api.setPageReadAhead(2);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        api.setAsyncExecutor(executor);
+
+        try {
+            Future<List<String>> future = api.submitAsync(new Callable<List<String>>() {
+                @Override
+                public List<String> call() throws Exception {
+                    JSONIterator iterator = new JSONIterator(api, new URL(api.getBaseURL() + "users"), 2);
+                    List<String> ids = new ArrayList<String>();
+                    while (iterator.hasNext()) {
+                        ids.add(iterator.next().get("id").asString());
+                    }
+                    return ids;
+                }
+            });
+            List<String> ids = future.get(10, TimeUnit.SECONDS);
+
+            Assert.assertEquals(Arrays.asList("0", "1", "2", "3", "4"), ids);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private BoxAPIConnection createPagedConnection(final int totalCount, final List<String> requestedOffsets) {
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.setRequestInterceptor(new RequestInterceptor() {
+            @Override
+            public BoxAPIResponse onRequest(BoxAPIRequest request) {
+                String query = request.getUrl().getQuery();
+                final int offset = Integer.parseInt(query.substring(query.indexOf("offset=") + "offset=".length()));
+                requestedOffsets.add(Integer.toString(offset));
+                return new BoxJSONResponse() {
+                    @Override
+                    public String getJSON() {
+                        JsonArray entries = new JsonArray();
+                        for (int i = offset; i < Math.min(offset + 2, totalCount); i++) {
+                            entries.add(new JsonObject().add("id", Integer.toString(i)));
+                        }
+                        return new JsonObject()
+                            .add("entries", entries)
+                            .add("offset", offset)
+                            .add("limit", 2)
+                            .add("total_count", totalCount).toString();
+                    }
+                };
+            }
+        });
+        return api;
+    }
+}
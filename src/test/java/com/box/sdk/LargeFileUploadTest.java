@@ -0,0 +1,202 @@
+package com.box.sdk;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.math.BigInteger;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+
+public class LargeFileUploadTest {
+    /**
+     * Wiremock
+     */
+    @ClassRule
+    public static final WireMockClassRule WIRE_MOCK_CLASS_RULE = new WireMockClassRule(53621);
+
+    private static final String SESSION_URL = "/files/upload_sessions";
+    private static final String UPLOAD_URL = "/files/upload_sessions/D5E3F8ADA11A38F0A66AD0B64AACA658";
+    private static final String COMMIT_URL = "/files/upload_sessions/D5E3F8ADA11A38F0A66AD0B64AACA658/commit";
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private BoxAPIConnection api = TestConfig.getAPIConnection();
+
+    @Test
+    @Category(UnitTest.class)
+    public void uploadSendsEveryPartWithItsDigestAndCommitsTheFileDigest() throws Exception {
+        byte[] content = "abcdefgh".getBytes("UTF-8");
+        this.stubUploadSession(3, content.length);
+        this.stubPart("bytes 0-2/8", "abc", 0);
+        this.stubPart("bytes 3-5/8", "def", 3);
+        this.stubPart("bytes 6-7/8", "gh", 6);
+
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.post(WireMock.urlPathEqualTo(COMMIT_URL))
+                .withHeader("Digest", WireMock.equalTo("sha=" + sha1(content)))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(TestConfig.getFixture("BoxFile/CommitUpload201"))));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        LargeFileUpload upload = new LargeFileUpload(executor, 2, 1, TimeUnit.MINUTES);
+        URL sessionURL = new URL("http://localhost:53621" + SESSION_URL);
+
+        // The same LargeFileUpload and executor can be used for several uploads.
+        for (int i = 0; i < 2; i++) {
+            BoxFile.Info info = upload.upload(this.api, "12345", new ByteArrayInputStream(content), sessionURL,
+                "testfile.txt", content.length);
+            Assert.assertEquals("1111111", info.getID());
+        }
+
+        Assert.assertFalse(executor.isShutdown());
+        executor.shutdown();
+        WIRE_MOCK_CLASS_RULE.verify(2, WireMock.putRequestedFor(WireMock.urlPathEqualTo(UPLOAD_URL))
+                .withHeader("Content-Range", WireMock.equalTo("bytes 6-7/8")));
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void failedPartAbortsTheUploadSession() throws Exception {
+        byte[] content = "abcdef".getBytes("UTF-8");
+        this.stubUploadSession(3, content.length);
+        this.stubPart("bytes 0-2/6", "abc", 0);
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.put(WireMock.urlPathEqualTo(UPLOAD_URL))
+                .withHeader("Content-Range", WireMock.equalTo("bytes 3-5/6"))
+                .willReturn(WireMock.aResponse().withStatus(400)));
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.delete(WireMock.urlPathEqualTo(UPLOAD_URL))
+                .willReturn(WireMock.aResponse().withStatus(204)));
+
+        try {
+            new LargeFileUpload().upload(this.api, "12345", new ByteArrayInputStream(content),
+                new URL("http://localhost:53621" + SESSION_URL), "testfile.txt", content.length);
+            Assert.fail("The upload should have failed.");
+        } catch (BoxAPIException e) {
+            Assert.assertEquals(400, e.getResponseCode());
+        }
+
+        WIRE_MOCK_CLASS_RULE.verify(1, WireMock.deleteRequestedFor(WireMock.urlPathEqualTo(UPLOAD_URL)));
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void resumedUploadOnlyUploadsTheMissingParts() throws Exception {
+        byte[] content = "ghijklm".getBytes("UTF-8");
+        File file = this.temporaryFolder.newFile("resumable.txt");
+        FileOutputStream output = new FileOutputStream(file);
+        output.write(content);
+        output.close();
+
+        File checkpointDirectory = this.temporaryFolder.newFolder("checkpoints");
+        UploadCheckpointStore store = new FileUploadCheckpointStore(checkpointDirectory);
+        URL sessionURL = new URL("http://localhost:53621" + SESSION_URL);
+
+        this.stubUploadSession(3, content.length);
+        this.stubPart("bytes 0-2/7", "ghi", 0);
+        this.stubPart("bytes 6-6/7", "m", 6);
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.put(WireMock.urlPathEqualTo(UPLOAD_URL))
+                .withHeader("Content-Range", WireMock.equalTo("bytes 3-5/7"))
+                .willReturn(WireMock.aResponse().withStatus(400)));
+
+        LargeFileUpload upload = new LargeFileUpload(1, 1, TimeUnit.MINUTES);
+        try {
+            upload.resumeUpload(this.api, "12345", file, sessionURL, "resumable.txt", store, null);
+            Assert.fail("The upload should have failed.");
+        } catch (BoxAPIException e) {
+            Assert.assertEquals(400, e.getResponseCode());
+        }
+        Assert.assertEquals(1, checkpointDirectory.listFiles().length);
+
+        // Box has received the first part, so only the last two parts are uploaded when the upload is resumed.
+        JsonObject uploadedPart = new JsonObject()
+                .add("part_id", "PART0")
+                .add("offset", 0)
+                .add("size", 3)
+                .add("sha1", String.format("%040x", new BigInteger(1,
+                    MessageDigest.getInstance("SHA1").digest("ghi".getBytes("UTF-8")))));
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.get(WireMock.urlPathEqualTo(UPLOAD_URL + "/parts"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(new JsonObject()
+                            .add("entries", new JsonArray().add(uploadedPart))
+                            .add("offset", 0)
+                            .add("limit", 1000)
+                            .add("total_count", 1).toString())));
+        this.stubPart("bytes 3-5/7", "jkl", 3);
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.post(WireMock.urlPathEqualTo(COMMIT_URL))
+                .withHeader("Digest", WireMock.equalTo("sha=" + sha1(content)))
+                .withRequestBody(WireMock.containing("\"part_id\":\"PART0\""))
+                .withRequestBody(WireMock.containing("\"part_id\":\"PART3\""))
+                .withRequestBody(WireMock.containing("\"part_id\":\"PART6\""))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(TestConfig.getFixture("BoxFile/CommitUpload201"))));
+
+        BoxFile.Info info = upload.resumeUpload(this.api, "12345", file, sessionURL, "resumable.txt", store, null);
+
+        Assert.assertEquals("1111111", info.getID());
+        Assert.assertEquals(0, checkpointDirectory.listFiles().length);
+        WIRE_MOCK_CLASS_RULE.verify(1, WireMock.postRequestedFor(WireMock.urlPathEqualTo(SESSION_URL))
+                .withRequestBody(WireMock.containing("resumable.txt")));
+        WIRE_MOCK_CLASS_RULE.verify(1, WireMock.putRequestedFor(WireMock.urlPathEqualTo(UPLOAD_URL))
+                .withHeader("Content-Range", WireMock.equalTo("bytes 0-2/7")));
+        // The part that failed isn't retried by the retry policy, so it was sent once before the upload was resumed.
+        WIRE_MOCK_CLASS_RULE.verify(2, WireMock.putRequestedFor(WireMock.urlPathEqualTo(UPLOAD_URL))
+                .withHeader("Content-Range", WireMock.equalTo("bytes 3-5/7"))
+                .withRequestBody(WireMock.equalTo("jkl")));
+    }
+
+    private void stubUploadSession(int partSize, long fileSize) {
+        JsonObject endpoints = new JsonObject()
+                .add("list_parts", "http://localhost:53621" + UPLOAD_URL + "/parts")
+                .add("commit", "http://localhost:53621" + COMMIT_URL)
+                .add("upload_part", "http://localhost:53621" + UPLOAD_URL)
+                .add("status", "http://localhost:53621" + UPLOAD_URL)
+                .add("abort", "http://localhost:53621" + UPLOAD_URL);
+        JsonObject session = new JsonObject()
+                .add("type", "upload_session")
+                .add("id", "D5E3F8ADA11A38F0A66AD0B64AACA658")
+                .add("part_size", partSize)
+                .add("total_parts", (int) ((fileSize + partSize - 1) / partSize))
+                .add("session_endpoints", endpoints);
+
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.post(WireMock.urlPathEqualTo(SESSION_URL))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(session.toString())));
+    }
+
+    private void stubPart(String contentRange, String data, long offset) throws Exception {
+        JsonObject part = new JsonObject()
+                .add("part_id", "PART" + offset)
+                .add("offset", offset)
+                .add("size", data.length());
+
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.put(WireMock.urlPathEqualTo(UPLOAD_URL))
+                .withHeader("Content-Range", WireMock.equalTo(contentRange))
+                .withHeader("Digest", WireMock.equalTo("sha=" + sha1(data.getBytes("UTF-8"))))
+                .withRequestBody(WireMock.equalTo(data))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(new JsonObject().add("part", part).toString())));
+    }
+
+    private static String sha1(byte[] data) throws Exception {
+        return Base64.encode(MessageDigest.getInstance("SHA1").digest(data));
+    }
+}
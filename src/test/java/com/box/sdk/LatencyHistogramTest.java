@@ -0,0 +1,75 @@
+package com.box.sdk;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+public class LatencyHistogramTest {
+
+    @Test
+    @Category(UnitTest.class)
+    public void percentilesAreWithinThePrecisionOfTheHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 100000; micros++) {
+            histogram.record(micros);
+        }
+
+        Assert.assertEquals(100000, histogram.getCount());
+        Assert.assertEquals(100000, histogram.getMax());
+        Assert.assertEquals(50000.5, histogram.getMean(), 0.001);
+        assertWithin(50000, histogram.getValueAtPercentile(50));
+        assertWithin(99000, histogram.getValueAtPercentile(99));
+        assertWithin(99900, histogram.getValueAtPercentile(99.9));
+        Assert.assertEquals(100000, histogram.getValueAtPercentile(100));
+        Assert.assertEquals(1, histogram.getValueAtPercentile(0));
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void smallAndOutOfRangeLatenciesAreRecorded() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(0, histogram.getValueAtPercentile(99));
+
+        histogram.record(-5);
+        histogram.record(3);
+        histogram.record(Long.MAX_VALUE);
+
+        Assert.assertEquals(3, histogram.getCount());
+        Assert.assertEquals(0, histogram.getValueAtPercentile(10));
+        Assert.assertEquals(3, histogram.getValueAtPercentile(50));
+        Assert.assertEquals(histogram.getMax(), histogram.getValueAtPercentile(100));
+        Assert.assertTrue(histogram.getMax() > 60L * 60 * 1000000);
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void latenciesCanBeRecordedConcurrently() throws Exception {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 10000; j++) {
+                        histogram.record(j);
+                    }
+                }
+            };
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals(40000, histogram.getCount());
+        Assert.assertEquals(9999, histogram.getMax());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        Assert.assertTrue(actual + " isn't close to " + expected, Math.abs(actual - expected) <= expected / 64);
+    }
+}
@@ -0,0 +1,366 @@
+package com.box.sdk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URL;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509ExtendedTrustManager;
+import javax.net.ssl.X509TrustManager;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+public class LongPollSelectorTest {
+
+    @ClassRule
+    public static final WireMockClassRule WIRE_MOCK_CLASS_RULE = new WireMockClassRule(wireMockConfig()
+        .port(53623)
+        .httpsPort(53624));
+
+    private static final Map<String, String> NO_HEADERS = Collections.emptyMap();
+    private static final Executor CALLING_THREAD = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    @Test
+    @Category(UnitTest.class)
+    public void responseIsPassedToTheCallback() throws Exception {
+        WIRE_MOCK_CLASS_RULE.stubFor(get(urlPathEqualTo("/realtimeServer"))
+            .withQueryParam("channel", equalTo("plain"))
+            .withHeader("Authorization", equalTo("Bearer token"))
+            .willReturn(aResponse()
+                .withBody("{ \"message\": \"new_change\" }")
+                .withFixedDelay(200)));
+
+        LongPollSelector selector = new LongPollSelector("test", CALLING_THREAD, SSLContext.getDefault());
+        try {
+            Results results = new Results();
+            selector.poll(new URL("http://localhost:53623/realtimeServer?channel=plain"),
+                Collections.singletonMap("Authorization", "Bearer token"), null, null, 5000, results);
+
+            assertEquals("200 { \"message\": \"new_change\" }", results.next());
+        } finally {
+            selector.close();
+        }
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void chunkedResponseIsDecoded() throws Exception {
+        WIRE_MOCK_CLASS_RULE.stubFor(get(urlPathEqualTo("/realtimeServer"))
+            .withQueryParam("channel", equalTo("chunked"))
+            .willReturn(aResponse()
+                .withBody("{ \"message\": \"reconnect\" }")
+                .withChunkedDribbleDelay(4, 200)));
+
+        LongPollSelector selector = new LongPollSelector("test", CALLING_THREAD, SSLContext.getDefault());
+        try {
+            Results results = new Results();
+            selector.poll(new URL("http://localhost:53623/realtimeServer?channel=chunked"), NO_HEADERS, null, null,
+                5000, results);
+
+            assertEquals("200 { \"message\": \"reconnect\" }", results.next());
+        } finally {
+            selector.close();
+        }
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void longPollThatIsntAnsweredInTimeFails() throws Exception {
+        WIRE_MOCK_CLASS_RULE.stubFor(get(urlPathEqualTo("/realtimeServer"))
+            .withQueryParam("channel", equalTo("slow"))
+            .willReturn(aResponse()
+                .withBody("{ \"message\": \"new_change\" }")
+                .withFixedDelay(2000)));
+
+        LongPollSelector selector = new LongPollSelector("test", CALLING_THREAD, SSLContext.getDefault());
+        try {
+            Results results = new Results();
+            selector.poll(new URL("http://localhost:53623/realtimeServer?channel=slow"), NO_HEADERS, null, null,
+                200, results);
+
+            assertEquals("java.net.SocketTimeoutException", results.next());
+        } finally {
+            selector.close();
+        }
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void cancelledLongPollDoesntRunItsCallback() throws Exception {
+        WIRE_MOCK_CLASS_RULE.stubFor(get(urlPathEqualTo("/realtimeServer"))
+            .withQueryParam("channel", equalTo("cancelled"))
+            .willReturn(aResponse()
+                .withBody("{ \"message\": \"new_change\" }")
+                .withFixedDelay(300)));
+
+        LongPollSelector selector = new LongPollSelector("test", CALLING_THREAD, SSLContext.getDefault());
+        try {
+            Results results = new Results();
+            selector.poll(new URL("http://localhost:53623/realtimeServer?channel=cancelled"), NO_HEADERS, null, null,
+                5000, results).cancel();
+
+            assertNull(results.poll(1000));
+        } finally {
+            selector.close();
+        }
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void httpsLongPollIsEncrypted() throws Exception {
+        WIRE_MOCK_CLASS_RULE.stubFor(get(urlPathEqualTo("/realtimeServer"))
+            .withQueryParam("channel", equalTo("secure"))
+            .willReturn(aResponse()
+                .withBody("{ \"message\": \"new_change\" }")
+                .withFixedDelay(200)));
+
+        LongPollSelector selector = new LongPollSelector("test", CALLING_THREAD,
+            this.createSSLContext(new TrustingTrustManager()));
+        try {
+            Results results = new Results();
+            selector.poll(new URL("https://localhost:53624/realtimeServer?channel=secure"), NO_HEADERS, null, null,
+                5000, results);
+
+            assertEquals("200 { \"message\": \"new_change\" }", results.next());
+        } finally {
+            selector.close();
+        }
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void httpsLongPollFailsWhenTheCertificateIsntIssuedToTheHost() throws Exception {
+        WIRE_MOCK_CLASS_RULE.stubFor(get(urlPathEqualTo("/realtimeServer"))
+            .withQueryParam("channel", equalTo("unverified"))
+            .willReturn(aResponse()
+                .withBody("{ \"message\": \"new_change\" }")));
+
+        // The mock server's certificate is trusted, but it is issued to "Tom Akehurst" rather than localhost.
+        X509TrustManager trustingCertificates = new X509TrustManager() {
+            @Override
+            public void checkClientTrusted(X509Certificate[] chain, String authType) {
+            }
+
+            @Override
+            public void checkServerTrusted(X509Certificate[] chain, String authType) {
+            }
+
+            @Override
+            public X509Certificate[] getAcceptedIssuers() {
+                return new X509Certificate[0];
+            }
+        };
+        LongPollSelector selector = new LongPollSelector("test", CALLING_THREAD,
+            this.createSSLContext(trustingCertificates));
+        try {
+            Results results = new Results();
+            selector.poll(new URL("https://localhost:53624/realtimeServer?channel=unverified"), NO_HEADERS, null,
+                null, 5000, results);
+
+            assertEquals("javax.net.ssl.SSLHandshakeException", results.next());
+        } finally {
+            selector.close();
+        }
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void longPollThroughAProxyTunnelsToTheServer() throws Exception {
+        WIRE_MOCK_CLASS_RULE.stubFor(get(urlPathEqualTo("/realtimeServer"))
+            .withQueryParam("channel", equalTo("proxied"))
+            .willReturn(aResponse()
+                .withBody("{ \"message\": \"new_change\" }")));
+
+        TunnelingProxy proxy = new TunnelingProxy();
+        LongPollSelector selector = new LongPollSelector("test", CALLING_THREAD, SSLContext.getDefault());
+        try {
+            Results results = new Results();
+            selector.poll(new URL("http://localhost:53623/realtimeServer?channel=proxied"), NO_HEADERS,
+                new Proxy(Proxy.Type.HTTP, new InetSocketAddress("localhost", proxy.getPort())), "Basic dXNlcjpwYXNz",
+                5000, results);
+
+            assertEquals("200 { \"message\": \"new_change\" }", results.next());
+            assertEquals("CONNECT localhost:53623 HTTP/1.1", proxy.getRequestLines().get(0));
+            assertTrue(proxy.getRequestLines().contains("Proxy-Authorization: Basic dXNlcjpwYXNz"));
+        } finally {
+            selector.close();
+            proxy.close();
+        }
+    }
+
+    private SSLContext createSSLContext(TrustManager trustManager) throws GeneralSecurityException {
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(null, new TrustManager[] {trustManager}, null);
+        return context;
+    }
+
+    private static final class Results implements LongPollSelector.Callback {
+        private final LinkedBlockingQueue<String> results = new LinkedBlockingQueue<String>();
+
+        @Override
+        public void onResponse(int status, String body) {
+            this.results.add(status + " " + body);
+        }
+
+        @Override
+        public void onFailure(IOException e) {
+            this.results.add(e.getClass().getName());
+        }
+
+        String next() throws InterruptedException {
+            return this.poll(5000);
+        }
+
+        String poll(long timeout) throws InterruptedException {
+            return this.results.poll(timeout, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Trusts every certificate, whatever the host it was issued to.
+     */
+    private static final class TrustingTrustManager extends X509ExtendedTrustManager {
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, Socket socket) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, Socket socket) {
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+    }
+
+    /**
+     * A proxy that opens a single tunnel requested with CONNECT and records the lines of the request.
+     */
+    private static final class TunnelingProxy {
+        private final ServerSocket serverSocket;
+        private final List<String> requestLines;
+
+        TunnelingProxy() throws IOException {
+            this.serverSocket = new ServerSocket(0);
+            this.requestLines = Collections.synchronizedList(new LinkedList<String>());
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    TunnelingProxy.this.tunnel();
+                }
+            }).start();
+        }
+
+        int getPort() {
+            return this.serverSocket.getLocalPort();
+        }
+
+        List<String> getRequestLines() {
+            return this.requestLines;
+        }
+
+        void close() throws IOException {
+            this.serverSocket.close();
+        }
+
+        private void tunnel() {
+            try {
+                Socket client = this.serverSocket.accept();
+                InputStream input = client.getInputStream();
+                String line = readLine(input);
+                while (!line.isEmpty()) {
+                    this.requestLines.add(line);
+                    line = readLine(input);
+                }
+
+                String[] target = this.requestLines.get(0).split(" ")[1].split(":");
+                Socket server = new Socket(target[0], Integer.parseInt(target[1]));
+                client.getOutputStream().write("HTTP/1.1 200 Connection Established\r\n\r\n".getBytes("UTF-8"));
+                pipe(server.getInputStream(), client.getOutputStream());
+                pipe(input, server.getOutputStream());
+            } catch (IOException e) {
+                // The test fails when the long poll doesn't go through the tunnel.
+            }
+        }
+
+        private static String readLine(InputStream input) throws IOException {
+            StringBuilder line = new StringBuilder();
+            int read = input.read();
+            while (read != -1 && read != '\n') {
+                if (read != '\r') {
+                    line.append((char) read);
+                }
+                read = input.read();
+            }
+            return line.toString();
+        }
+
+        private static void pipe(final InputStream input, final OutputStream output) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    byte[] buffer = new byte[1024];
+                    try {
+                        int read = input.read(buffer);
+                        while (read != -1) {
+                            output.write(buffer, 0, read);
+                            read = input.read(buffer);
+                        }
+                        output.close();
+                    } catch (IOException e) {
+                        // One side of the tunnel was closed.
+                    }
+                }
+            }).start();
+        }
+    }
+}
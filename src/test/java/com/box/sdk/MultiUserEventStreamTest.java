@@ -0,0 +1,265 @@
+package com.box.sdk;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.options;
+import static com.github.tomakehurst.wiremock.client.WireMock.optionsRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+public class MultiUserEventStreamTest {
+
+    @ClassRule
+    public static final WireMockClassRule WIRE_MOCK_CLASS_RULE = new WireMockClassRule(53621);
+
+    @Test
+    @Category(UnitTest.class)
+    public void eventsOfEveryUserArePassedToTheListenerInOrder() throws InterruptedException {
+        this.stubRealtimeServer("first", "3");
+        this.stubLongPoll("first", "new_change", 0);
+        this.stubEvents("first", "now", "{ \"next_stream_position\": 10, \"entries\": [] }");
+        this.stubEvents("first", "10", "{ \"next_stream_position\": 11, \"entries\": [ { \"type\": \"event\", "
+            + "\"event_id\": \"a\" }, { \"type\": \"event\", \"event_id\": \"b\" } ] }");
+        this.stubEvents("first", "11", "{ \"next_stream_position\": 12, \"entries\": [ { \"type\": \"event\", "
+            + "\"event_id\": \"b\" }, { \"type\": \"event\", \"event_id\": \"c\" } ] }");
+        this.stubEvents("first", "12", "{ \"next_stream_position\": 12, \"entries\": [] }");
+        this.stubRealtimeServer("second", "3");
+        this.stubLongPoll("second", "new_change", 0);
+        this.stubEvents("second", "20", "{ \"next_stream_position\": 21, \"entries\": [ { \"type\": \"event\", "
+            + "\"event_id\": \"d\" } ] }");
+        this.stubEvents("second", "21", "{ \"next_stream_position\": 21, \"entries\": [] }");
+
+        final LinkedBlockingQueue<String> firstUser = new LinkedBlockingQueue<String>();
+        final LinkedBlockingQueue<String> secondUser = new LinkedBlockingQueue<String>();
+        MultiUserEventStream stream = new MultiUserEventStream(new MultiUserEventListener() {
+            @Override
+            public void onEvent(String key, BoxEvent event) {
+                (key.equals("first") ? firstUser : secondUser).add(event.getID());
+            }
+
+            @Override
+            public void onNextPosition(String key, long position) {
+                (key.equals("first") ? firstUser : secondUser).add(Long.toString(position));
+            }
+
+            @Override
+            public boolean onException(String key, Throwable e) {
+                (key.equals("first") ? firstUser : secondUser).add(e.toString());
+                return false;
+            }
+        }, 1);
+        stream.setReconnectDelay(10, 50, TimeUnit.MILLISECONDS);
+        stream.addUser("first", this.getAPIConnection("first"));
+        stream.start();
+        stream.addUser("second", this.getAPIConnection("second"), 20);
+
+        try {
+            assertEquals("a", firstUser.poll(10, TimeUnit.SECONDS));
+            assertEquals("b", firstUser.poll(10, TimeUnit.SECONDS));
+            assertEquals("11", firstUser.poll(10, TimeUnit.SECONDS));
+            assertEquals("c", firstUser.poll(10, TimeUnit.SECONDS));
+            assertEquals("12", firstUser.poll(10, TimeUnit.SECONDS));
+            assertEquals("d", secondUser.poll(10, TimeUnit.SECONDS));
+            assertEquals("21", secondUser.poll(10, TimeUnit.SECONDS));
+        } finally {
+            stream.stop();
+        }
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void longPollsWaitingForChangesDontKeepOtherUsersFromReceivingEvents() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            this.stubRealtimeServer("idle" + i, "3");
+            this.stubLongPoll("idle" + i, "new_change", 3000);
+            this.stubEvents("idle" + i, "50", "{ \"next_stream_position\": 50, \"entries\": [] }");
+        }
+        this.stubRealtimeServer("busy", "3");
+        this.stubLongPoll("busy", "new_change", 0);
+        this.stubEvents("busy", "60", "{ \"next_stream_position\": 61, \"entries\": [ { \"type\": \"event\", "
+            + "\"event_id\": \"e\" } ] }");
+        this.stubEvents("busy", "61", "{ \"next_stream_position\": 61, \"entries\": [] }");
+
+        final LinkedBlockingQueue<String> events = new LinkedBlockingQueue<String>();
+        MultiUserEventStream stream = new MultiUserEventStream(new MultiUserEventListener() {
+            @Override
+            public void onEvent(String key, BoxEvent event) {
+                events.add(key + ":" + event.getID());
+            }
+
+            @Override
+            public void onNextPosition(String key, long position) {
+            }
+
+            @Override
+            public boolean onException(String key, Throwable e) {
+                events.add(key + ":" + e);
+                return false;
+            }
+        }, 1);
+        stream.setReconnectDelay(10, 50, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 3; i++) {
+            stream.addUser("idle" + i, this.getAPIConnection("idle" + i), 50);
+        }
+        stream.start();
+
+        // The long polls of the idle users are held by the server while the busy user starts.
+        try {
+            Thread.sleep(500);
+            stream.addUser("busy", this.getAPIConnection("busy"), 60);
+            assertEquals("busy:e", events.poll(2, TimeUnit.SECONDS));
+        } finally {
+            stream.stop();
+        }
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void realtimeServerIsFoundAgainOnlyOnceItsRetriesAreUsed() throws InterruptedException {
+        this.stubRealtimeServer("cached", "3");
+        this.stubLongPoll("cached", "new_change", 0);
+        this.stubEvents("cached", "40", "{ \"next_stream_position\": 40, \"entries\": [] }");
+
+        MultiUserEventStream stream = this.createIgnoringStream();
+        stream.setReconnectDelay(1, 1, TimeUnit.MILLISECONDS);
+        stream.addUser("cached", this.getAPIConnection("cached"), 40);
+        stream.start();
+        Thread.sleep(1000);
+        stream.stop();
+
+        int longPolls = this.countLongPolls("cached");
+        int discoveries = this.countDiscoveries("cached");
+        assertTrue(longPolls + " long polls were sent", longPolls >= 6);
+        assertTrue(discoveries + " discoveries for " + longPolls + " long polls",
+            discoveries >= (longPolls + 2) / 3 && discoveries <= longPolls / 3 + 1);
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void realtimeServerIsFoundAgainWhenItAsksToReconnect() throws InterruptedException {
+        this.stubRealtimeServer("reconnecting", "10");
+        this.stubLongPoll("reconnecting", "reconnect", 0);
+
+        MultiUserEventStream stream = this.createIgnoringStream();
+        stream.setReconnectDelay(1, 1, TimeUnit.MILLISECONDS);
+        stream.addUser("reconnecting", this.getAPIConnection("reconnecting"), 45);
+        stream.start();
+        Thread.sleep(1000);
+        stream.stop();
+
+        int longPolls = this.countLongPolls("reconnecting");
+        int discoveries = this.countDiscoveries("reconnecting");
+        assertTrue(longPolls + " long polls were sent", longPolls >= 3);
+        assertTrue(discoveries + " discoveries for " + longPolls + " long polls",
+            discoveries == longPolls || discoveries == longPolls + 1);
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void restartingWhileEventsAreReadKeepsFollowingTheUserOnce() throws InterruptedException {
+        this.stubRealtimeServer("restarted", "100");
+        this.stubLongPoll("restarted", "new_change", 0);
+        WIRE_MOCK_CLASS_RULE.stubFor(get(urlPathEqualTo("/events"))
+            .withHeader("Authorization", equalTo("Bearer restarted"))
+            .willReturn(aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withBody("{ \"next_stream_position\": 30, \"entries\": [] }")
+                .withFixedDelay(300)));
+
+        MultiUserEventStream stream = this.createIgnoringStream();
+        stream.setReconnectDelay(1, 1, TimeUnit.MILLISECONDS);
+        stream.addUser("restarted", this.getAPIConnection("restarted"), 30);
+        stream.start();
+        Thread.sleep(100);
+        stream.stop();
+        stream.start();
+
+        // A single chain of steps reads events about every 300 milliseconds, and two chains twice as often.
+        try {
+            Thread.sleep(500);
+            int reads = this.countReads("restarted");
+            Thread.sleep(1500);
+            reads = this.countReads("restarted") - reads;
+            assertTrue(reads + " reads were sent", reads <= 7);
+        } finally {
+            stream.stop();
+        }
+    }
+
+    private MultiUserEventStream createIgnoringStream() {
+        return new MultiUserEventStream(new MultiUserEventListener() {
+            @Override
+            public void onEvent(String key, BoxEvent event) {
+            }
+
+            @Override
+            public void onNextPosition(String key, long position) {
+            }
+
+            @Override
+            public boolean onException(String key, Throwable e) {
+                return true;
+            }
+        }, 2);
+    }
+
+    private int countReads(String accessToken) {
+        return WIRE_MOCK_CLASS_RULE.findAll(getRequestedFor(urlPathEqualTo("/events"))
+            .withHeader("Authorization", equalTo("Bearer " + accessToken))).size();
+    }
+
+    private int countLongPolls(String accessToken) {
+        return WIRE_MOCK_CLASS_RULE.findAll(getRequestedFor(urlPathEqualTo("/realtimeServer"))
+            .withQueryParam("channel", equalTo(accessToken))).size();
+    }
+
+    private int countDiscoveries(String accessToken) {
+        return WIRE_MOCK_CLASS_RULE.findAll(optionsRequestedFor(urlEqualTo("/events"))
+            .withHeader("Authorization", equalTo("Bearer " + accessToken))).size();
+    }
+
+    private BoxAPIConnection getAPIConnection(String accessToken) {
+        BoxAPIConnection api = new BoxAPIConnection(accessToken);
+        api.setBaseURL("http://localhost:53621/");
+        return api;
+    }
+
+    private void stubRealtimeServer(String accessToken, String maxRetries) {
+        WIRE_MOCK_CLASS_RULE.stubFor(options(urlEqualTo("/events"))
+            .withHeader("Authorization", equalTo("Bearer " + accessToken))
+            .willReturn(aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withBody("{ \"entries\": [ { \"url\": \"http://localhost:53621/realtimeServer?channel="
+                    + accessToken + "\", \"max_retries\": \"" + maxRetries + "\", \"retry_timeout\": 60 } ] }")));
+    }
+
+    private void stubLongPoll(String accessToken, String message, int delay) {
+        WIRE_MOCK_CLASS_RULE.stubFor(get(urlPathEqualTo("/realtimeServer"))
+            .withQueryParam("channel", equalTo(accessToken))
+            .willReturn(aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withBody("{ \"message\": \"" + message + "\" }")
+                .withFixedDelay(delay)));
+    }
+
+    private void stubEvents(String accessToken, String position, String body) {
+        WIRE_MOCK_CLASS_RULE.stubFor(get(urlPathEqualTo("/events"))
+            .withHeader("Authorization", equalTo("Bearer " + accessToken))
+            .withQueryParam("stream_position", equalTo(position))
+            .willReturn(aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withBody(body)));
+    }
+}
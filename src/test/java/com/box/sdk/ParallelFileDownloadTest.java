@@ -0,0 +1,174 @@
+package com.box.sdk;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import com.eclipsesource.json.JsonObject;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+
+public class ParallelFileDownloadTest {
+    /**
+     * Wiremock
+     */
+    @ClassRule
+    public static final WireMockClassRule WIRE_MOCK_CLASS_RULE = new WireMockClassRule(53621);
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private BoxAPIConnection api = TestConfig.getAPIConnection();
+
+    @Test
+    @Category(UnitTest.class)
+    public void segmentsAreWrittenAtTheirOffsetsAndFailedSegmentsAreRetried() throws Exception {
+        String content = "abcdefghij";
+        this.stubFileInfo("11111", content.length(), sha1(content));
+        this.stubSegment("11111", "bytes=0-3", "abcd");
+        this.stubSegment("11111", "bytes=8-9", "ij");
+
+        // The connection is reset the first time the middle segment is requested.
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.get(WireMock.urlPathEqualTo("/files/11111/content"))
+                .withHeader("Range", WireMock.equalTo("bytes=4-7"))
+                .inScenario("Segment Retry")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(WireMock.aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER))
+                .willSetStateTo("Reset"));
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.get(WireMock.urlPathEqualTo("/files/11111/content"))
+                .withHeader("Range", WireMock.equalTo("bytes=4-7"))
+                .inScenario("Segment Retry")
+                .whenScenarioStateIs("Reset")
+                .willReturn(WireMock.aResponse().withStatus(206).withBody("efgh")));
+
+        File target = this.temporaryFolder.newFile("download.txt");
+        new BoxFile(this.api, "11111").downloadParallel(target, 3, 1, TimeUnit.MINUTES, true);
+
+        Assert.assertEquals(content, read(target));
+        WIRE_MOCK_CLASS_RULE.verify(2, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/files/11111/content"))
+                .withHeader("Range", WireMock.equalTo("bytes=4-7")));
+        WIRE_MOCK_CLASS_RULE.verify(1, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/files/11111/content"))
+                .withHeader("Range", WireMock.equalTo("bytes=0-3")));
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void segmentsAreDownloadedWithTheRequestContextOfTheDownload() throws Exception {
+        this.stubFileInfo("44444", 4, sha1("abcd"));
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.get(WireMock.urlPathEqualTo("/files/44444/content"))
+                .withHeader("As-User", WireMock.equalTo("55555"))
+                .withHeader("Range", WireMock.equalTo("bytes=0-1"))
+                .willReturn(WireMock.aResponse().withStatus(206).withBody("ab")));
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.get(WireMock.urlPathEqualTo("/files/44444/content"))
+                .withHeader("As-User", WireMock.equalTo("55555"))
+                .withHeader("Range", WireMock.equalTo("bytes=2-3"))
+                .willReturn(WireMock.aResponse().withStatus(206).withBody("cd")));
+
+        final File target = this.temporaryFolder.newFile("context.txt");
+        BoxRequestContext.asUser("55555").call(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                new ParallelFileDownload(2, 1, TimeUnit.MINUTES).download(
+                    new BoxFile(ParallelFileDownloadTest.this.api, "44444"), target, true);
+                return null;
+            }
+        });
+
+        Assert.assertEquals("abcd", read(target));
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void mismatchedDigestFailsTheDownload() throws Exception {
+        this.stubFileInfo("22222", 4, sha1("dcba"));
+        this.stubSegment("22222", "bytes=0-1", "ab");
+        this.stubSegment("22222", "bytes=2-3", "cd");
+
+        try {
+            new ParallelFileDownload(2, 1, TimeUnit.MINUTES).download(new BoxFile(this.api, "22222"),
+                this.temporaryFolder.newFile("mismatch.txt"), true);
+            Assert.fail("The download should have failed.");
+        } catch (BoxAPIException e) {
+            Assert.assertTrue(e.getMessage().contains(sha1("abcd")));
+        }
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void segmentsAreStoppedBeforeATimedOutDownloadReturns() throws Exception {
+        this.stubFileInfo("33333", 8, sha1("abcdefgh"));
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.get(WireMock.urlPathEqualTo("/files/33333/content"))
+                .willReturn(WireMock.aResponse().withStatus(206).withBody("abcdefgh")
+                    .withChunkedDribbleDelay(8, 2000)));
+
+        RandomAccessFile output = new RandomAccessFile(this.temporaryFolder.newFile("timeout.txt"), "rw");
+        try {
+            long start = System.currentTimeMillis();
+            try {
+                new ParallelFileDownload(1, 500, TimeUnit.MILLISECONDS).download(new BoxFile(this.api, "33333"),
+                    output.getChannel(), false);
+                Assert.fail("The download should have timed out.");
+            } catch (BoxAPIException e) {
+                Assert.assertTrue(System.currentTimeMillis() - start < 3000);
+            }
+
+            // The channel is left open, and nothing is written to it once the download has returned.
+            long size = output.getChannel().size();
+            Thread.sleep(2500);
+            Assert.assertTrue(output.getChannel().isOpen());
+            Assert.assertEquals(size, output.getChannel().size());
+        } finally {
+            output.close();
+        }
+    }
+
+    private void stubFileInfo(String id, long size, String sha1) {
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.get(WireMock.urlPathEqualTo("/files/" + id))
+                .withQueryParam("fields", WireMock.equalTo("size,sha1"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(new JsonObject()
+                            .add("type", "file")
+                            .add("id", id)
+                            .add("size", size)
+                            .add("sha1", sha1).toString())));
+    }
+
+    private void stubSegment(String id, String range, String data) {
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.get(WireMock.urlPathEqualTo("/files/" + id + "/content"))
+                .withHeader("Range", WireMock.equalTo(range))
+                .willReturn(WireMock.aResponse().withStatus(206).withBody(data)));
+    }
+
+    private static String read(File file) throws Exception {
+        byte[] data = new byte[(int) file.length()];
+        FileInputStream input = new FileInputStream(file);
+        try {
+            int offset = 0;
+            while (offset < data.length) {
+                offset += input.read(data, offset, data.length - offset);
+            }
+        } finally {
+            input.close();
+        }
+        return new String(data, "UTF-8");
+    }
+
+    private static String sha1(String data) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA1").digest(data.getBytes("UTF-8"));
+        return String.format("%040x", new BigInteger(1, digest));
+    }
+}
@@ -0,0 +1,138 @@
+package com.box.sdk;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+
+public class RequestMetricsRecorderTest {
+    /**
+     * Wiremock
+     */
+    @ClassRule
+    public static final WireMockClassRule WIRE_MOCK_CLASS_RULE = new WireMockClassRule(53621);
+
+    private BoxAPIConnection api = TestConfig.getAPIConnection();
+
+    @Before
+    public void resetServer() {
+        WIRE_MOCK_CLASS_RULE.resetAll();
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void requestsAreRecordedByEndpoint() throws Exception {
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.get(WireMock.urlPathMatching("/folders/[0-9]+"))
+            .willReturn(WireMock.aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withBody(TestConfig.getFixture("BoxFolder/GetFolderInfo200"))));
+        RequestMetricsRecorder recorder = new RequestMetricsRecorder();
+        this.api.setRequestMetricsListener(recorder);
+
+        try {
+            new BoxFolder(this.api, "12345").getInfo();
+            new BoxFolder(this.api, "67890").getInfo();
+        } finally {
+            this.api.setRequestMetricsListener(null);
+        }
+
+        Assert.assertEquals(1, recorder.getEndpoints().size());
+        RequestMetricsRecorder.Endpoint endpoint = recorder.getEndpoint("GET", "/folders/{id}");
+        Assert.assertEquals("GET /folders/{id}", endpoint.getName());
+        Assert.assertEquals(2, endpoint.getRequestCount());
+        Assert.assertEquals(2, endpoint.getTimesToFirstByte().getCount());
+        Assert.assertEquals(0, endpoint.getErrorCount());
+        Assert.assertEquals(0, endpoint.getRetryCount());
+        Assert.assertTrue(endpoint.getLatencies().getValueAtPercentile(99) > 0);
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void everyAttemptIsReportedWithItsStatusAndSize() throws Exception {
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.put(WireMock.urlPathEqualTo("/files/12345"))
+            .inScenario("Retry").whenScenarioStateIs(Scenario.STARTED)
+            .willReturn(WireMock.aResponse().withStatus(503))
+            .willSetStateTo("Retried"));
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.put(WireMock.urlPathEqualTo("/files/12345"))
+            .inScenario("Retry").whenScenarioStateIs("Retried")
+            .willReturn(WireMock.aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"type\": \"file\", \"id\": \"12345\"}")));
+        RetryPolicy retryPolicy = new RetryPolicy();
+        retryPolicy.setDelays(1, 10);
+        this.api.setRetryPolicy(retryPolicy);
+        final List<RequestMetrics> attempts = new ArrayList<RequestMetrics>();
+        this.api.setRequestMetricsListener(new RequestMetricsListener() {
+            @Override
+            public void onRequestCompleted(RequestMetrics metrics) {
+                attempts.add(metrics);
+            }
+        });
+
+        String body = "{\"name\": \"new name\"}";
+        try {
+            BoxJSONRequest request = new BoxJSONRequest(this.api, new URL("http://localhost:53621/files/12345"),
+                "PUT");
+            request.setBody(body);
+            request.send();
+        } finally {
+            this.api.setRequestMetricsListener(null);
+        }
+
+        Assert.assertEquals(2, attempts.size());
+        Assert.assertEquals(1, attempts.get(0).getAttempt());
+        Assert.assertEquals(503, attempts.get(0).getStatusCode());
+        Assert.assertFalse(attempts.get(0).isSuccess());
+        Assert.assertEquals(2, attempts.get(1).getAttempt());
+        Assert.assertEquals(200, attempts.get(1).getStatusCode());
+        Assert.assertTrue(attempts.get(1).isSuccess());
+        for (RequestMetrics metrics : attempts) {
+            Assert.assertEquals("PUT", metrics.getMethod());
+            Assert.assertEquals("/files/{id}", metrics.getEndpoint());
+            Assert.assertEquals(body.length(), metrics.getBytesSent());
+            Assert.assertTrue(metrics.getTimeToFirstByteNanos() >= 0);
+            Assert.assertTrue(metrics.getTimeToFirstByteNanos() <= metrics.getLatencyNanos());
+        }
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void listenerExceptionDoesNotFailTheRequest() throws Exception {
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.get(WireMock.urlPathEqualTo("/folders/12345"))
+            .willReturn(WireMock.aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withBody(TestConfig.getFixture("BoxFolder/GetFolderInfo200"))));
+        this.api.setRequestMetricsListener(new RequestMetricsListener() {
+            @Override
+            public void onRequestCompleted(RequestMetrics metrics) {
+                throw new IllegalStateException();
+            }
+        });
+
+        try {
+            Assert.assertEquals("Example Folder", new BoxFolder(this.api, "12345").getInfo().getName());
+        } finally {
+            this.api.setRequestMetricsListener(null);
+        }
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void endpointTemplateReplacesIDsButNotTheAPIVersion() throws Exception {
+        Assert.assertEquals("/2.0/files/{id}/content",
+            RequestMetrics.getEndpointTemplate(new URL("https://upload.box.com/2.0/files/12345/content?x=1")));
+        Assert.assertEquals("/2.0/files/upload_sessions/{id}/commit", RequestMetrics.getEndpointTemplate(
+            new URL("https://upload.box.com/2.0/files/upload_sessions/D5E3F8ADA11A38F0A66AD0B64AACA658/commit")));
+        Assert.assertEquals("/2.0/users/me",
+            RequestMetrics.getEndpointTemplate(new URL("https://api.box.com/2.0/users/me")));
+    }
+}
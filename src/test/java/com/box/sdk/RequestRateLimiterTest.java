@@ -0,0 +1,58 @@
+package com.box.sdk;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+public class RequestRateLimiterTest {
+
+    @Test
+    @Category(UnitTest.class)
+    public void requestsThrottledTogetherHalveTheRateOnce() throws Exception {
+        RequestRateLimiter rateLimiter = new RequestRateLimiter(100, 4);
+
+        long first = rateLimiter.acquire();
+        long second = rateLimiter.acquire();
+        rateLimiter.release(first, 429, Arrays.asList("1"));
+        rateLimiter.release(second, 429, Arrays.asList("1"));
+        Assert.assertEquals(50, rateLimiter.getRequestsPerSecond(), 0.001);
+
+        long start = System.currentTimeMillis();
+        long third = rateLimiter.acquire();
+        Assert.assertTrue(System.currentTimeMillis() - start >= 900);
+
+        rateLimiter.release(third, 200, null);
+        Assert.assertTrue(rateLimiter.getRequestsPerSecond() > 50);
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void concurrentRequestsAreLimited() throws Exception {
+        final RequestRateLimiter rateLimiter = new RequestRateLimiter(1000, 1);
+        long first = rateLimiter.acquire();
+
+        final CountDownLatch acquired = new CountDownLatch(1);
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    long second = rateLimiter.acquire();
+                    acquired.countDown();
+                    rateLimiter.release(second, 200, null);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        thread.start();
+
+        Assert.assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+        rateLimiter.release(first, 200, null);
+        Assert.assertTrue(acquired.await(10, TimeUnit.SECONDS));
+        thread.join();
+    }
+}
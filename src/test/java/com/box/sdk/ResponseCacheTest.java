@@ -0,0 +1,111 @@
+package com.box.sdk;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+
+public class ResponseCacheTest {
+    /**
+     * Wiremock
+     */
+    @ClassRule
+    public static final WireMockClassRule WIRE_MOCK_CLASS_RULE = new WireMockClassRule(53621);
+
+    private static final String FOLDER_URL = "/folders/12345";
+    // The test server adds a suffix to the ETag of gzipped responses.
+    private static final String ETAG_PATTERN = "\"2(--gzip)?\"";
+
+    private BoxAPIConnection api = TestConfig.getAPIConnection();
+
+    @Before
+    public void stubFolder() throws IOException {
+        WIRE_MOCK_CLASS_RULE.resetAll();
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.get(WireMock.urlPathEqualTo(FOLDER_URL))
+            .withHeader("If-None-Match", WireMock.absent())
+            .willReturn(WireMock.aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withHeader("ETag", "\"2\"")
+                .withBody(TestConfig.getFixture("BoxFolder/GetFolderInfo200"))));
+        WIRE_MOCK_CLASS_RULE.stubFor(WireMock.get(WireMock.urlPathEqualTo(FOLDER_URL))
+            .withHeader("If-None-Match", WireMock.matching(ETAG_PATTERN))
+            .willReturn(WireMock.aResponse()
+                .withStatus(304)
+                .withHeader("ETag", "\"2\"")));
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void unchangedResponseIsServedFromTheCache() {
+        ResponseCache cache = new ResponseCache(100);
+        this.api.setResponseCache(cache);
+        BoxFolder folder = new BoxFolder(this.api, "12345");
+
+        for (int i = 0; i < 3; i++) {
+            BoxFolder.Info info = folder.getInfo("name", "size");
+            Assert.assertEquals("Example Folder", info.getName());
+            Assert.assertEquals(75256, info.getSize());
+        }
+
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(2, cache.getHitCount());
+        WIRE_MOCK_CLASS_RULE.verify(2, WireMock.getRequestedFor(WireMock.urlPathEqualTo(FOLDER_URL))
+            .withHeader("If-None-Match", WireMock.matching(ETAG_PATTERN))
+            .withQueryParam("fields", WireMock.equalTo("name,size")));
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void responsesAreCachedPerFieldsAndUser() {
+        ResponseCache cache = new ResponseCache(100);
+        this.api.setResponseCache(cache);
+        BoxFolder folder = new BoxFolder(this.api, "12345");
+
+        folder.getInfo("name");
+        folder.getInfo("size");
+        this.api.asUser("99");
+        try {
+            folder.getInfo("name");
+        } finally {
+            this.api.asSelf();
+        }
+        folder.getInfo("name");
+
+        Assert.assertEquals(3, cache.getMissCount());
+        Assert.assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void leastRecentlyUsedResponseIsForgottenWhenTheCacheIsFull() {
+        ResponseCache cache = new ResponseCache(1);
+        this.api.setResponseCache(cache);
+        BoxFolder folder = new BoxFolder(this.api, "12345");
+
+        folder.getInfo("name");
+        folder.getInfo("size");
+        folder.getInfo("name");
+
+        Assert.assertEquals(3, cache.getMissCount());
+        Assert.assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void requestsAreNotRevalidatedWithoutACache() {
+        this.api.setResponseCache(null);
+        BoxFolder folder = new BoxFolder(this.api, "12345");
+
+        folder.getInfo();
+        folder.getInfo();
+
+        WIRE_MOCK_CLASS_RULE.verify(0, WireMock.getRequestedFor(WireMock.urlPathEqualTo(FOLDER_URL))
+            .withHeader("If-None-Match", WireMock.matching(".*")));
+    }
+}
@@ -0,0 +1,92 @@
+package com.box.sdk;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+public class RetryPolicyTest {
+
+    @Test
+    @Category(UnitTest.class)
+    public void delaysUseFullJitterCappedToTheMaximumDelay() {
+        RetryPolicy policy = new RetryPolicy();
+        policy.setDelays(100, 1000);
+        BoxAPIException serverError = new BoxAPIException("Server error", 500, "");
+
+        for (int i = 0; i < 100; i++) {
+            long firstDelay = policy.getRetryDelay(1, serverError, false);
+            assertTrue(firstDelay >= 0 && firstDelay < 100);
+
+            long thirdDelay = policy.getRetryDelay(3, serverError, false);
+            assertTrue(thirdDelay >= 0 && thirdDelay < 400);
+
+            long laterDelay = policy.getRetryDelay(40, serverError, false);
+            assertTrue(laterDelay >= 0 && laterDelay < 1000);
+        }
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void retryAfterHeaderIsUsedUnlessItIsLongerThanTheMaximumDelay() {
+        RetryPolicy policy = new RetryPolicy();
+        policy.setDelays(100, 5000);
+
+        assertEquals(2000, policy.getRetryDelay(1, this.throttled("2"), false));
+        assertEquals(-1, policy.getRetryDelay(1, this.throttled("60"), false));
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void networkErrorsAreOnlyRetriedForIdempotentRequests() {
+        RetryPolicy policy = new RetryPolicy();
+        BoxAPIException networkError = new BoxAPIException("Couldn't connect to the Box API due to a network error.",
+            new IOException());
+
+        assertFalse(policy.isRetryable(networkError, false));
+        assertTrue(policy.isRetryable(networkError, true));
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void retryStatusReplacesTheDefaultRule() {
+        RetryPolicy policy = new RetryPolicy();
+        policy.setRetryStatus(500, false);
+        policy.setRetryStatus(409, true);
+
+        assertFalse(policy.isRetryable(new BoxAPIException("Server error", 500, ""), false));
+        assertTrue(policy.isRetryable(new BoxAPIException("Conflict", 409, ""), false));
+        assertTrue(policy.isRetryable(new BoxAPIException("Server error", 503, ""), false));
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void retryBudgetLimitsRetriesToARatioOfRequests() {
+        RetryPolicy policy = new RetryPolicy();
+        policy.setRetryBudget(0.5, 2);
+        BoxAPIException serverError = new BoxAPIException("Server error", 500, "");
+
+        assertTrue(policy.getRetryDelay(1, serverError, false) >= 0);
+        assertTrue(policy.getRetryDelay(1, serverError, false) >= 0);
+        assertEquals(-1, policy.getRetryDelay(1, serverError, false));
+
+        policy.requestStarted();
+        assertEquals(-1, policy.getRetryDelay(1, serverError, false));
+        policy.requestStarted();
+        assertTrue(policy.getRetryDelay(1, serverError, false) >= 0);
+    }
+
+    private BoxAPIException throttled(String retryAfter) {
+        Map<String, List<String>> headers = new HashMap<String, List<String>>();
+        headers.put("Retry-After", Arrays.asList(retryAfter));
+        return new BoxAPIException("Too many requests", 429, "", headers);
+    }
+}
@@ -0,0 +1,351 @@
+package com.box.sdk.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.MalformedURLException;
+import java.net.Proxy;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLSocketFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.box.sdk.BoxAPIConnection;
+import com.box.sdk.BoxAPIException;
+import com.box.sdk.BoxAPIRequest;
+import com.box.sdk.BoxFile;
+import com.box.sdk.BoxJSONRequest;
+import com.box.sdk.BoxJSONResponse;
+import com.box.sdk.UnitTest;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+
+public class PooledHttpTransportTest {
+    @ClassRule
+    public static final WireMockClassRule WIRE_MOCK_CLASS_RULE = new WireMockClassRule(53621);
+
+    @Test
+    @Category(UnitTest.class)
+    public void requestsReuseTheSamePooledConnection() throws MalformedURLException {
+        stubFor(get(urlEqualTo("/json")).willReturn(aResponse()
+            .withHeader("Content-Type", "application/json")
+            .withBody("{\"id\": \"12345\"}")));
+
+        PooledHttpTransport transport = new PooledHttpTransport();
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.setHttpTransport(transport);
+        URL url = new URL("http://localhost:53621/json");
+
+        for (int i = 0; i < 5; i++) {
+            BoxJSONResponse response = (BoxJSONResponse) new BoxAPIRequest(api, url, "GET").send();
+            assertEquals("12345", response.getJsonObject().get("id").asString());
+        }
+
+        assertEquals(1, transport.getConnectionCount());
+        assertEquals(1, transport.getIdleConnectionCount());
+        transport.shutdown();
+        assertEquals(0, transport.getConnectionCount());
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void requestBodyIsSentThroughPooledConnection() throws MalformedURLException {
+        stubFor(post(urlEqualTo("/echo"))
+            .withRequestBody(equalToJson("{\"name\": \"test\"}"))
+            .willReturn(aResponse().withStatus(201)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"name\": \"test\"}")));
+
+        PooledHttpTransport transport = new PooledHttpTransport();
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.setHttpTransport(transport);
+
+        BoxJSONRequest request = new BoxJSONRequest(api, new URL("http://localhost:53621/echo"), "POST");
+        request.setBody("{\"name\": \"test\"}");
+        BoxJSONResponse response = (BoxJSONResponse) request.send();
+
+        assertEquals(201, response.getResponseCode());
+        assertEquals("test", response.getJsonObject().get("name").asString());
+        assertEquals(1, transport.getIdleConnectionCount());
+        transport.shutdown();
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void errorResponsesAreReadThroughPooledConnection() throws MalformedURLException {
+        stubFor(get(urlEqualTo("/missing")).willReturn(aResponse().withStatus(404)
+            .withHeader("Content-Type", "application/json")
+            .withBody("{\"code\": \"not_found\"}")));
+
+        PooledHttpTransport transport = new PooledHttpTransport();
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.setHttpTransport(transport);
+
+        try {
+            new BoxAPIRequest(api, new URL("http://localhost:53621/missing"), "GET").send();
+            fail("A 404 response should have thrown an exception.");
+        } catch (BoxAPIException e) {
+            assertEquals(404, e.getResponseCode());
+            assertTrue(e.getResponse().contains("not_found"));
+        }
+
+        assertEquals(1, transport.getIdleConnectionCount());
+        transport.shutdown();
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void unreadBodyClosesConnectionInsteadOfReturningItToThePool() throws Exception {
+        stubFor(get(urlEqualTo("/content")).willReturn(aResponse().withBody("some file content")));
+
+        PooledHttpTransport transport = new PooledHttpTransport();
+        HttpURLConnection connection = transport.openConnection(new URL("http://localhost:53621/content"), null);
+        assertEquals(200, connection.getResponseCode());
+
+        InputStream body = connection.getInputStream();
+        assertEquals('s', body.read());
+        body.close();
+
+        assertEquals(0, transport.getConnectionCount());
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void readingWholeBodyReturnsConnectionToThePool() throws Exception {
+        stubFor(get(urlEqualTo("/content")).willReturn(aResponse().withBody("some file content")));
+
+        PooledHttpTransport transport = new PooledHttpTransport();
+        HttpURLConnection connection = transport.openConnection(new URL("http://localhost:53621/content"), null);
+
+        InputStreamReader reader = new InputStreamReader(connection.getInputStream(), "UTF-8");
+        StringBuilder builder = new StringBuilder();
+        int c = reader.read();
+        while (c != -1) {
+            builder.append((char) c);
+            c = reader.read();
+        }
+
+        assertEquals("some file content", builder.toString());
+        assertEquals(1, transport.getIdleConnectionCount());
+        transport.shutdown();
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void idleConnectionsAreEvictedAfterIdleTimeout() throws Exception {
+        stubFor(get(urlEqualTo("/empty")).willReturn(aResponse().withStatus(204)));
+
+        PooledHttpTransport transport = new PooledHttpTransport(10, 10, 0);
+        HttpURLConnection first = transport.openConnection(new URL("http://localhost:53621/empty"), null);
+        assertEquals(204, first.getResponseCode());
+        assertEquals(1, transport.getIdleConnectionCount());
+
+        HttpURLConnection second = transport.openConnection(new URL("http://127.0.0.1:53621/empty"), null);
+        assertEquals(204, second.getResponseCode());
+        assertEquals(1, transport.getConnectionCount());
+        transport.shutdown();
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void closeIdleConnectionsEmptiesThePool() throws Exception {
+        stubFor(get(urlEqualTo("/empty")).willReturn(aResponse().withStatus(204)));
+
+        PooledHttpTransport transport = new PooledHttpTransport();
+        HttpURLConnection connection = transport.openConnection(new URL("http://localhost:53621/empty"), null);
+        assertEquals(204, connection.getResponseCode());
+        assertEquals(1, transport.getIdleConnectionCount());
+
+        transport.closeIdleConnections();
+        assertEquals(0, transport.getConnectionCount());
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void proxiedRequestsAreNotPooled() throws Exception {
+        PooledHttpTransport transport = new PooledHttpTransport();
+        HttpURLConnection connection = transport.openConnection(new URL("http://localhost:53621/"), Proxy.NO_PROXY);
+        assertTrue(connection instanceof PooledHttpURLConnection);
+
+        Proxy proxy = new Proxy(Proxy.Type.HTTP, new java.net.InetSocketAddress("localhost", 8888));
+        connection = transport.openConnection(new URL("http://localhost:53621/"), proxy);
+        assertFalse(connection instanceof PooledHttpURLConnection);
+    }
+
+    @Test(timeout = 10000)
+    @Category(UnitTest.class)
+    public void ignoredResponsesDontHoldPooledConnections() {
+        stubFor(put(urlPathEqualTo("/files/1")).willReturn(aResponse()
+            .withHeader("Content-Type", "application/json")
+            .withBody("{\"type\": \"file\", \"id\": \"1\", \"lock\": null}")));
+        stubFor(options(urlPathEqualTo("/files/1/content")).willReturn(aResponse()
+            .withHeader("Content-Type", "application/json")
+            .withBody("{\"upload_url\": \"https://upload.box.com/api/2.0/files/1/content\"}")));
+
+        PooledHttpTransport transport = new PooledHttpTransport();
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.setHttpTransport(transport);
+        api.setBaseURL("http://localhost:53621/");
+
+        BoxFile file = new BoxFile(api, "1");
+        for (int i = 0; i < PooledHttpTransport.DEFAULT_MAX_CONNECTIONS_PER_ROUTE + 5; i++) {
+            file.unlock();
+            assertTrue(file.canUploadVersion("file.txt", 10));
+        }
+
+        assertEquals(1, transport.getConnectionCount());
+        transport.shutdown();
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void idempotentRequestsAreReplayedOnceWhenAReusedConnectionIsClosed() throws Exception {
+        stubFor(get(urlEqualTo("/empty")).willReturn(aResponse().withStatus(204)));
+        stubFor(get(urlEqualTo("/closed")).willReturn(aResponse().withFault(Fault.EMPTY_RESPONSE)));
+        stubFor(post(urlEqualTo("/closed")).willReturn(aResponse().withFault(Fault.EMPTY_RESPONSE)));
+
+        PooledHttpTransport transport = new PooledHttpTransport();
+        assertEquals(204, transport.openConnection(new URL("http://localhost:53621/empty"), null).getResponseCode());
+        try {
+            transport.openConnection(new URL("http://localhost:53621/closed"), null).getResponseCode();
+            fail("A connection closed without a response should have thrown an exception.");
+        } catch (IOException e) {
+            assertEquals(2, findAll(getRequestedFor(urlEqualTo("/closed"))).size());
+        }
+
+        assertEquals(204, transport.openConnection(new URL("http://localhost:53621/empty"), null).getResponseCode());
+        HttpURLConnection post = transport.openConnection(new URL("http://localhost:53621/closed"), null);
+        post.setRequestMethod("POST");
+        try {
+            post.getResponseCode();
+            fail("A connection closed without a response should have thrown an exception.");
+        } catch (IOException e) {
+            assertEquals(1, findAll(postRequestedFor(urlEqualTo("/closed"))).size());
+        }
+        transport.shutdown();
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void requestsAreNotReplayedAfterAReadTimeout() throws Exception {
+        stubFor(get(urlEqualTo("/empty")).willReturn(aResponse().withStatus(204)));
+        stubFor(get(urlEqualTo("/slow")).willReturn(aResponse().withStatus(204).withFixedDelay(500)));
+
+        PooledHttpTransport transport = new PooledHttpTransport();
+        assertEquals(204, transport.openConnection(new URL("http://localhost:53621/empty"), null).getResponseCode());
+        HttpURLConnection connection = transport.openConnection(new URL("http://localhost:53621/slow"), null);
+        connection.setReadTimeout(100);
+        try {
+            connection.getResponseCode();
+            fail("A slow response should have timed out.");
+        } catch (SocketTimeoutException e) {
+            Thread.sleep(1000);
+            assertEquals(1, findAll(getRequestedFor(urlEqualTo("/slow"))).size());
+        }
+        transport.shutdown();
+    }
+
+    @Test(timeout = 10000)
+    @Category(UnitTest.class)
+    public void requestsWaitingForAFullPoolTimeOut() throws Exception {
+        stubFor(get(urlEqualTo("/content")).willReturn(aResponse().withBody("some file content")));
+
+        PooledHttpTransport transport = new PooledHttpTransport(1, 1, PooledHttpTransport.DEFAULT_IDLE_TIMEOUT);
+        transport.setPoolTimeout(200);
+        HttpURLConnection leaked = transport.openConnection(new URL("http://localhost:53621/content"), null);
+        assertEquals(200, leaked.getResponseCode());
+
+        HttpURLConnection waiting = transport.openConnection(new URL("http://localhost:53621/content"), null);
+        long start = System.currentTimeMillis();
+        try {
+            waiting.getResponseCode();
+            fail("A request waiting for a full pool should have timed out.");
+        } catch (SocketTimeoutException e) {
+            assertTrue(System.currentTimeMillis() - start >= 200);
+        }
+        leaked.disconnect();
+        transport.shutdown();
+    }
+
+    @Test
+    @Category(UnitTest.class)
+    public void httpsConnectionsAreOpenedWithTheSocketFactoryOfTheConnection() throws Exception {
+        PooledHttpTransport transport = new PooledHttpTransport();
+        HttpsURLConnection connection = (HttpsURLConnection) transport.openConnection(
+            new URL("https://localhost:53621/empty"), null);
+        assertSame(transport.getSSLSocketFactory(), connection.getSSLSocketFactory());
+
+        connection.setSSLSocketFactory(new RefusingSSLSocketFactory());
+        try {
+            connection.getResponseCode();
+            fail("The socket factory of the connection should have been used.");
+        } catch (IOException e) {
+            assertEquals(RefusingSSLSocketFactory.MESSAGE, e.getMessage());
+        }
+        assertEquals(0, transport.getConnectionCount());
+        transport.shutdown();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @Category(UnitTest.class)
+    public void poolLimitsMustBePositive() {
+        new PooledHttpTransport().setMaxConnectionsPerRoute(0);
+    }
+
+    /**
+     * A socket factory that refuses to open any socket.
+     */
+    private static final class RefusingSSLSocketFactory extends SSLSocketFactory {
+        static final String MESSAGE = "The test socket factory refused the connection.";
+
+        @Override
+        public Socket createSocket(Socket socket, String host, int port, boolean autoClose) throws IOException {
+            throw new IOException(MESSAGE);
+        }
+
+        @Override
+        public Socket createSocket(String host, int port) throws IOException {
+            throw new IOException(MESSAGE);
+        }
+
+        @Override
+        public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException {
+            throw new IOException(MESSAGE);
+        }
+
+        @Override
+        public Socket createSocket(InetAddress host, int port) throws IOException {
+            throw new IOException(MESSAGE);
+        }
+
+        @Override
+        public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort)
+            throws IOException {
+            throw new IOException(MESSAGE);
+        }
+
+        @Override
+        public String[] getDefaultCipherSuites() {
+            return new String[0];
+        }
+
+        @Override
+        public String[] getSupportedCipherSuites() {
+            return new String[0];
+        }
+    }
+}